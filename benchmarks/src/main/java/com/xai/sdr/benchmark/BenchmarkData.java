@@ -0,0 +1,102 @@
+package com.xai.sdr.benchmark;
+
+import com.xai.sdr.model.Lead;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representative inputs shared by the benchmarks: fully populated leads
+ * and Grok responses shaped like real qualification and message output.
+ */
+public final class BenchmarkData {
+    
+    public static final String QUALIFICATION_RESPONSE =
+            "SCORE: 82\n" +
+            "REASONING: VP of Sales at a 500-1000 person technology company with clear buying authority, " +
+            "an active online presence and a location inside our core territory.\n" +
+            "RECOMMENDATIONS: Reach out this week with a tailored demo focused on pipeline visibility, " +
+            "then follow up on LinkedIn referencing their recent expansion.";
+    
+    public static final String QUALIFICATION_JSON_RESPONSE =
+            "{\"score\": 82, " +
+            "\"reasoning\": \"VP of Sales at a 500-1000 person technology company with clear buying authority, " +
+            "an active online presence and a location inside our core territory.\", " +
+            "\"recommendations\": \"Reach out this week with a tailored demo focused on pipeline visibility, " +
+            "then follow up on LinkedIn referencing their recent expansion.\"}";
+    
+    public static final String MESSAGE_RESPONSE =
+            "Here's a personalized email for Jordan: Hi Jordan,\n\n" +
+            "I noticed Enterprise Corp has been expanding its sales team across the East Coast. " +
+            "Teams at that stage often find that prospecting eats into selling time, and we help " +
+            "them cut research and first-touch drafting by more than half while keeping outreach personal.\n\n" +
+            "Would you be open to a 15-minute call next Tuesday to see whether it fits your plans for the quarter?";
+    
+    public static final String GROK_RESPONSE_JSON =
+            "{\"id\":\"chatcmpl-123\",\"object\":\"chat.completion\",\"created\":1717000000,\"model\":\"grok-4\"," +
+            "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":" +
+            "\"SCORE: 82\\nREASONING: VP of Sales at a mid-size technology company.\\n" +
+            "RECOMMENDATIONS: Reach out this week with a tailored demo.\"},\"finish_reason\":\"stop\"}]," +
+            "\"usage\":{\"prompt_tokens\":412,\"completion_tokens\":96,\"total_tokens\":508}," +
+            "\"system_fingerprint\":\"fp_mock\"}";
+    
+    public static final String GROK_STREAM_CHUNK_JSON =
+            "{\"id\":\"chatcmpl-123\",\"object\":\"chat.completion.chunk\",\"created\":1717000000,\"model\":\"grok-4\"," +
+            "\"choices\":[{\"index\":0,\"delta\":{\"content\":\"Hi Jordan, I noticed\"}}]}";
+    
+    private BenchmarkData() {}
+    
+    /**
+     * A lead with every prompt field populated
+     */
+    public static Lead lead(long id) {
+        Lead lead = new Lead();
+        lead.setId(id);
+        lead.setFirstName("Jordan");
+        lead.setLastName("Lee " + id);
+        lead.setEmail("jordan.lee" + id + "@enterprise.com");
+        lead.setTitle("VP of Sales");
+        lead.setCompanyName("Enterprise Corp " + id);
+        lead.setCompanySize("500-1000");
+        lead.setIndustry("Technology");
+        lead.setLocation("New York, NY");
+        lead.setWebsite("https://enterprise.com");
+        lead.setLinkedinUrl("https://linkedin.com/in/jordanlee" + id);
+        lead.setNotes("Met at SaaStr; interested in pipeline analytics and evaluating tools next quarter.");
+        return lead;
+    }
+    
+    /**
+     * Leads numbered from 1, as sent in one packed qualification call
+     */
+    public static List<Lead> leads(int count) {
+        List<Lead> leads = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            leads.add(lead(i));
+        }
+        return leads;
+    }
+    
+    /**
+     * A packed qualification response with one section per lead
+     */
+    public static String packedQualificationResponse(int count) {
+        StringBuilder response = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            response.append("=== LEAD ").append(i).append(" ===\n").append(QUALIFICATION_RESPONSE).append("\n\n");
+        }
+        return response.toString();
+    }
+    
+    /**
+     * Structured packed qualification response covering leads 1..count
+     */
+    public static String packedQualificationJsonResponse(int count) {
+        StringBuilder response = new StringBuilder("{\"leads\": [");
+        for (int i = 1; i <= count; i++) {
+            response.append(i > 1 ? ", " : "").append("{\"lead\": ").append(i).append(", ")
+                    .append(QUALIFICATION_JSON_RESPONSE, 1, QUALIFICATION_JSON_RESPONSE.length());
+        }
+        return response.append("]}").toString();
+    }
+}
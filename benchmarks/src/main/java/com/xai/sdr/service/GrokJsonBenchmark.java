@@ -0,0 +1,81 @@
+package com.xai.sdr.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xai.sdr.benchmark.BenchmarkData;
+import com.xai.sdr.config.GrokApiConfig;
+import com.xai.sdr.config.PromptTemplateConfig;
+import com.xai.sdr.dto.GrokRequest;
+import com.xai.sdr.dto.GrokResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for Jackson serialization of chat completion requests and
+ * deserialization of completions and streamed chunks, using an ObjectMapper
+ * configured like the one in GrokApiService. The request carries a real
+ * qualification prompt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrokJsonBenchmark {
+    
+    private ObjectMapper objectMapper;
+    private GrokRequest request;
+    private byte[] responseJson;
+    private byte[] streamChunkJson;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        
+        PromptTemplateRegistry promptTemplates = new PromptTemplateRegistry(new PromptTemplateConfig());
+        String prompt = new LeadQualificationService(null, new GrokApiConfig(), promptTemplates)
+                .buildQualificationPrompt(promptTemplates.get(LeadQualificationService.QUALIFICATION_TEMPLATE),
+                        BenchmarkData.lead(1));
+        request = GrokRequest.builder()
+                .model("grok-4")
+                .temperature(0.3)
+                .maxTokens(1000)
+                .stream(false)
+                .messages(Collections.singletonList(GrokRequest.GrokMessage.builder()
+                        .role("user")
+                        .content(prompt)
+                        .build()))
+                .build();
+        responseJson = BenchmarkData.GROK_RESPONSE_JSON.getBytes(StandardCharsets.UTF_8);
+        streamChunkJson = BenchmarkData.GROK_STREAM_CHUNK_JSON.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Benchmark
+    public byte[] serializeRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(request);
+    }
+    
+    @Benchmark
+    public GrokResponse deserializeResponse() throws IOException {
+        return objectMapper.readValue(responseJson, GrokResponse.class);
+    }
+    
+    @Benchmark
+    public GrokResponse deserializeStreamChunk() throws IOException {
+        return objectMapper.readValue(streamChunkJson, GrokResponse.class);
+    }
+}
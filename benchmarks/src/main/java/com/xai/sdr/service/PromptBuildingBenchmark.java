@@ -0,0 +1,90 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.benchmark.BenchmarkData;
+import com.xai.sdr.config.GrokApiConfig;
+import com.xai.sdr.config.PromptTemplateConfig;
+import com.xai.sdr.model.Lead;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for building the prompts sent on every AI call.
+ * 
+ * Lives in the service package to reach the package-private prompt builders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptBuildingBenchmark {
+    
+    private LeadQualificationService qualificationService;
+    private PersonalizedMessagingService messagingService;
+    private PromptTemplate qualificationTemplate;
+    private PromptTemplate packedQualificationTemplate;
+    private PromptTemplate emailTemplate;
+    private PromptTemplate linkedInTemplate;
+    private PromptTemplate followUpTemplate;
+    private PromptTemplate meetingRequestTemplate;
+    private Lead lead;
+    private List<Lead> packedLeads;
+    
+    @Setup
+    public void setUp() {
+        PromptTemplateRegistry promptTemplates = new PromptTemplateRegistry(new PromptTemplateConfig());
+        qualificationService = new LeadQualificationService(null, new GrokApiConfig(), promptTemplates);
+        messagingService = new PersonalizedMessagingService(null, promptTemplates);
+        qualificationTemplate = promptTemplates.get(LeadQualificationService.QUALIFICATION_TEMPLATE);
+        packedQualificationTemplate = promptTemplates.get(LeadQualificationService.PACKED_QUALIFICATION_TEMPLATE);
+        emailTemplate = promptTemplates.get(PersonalizedMessagingService.EMAIL_TEMPLATE);
+        linkedInTemplate = promptTemplates.get(PersonalizedMessagingService.LINKEDIN_TEMPLATE);
+        followUpTemplate = promptTemplates.get(PersonalizedMessagingService.FOLLOW_UP_TEMPLATE);
+        meetingRequestTemplate = promptTemplates.get(PersonalizedMessagingService.MEETING_REQUEST_TEMPLATE);
+        lead = BenchmarkData.lead(1);
+        packedLeads = BenchmarkData.leads(5);
+    }
+    
+    @Benchmark
+    public String qualificationPrompt() {
+        return qualificationService.buildQualificationPrompt(qualificationTemplate, lead);
+    }
+    
+    @Benchmark
+    public String packedQualificationPrompt() {
+        return qualificationService.buildPackedQualificationPrompt(packedQualificationTemplate, packedLeads);
+    }
+    
+    @Benchmark
+    public String emailPrompt() {
+        return messagingService.buildEmailPrompt(emailTemplate, lead, "initial outreach");
+    }
+    
+    @Benchmark
+    public String linkedInPrompt() {
+        return messagingService.buildLinkedInPrompt(linkedInTemplate, lead, "connection request");
+    }
+    
+    @Benchmark
+    public String followUpPrompt() {
+        return messagingService.buildFollowUpPrompt(followUpTemplate, lead,
+                "Intro call on Tuesday about pipeline analytics", "follow-up");
+    }
+    
+    @Benchmark
+    public String meetingRequestPrompt() {
+        return messagingService.buildMeetingRequestPrompt(meetingRequestTemplate, lead, "product demo", "next Tuesday at 2pm ET");
+    }
+}
@@ -0,0 +1,75 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.benchmark.BenchmarkData;
+import com.xai.sdr.config.GrokApiConfig;
+import com.xai.sdr.config.PromptTemplateConfig;
+import com.xai.sdr.model.Lead;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for turning Grok completions into qualification results and messages.
+ * 
+ * Covers both the line format and structured (JSON) replies. Lives in the
+ * service package to reach the package-private parsers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParsingBenchmark {
+    
+    private LeadQualificationService qualificationService;
+    private PersonalizedMessagingService messagingService;
+    private Lead lead;
+    private String packedResponse;
+    private String packedJsonResponse;
+    
+    @Setup
+    public void setUp() {
+        PromptTemplateRegistry promptTemplates = new PromptTemplateRegistry(new PromptTemplateConfig());
+        qualificationService = new LeadQualificationService(null, new GrokApiConfig(), promptTemplates);
+        messagingService = new PersonalizedMessagingService(null, promptTemplates);
+        lead = BenchmarkData.lead(1);
+        packedResponse = BenchmarkData.packedQualificationResponse(5);
+        packedJsonResponse = BenchmarkData.packedQualificationJsonResponse(5);
+    }
+    
+    @Benchmark
+    public LeadQualificationService.LeadQualificationResult parseQualificationResponse() {
+        return qualificationService.parseQualificationResponse(BenchmarkData.QUALIFICATION_RESPONSE, lead);
+    }
+    
+    @Benchmark
+    public Map<Integer, LeadQualificationService.LeadQualificationResult> parsePackedQualificationResponse() {
+        return qualificationService.parsePackedQualificationResponse(packedResponse);
+    }
+    
+    @Benchmark
+    public LeadQualificationService.LeadQualificationResult parseQualificationJson() {
+        return QualificationJsonParser.parse(BenchmarkData.QUALIFICATION_JSON_RESPONSE);
+    }
+    
+    @Benchmark
+    public Map<Integer, LeadQualificationService.LeadQualificationResult> parsePackedQualificationJson() {
+        return QualificationJsonParser.parsePacked(packedJsonResponse);
+    }
+    
+    @Benchmark
+    public String cleanAndFormatMessage() {
+        return messagingService.cleanAndFormatMessage(BenchmarkData.MESSAGE_RESPONSE);
+    }
+}
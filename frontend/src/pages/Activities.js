@@ -1,5 +1,5 @@
 import React, { useState } from 'react';
-import { useQuery } from 'react-query';
+import { useQuery, useInfiniteQuery } from 'react-query';
 import { 
   Plus, 
   Search, 
@@ -11,20 +11,30 @@ import {
   Clock,
   CheckCircle
 } from 'lucide-react';
-import { api } from '../services/api';
+import { fetchPage, nextCursorOf } from '../services/api';
 
 const Activities = () => {
   const [searchTerm, setSearchTerm] = useState('');
   const [selectedType, setSelectedType] = useState('');
 
-  const { data: activities, isLoading, error } = useQuery(
+  const {
+    data,
+    isLoading,
+    error,
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery(
     'recentActivities',
-    () => api.get('/activities/recent').then(res => res.data)
+    ({ pageParam }) => fetchPage('/activities/recent', pageParam ? { cursor: pageParam } : {}),
+    { getNextPageParam: nextCursorOf }
   );
+  const activities = data?.pages.flatMap(page => page.items);
 
+  // Only the first page is fetched; hasMore marks a count that is a lower bound
   const { data: overdueActivities } = useQuery(
     'overdueActivities',
-    () => api.get('/activities/overdue').then(res => res.data)
+    () => fetchPage('/activities/overdue', { limit: 100 })
   );
 
   const getActivityIcon = (activityType) => {
@@ -103,7 +113,7 @@ const Activities = () => {
             <div className="ml-4">
               <p className="text-sm font-medium text-gray-600">Total Activities</p>
               <p className="text-2xl font-bold text-gray-900">
-                {isLoading ? '...' : activities?.length || 0}
+                {isLoading ? '...' : `${activities?.length || 0}${hasNextPage ? '+' : ''}`}
               </p>
             </div>
           </div>
@@ -117,7 +127,7 @@ const Activities = () => {
             <div className="ml-4">
               <p className="text-sm font-medium text-gray-600">Overdue</p>
               <p className="text-2xl font-bold text-gray-900">
-                {isLoading ? '...' : overdueActivities?.length || 0}
+                {isLoading ? '...' : `${overdueActivities?.items.length || 0}${overdueActivities?.hasMore ? '+' : ''}`}
               </p>
             </div>
           </div>
@@ -243,6 +253,17 @@ const Activities = () => {
               <p className="text-gray-500">No activities found</p>
             </div>
           )}
+          {hasNextPage && (
+            <div className="text-center">
+              <button
+                onClick={() => fetchNextPage()}
+                disabled={isFetchingNextPage}
+                className="btn-secondary disabled:opacity-50"
+              >
+                {isFetchingNextPage ? 'Loading...' : 'Load more'}
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </div>
@@ -9,7 +9,7 @@ import {
   Mail,
   Phone
 } from 'lucide-react';
-import { api } from '../services/api';
+import { api, fetchPage } from '../services/api';
 
 const Dashboard = () => {
   const { data: pipelineStats, isLoading: statsLoading } = useQuery(
@@ -18,13 +18,13 @@ const Dashboard = () => {
   );
 
   const { data: recentActivities, isLoading: activitiesLoading } = useQuery(
-    'recentActivities',
-    () => api.get('/activities/recent').then(res => res.data)
+    ['recentActivities', 'dashboard'],
+    () => fetchPage('/activities/recent', { limit: 5 }).then(page => page.items)
   );
 
   const { data: followUpLeads, isLoading: followUpLoading } = useQuery(
     'followUpLeads',
-    () => api.get('/leads/follow-up').then(res => res.data)
+    () => fetchPage('/leads/follow-up', { limit: 5 }).then(page => page.items)
   );
 
   const { data: healthCheck, isLoading: healthLoading } = useQuery(
@@ -158,7 +158,7 @@ const Dashboard = () => {
                 <p className="text-sm text-gray-500 mt-2">Loading activities...</p>
               </div>
             ) : recentActivities?.length > 0 ? (
-              recentActivities.slice(0, 5).map((activity) => {
+              recentActivities.map((activity) => {
                 const Icon = getActivityIcon(activity.activityType);
                 return (
                   <div key={activity.id} className="flex items-center space-x-3">
@@ -197,7 +197,7 @@ const Dashboard = () => {
                 <p className="text-sm text-gray-500 mt-2">Loading follow-ups...</p>
               </div>
             ) : followUpLeads?.length > 0 ? (
-              followUpLeads.slice(0, 5).map((lead) => (
+              followUpLeads.map((lead) => (
                 <div key={lead.id} className="flex items-center space-x-3">
                   <div className="p-2 rounded-lg bg-yellow-100">
                     <Clock className="h-4 w-4 text-yellow-600" />
@@ -26,7 +26,7 @@ const Evaluation = () => {
 
   const { data: evaluationHistory } = useQuery(
     'evaluationHistory',
-    () => api.get('/evaluation/history').then(res => res.data)
+    () => api.get('/evaluation/history', { params: { limit: 5 } }).then(res => res.data.items)
   );
 
   const { data: evaluationMetrics } = useQuery(
@@ -1,6 +1,6 @@
 import React, { useState } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
-import { useQuery, useMutation, useQueryClient } from 'react-query';
+import { useQuery, useInfiniteQuery, useMutation, useQueryClient } from 'react-query';
 import { 
   ArrowLeft, 
   Mail, 
@@ -12,7 +12,7 @@ import {
   Edit,
   Trash2
 } from 'lucide-react';
-import { api } from '../services/api';
+import { api, fetchPage, nextCursorOf } from '../services/api';
 import toast from 'react-hot-toast';
 
 const LeadDetail = () => {
@@ -29,11 +29,17 @@ const LeadDetail = () => {
     { enabled: !!id }
   );
 
-  const { data: activities } = useQuery(
+  const {
+    data: activityPages,
+    fetchNextPage: fetchMoreActivities,
+    hasNextPage: hasMoreActivities,
+    isFetchingNextPage: isFetchingMoreActivities,
+  } = useInfiniteQuery(
     ['activities', id],
-    () => api.get(`/activities/lead/${id}`).then(res => res.data),
-    { enabled: !!id }
+    ({ pageParam }) => fetchPage(`/activities/lead/${id}`, pageParam ? { cursor: pageParam } : {}),
+    { enabled: !!id, getNextPageParam: nextCursorOf }
   );
+  const activities = activityPages?.pages.flatMap(page => page.items);
 
   const qualifyLeadMutation = useMutation(
     () => api.post(`/leads/${id}/qualify`),
@@ -317,6 +323,17 @@ const LeadDetail = () => {
                 <p className="text-gray-500">No activities recorded</p>
               </div>
             )}
+            {hasMoreActivities && (
+              <div className="text-center">
+                <button
+                  onClick={() => fetchMoreActivities()}
+                  disabled={isFetchingMoreActivities}
+                  className="btn-secondary disabled:opacity-50"
+                >
+                  {isFetchingMoreActivities ? 'Loading...' : 'Load more'}
+                </button>
+              </div>
+            )}
           </div>
         </div>
       )}
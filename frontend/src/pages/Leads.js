@@ -1,5 +1,5 @@
 import React, { useState } from 'react';
-import { useQuery, useMutation, useQueryClient } from 'react-query';
+import { useInfiniteQuery, useMutation, useQueryClient } from 'react-query';
 import { Link } from 'react-router-dom';
 import { 
   Plus, 
@@ -11,7 +11,7 @@ import {
   Clock,
   CheckCircle
 } from 'lucide-react';
-import { api } from '../services/api';
+import { api, fetchPage, nextCursorOf } from '../services/api';
 import toast from 'react-hot-toast';
 
 const Leads = () => {
@@ -20,20 +20,30 @@ const Leads = () => {
   const [showFilters, setShowFilters] = useState(false);
   const queryClient = useQueryClient();
 
-  const { data: leads, isLoading, error } = useQuery(
+  const {
+    data,
+    isLoading,
+    error,
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery(
     ['leads', searchTerm, selectedStage],
-    () => {
-      const params = new URLSearchParams();
+    ({ pageParam }) => {
+      const params = {};
       if (searchTerm) {
         const [firstName, lastName] = searchTerm.split(' ');
-        if (firstName) params.append('firstName', firstName);
-        if (lastName) params.append('lastName', lastName);
+        if (firstName) params.firstName = firstName;
+        if (lastName) params.lastName = lastName;
       }
-      if (selectedStage) params.append('pipelineStage', selectedStage);
+      if (selectedStage) params.pipelineStage = selectedStage;
+      if (pageParam) params.cursor = pageParam;
       
-      return api.get(`/leads?${params.toString()}`).then(res => res.data);
-    }
+      return fetchPage('/leads', params);
+    },
+    { getNextPageParam: nextCursorOf }
   );
+  const leads = data?.pages.flatMap(page => page.items);
 
   const qualifyLeadMutation = useMutation(
     (leadId) => api.post(`/leads/${leadId}/qualify`),
@@ -278,6 +288,17 @@ const Leads = () => {
                 ))}
               </tbody>
             </table>
+            {hasNextPage && (
+              <div className="text-center py-4">
+                <button
+                  onClick={() => fetchNextPage()}
+                  disabled={isFetchingNextPage}
+                  className="btn-secondary disabled:opacity-50"
+                >
+                  {isFetchingNextPage ? 'Loading...' : 'Load more'}
+                </button>
+              </div>
+            )}
           </div>
         ) : (
           <div className="text-center py-12">
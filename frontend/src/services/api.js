@@ -34,4 +34,12 @@ api.interceptors.response.use(
   }
 );
 
+// List endpoints return one keyset page: { items, nextCursor, limit, hasMore }.
+// Pass nextCursor back as the cursor parameter to fetch the following page.
+export const fetchPage = (url, params = {}) =>
+  api.get(url, { params }).then(res => res.data);
+
+// getNextPageParam for useInfiniteQuery; undefined marks the last page
+export const nextCursorOf = (page) => page.nextCursor || undefined;
+
 export default api;
\ No newline at end of file
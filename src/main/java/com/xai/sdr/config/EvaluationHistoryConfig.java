@@ -0,0 +1,47 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the evaluation history.
+ * 
+ * The most recent runs are held in an in-memory ring buffer of the given
+ * capacity; all runs are persisted, and the table is periodically pruned
+ * down to the retention limit.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "evaluation.history")
+public class EvaluationHistoryConfig {
+    
+    private int capacity = 200;
+    private int retention = 10000;
+    private long pruneIntervalMs = 3600000;
+    
+    public EvaluationHistoryConfig() {}
+    
+    // Getters and Setters
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+    
+    public int getRetention() {
+        return retention;
+    }
+    
+    public void setRetention(int retention) {
+        this.retention = retention;
+    }
+    
+    public long getPruneIntervalMs() {
+        return pruneIntervalMs;
+    }
+    
+    public void setPruneIntervalMs(long pruneIntervalMs) {
+        this.pruneIntervalMs = pruneIntervalMs;
+    }
+}
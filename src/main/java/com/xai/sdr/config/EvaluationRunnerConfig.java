@@ -0,0 +1,81 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the evaluation runner.
+ * 
+ * Bounds how many Grok calls an evaluation keeps in flight, how large a
+ * dataset (leads x variants x repeats) one request may expand to, and how
+ * many per-case results are echoed back in the response.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "evaluation.runner")
+public class EvaluationRunnerConfig {
+    
+    private int concurrency = 4;
+    private int maxConcurrency = 16;
+    private int maxCases = 1000;
+    private int maxRepeats = 10;
+    private int maxReportedResults = 100;
+    
+    public EvaluationRunnerConfig() {}
+    
+    /**
+     * Resolve a requested concurrency, falling back to the default and capping at the maximum
+     */
+    public int resolveConcurrency(Integer requested) {
+        int concurrency = requested == null || requested < 1 ? this.concurrency : requested;
+        return Math.max(1, Math.min(concurrency, maxConcurrency));
+    }
+    
+    /**
+     * Resolve a requested repeat count, defaulting to one and capping at the maximum
+     */
+    public int resolveRepeats(Integer requested) {
+        int repeats = requested == null || requested < 1 ? 1 : requested;
+        return Math.max(1, Math.min(repeats, maxRepeats));
+    }
+    
+    // Getters and Setters
+    public int getConcurrency() {
+        return concurrency;
+    }
+    
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+    
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+    
+    public int getMaxCases() {
+        return maxCases;
+    }
+    
+    public void setMaxCases(int maxCases) {
+        this.maxCases = maxCases;
+    }
+    
+    public int getMaxRepeats() {
+        return maxRepeats;
+    }
+    
+    public void setMaxRepeats(int maxRepeats) {
+        this.maxRepeats = maxRepeats;
+    }
+    
+    public int getMaxReportedResults() {
+        return maxReportedResults;
+    }
+    
+    public void setMaxReportedResults(int maxReportedResults) {
+        this.maxReportedResults = maxReportedResults;
+    }
+}
@@ -14,10 +14,14 @@ import org.springframework.context.annotation.Configuration;
 public class GrokApiConfig {
     
     private String baseUrl = "https://api.x.ai/v1";
+    private String apiKey;
     private String model = "grok-4";
     private double temperature = 0.7;
     private int maxTokens = 1000;
     private int timeout = 30000;
+    private boolean coalesceRequests = true;
+    private boolean structuredOutput = false;
+    private Connection connection = new Connection();
     
     public GrokApiConfig() {}
     
@@ -30,6 +34,14 @@ public class GrokApiConfig {
         this.baseUrl = baseUrl;
     }
     
+    public String getApiKey() {
+        return apiKey;
+    }
+    
+    public void setApiKey(String apiKey) {
+        this.apiKey = apiKey;
+    }
+    
     public String getModel() {
         return model;
     }
@@ -61,4 +73,131 @@ public class GrokApiConfig {
     public void setTimeout(int timeout) {
         this.timeout = timeout;
     }
+    
+    public boolean isCoalesceRequests() {
+        return coalesceRequests;
+    }
+    
+    public void setCoalesceRequests(boolean coalesceRequests) {
+        this.coalesceRequests = coalesceRequests;
+    }
+    
+    public boolean isStructuredOutput() {
+        return structuredOutput;
+    }
+    
+    public void setStructuredOutput(boolean structuredOutput) {
+        this.structuredOutput = structuredOutput;
+    }
+    
+    public Connection getConnection() {
+        return connection;
+    }
+    
+    public void setConnection(Connection connection) {
+        this.connection = connection;
+    }
+    
+    /**
+     * HTTP connection settings for the shared Grok client connection pool.
+     * 
+     * Bound from grok.api.connection.* and sized against the upstream
+     * rate limits rather than the servlet thread pool.
+     */
+    public static class Connection {
+        
+        private int maxConnections = 50;
+        private int pendingAcquireMaxCount = 200;
+        private long pendingAcquireTimeoutMs = 10000;
+        private long maxIdleTimeMs = 30000;
+        private long maxLifeTimeMs = 300000;
+        private long evictionIntervalMs = 30000;
+        private int connectTimeoutMs = 5000;
+        private boolean keepAlive = true;
+        private boolean preferHttp2 = false;
+        private boolean compression = true;
+        
+        public Connection() {}
+        
+        // Getters and Setters
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+        
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+        
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+        
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+        
+        public long getPendingAcquireTimeoutMs() {
+            return pendingAcquireTimeoutMs;
+        }
+        
+        public void setPendingAcquireTimeoutMs(long pendingAcquireTimeoutMs) {
+            this.pendingAcquireTimeoutMs = pendingAcquireTimeoutMs;
+        }
+        
+        public long getMaxIdleTimeMs() {
+            return maxIdleTimeMs;
+        }
+        
+        public void setMaxIdleTimeMs(long maxIdleTimeMs) {
+            this.maxIdleTimeMs = maxIdleTimeMs;
+        }
+        
+        public long getMaxLifeTimeMs() {
+            return maxLifeTimeMs;
+        }
+        
+        public void setMaxLifeTimeMs(long maxLifeTimeMs) {
+            this.maxLifeTimeMs = maxLifeTimeMs;
+        }
+        
+        public long getEvictionIntervalMs() {
+            return evictionIntervalMs;
+        }
+        
+        public void setEvictionIntervalMs(long evictionIntervalMs) {
+            this.evictionIntervalMs = evictionIntervalMs;
+        }
+        
+        public int getConnectTimeoutMs() {
+            return connectTimeoutMs;
+        }
+        
+        public void setConnectTimeoutMs(int connectTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+        }
+        
+        public boolean isKeepAlive() {
+            return keepAlive;
+        }
+        
+        public void setKeepAlive(boolean keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+        
+        public boolean isPreferHttp2() {
+            return preferHttp2;
+        }
+        
+        public void setPreferHttp2(boolean preferHttp2) {
+            this.preferHttp2 = preferHttp2;
+        }
+        
+        public boolean isCompression() {
+            return compression;
+        }
+        
+        public void setCompression(boolean compression) {
+            this.compression = compression;
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the Grok response cache.
+ * 
+ * Completions are cached by a hash of the request (model, temperature,
+ * max tokens and messages). Only calls at or below the configured
+ * temperature are cached, since higher temperatures are expected to
+ * produce a different answer on every call.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "grok.cache")
+public class GrokCacheConfig {
+    
+    private boolean enabled = true;
+    private int maxEntries = 1000;
+    private long ttlSeconds = 3600;
+    private double maxTemperature = 0.3;
+    private String persistFile;
+    
+    public GrokCacheConfig() {}
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+    
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+    
+    public double getMaxTemperature() {
+        return maxTemperature;
+    }
+    
+    public void setMaxTemperature(double maxTemperature) {
+        this.maxTemperature = maxTemperature;
+    }
+    
+    public String getPersistFile() {
+        return persistFile;
+    }
+    
+    public void setPersistFile(String persistFile) {
+        this.persistFile = persistFile;
+    }
+}
@@ -0,0 +1,75 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for client-side Grok API rate limiting.
+ * 
+ * Mirrors the xAI requests-per-minute and tokens-per-minute quotas so
+ * bursts are smoothed on our side instead of failing upstream. Each
+ * priority lane has its own maximum queueing time; a wait of zero
+ * rejects immediately when no capacity is available.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "grok.rate-limit")
+public class GrokRateLimitConfig {
+    
+    private boolean enabled = true;
+    private int requestsPerMinute = 60;
+    private long tokensPerMinute = 100000;
+    private long interactiveMaxWaitMs = 5000;
+    private long batchMaxWaitMs = 60000;
+    private int maxQueueSize = 1000;
+    
+    public GrokRateLimitConfig() {}
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+    
+    public void setRequestsPerMinute(int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+    }
+    
+    public long getTokensPerMinute() {
+        return tokensPerMinute;
+    }
+    
+    public void setTokensPerMinute(long tokensPerMinute) {
+        this.tokensPerMinute = tokensPerMinute;
+    }
+    
+    public long getInteractiveMaxWaitMs() {
+        return interactiveMaxWaitMs;
+    }
+    
+    public void setInteractiveMaxWaitMs(long interactiveMaxWaitMs) {
+        this.interactiveMaxWaitMs = interactiveMaxWaitMs;
+    }
+    
+    public long getBatchMaxWaitMs() {
+        return batchMaxWaitMs;
+    }
+    
+    public void setBatchMaxWaitMs(long batchMaxWaitMs) {
+        this.batchMaxWaitMs = batchMaxWaitMs;
+    }
+    
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+    
+    public void setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+}
@@ -0,0 +1,233 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for Grok API resilience.
+ * 
+ * Covers retries of throttled and failed calls, hedged requests for slow
+ * interactive calls, and the circuit breaker that fails fast while the
+ * upstream is degraded.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "grok.resilience")
+public class GrokResilienceConfig {
+    
+    private Retry retry = new Retry();
+    private Hedging hedging = new Hedging();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    
+    public GrokResilienceConfig() {}
+    
+    // Getters and Setters
+    public Retry getRetry() {
+        return retry;
+    }
+    
+    public void setRetry(Retry retry) {
+        this.retry = retry;
+    }
+    
+    public Hedging getHedging() {
+        return hedging;
+    }
+    
+    public void setHedging(Hedging hedging) {
+        this.hedging = hedging;
+    }
+    
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+    
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+    
+    /**
+     * Retry settings for 429 and 5xx responses, timeouts and connection failures.
+     * 
+     * Attempts include the first call. Backoff is exponential with full jitter
+     * unless the response carries a Retry-After header; a Retry-After longer
+     * than the limit, or a delay past the overall budget, ends the retries.
+     */
+    public static class Retry {
+        
+        private int maxAttempts = 3;
+        private long initialBackoffMs = 500;
+        private long maxBackoffMs = 8000;
+        private long maxRetryAfterMs = 20000;
+        private long budgetMs = 60000;
+        
+        public Retry() {}
+        
+        // Getters and Setters
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+        
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+        
+        public long getInitialBackoffMs() {
+            return initialBackoffMs;
+        }
+        
+        public void setInitialBackoffMs(long initialBackoffMs) {
+            this.initialBackoffMs = initialBackoffMs;
+        }
+        
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+        
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+        
+        public long getMaxRetryAfterMs() {
+            return maxRetryAfterMs;
+        }
+        
+        public void setMaxRetryAfterMs(long maxRetryAfterMs) {
+            this.maxRetryAfterMs = maxRetryAfterMs;
+        }
+        
+        public long getBudgetMs() {
+            return budgetMs;
+        }
+        
+        public void setBudgetMs(long budgetMs) {
+            this.budgetMs = budgetMs;
+        }
+    }
+    
+    /**
+     * Hedged request settings.
+     * 
+     * When enabled, an interactive call still waiting after the given latency
+     * percentile of recent calls sends a second identical request and takes
+     * whichever answers first.
+     */
+    public static class Hedging {
+        
+        private boolean enabled = false;
+        private double percentile = 0.95;
+        private long minDelayMs = 500;
+        private int minSamples = 20;
+        private int latencyWindow = 200;
+        
+        public Hedging() {}
+        
+        // Getters and Setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public double getPercentile() {
+            return percentile;
+        }
+        
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+        
+        public long getMinDelayMs() {
+            return minDelayMs;
+        }
+        
+        public void setMinDelayMs(long minDelayMs) {
+            this.minDelayMs = minDelayMs;
+        }
+        
+        public int getMinSamples() {
+            return minSamples;
+        }
+        
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+        
+        public int getLatencyWindow() {
+            return latencyWindow;
+        }
+        
+        public void setLatencyWindow(int latencyWindow) {
+            this.latencyWindow = latencyWindow;
+        }
+    }
+    
+    /**
+     * Circuit breaker settings.
+     * 
+     * The breaker opens when the failure rate over the last calls reaches the
+     * threshold, rejects calls while open, then lets a few trial calls through
+     * before closing again.
+     */
+    public static class CircuitBreaker {
+        
+        private boolean enabled = true;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private long openDurationMs = 30000;
+        private int halfOpenCalls = 3;
+        
+        public CircuitBreaker() {}
+        
+        // Getters and Setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+        
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+        
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+        
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+        
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+        
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+        
+        public long getOpenDurationMs() {
+            return openDurationMs;
+        }
+        
+        public void setOpenDurationMs(long openDurationMs) {
+            this.openDurationMs = openDurationMs;
+        }
+        
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+        
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+}
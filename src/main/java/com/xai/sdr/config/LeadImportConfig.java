@@ -0,0 +1,38 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for streaming bulk lead imports.
+ * 
+ * Rows are read incrementally and handled in batches: each batch is
+ * validated, checked for existing emails with one query and inserted
+ * in one transaction.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "lead.import")
+public class LeadImportConfig {
+    
+    private int batchSize = 500;
+    private int maxReportedErrors = 100;
+    
+    public LeadImportConfig() {}
+    
+    // Getters and Setters
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    public int getMaxReportedErrors() {
+        return maxReportedErrors;
+    }
+    
+    public void setMaxReportedErrors(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+}
@@ -0,0 +1,84 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the in-memory lead search index.
+ * 
+ * The index is rebuilt from the database on startup and kept current as
+ * leads are saved and deleted. Until the rebuild finishes, or when the
+ * index is disabled, searches fall back to a database substring match.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "lead.search")
+public class LeadSearchConfig {
+    
+    private boolean enabled = true;
+    private int defaultLimit = 20;
+    private int maxLimit = 100;
+    private int maxPrefixExpansions = 50;
+    private int fuzzyMinTermLength = 4;
+    private int maxNotesTokens = 200;
+    
+    public LeadSearchConfig() {}
+    
+    /**
+     * Resolve the number of results for a request
+     */
+    public int resolveLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultLimit;
+        }
+        return Math.min(requested, maxLimit);
+    }
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+    
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+    
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+    
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+    
+    public int getMaxPrefixExpansions() {
+        return maxPrefixExpansions;
+    }
+    
+    public void setMaxPrefixExpansions(int maxPrefixExpansions) {
+        this.maxPrefixExpansions = maxPrefixExpansions;
+    }
+    
+    public int getFuzzyMinTermLength() {
+        return fuzzyMinTermLength;
+    }
+    
+    public void setFuzzyMinTermLength(int fuzzyMinTermLength) {
+        this.fuzzyMinTermLength = fuzzyMinTermLength;
+    }
+    
+    public int getMaxNotesTokens() {
+        return maxNotesTokens;
+    }
+    
+    public void setMaxNotesTokens(int maxNotesTokens) {
+        this.maxNotesTokens = maxNotesTokens;
+    }
+}
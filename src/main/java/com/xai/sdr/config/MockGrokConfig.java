@@ -0,0 +1,166 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the local Grok stand-in server.
+ * 
+ * Used by the mock-grok profile and by tests. Controls the response
+ * latency distribution, how often 429 and 5xx errors are injected,
+ * how streamed responses are chunked and how token usage is reported.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "grok.mock")
+public class MockGrokConfig {
+    
+    private int port = 8089;
+    private LatencyDistribution latencyDistribution = LatencyDistribution.LOG_NORMAL;
+    private long latencyMs = 800;
+    private long latencyJitterMs = 400;
+    private double latencySigma = 0.5;
+    private long latencyMaxMs = 10000;
+    private double rateLimitRate = 0.0;
+    private int retryAfterSeconds = 1;
+    private double serverErrorRate = 0.0;
+    private int serverErrorStatus = 503;
+    private int streamChunkChars = 16;
+    private long streamChunkDelayMs = 20;
+    private double charsPerToken = 4.0;
+    private int scoreJitter = 0;
+    private Long seed;
+    
+    public MockGrokConfig() {}
+    
+    // Getters and Setters
+    public int getPort() {
+        return port;
+    }
+    
+    public void setPort(int port) {
+        this.port = port;
+    }
+    
+    public LatencyDistribution getLatencyDistribution() {
+        return latencyDistribution;
+    }
+    
+    public void setLatencyDistribution(LatencyDistribution latencyDistribution) {
+        this.latencyDistribution = latencyDistribution;
+    }
+    
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+    
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+    
+    public long getLatencyJitterMs() {
+        return latencyJitterMs;
+    }
+    
+    public void setLatencyJitterMs(long latencyJitterMs) {
+        this.latencyJitterMs = latencyJitterMs;
+    }
+    
+    public double getLatencySigma() {
+        return latencySigma;
+    }
+    
+    public void setLatencySigma(double latencySigma) {
+        this.latencySigma = latencySigma;
+    }
+    
+    public long getLatencyMaxMs() {
+        return latencyMaxMs;
+    }
+    
+    public void setLatencyMaxMs(long latencyMaxMs) {
+        this.latencyMaxMs = latencyMaxMs;
+    }
+    
+    public double getRateLimitRate() {
+        return rateLimitRate;
+    }
+    
+    public void setRateLimitRate(double rateLimitRate) {
+        this.rateLimitRate = rateLimitRate;
+    }
+    
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+    
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public double getServerErrorRate() {
+        return serverErrorRate;
+    }
+    
+    public void setServerErrorRate(double serverErrorRate) {
+        this.serverErrorRate = serverErrorRate;
+    }
+    
+    public int getServerErrorStatus() {
+        return serverErrorStatus;
+    }
+    
+    public void setServerErrorStatus(int serverErrorStatus) {
+        this.serverErrorStatus = serverErrorStatus;
+    }
+    
+    public int getStreamChunkChars() {
+        return streamChunkChars;
+    }
+    
+    public void setStreamChunkChars(int streamChunkChars) {
+        this.streamChunkChars = streamChunkChars;
+    }
+    
+    public long getStreamChunkDelayMs() {
+        return streamChunkDelayMs;
+    }
+    
+    public void setStreamChunkDelayMs(long streamChunkDelayMs) {
+        this.streamChunkDelayMs = streamChunkDelayMs;
+    }
+    
+    public double getCharsPerToken() {
+        return charsPerToken;
+    }
+    
+    public void setCharsPerToken(double charsPerToken) {
+        this.charsPerToken = charsPerToken;
+    }
+    
+    public int getScoreJitter() {
+        return scoreJitter;
+    }
+    
+    public void setScoreJitter(int scoreJitter) {
+        this.scoreJitter = scoreJitter;
+    }
+    
+    public Long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+    
+    /**
+     * Shape of the simulated response latency.
+     * FIXED always waits latencyMs, UNIFORM waits latencyMs +/- latencyJitterMs,
+     * LOG_NORMAL has median latencyMs and spread latencySigma.
+     */
+    public enum LatencyDistribution {
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+}
@@ -0,0 +1,47 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for paginated list endpoints.
+ * 
+ * The default page size applies when a request does not pass a limit;
+ * larger requested limits are capped at the maximum.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationConfig {
+    
+    private int defaultPageSize = 50;
+    private int maxPageSize = 500;
+    
+    public PaginationConfig() {}
+    
+    /**
+     * Resolve the page size for a request
+     */
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+    
+    // Getters and Setters
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+    
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+    
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+    
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+}
@@ -0,0 +1,39 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for pipeline statistics.
+ * 
+ * When the counter cache is enabled, per-stage lead counts are kept in
+ * memory and adjusted as leads are saved and deleted; the counters are
+ * re-synced from the database on a fixed interval to correct any drift,
+ * such as rows changed outside the application.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "pipeline.stats")
+public class PipelineStatsConfig {
+    
+    private boolean cacheEnabled = true;
+    private long resyncIntervalMs = 60000;
+    
+    public PipelineStatsConfig() {}
+    
+    // Getters and Setters
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+    
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+    
+    public long getResyncIntervalMs() {
+        return resyncIntervalMs;
+    }
+    
+    public void setResyncIntervalMs(long resyncIntervalMs) {
+        this.resyncIntervalMs = resyncIntervalMs;
+    }
+}
@@ -0,0 +1,48 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the Grok prompt templates.
+ * 
+ * Templates are the *.prompt files under the given location, which may be
+ * a classpath: or file: location. With reload enabled the files are
+ * re-read periodically and changed templates are recompiled, so prompts
+ * can be edited without a redeploy.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "grok.prompts")
+public class PromptTemplateConfig {
+    
+    private String location = "classpath:prompts/";
+    private boolean reloadEnabled = false;
+    private long reloadIntervalMs = 30000;
+    
+    public PromptTemplateConfig() {}
+    
+    // Getters and Setters
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+    
+    public boolean isReloadEnabled() {
+        return reloadEnabled;
+    }
+    
+    public void setReloadEnabled(boolean reloadEnabled) {
+        this.reloadEnabled = reloadEnabled;
+    }
+    
+    public long getReloadIntervalMs() {
+        return reloadIntervalMs;
+    }
+    
+    public void setReloadIntervalMs(long reloadIntervalMs) {
+        this.reloadIntervalMs = reloadIntervalMs;
+    }
+}
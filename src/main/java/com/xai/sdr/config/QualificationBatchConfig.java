@@ -0,0 +1,65 @@
+package com.xai.sdr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for bulk lead qualification jobs.
+ * 
+ * Controls how many Grok calls a job keeps in flight, how many leads are
+ * packed into each call, and how qualification results are grouped into
+ * database write transactions.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "qualification.batch")
+public class QualificationBatchConfig {
+    
+    private int concurrency = 4;
+    private int packSize = 1;
+    private int writeBatchSize = 25;
+    private long writeIntervalMs = 2000;
+    private int retainedJobs = 50;
+    
+    public QualificationBatchConfig() {}
+    
+    // Getters and Setters
+    public int getConcurrency() {
+        return concurrency;
+    }
+    
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+    
+    public int getPackSize() {
+        return packSize;
+    }
+    
+    public void setPackSize(int packSize) {
+        this.packSize = packSize;
+    }
+    
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+    
+    public void setWriteBatchSize(int writeBatchSize) {
+        this.writeBatchSize = writeBatchSize;
+    }
+    
+    public long getWriteIntervalMs() {
+        return writeIntervalMs;
+    }
+    
+    public void setWriteIntervalMs(long writeIntervalMs) {
+        this.writeIntervalMs = writeIntervalMs;
+    }
+    
+    public int getRetainedJobs() {
+        return retainedJobs;
+    }
+    
+    public void setRetainedJobs(int retainedJobs) {
+        this.retainedJobs = retainedJobs;
+    }
+}
@@ -1,5 +1,7 @@
 package com.xai.sdr.controller;
 
+import com.xai.sdr.dto.ActivitySummary;
+import com.xai.sdr.dto.PageResponse;
 import com.xai.sdr.model.Activity;
 import com.xai.sdr.model.Lead;
 import com.xai.sdr.service.ActivityService;
@@ -12,7 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -38,13 +40,19 @@ public class ActivityController {
     }
     
     /**
-     * Get all activities
+     * Get all activities, newest first, one page at a time.
+     * Pass the returned nextCursor as cursor to fetch the next page.
      */
     @GetMapping
-    public ResponseEntity<List<Activity>> getAllActivities() {
+    public ResponseEntity<PageResponse<ActivitySummary>> getAllActivities(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Activity> activities = activityService.findAll();
+            PageResponse<ActivitySummary> activities = activityService.listActivities(null, null, cursor, limit);
             return ResponseEntity.ok(activities);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid activity listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error retrieving activities", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -70,15 +78,20 @@ public class ActivityController {
      * Get activities for a specific lead
      */
     @GetMapping("/lead/{leadId}")
-    public ResponseEntity<List<Activity>> getActivitiesByLead(@PathVariable Long leadId) {
+    public ResponseEntity<PageResponse<ActivitySummary>> getActivitiesByLead(
+            @PathVariable Long leadId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            Optional<Lead> leadOpt = leadService.findById(leadId);
-            if (!leadOpt.isPresent()) {
+            if (!leadService.existsById(leadId)) {
                 return ResponseEntity.notFound().build();
             }
             
-            List<Activity> activities = activityService.findByLead(leadOpt.get());
+            PageResponse<ActivitySummary> activities = activityService.listActivities(leadId, null, cursor, limit);
             return ResponseEntity.ok(activities);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid activity listing request for lead {}: {}", leadId, e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error retrieving activities for lead {}", leadId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -162,10 +175,15 @@ public class ActivityController {
      * Get recent activities across all leads
      */
     @GetMapping("/recent")
-    public ResponseEntity<List<Activity>> getRecentActivities() {
+    public ResponseEntity<PageResponse<ActivitySummary>> getRecentActivities(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Activity> activities = activityService.findRecentActivities();
+            PageResponse<ActivitySummary> activities = activityService.listActivities(null, null, cursor, limit);
             return ResponseEntity.ok(activities);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid recent activity request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error retrieving recent activities", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -176,10 +194,16 @@ public class ActivityController {
      * Get activities by type
      */
     @GetMapping("/type/{activityType}")
-    public ResponseEntity<List<Activity>> getActivitiesByType(@PathVariable String activityType) {
+    public ResponseEntity<PageResponse<ActivitySummary>> getActivitiesByType(
+            @PathVariable String activityType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Activity> activities = activityService.findByActivityType(activityType);
+            PageResponse<ActivitySummary> activities = activityService.listActivitiesByType(activityType, cursor, limit);
             return ResponseEntity.ok(activities);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid activity type listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error retrieving activities by type {}", activityType, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -190,10 +214,15 @@ public class ActivityController {
      * Get overdue activities
      */
     @GetMapping("/overdue")
-    public ResponseEntity<List<Activity>> getOverdueActivities() {
+    public ResponseEntity<PageResponse<ActivitySummary>> getOverdueActivities(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Activity> activities = activityService.findOverdueActivities();
+            PageResponse<ActivitySummary> activities = activityService.listOverdueActivities(cursor, limit);
             return ResponseEntity.ok(activities);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid overdue activity request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error retrieving overdue activities", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -229,12 +258,11 @@ public class ActivityController {
     @GetMapping("/lead/{leadId}/stats")
     public ResponseEntity<Object> getActivityStats(@PathVariable Long leadId) {
         try {
-            Optional<Lead> leadOpt = leadService.findById(leadId);
-            if (!leadOpt.isPresent()) {
+            Map<String, Object> stats = activityService.getActivityStats(leadId);
+            if ((long) stats.get("totalActivities") == 0 && !leadService.existsById(leadId)) {
                 return ResponseEntity.notFound().build();
             }
             
-            Object stats = activityService.getActivityStats(leadOpt.get());
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
             log.error("Error retrieving activity stats for lead {}", leadId, e);
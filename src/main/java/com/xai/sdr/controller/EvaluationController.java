@@ -1,5 +1,8 @@
 package com.xai.sdr.controller;
 
+import com.xai.sdr.dto.EvaluationHistoryEntry;
+import com.xai.sdr.dto.EvaluationRequest;
+import com.xai.sdr.dto.PageResponse;
 import com.xai.sdr.service.EvaluationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,7 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -32,13 +34,17 @@ public class EvaluationController {
     }
     
     /**
-     * Run evaluation tests for lead qualification
+     * Run evaluation tests for lead qualification.
+     * The optional body selects the dataset, repeats and concurrency.
      */
     @PostMapping("/qualification")
-    public ResponseEntity<Map<String, Object>> evaluateQualification(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<Map<String, Object>> evaluateQualification(@RequestBody(required = false) EvaluationRequest request) {
         try {
             Map<String, Object> results = evaluationService.evaluateQualification(request);
             return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid qualification evaluation request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error running qualification evaluation", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -49,10 +55,13 @@ public class EvaluationController {
      * Run evaluation tests for messaging generation
      */
     @PostMapping("/messaging")
-    public ResponseEntity<Map<String, Object>> evaluateMessaging(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<Map<String, Object>> evaluateMessaging(@RequestBody(required = false) EvaluationRequest request) {
         try {
             Map<String, Object> results = evaluationService.evaluateMessaging(request);
             return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid messaging evaluation request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error running messaging evaluation", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -63,10 +72,13 @@ public class EvaluationController {
      * Test different prompt variations
      */
     @PostMapping("/prompts")
-    public ResponseEntity<Map<String, Object>> evaluatePrompts(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<Map<String, Object>> evaluatePrompts(@RequestBody(required = false) EvaluationRequest request) {
         try {
             Map<String, Object> results = evaluationService.evaluatePromptVariations(request);
             return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid prompt evaluation request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error running prompt evaluation", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -74,13 +86,19 @@ public class EvaluationController {
     }
     
     /**
-     * Get evaluation history
+     * Get evaluation history, newest first, one page at a time.
+     * Pass the returned nextCursor as cursor to fetch the next page.
      */
     @GetMapping("/history")
-    public ResponseEntity<List<Map<String, Object>>> getEvaluationHistory() {
+    public ResponseEntity<PageResponse<EvaluationHistoryEntry>> getEvaluationHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Map<String, Object>> history = evaluationService.getEvaluationHistory();
+            PageResponse<EvaluationHistoryEntry> history = evaluationService.getEvaluationHistory(cursor, limit);
             return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid evaluation history request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error retrieving evaluation history", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -105,10 +123,14 @@ public class EvaluationController {
      * Run comprehensive evaluation suite
      */
     @PostMapping("/comprehensive")
-    public ResponseEntity<Map<String, Object>> runComprehensiveEvaluation() {
+    public ResponseEntity<Map<String, Object>> runComprehensiveEvaluation(
+            @RequestBody(required = false) EvaluationRequest request) {
         try {
-            Map<String, Object> results = evaluationService.runComprehensiveEvaluation();
+            Map<String, Object> results = evaluationService.runComprehensiveEvaluation(request);
             return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid comprehensive evaluation request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error running comprehensive evaluation", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -0,0 +1,92 @@
+package com.xai.sdr.controller;
+
+import com.xai.sdr.service.GrokApiService;
+import com.xai.sdr.service.GrokRateLimiter;
+import com.xai.sdr.service.GrokResiliencePolicy;
+import com.xai.sdr.service.GrokRequestCoalescer;
+import com.xai.sdr.service.GrokResponseCache;
+import com.xai.sdr.service.LeadQualificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST controller for Grok client statistics.
+ * 
+ * Exposes runtime metrics of the Grok API client, such as response
+ * cache effectiveness, request coalescing, connection pool usage, rate
+ * limiter state, retry/circuit breaker health, streaming time to first
+ * token and qualification parse failures per prompt version, for monitoring
+ * and capacity planning.
+ */
+@RestController
+@RequestMapping("/grok")
+@CrossOrigin(origins = "*")
+public class GrokStatsController {
+    
+    private static final Logger log = LoggerFactory.getLogger(GrokStatsController.class);
+    
+    private final GrokApiService grokApiService;
+    private final GrokResponseCache responseCache;
+    private final GrokRequestCoalescer requestCoalescer;
+    private final GrokRateLimiter rateLimiter;
+    private final GrokResiliencePolicy resiliencePolicy;
+    private final LeadQualificationService qualificationService;
+    
+    @Autowired
+    public GrokStatsController(GrokApiService grokApiService,
+                               GrokResponseCache responseCache,
+                               GrokRequestCoalescer requestCoalescer,
+                               GrokRateLimiter rateLimiter,
+                               GrokResiliencePolicy resiliencePolicy,
+                               LeadQualificationService qualificationService) {
+        this.grokApiService = grokApiService;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.rateLimiter = rateLimiter;
+        this.resiliencePolicy = resiliencePolicy;
+        this.qualificationService = qualificationService;
+    }
+    
+    /**
+     * Get Grok client statistics
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("cache", responseCache.getStats());
+            stats.put("coalescing", requestCoalescer.getStats());
+            stats.put("connectionPool", grokApiService.getConnectionPoolStats());
+            stats.put("rateLimit", rateLimiter.getStats());
+            stats.put("resilience", resiliencePolicy.getStats());
+            stats.put("streaming", grokApiService.getStreamingStats());
+            stats.put("qualificationParsing", qualificationService.getParseStats());
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            log.error("Error retrieving Grok client statistics", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Clear the Grok response cache
+     */
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> clearCache() {
+        try {
+            responseCache.clear();
+            log.info("Cleared Grok response cache");
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            log.error("Error clearing Grok response cache", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,21 +1,46 @@
 package com.xai.sdr.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xai.sdr.dto.BatchQualificationRequest;
+import com.xai.sdr.dto.LeadImportResult;
+import com.xai.sdr.dto.LeadSummary;
+import com.xai.sdr.dto.PageResponse;
 import com.xai.sdr.model.Lead;
 import com.xai.sdr.model.PipelineStage;
+import com.xai.sdr.service.LeadExportService;
+import com.xai.sdr.service.LeadImportService;
 import com.xai.sdr.service.LeadQualificationService;
+import com.xai.sdr.service.LeadSearchService;
 import com.xai.sdr.service.LeadService;
 import com.xai.sdr.service.PersonalizedMessagingService;
+import com.xai.sdr.service.QualificationJobService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 /**
  * REST controller for lead management operations.
@@ -33,36 +58,88 @@ public class LeadController {
     private final LeadService leadService;
     private final LeadQualificationService qualificationService;
     private final PersonalizedMessagingService messagingService;
+    private final QualificationJobService qualificationJobService;
+    private final LeadSearchService leadSearchService;
+    private final LeadImportService leadImportService;
+    private final LeadExportService leadExportService;
+    private final ObjectMapper objectMapper;
     
     @Autowired
     public LeadController(LeadService leadService, 
                          LeadQualificationService qualificationService,
-                         PersonalizedMessagingService messagingService) {
+                         PersonalizedMessagingService messagingService,
+                         QualificationJobService qualificationJobService,
+                         LeadSearchService leadSearchService,
+                         LeadImportService leadImportService,
+                         LeadExportService leadExportService,
+                         ObjectMapper objectMapper) {
         this.leadService = leadService;
         this.qualificationService = qualificationService;
         this.messagingService = messagingService;
+        this.qualificationJobService = qualificationJobService;
+        this.leadSearchService = leadSearchService;
+        this.leadImportService = leadImportService;
+        this.leadExportService = leadExportService;
+        this.objectMapper = objectMapper.copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
     
     /**
-     * Get all leads with optional filtering
+     * Get leads with optional filtering, newest first, one page at a time.
+     * Pass the returned nextCursor as cursor to fetch the next page.
      */
     @GetMapping
-    public ResponseEntity<List<Lead>> getAllLeads(
+    public ResponseEntity<PageResponse<LeadSummary>> getAllLeads(
             @RequestParam(required = false) String firstName,
             @RequestParam(required = false) String lastName,
             @RequestParam(required = false) String companyName,
             @RequestParam(required = false) String industry,
-            @RequestParam(required = false) PipelineStage pipelineStage) {
+            @RequestParam(required = false) PipelineStage pipelineStage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         
         try {
-            List<Lead> leads = leadService.searchLeads(firstName, lastName, companyName, industry, pipelineStage);
+            PageResponse<LeadSummary> leads = leadService.searchLeadSummaries(
+                    firstName, lastName, companyName, industry, pipelineStage, cursor, limit);
             return ResponseEntity.ok(leads);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid lead listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error retrieving leads", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Search leads by name, company, title, industry and notes, best match first.
+     * The last word matches as a prefix and longer words tolerate typos.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<LeadSummary>> searchLeads(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<LeadSummary> leads = leadSearchService.search(q, limit);
+            return ResponseEntity.ok(leads);
+        } catch (Exception e) {
+            log.error("Error searching leads for '{}'", q, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Get lead search index statistics
+     */
+    @GetMapping("/search/stats")
+    public ResponseEntity<Map<String, Object>> getSearchStats() {
+        try {
+            return ResponseEntity.ok(leadSearchService.getStats());
+        } catch (Exception e) {
+            log.error("Error retrieving lead search statistics", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Get a specific lead by ID
      */
@@ -93,6 +170,31 @@ public class LeadController {
         }
     }
     
+    /**
+     * Bulk import leads from a CSV or NDJSON request body, streamed in batches.
+     * The format follows the Content-Type unless given explicitly; gzip bodies are accepted.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<LeadImportResult> importLeads(
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) {
+        try {
+            LeadImportService.Format importFormat = LeadImportService.Format.resolve(format, request.getContentType());
+            InputStream input = request.getInputStream();
+            if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+                input = new GZIPInputStream(input);
+            }
+            LeadImportResult result = leadImportService.importLeads(input, importFormat);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid lead import request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error importing leads", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Update an existing lead
      */
@@ -136,26 +238,32 @@ public class LeadController {
      * Qualify a lead using AI
      */
     @PostMapping("/{id}/qualify")
-    public ResponseEntity<LeadQualificationService.LeadQualificationResult> qualifyLead(@PathVariable Long id) {
+    public Mono<ResponseEntity<LeadQualificationService.LeadQualificationResult>> qualifyLead(@PathVariable Long id) {
         try {
             Optional<Lead> leadOpt = leadService.findById(id);
             if (!leadOpt.isPresent()) {
-                return ResponseEntity.notFound().build();
+                return Mono.just(ResponseEntity.notFound().build());
             }
             
-            LeadQualificationService.LeadQualificationResult result = qualificationService.qualifyLead(leadOpt.get());
-            
-            // Update the lead with the qualification results
             Lead lead = leadOpt.get();
-            lead.setQualificationScore(result.getScore());
-            lead.setQualificationReasoning(result.getReasoning());
-            leadService.save(lead);
-            
-            log.info("Qualified lead {} with score: {}", id, result.getScore());
-            return ResponseEntity.ok(result);
+            return qualificationService.qualifyLeadAsync(lead)
+                    .publishOn(Schedulers.boundedElastic())
+                    .map(result -> {
+                        // Update the lead with the qualification results
+                        lead.setQualificationScore(result.getScore());
+                        lead.setQualificationReasoning(result.getReasoning());
+                        leadService.save(lead);
+                        
+                        log.info("Qualified lead {} with score: {}", id, result.getScore());
+                        return ResponseEntity.ok(result);
+                    })
+                    .onErrorResume(e -> {
+                        log.error("Error qualifying lead with id {}", id, e);
+                        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                    });
         } catch (Exception e) {
             log.error("Error qualifying lead with id {}", id, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
         }
     }
     
@@ -163,28 +271,97 @@ public class LeadController {
      * Re-qualify a lead with custom criteria
      */
     @PostMapping("/{id}/requalify")
-    public ResponseEntity<LeadQualificationService.LeadQualificationResult> requalifyLead(
+    public Mono<ResponseEntity<LeadQualificationService.LeadQualificationResult>> requalifyLead(
             @PathVariable Long id, 
             @RequestBody Map<String, Object> customCriteria) {
         try {
             Optional<Lead> leadOpt = leadService.findById(id);
             if (!leadOpt.isPresent()) {
-                return ResponseEntity.notFound().build();
+                return Mono.just(ResponseEntity.notFound().build());
             }
             
-            LeadQualificationService.LeadQualificationResult result = 
-                qualificationService.requalifyLead(leadOpt.get(), customCriteria);
-            
-            // Update the lead with the new qualification results
             Lead lead = leadOpt.get();
-            lead.setQualificationScore(result.getScore());
-            lead.setQualificationReasoning(result.getReasoning());
-            leadService.save(lead);
-            
-            log.info("Re-qualified lead {} with score: {}", id, result.getScore());
-            return ResponseEntity.ok(result);
+            return qualificationService.requalifyLeadAsync(lead, customCriteria)
+                    .publishOn(Schedulers.boundedElastic())
+                    .map(result -> {
+                        // Update the lead with the new qualification results
+                        lead.setQualificationScore(result.getScore());
+                        lead.setQualificationReasoning(result.getReasoning());
+                        leadService.save(lead);
+                        
+                        log.info("Re-qualified lead {} with score: {}", id, result.getScore());
+                        return ResponseEntity.ok(result);
+                    })
+                    .onErrorResume(e -> {
+                        log.error("Error re-qualifying lead with id {}", id, e);
+                        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                    });
         } catch (Exception e) {
             log.error("Error re-qualifying lead with id {}", id, e);
+            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        }
+    }
+    
+    /**
+     * Submit a bulk qualification job by lead IDs or search filters
+     */
+    @PostMapping("/qualify/batch")
+    public ResponseEntity<Map<String, Object>> submitBatchQualification(@RequestBody BatchQualificationRequest request) {
+        try {
+            QualificationJobService.QualificationJob job = qualificationJobService.submit(request);
+            log.info("Submitted qualification job {} for {} leads", job.getJobId(), job.getTotalLeads());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.toSummary());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid bulk qualification request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error submitting bulk qualification job", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * List bulk qualification jobs
+     */
+    @GetMapping("/qualify/batch")
+    public ResponseEntity<List<Map<String, Object>>> getBatchQualificationJobs() {
+        try {
+            List<Map<String, Object>> jobs = qualificationJobService.findAllJobs().stream()
+                    .map(QualificationJobService.QualificationJob::toSummary)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(jobs);
+        } catch (Exception e) {
+            log.error("Error retrieving bulk qualification jobs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Get progress of a bulk qualification job
+     */
+    @GetMapping("/qualify/batch/{jobId}")
+    public ResponseEntity<Map<String, Object>> getBatchQualificationJob(@PathVariable String jobId) {
+        try {
+            return qualificationJobService.findJob(jobId)
+                    .map(job -> ResponseEntity.ok(job.toSummary()))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            log.error("Error retrieving qualification job {}", jobId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Cancel a running bulk qualification job
+     */
+    @DeleteMapping("/qualify/batch/{jobId}")
+    public ResponseEntity<Map<String, Object>> cancelBatchQualificationJob(@PathVariable String jobId) {
+        try {
+            return qualificationJobService.cancel(jobId)
+                    .map(job -> ResponseEntity.ok(job.toSummary()))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            log.error("Error cancelling qualification job {}", jobId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -193,22 +370,25 @@ public class LeadController {
      * Generate a personalized email message
      */
     @PostMapping("/{id}/messages/email")
-    public ResponseEntity<Map<String, String>> generateEmailMessage(
+    public Mono<ResponseEntity<Map<String, String>>> generateEmailMessage(
             @PathVariable Long id, 
             @RequestBody Map<String, String> request) {
         try {
             Optional<Lead> leadOpt = leadService.findById(id);
             if (!leadOpt.isPresent()) {
-                return ResponseEntity.notFound().build();
+                return Mono.just(ResponseEntity.notFound().build());
             }
             
             String messageType = request.getOrDefault("messageType", "initial outreach");
-            String message = messagingService.generateEmailMessage(leadOpt.get(), messageType);
-            
-            return ResponseEntity.ok(Map.of("message", message));
+            return messagingService.generateEmailMessageAsync(leadOpt.get(), messageType)
+                    .map(message -> ResponseEntity.ok(Map.of("message", message)))
+                    .onErrorResume(e -> {
+                        log.error("Error generating email message for lead {}", id, e);
+                        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                    });
         } catch (Exception e) {
             log.error("Error generating email message for lead {}", id, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
         }
     }
     
@@ -216,21 +396,67 @@ public class LeadController {
      * Generate a personalized LinkedIn message
      */
     @PostMapping("/{id}/messages/linkedin")
-    public ResponseEntity<Map<String, String>> generateLinkedInMessage(
+    public Mono<ResponseEntity<Map<String, String>>> generateLinkedInMessage(
             @PathVariable Long id, 
             @RequestBody Map<String, String> request) {
         try {
             Optional<Lead> leadOpt = leadService.findById(id);
             if (!leadOpt.isPresent()) {
-                return ResponseEntity.notFound().build();
+                return Mono.just(ResponseEntity.notFound().build());
             }
             
             String messageType = request.getOrDefault("messageType", "connection request");
-            String message = messagingService.generateLinkedInMessage(leadOpt.get(), messageType);
-            
-            return ResponseEntity.ok(Map.of("message", message));
+            return messagingService.generateLinkedInMessageAsync(leadOpt.get(), messageType)
+                    .map(message -> ResponseEntity.ok(Map.of("message", message)))
+                    .onErrorResume(e -> {
+                        log.error("Error generating LinkedIn message for lead {}", id, e);
+                        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                    });
         } catch (Exception e) {
             log.error("Error generating LinkedIn message for lead {}", id, e);
+            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        }
+    }
+    
+    /**
+     * Stream a personalized email message as server-sent events.
+     * Uses GET so browsers can consume it with EventSource.
+     */
+    @GetMapping(value = "/{id}/messages/email/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Map<String, String>>>> streamEmailMessage(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "initial outreach") String messageType) {
+        try {
+            Optional<Lead> leadOpt = leadService.findById(id);
+            if (!leadOpt.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            return ResponseEntity.ok(toServerSentEvents(
+                    messagingService.streamEmailMessage(leadOpt.get(), messageType), id));
+        } catch (Exception e) {
+            log.error("Error streaming email message for lead {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Stream a personalized LinkedIn message as server-sent events
+     */
+    @GetMapping(value = "/{id}/messages/linkedin/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Map<String, String>>>> streamLinkedInMessage(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "connection request") String messageType) {
+        try {
+            Optional<Lead> leadOpt = leadService.findById(id);
+            if (!leadOpt.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            return ResponseEntity.ok(toServerSentEvents(
+                    messagingService.streamLinkedInMessage(leadOpt.get(), messageType), id));
+        } catch (Exception e) {
+            log.error("Error streaming LinkedIn message for lead {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -265,10 +491,17 @@ public class LeadController {
      * Get leads by pipeline stage
      */
     @GetMapping("/pipeline/{stage}")
-    public ResponseEntity<List<Lead>> getLeadsByPipelineStage(@PathVariable PipelineStage stage) {
+    public ResponseEntity<PageResponse<LeadSummary>> getLeadsByPipelineStage(
+            @PathVariable PipelineStage stage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Lead> leads = leadService.findByPipelineStage(stage);
+            PageResponse<LeadSummary> leads = leadService.searchLeadSummaries(
+                    null, null, null, null, stage, cursor, limit);
             return ResponseEntity.ok(leads);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid pipeline listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error retrieving leads for pipeline stage {}", stage, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -279,16 +512,104 @@ public class LeadController {
      * Get leads needing follow-up
      */
     @GetMapping("/follow-up")
-    public ResponseEntity<List<Lead>> getLeadsNeedingFollowUp() {
+    public ResponseEntity<PageResponse<LeadSummary>> getLeadsNeedingFollowUp(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Lead> leads = leadService.findLeadsNeedingFollowUp();
+            PageResponse<LeadSummary> leads = leadService.listLeadsNeedingFollowUp(cursor, limit);
             return ResponseEntity.ok(leads);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid follow-up listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error retrieving leads needing follow-up", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Get leads whose qualification score lies within [minScore, maxScore], newest first, one page at a time
+     */
+    @GetMapping("/score-range")
+    public ResponseEntity<PageResponse<LeadSummary>> getLeadsByScoreRange(
+            @RequestParam(required = false) Integer minScore,
+            @RequestParam(required = false) Integer maxScore,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<LeadSummary> leads = leadService.listLeadsByScoreRange(minScore, maxScore, cursor, limit);
+            return ResponseEntity.ok(leads);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid score range request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error retrieving leads by score range", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Stream the top-scored leads, best first, as newline-delimited JSON.
+     * Rows are written as they are read, so the response never holds the full list.
+     */
+    @GetMapping(value = "/top", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getTopLeads(
+            @RequestParam(required = false) Integer minScore,
+            @RequestParam(required = false) Integer limit) {
+        StreamingResponseBody body = output -> {
+            try {
+                leadService.forEachTopLeadByScore(minScore, limit, lead -> {
+                    try {
+                        objectMapper.writeValue(output, lead);
+                        output.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    /**
+     * Export every lead matching the search filters as CSV or NDJSON, optionally with each
+     * lead's activity timeline and gzip compression. Rows are written straight to the
+     * response as they are read, on the request thread, so long exports are not cut off
+     * by the async request timeout.
+     */
+    @GetMapping("/export")
+    public void exportLeads(
+            @RequestParam(required = false) String firstName,
+            @RequestParam(required = false) String lastName,
+            @RequestParam(required = false) String companyName,
+            @RequestParam(required = false) String industry,
+            @RequestParam(required = false) PipelineStage pipelineStage,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean includeActivities,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        LeadExportService.Format exportFormat;
+        try {
+            exportFormat = LeadExportService.Format.resolve(format);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid lead export request: {}", e.getMessage());
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+        
+        String filename = "leads." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        leadExportService.export(firstName, lastName, companyName, industry, pipelineStage,
+                exportFormat, includeActivities, gzip, response.getOutputStream());
+    }
+    
     /**
      * Get pipeline statistics
      */
@@ -302,4 +623,19 @@ public class LeadController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Wrap message fragments as "token" events followed by a final "done" event.
+     * Fragments are JSON-encoded so leading whitespace survives SSE framing.
+     */
+    private Flux<ServerSentEvent<Map<String, String>>> toServerSentEvents(Flux<String> fragments, Long id) {
+        return fragments
+                .map(fragment -> ServerSentEvent.<Map<String, String>>builder(Map.of("content", fragment))
+                        .event("token")
+                        .build())
+                .concatWith(Mono.just(ServerSentEvent.<Map<String, String>>builder(Map.of())
+                        .event("done")
+                        .build()))
+                .doOnCancel(() -> log.debug("Client disconnected from message stream for lead {}", id));
+    }
+}
@@ -0,0 +1,84 @@
+package com.xai.sdr.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.xai.sdr.model.ActivityType;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of an activity.
+ * 
+ * Carries the lead ID rather than the lead itself, so listing
+ * activities never initializes the lead association.
+ */
+public class ActivitySummary {
+    
+    @JsonProperty("id")
+    private Long id;
+    
+    @JsonProperty("leadId")
+    private Long leadId;
+    
+    @JsonProperty("activityType")
+    private ActivityType activityType;
+    
+    @JsonProperty("description")
+    private String description;
+    
+    @JsonProperty("outcome")
+    private String outcome;
+    
+    @JsonProperty("scheduledDate")
+    private LocalDateTime scheduledDate;
+    
+    @JsonProperty("completedDate")
+    private LocalDateTime completedDate;
+    
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+    
+    @JsonProperty("createdBy")
+    private String createdBy;
+    
+    public ActivitySummary() {}
+    
+    public ActivitySummary(Long id, Long leadId, ActivityType activityType, String description, String outcome, LocalDateTime scheduledDate, LocalDateTime completedDate, LocalDateTime createdAt, String createdBy) {
+        this.id = id;
+        this.leadId = leadId;
+        this.activityType = activityType;
+        this.description = description;
+        this.outcome = outcome;
+        this.scheduledDate = scheduledDate;
+        this.completedDate = completedDate;
+        this.createdAt = createdAt;
+        this.createdBy = createdBy;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getLeadId() { return leadId; }
+    public void setLeadId(Long leadId) { this.leadId = leadId; }
+    
+    public ActivityType getActivityType() { return activityType; }
+    public void setActivityType(ActivityType activityType) { this.activityType = activityType; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public String getOutcome() { return outcome; }
+    public void setOutcome(String outcome) { this.outcome = outcome; }
+    
+    public LocalDateTime getScheduledDate() { return scheduledDate; }
+    public void setScheduledDate(LocalDateTime scheduledDate) { this.scheduledDate = scheduledDate; }
+    
+    public LocalDateTime getCompletedDate() { return completedDate; }
+    public void setCompletedDate(LocalDateTime completedDate) { this.completedDate = completedDate; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public String getCreatedBy() { return createdBy; }
+    public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+}
@@ -0,0 +1,35 @@
+package com.xai.sdr.dto;
+
+import com.xai.sdr.model.ActivityType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated activity counts for one lead and activity type.
+ * 
+ * One row per type is produced by a single GROUP BY query, from which
+ * the per-lead activity statistics are assembled.
+ */
+public class ActivityTypeStats {
+    
+    private final ActivityType activityType;
+    private final long total;
+    private final long completed;
+    private final long createdSince;
+    private final LocalDateTime lastCreatedAt;
+    
+    public ActivityTypeStats(ActivityType activityType, Long total, Long completed, Long createdSince, LocalDateTime lastCreatedAt) {
+        this.activityType = activityType;
+        this.total = total != null ? total : 0;
+        this.completed = completed != null ? completed : 0;
+        this.createdSince = createdSince != null ? createdSince : 0;
+        this.lastCreatedAt = lastCreatedAt;
+    }
+    
+    // Getters
+    public ActivityType getActivityType() { return activityType; }
+    public long getTotal() { return total; }
+    public long getCompleted() { return completed; }
+    public long getCreatedSince() { return createdSince; }
+    public LocalDateTime getLastCreatedAt() { return lastCreatedAt; }
+}
@@ -0,0 +1,73 @@
+package com.xai.sdr.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.xai.sdr.model.PipelineStage;
+
+import java.util.List;
+
+/**
+ * DTO representing a bulk qualification job submission.
+ * 
+ * Either an explicit list of lead IDs or a set of search filters
+ * (matching the lead search endpoint) selects the leads to qualify.
+ */
+public class BatchQualificationRequest {
+    
+    @JsonProperty("leadIds")
+    private List<Long> leadIds;
+    
+    @JsonProperty("firstName")
+    private String firstName;
+    
+    @JsonProperty("lastName")
+    private String lastName;
+    
+    @JsonProperty("companyName")
+    private String companyName;
+    
+    @JsonProperty("industry")
+    private String industry;
+    
+    @JsonProperty("pipelineStage")
+    private PipelineStage pipelineStage;
+    
+    public BatchQualificationRequest() {}
+    
+    /**
+     * Whether the request selects leads by explicit IDs rather than filters
+     */
+    public boolean hasLeadIds() {
+        return leadIds != null && !leadIds.isEmpty();
+    }
+    
+    /**
+     * Whether at least one search filter is set
+     */
+    public boolean hasFilters() {
+        return hasText(firstName) || hasText(lastName) || hasText(companyName)
+                || hasText(industry) || pipelineStage != null;
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+    
+    // Getters and Setters
+    public List<Long> getLeadIds() { return leadIds; }
+    public void setLeadIds(List<Long> leadIds) { this.leadIds = leadIds; }
+    
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+    
+    public String getCompanyName() { return companyName; }
+    public void setCompanyName(String companyName) { this.companyName = companyName; }
+    
+    public String getIndustry() { return industry; }
+    public void setIndustry(String industry) { this.industry = industry; }
+    
+    public PipelineStage getPipelineStage() { return pipelineStage; }
+    public void setPipelineStage(PipelineStage pipelineStage) { this.pipelineStage = pipelineStage; }
+}
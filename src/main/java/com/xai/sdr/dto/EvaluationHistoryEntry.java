@@ -0,0 +1,44 @@
+package com.xai.sdr.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a recorded evaluation run.
+ * 
+ * Results are kept as the stored JSON text and written out as-is,
+ * so history reads never re-parse them.
+ */
+public class EvaluationHistoryEntry {
+    
+    @JsonProperty("id")
+    private final Long id;
+    
+    @JsonProperty("type")
+    private final String type;
+    
+    @JsonProperty("timestamp")
+    private final LocalDateTime timestamp;
+    
+    @JsonProperty("results")
+    @JsonRawValue
+    private final String results;
+    
+    public EvaluationHistoryEntry(Long id, String type, LocalDateTime timestamp, String results) {
+        this.id = id;
+        this.type = type;
+        this.timestamp = timestamp;
+        this.results = results;
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public String getType() { return type; }
+    
+    public LocalDateTime getTimestamp() { return timestamp; }
+    
+    public String getResults() { return results; }
+}
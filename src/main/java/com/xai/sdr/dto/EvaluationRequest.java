@@ -0,0 +1,62 @@
+package com.xai.sdr.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * DTO describing the dataset and execution settings for an evaluation run.
+ * 
+ * The dataset is the stored leads given by leadIds, or the first sampleSize
+ * stored leads, or the built-in demo lead when neither is set. Each lead is
+ * evaluated against every prompt variant or message type, repeats times.
+ * Every field is optional.
+ */
+public class EvaluationRequest {
+    
+    @JsonProperty("leadIds")
+    private List<Long> leadIds;
+    
+    @JsonProperty("sampleSize")
+    private Integer sampleSize;
+    
+    @JsonProperty("promptVariants")
+    private List<String> promptVariants;
+    
+    @JsonProperty("messageTypes")
+    private List<String> messageTypes;
+    
+    @JsonProperty("repeats")
+    private Integer repeats;
+    
+    @JsonProperty("concurrency")
+    private Integer concurrency;
+    
+    public EvaluationRequest() {}
+    
+    /**
+     * Whether the request selects leads by explicit IDs
+     */
+    public boolean hasLeadIds() {
+        return leadIds != null && !leadIds.isEmpty();
+    }
+    
+    // Getters and Setters
+    public List<Long> getLeadIds() { return leadIds; }
+    public void setLeadIds(List<Long> leadIds) { this.leadIds = leadIds; }
+    
+    public Integer getSampleSize() { return sampleSize; }
+    public void setSampleSize(Integer sampleSize) { this.sampleSize = sampleSize; }
+    
+    public List<String> getPromptVariants() { return promptVariants; }
+    public void setPromptVariants(List<String> promptVariants) { this.promptVariants = promptVariants; }
+    
+    public List<String> getMessageTypes() { return messageTypes; }
+    public void setMessageTypes(List<String> messageTypes) { this.messageTypes = messageTypes; }
+    
+    public Integer getRepeats() { return repeats; }
+    public void setRepeats(Integer repeats) { this.repeats = repeats; }
+    
+    public Integer getConcurrency() { return concurrency; }
+    public void setConcurrency(Integer concurrency) { this.concurrency = concurrency; }
+}
@@ -1,7 +1,12 @@
 package com.xai.sdr.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 
 /**
@@ -27,6 +32,10 @@ public class GrokRequest {
     @JsonProperty("stream")
     private Boolean stream;
     
+    @JsonProperty("response_format")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ResponseFormat responseFormat;
+    
     public GrokRequest() {}
     
     public GrokRequest(List<GrokMessage> messages, String model, Double temperature, Integer maxTokens, Boolean stream) {
@@ -41,6 +50,38 @@ public class GrokRequest {
         return new GrokRequestBuilder();
     }
     
+    /**
+     * SHA-256 fingerprint of everything that determines the completion:
+     * model, temperature, max tokens, response format and messages
+     */
+    public String fingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            updateFingerprint(digest, model);
+            updateFingerprint(digest, String.valueOf(temperature));
+            updateFingerprint(digest, String.valueOf(maxTokens));
+            if (responseFormat != null) {
+                updateFingerprint(digest, responseFormat.getType());
+            }
+            if (messages != null) {
+                for (GrokMessage message : messages) {
+                    updateFingerprint(digest, message.getRole());
+                    updateFingerprint(digest, message.getContent());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static void updateFingerprint(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+    
     // Getters and Setters
     public List<GrokMessage> getMessages() { return messages; }
     public void setMessages(List<GrokMessage> messages) { this.messages = messages; }
@@ -57,6 +98,33 @@ public class GrokRequest {
     public Boolean getStream() { return stream; }
     public void setStream(Boolean stream) { this.stream = stream; }
     
+    public ResponseFormat getResponseFormat() { return responseFormat; }
+    public void setResponseFormat(ResponseFormat responseFormat) { this.responseFormat = responseFormat; }
+    
+    /**
+     * Requested output format, e.g. json_object to constrain the reply to a single JSON object
+     */
+    public static class ResponseFormat {
+        
+        public static final String JSON_OBJECT = "json_object";
+        
+        @JsonProperty("type")
+        private String type;
+        
+        public ResponseFormat() {}
+        
+        public ResponseFormat(String type) {
+            this.type = type;
+        }
+        
+        public static ResponseFormat jsonObject() {
+            return new ResponseFormat(JSON_OBJECT);
+        }
+        
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+    }
+    
     public static class GrokMessage {
         
         @JsonProperty("role")
@@ -91,6 +159,7 @@ public class GrokRequest {
         private Double temperature;
         private Integer maxTokens;
         private Boolean stream;
+        private ResponseFormat responseFormat;
         
         public GrokRequestBuilder messages(List<GrokMessage> messages) {
             this.messages = messages;
@@ -117,8 +186,15 @@ public class GrokRequest {
             return this;
         }
         
+        public GrokRequestBuilder responseFormat(ResponseFormat responseFormat) {
+            this.responseFormat = responseFormat;
+            return this;
+        }
+        
         public GrokRequest build() {
-            return new GrokRequest(messages, model, temperature, maxTokens, stream);
+            GrokRequest request = new GrokRequest(messages, model, temperature, maxTokens, stream);
+            request.setResponseFormat(responseFormat);
+            return request;
         }
     }
     
@@ -8,7 +8,8 @@ import java.util.List;
  * DTO representing a response from the Grok API.
  * 
  * Contains the generated content and metadata returned
- * from the Grok chat completions endpoint.
+ * from the Grok chat completions endpoint. Streamed responses
+ * arrive as chunks carrying a delta instead of a message.
  */
 public class GrokResponse {
     
@@ -61,6 +62,16 @@ public class GrokResponse {
         return null;
     }
     
+    /**
+     * Get the incremental content from the first choice of a streamed chunk
+     */
+    public String getDeltaContent() {
+        if (choices != null && !choices.isEmpty() && choices.get(0).getDelta() != null) {
+            return choices.get(0).getDelta().getContent();
+        }
+        return null;
+    }
+    
     public static class GrokChoice {
         
         @JsonProperty("index")
@@ -69,6 +80,9 @@ public class GrokResponse {
         @JsonProperty("message")
         private GrokMessage message;
         
+        @JsonProperty("delta")
+        private GrokMessage delta;
+        
         @JsonProperty("finish_reason")
         private String finishReason;
         
@@ -81,6 +95,9 @@ public class GrokResponse {
         public GrokMessage getMessage() { return message; }
         public void setMessage(GrokMessage message) { this.message = message; }
         
+        public GrokMessage getDelta() { return delta; }
+        public void setDelta(GrokMessage delta) { this.delta = delta; }
+        
         public String getFinishReason() { return finishReason; }
         public void setFinishReason(String finishReason) { this.finishReason = finishReason; }
     }
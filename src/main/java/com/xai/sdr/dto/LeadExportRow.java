@@ -0,0 +1,170 @@
+package com.xai.sdr.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.xai.sdr.model.PipelineStage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Export projection of a lead with every stored column.
+ * 
+ * Selected by a streaming JPQL constructor expression; the activity
+ * timeline is attached only when the export asks for it.
+ */
+public class LeadExportRow {
+    
+    @JsonProperty("id")
+    private Long id;
+    
+    @JsonProperty("firstName")
+    private String firstName;
+    
+    @JsonProperty("lastName")
+    private String lastName;
+    
+    @JsonProperty("email")
+    private String email;
+    
+    @JsonProperty("phone")
+    private String phone;
+    
+    @JsonProperty("title")
+    private String title;
+    
+    @JsonProperty("companyName")
+    private String companyName;
+    
+    @JsonProperty("companySize")
+    private String companySize;
+    
+    @JsonProperty("industry")
+    private String industry;
+    
+    @JsonProperty("location")
+    private String location;
+    
+    @JsonProperty("linkedinUrl")
+    private String linkedinUrl;
+    
+    @JsonProperty("website")
+    private String website;
+    
+    @JsonProperty("qualificationScore")
+    private Integer qualificationScore;
+    
+    @JsonProperty("qualificationReasoning")
+    private String qualificationReasoning;
+    
+    @JsonProperty("pipelineStage")
+    private PipelineStage pipelineStage;
+    
+    @JsonProperty("lastContactDate")
+    private LocalDateTime lastContactDate;
+    
+    @JsonProperty("nextFollowUpDate")
+    private LocalDateTime nextFollowUpDate;
+    
+    @JsonProperty("notes")
+    private String notes;
+    
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+    
+    @JsonProperty("updatedAt")
+    private LocalDateTime updatedAt;
+    
+    @JsonProperty("activities")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ActivitySummary> activities;
+    
+    public LeadExportRow() {}
+    
+    public LeadExportRow(Long id, String firstName, String lastName, String email, String phone, String title, String companyName, String companySize, String industry, String location, String linkedinUrl, String website, Integer qualificationScore, String qualificationReasoning, PipelineStage pipelineStage, LocalDateTime lastContactDate, LocalDateTime nextFollowUpDate, String notes, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.title = title;
+        this.companyName = companyName;
+        this.companySize = companySize;
+        this.industry = industry;
+        this.location = location;
+        this.linkedinUrl = linkedinUrl;
+        this.website = website;
+        this.qualificationScore = qualificationScore;
+        this.qualificationReasoning = qualificationReasoning;
+        this.pipelineStage = pipelineStage;
+        this.lastContactDate = lastContactDate;
+        this.nextFollowUpDate = nextFollowUpDate;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getCompanyName() { return companyName; }
+    public void setCompanyName(String companyName) { this.companyName = companyName; }
+    
+    public String getCompanySize() { return companySize; }
+    public void setCompanySize(String companySize) { this.companySize = companySize; }
+    
+    public String getIndustry() { return industry; }
+    public void setIndustry(String industry) { this.industry = industry; }
+    
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    
+    public String getLinkedinUrl() { return linkedinUrl; }
+    public void setLinkedinUrl(String linkedinUrl) { this.linkedinUrl = linkedinUrl; }
+    
+    public String getWebsite() { return website; }
+    public void setWebsite(String website) { this.website = website; }
+    
+    public Integer getQualificationScore() { return qualificationScore; }
+    public void setQualificationScore(Integer qualificationScore) { this.qualificationScore = qualificationScore; }
+    
+    public String getQualificationReasoning() { return qualificationReasoning; }
+    public void setQualificationReasoning(String qualificationReasoning) { this.qualificationReasoning = qualificationReasoning; }
+    
+    public PipelineStage getPipelineStage() { return pipelineStage; }
+    public void setPipelineStage(PipelineStage pipelineStage) { this.pipelineStage = pipelineStage; }
+    
+    public LocalDateTime getLastContactDate() { return lastContactDate; }
+    public void setLastContactDate(LocalDateTime lastContactDate) { this.lastContactDate = lastContactDate; }
+    
+    public LocalDateTime getNextFollowUpDate() { return nextFollowUpDate; }
+    public void setNextFollowUpDate(LocalDateTime nextFollowUpDate) { this.nextFollowUpDate = nextFollowUpDate; }
+    
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public List<ActivitySummary> getActivities() { return activities; }
+    public void setActivities(List<ActivitySummary> activities) { this.activities = activities; }
+}
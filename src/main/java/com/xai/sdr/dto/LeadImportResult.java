@@ -0,0 +1,109 @@
+package com.xai.sdr.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO reporting the outcome of a bulk lead import.
+ * 
+ * Counts cover every row read; the error list is capped and records
+ * the input line, email and reason for each rejected row.
+ */
+public class LeadImportResult {
+    
+    @JsonProperty("format")
+    private String format;
+    
+    @JsonProperty("totalRows")
+    private long totalRows;
+    
+    @JsonProperty("imported")
+    private long imported;
+    
+    @JsonProperty("duplicates")
+    private long duplicates;
+    
+    @JsonProperty("failed")
+    private long failed;
+    
+    @JsonProperty("completed")
+    private boolean completed;
+    
+    @JsonProperty("elapsedMs")
+    private long elapsedMs;
+    
+    @JsonProperty("rowsPerSecond")
+    private double rowsPerSecond;
+    
+    @JsonProperty("errors")
+    private List<RowError> errors = new ArrayList<>();
+    
+    public LeadImportResult() {}
+    
+    public LeadImportResult(String format) {
+        this.format = format;
+    }
+    
+    // Getters and Setters
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+    
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+    
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+    
+    public long getDuplicates() { return duplicates; }
+    public void setDuplicates(long duplicates) { this.duplicates = duplicates; }
+    
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+    
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+    
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+    
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+    
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+    
+    /**
+     * A rejected input row
+     */
+    public static class RowError {
+        
+        @JsonProperty("line")
+        private long line;
+        
+        @JsonProperty("email")
+        private String email;
+        
+        @JsonProperty("message")
+        private String message;
+        
+        public RowError() {}
+        
+        public RowError(long line, String email, String message) {
+            this.line = line;
+            this.email = email;
+            this.message = message;
+        }
+        
+        // Getters and Setters
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+        
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,37 @@
+package com.xai.sdr.dto;
+
+/**
+ * The searchable text of a lead.
+ * 
+ * Selected by a JPQL constructor expression when the search index is
+ * rebuilt, and taken from the saved entity on incremental updates.
+ */
+public class LeadSearchDocument {
+    
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String companyName;
+    private final String title;
+    private final String industry;
+    private final String notes;
+    
+    public LeadSearchDocument(Long id, String firstName, String lastName, String companyName, String title, String industry, String notes) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.companyName = companyName;
+        this.title = title;
+        this.industry = industry;
+        this.notes = notes;
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getCompanyName() { return companyName; }
+    public String getTitle() { return title; }
+    public String getIndustry() { return industry; }
+    public String getNotes() { return notes; }
+}
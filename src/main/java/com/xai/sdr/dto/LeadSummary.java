@@ -0,0 +1,98 @@
+package com.xai.sdr.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.xai.sdr.model.PipelineStage;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of a lead.
+ * 
+ * Selected directly by JPQL constructor expressions so list endpoints
+ * never load full entities or touch the lazy activities collection.
+ */
+public class LeadSummary {
+    
+    @JsonProperty("id")
+    private Long id;
+    
+    @JsonProperty("firstName")
+    private String firstName;
+    
+    @JsonProperty("lastName")
+    private String lastName;
+    
+    @JsonProperty("email")
+    private String email;
+    
+    @JsonProperty("title")
+    private String title;
+    
+    @JsonProperty("companyName")
+    private String companyName;
+    
+    @JsonProperty("industry")
+    private String industry;
+    
+    @JsonProperty("qualificationScore")
+    private Integer qualificationScore;
+    
+    @JsonProperty("pipelineStage")
+    private PipelineStage pipelineStage;
+    
+    @JsonProperty("nextFollowUpDate")
+    private LocalDateTime nextFollowUpDate;
+    
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+    
+    public LeadSummary() {}
+    
+    public LeadSummary(Long id, String firstName, String lastName, String email, String title, String companyName, String industry, Integer qualificationScore, PipelineStage pipelineStage, LocalDateTime nextFollowUpDate, LocalDateTime createdAt) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.title = title;
+        this.companyName = companyName;
+        this.industry = industry;
+        this.qualificationScore = qualificationScore;
+        this.pipelineStage = pipelineStage;
+        this.nextFollowUpDate = nextFollowUpDate;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getCompanyName() { return companyName; }
+    public void setCompanyName(String companyName) { this.companyName = companyName; }
+    
+    public String getIndustry() { return industry; }
+    public void setIndustry(String industry) { this.industry = industry; }
+    
+    public Integer getQualificationScore() { return qualificationScore; }
+    public void setQualificationScore(Integer qualificationScore) { this.qualificationScore = qualificationScore; }
+    
+    public PipelineStage getPipelineStage() { return pipelineStage; }
+    public void setPipelineStage(PipelineStage pipelineStage) { this.pipelineStage = pipelineStage; }
+    
+    public LocalDateTime getNextFollowUpDate() { return nextFollowUpDate; }
+    public void setNextFollowUpDate(LocalDateTime nextFollowUpDate) { this.nextFollowUpDate = nextFollowUpDate; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,60 @@
+package com.xai.sdr.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO representing one page of a keyset-paginated list.
+ * 
+ * Pass nextCursor back as the cursor parameter to fetch the following
+ * page; it is null on the last page.
+ */
+public class PageResponse<T> {
+    
+    @JsonProperty("items")
+    private List<T> items;
+    
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+    
+    @JsonProperty("limit")
+    private int limit;
+    
+    @JsonProperty("hasMore")
+    private boolean hasMore;
+    
+    public PageResponse() {}
+    
+    public PageResponse(List<T> items, String nextCursor, int limit, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+        this.hasMore = hasMore;
+    }
+    
+    /**
+     * Build a page from rows fetched with one extra row beyond the limit,
+     * which signals that another page exists
+     */
+    public static <T> PageResponse<T> fromRows(List<T> rows, int limit, Function<T, KeysetCursor> cursorOf) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return new PageResponse<>(items, nextCursor, limit, hasMore);
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+    
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,389 @@
+package com.xai.sdr.mock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.xai.sdr.config.MockGrokConfig;
+import com.xai.sdr.dto.GrokRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embeddable stand-in for the Grok chat completions endpoint.
+ * 
+ * Serves POST /v1/chat/completions on localhost, with or without streaming.
+ * Qualification prompts (single or packed) get SCORE:/REASONING:/
+ * RECOMMENDATIONS: answers with a score derived from the lead details, so
+ * the same lead always scores the same unless score jitter is configured.
+ * Requests with a json_object response format get the same qualification as
+ * a JSON object, {"leads": [...]} for packed prompts. Message prompts get a
+ * short personalized message. Latency, 429 and 5xx rates, stream chunking
+ * and reported token usage come from {@link MockGrokConfig}.
+ * 
+ * Start it with {@link #start(MockGrokConfig)} and point grok.api.base-url
+ * at {@link #getBaseUrl()}.
+ */
+public class MockGrokServer implements AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(MockGrokServer.class);
+    
+    private static final Pattern LEAD_SECTION = Pattern.compile("=== LEAD (\\d+) ===");
+    private static final Pattern NAME = Pattern.compile("(?m)^Name: (.*)$");
+    private static final Pattern COMPANY = Pattern.compile("(?m)^Company: (.*)$");
+    private static final Pattern TITLE = Pattern.compile("(?m)^Title: (.*)$");
+    private static final Pattern INDUSTRY = Pattern.compile("(?m)^Industry: (.*)$");
+    private static final Pattern MESSAGE_TYPE = Pattern.compile("(?m)^Message Type: (.*)$");
+    
+    private final MockGrokConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+    private final DisposableServer server;
+    
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong serverErrors = new AtomicLong();
+    
+    private MockGrokServer(MockGrokConfig config, int port) {
+        this.config = config;
+        this.random = config.getSeed() != null ? new Random(config.getSeed()) : new Random();
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(port)
+                .route(routes -> routes.post("/v1/chat/completions", this::handle))
+                .bindNow();
+    }
+    
+    /**
+     * Start a server on the configured port; port 0 picks a free one
+     */
+    public static MockGrokServer start(MockGrokConfig config) {
+        MockGrokServer mockServer = new MockGrokServer(config, config.getPort());
+        log.info("Mock Grok server listening on {}", mockServer.getBaseUrl());
+        return mockServer;
+    }
+    
+    public int getPort() {
+        return server.port();
+    }
+    
+    /**
+     * Base URL to use as grok.api.base-url
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.port() + "/v1";
+    }
+    
+    /**
+     * Get request and injected failure counts
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("requests", requests.get());
+        stats.put("rateLimited", rateLimited.get());
+        stats.put("serverErrors", serverErrors.get());
+        return stats;
+    }
+    
+    @Override
+    public void close() {
+        server.disposeNow(Duration.ofSeconds(5));
+    }
+    
+    private Mono<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        requests.incrementAndGet();
+        if (request.requestHeaders().get(HttpHeaderNames.AUTHORIZATION) == null) {
+            return sendError(response, HttpResponseStatus.UNAUTHORIZED, "Missing API key", "authentication_error");
+        }
+        
+        return request.receive().aggregate().asString(StandardCharsets.UTF_8)
+                .defaultIfEmpty("")
+                .flatMap(body -> Mono.delay(Duration.ofMillis(sampleLatencyMs()))
+                        .then(Mono.defer(() -> respond(body, response))));
+    }
+    
+    private Mono<Void> respond(String body, HttpServerResponse response) {
+        JsonNode request;
+        try {
+            request = objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            return sendError(response, HttpResponseStatus.BAD_REQUEST, "Malformed request body", "invalid_request_error");
+        }
+        
+        double roll = random.nextDouble();
+        if (roll < config.getRateLimitRate()) {
+            rateLimited.incrementAndGet();
+            response.header(HttpHeaderNames.RETRY_AFTER, String.valueOf(config.getRetryAfterSeconds()));
+            return sendError(response, HttpResponseStatus.TOO_MANY_REQUESTS, "Rate limit exceeded", "rate_limit_error");
+        }
+        if (roll < config.getRateLimitRate() + config.getServerErrorRate()) {
+            serverErrors.incrementAndGet();
+            return sendError(response, HttpResponseStatus.valueOf(config.getServerErrorStatus()),
+                    "Injected server error", "server_error");
+        }
+        
+        String model = request.path("model").asText("grok-4");
+        String prompt = promptOf(request);
+        boolean json = GrokRequest.ResponseFormat.JSON_OBJECT.equals(request.path("response_format").path("type").asText());
+        String content = completionFor(prompt, json, config.getScoreJitter(), random);
+        int promptTokens = tokens(prompt);
+        int completionTokens = tokens(content);
+        
+        if (request.path("stream").asBoolean(false)) {
+            return response.status(HttpResponseStatus.OK)
+                    .header(HttpHeaderNames.CONTENT_TYPE, "text/event-stream")
+                    .sendString(streamEvents(model, content, promptTokens, completionTokens))
+                    .then();
+        }
+        
+        ObjectNode completion = completionEnvelope(model, "chat.completion");
+        ObjectNode choice = completion.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        choice.put("finish_reason", "stop");
+        putUsage(completion, promptTokens, completionTokens);
+        return response.status(HttpResponseStatus.OK)
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendString(Mono.just(completion.toString()))
+                .then();
+    }
+    
+    /**
+     * Server-sent events for a streamed completion: content chunks, a usage chunk, then [DONE]
+     */
+    private Flux<String> streamEvents(String model, String content, int promptTokens, int completionTokens) {
+        int chunkChars = Math.max(1, config.getStreamChunkChars());
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < content.length(); i += chunkChars) {
+            chunks.add(content.substring(i, Math.min(content.length(), i + chunkChars)));
+        }
+        
+        Flux<String> contentChunks = Flux.fromIterable(chunks);
+        if (config.getStreamChunkDelayMs() > 0) {
+            contentChunks = contentChunks.delayElements(Duration.ofMillis(config.getStreamChunkDelayMs()));
+        }
+        
+        ObjectNode usageChunk = completionEnvelope(model, "chat.completion.chunk");
+        usageChunk.putArray("choices");
+        putUsage(usageChunk, promptTokens, completionTokens);
+        
+        return Flux.concat(
+                contentChunks.map(chunk -> {
+                    ObjectNode event = completionEnvelope(model, "chat.completion.chunk");
+                    ArrayNode choices = event.putArray("choices");
+                    ObjectNode choice = choices.addObject();
+                    choice.put("index", 0);
+                    choice.putObject("delta").put("content", chunk);
+                    return event.toString();
+                }),
+                Mono.just(usageChunk.toString()),
+                Mono.just("[DONE]"))
+                .map(data -> "data: " + data + "\n\n");
+    }
+    
+    private Mono<Void> sendError(HttpServerResponse response, HttpResponseStatus status, String message, String type) {
+        ObjectNode error = objectMapper.createObjectNode();
+        error.putObject("error").put("message", message).put("type", type);
+        return response.status(status)
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendString(Mono.just(error.toString()))
+                .then();
+    }
+    
+    private ObjectNode completionEnvelope(String model, String object) {
+        ObjectNode envelope = objectMapper.createObjectNode();
+        envelope.put("id", "mock-" + UUID.randomUUID());
+        envelope.put("object", object);
+        envelope.put("created", System.currentTimeMillis() / 1000);
+        envelope.put("model", model);
+        return envelope;
+    }
+    
+    private void putUsage(ObjectNode envelope, int promptTokens, int completionTokens) {
+        envelope.putObject("usage")
+                .put("prompt_tokens", promptTokens)
+                .put("completion_tokens", completionTokens)
+                .put("total_tokens", promptTokens + completionTokens);
+    }
+    
+    private int tokens(String text) {
+        return (int) Math.ceil(text.length() / Math.max(0.1, config.getCharsPerToken()));
+    }
+    
+    /**
+     * Sample a response delay from the configured distribution, capped at latencyMaxMs
+     */
+    private long sampleLatencyMs() {
+        long latency;
+        switch (config.getLatencyDistribution()) {
+            case FIXED:
+                latency = config.getLatencyMs();
+                break;
+            case UNIFORM:
+                long jitter = config.getLatencyJitterMs();
+                latency = config.getLatencyMs() + (jitter <= 0 ? 0 : (long) ((random.nextDouble() * 2 - 1) * jitter));
+                break;
+            case LOG_NORMAL:
+            default:
+                latency = (long) (config.getLatencyMs() * Math.exp(config.getLatencySigma() * random.nextGaussian()));
+                break;
+        }
+        return Math.max(0, Math.min(latency, config.getLatencyMaxMs()));
+    }
+    
+    /**
+     * The user and system message text of a chat completion request
+     */
+    private static String promptOf(JsonNode request) {
+        StringBuilder prompt = new StringBuilder();
+        for (JsonNode message : request.path("messages")) {
+            if (!"assistant".equals(message.path("role").asText())) {
+                prompt.append(message.path("content").asText()).append("\n");
+            }
+        }
+        return prompt.toString();
+    }
+    
+    /**
+     * Build the deterministic completion for a prompt: qualification sections, a message, or a short reply
+     */
+    static String completionFor(String prompt, int scoreJitter, Random random) {
+        return completionFor(prompt, false, scoreJitter, random);
+    }
+    
+    /**
+     * Build the deterministic completion for a prompt, as a JSON object for qualification when json is set
+     */
+    static String completionFor(String prompt, boolean json, int scoreJitter, Random random) {
+        Matcher sections = LEAD_SECTION.matcher(prompt);
+        List<Integer> starts = new ArrayList<>();
+        List<Integer> numbers = new ArrayList<>();
+        while (sections.find()) {
+            starts.add(sections.end());
+            numbers.add(Integer.parseInt(sections.group(1)));
+        }
+        if (!starts.isEmpty() && json) {
+            ObjectNode packed = JsonNodeFactory.instance.objectNode();
+            ArrayNode leads = packed.putArray("leads");
+            for (int i = 0; i < starts.size(); i++) {
+                int end = i + 1 < starts.size() ? starts.get(i + 1) : prompt.length();
+                ObjectNode lead = leads.addObject().put("lead", numbers.get(i));
+                qualificationFor(prompt.substring(starts.get(i), end), scoreJitter, random).putInto(lead);
+            }
+            return packed.toString();
+        }
+        if (!starts.isEmpty()) {
+            StringBuilder packed = new StringBuilder();
+            for (int i = 0; i < starts.size(); i++) {
+                int end = i + 1 < starts.size() ? starts.get(i + 1) : prompt.length();
+                String section = prompt.substring(starts.get(i), end);
+                packed.append("=== LEAD ").append(numbers.get(i)).append(" ===\n")
+                        .append(qualificationFor(section, scoreJitter, random).toText()).append("\n\n");
+            }
+            return packed.toString().trim();
+        }
+        
+        if (json && NAME.matcher(prompt).find()) {
+            ObjectNode qualification = JsonNodeFactory.instance.objectNode();
+            qualificationFor(prompt, scoreJitter, random).putInto(qualification);
+            return qualification.toString();
+        }
+        if (prompt.contains("SCORE:")) {
+            return qualificationFor(prompt, scoreJitter, random).toText();
+        }
+        if (NAME.matcher(prompt).find()) {
+            return messageFor(prompt);
+        }
+        if (prompt.toLowerCase().contains("respond with")) {
+            return "OK";
+        }
+        return "This lead looks like a promising fit based on the details provided.";
+    }
+    
+    /**
+     * Qualification with a score derived from the lead details
+     */
+    private static Qualification qualificationFor(String leadDetails, int scoreJitter, Random random) {
+        String key = field(NAME, leadDetails, "") + "|" + field(COMPANY, leadDetails, "")
+                + "|" + field(TITLE, leadDetails, "") + "|" + field(INDUSTRY, leadDetails, "");
+        int score = 20 + Math.floorMod(key.hashCode(), 76);
+        if (scoreJitter > 0) {
+            score += random.nextInt(2 * scoreJitter + 1) - scoreJitter;
+        }
+        score = Math.max(0, Math.min(100, score));
+        
+        return new Qualification(score,
+                field(TITLE, leadDetails, "The contact") + " at " + field(COMPANY, leadDetails, "the company")
+                        + " in " + field(INDUSTRY, leadDetails, "an unspecified industry")
+                        + " is a " + (score >= 70 ? "strong" : score >= 40 ? "moderate" : "weak") + " fit.",
+                score >= 70 ? "Reach out this week with a tailored demo offer."
+                        : "Nurture with relevant content and revisit next quarter.");
+    }
+    
+    private static String messageFor(String prompt) {
+        String name = field(NAME, prompt, "there");
+        String firstName = name.split(" ")[0];
+        String company = field(COMPANY, prompt, "your team");
+        String messageType = field(MESSAGE_TYPE, prompt, "introduction");
+        
+        return "Hi " + firstName + ",\n\n"
+                + "I have been following " + company + "'s recent growth and wanted to reach out about our "
+                + messageType + ". Teams like yours use our platform to cut prospecting time in half while "
+                + "keeping outreach personal.\n\n"
+                + "Would you be open to a 15-minute call next week to see if it fits your goals?";
+    }
+    
+    private static String field(Pattern pattern, String text, String fallback) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? matcher.group(1).trim() : fallback;
+    }
+    
+    private static final class Qualification {
+        private final int score;
+        private final String reasoning;
+        private final String recommendations;
+        
+        private Qualification(int score, String reasoning, String recommendations) {
+            this.score = score;
+            this.reasoning = reasoning;
+            this.recommendations = recommendations;
+        }
+        
+        /**
+         * SCORE/REASONING/RECOMMENDATIONS block
+         */
+        private String toText() {
+            return "SCORE: " + score + "\n"
+                    + "REASONING: " + reasoning + "\n"
+                    + "RECOMMENDATIONS: " + recommendations;
+        }
+        
+        private void putInto(ObjectNode node) {
+            node.put("score", score)
+                    .put("reasoning", reasoning)
+                    .put("recommendations", recommendations);
+        }
+    }
+}
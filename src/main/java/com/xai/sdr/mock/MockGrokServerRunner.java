@@ -0,0 +1,47 @@
+package com.xai.sdr.mock;
+
+import com.xai.sdr.config.MockGrokConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the mock Grok server alongside the application under the mock-grok profile.
+ * 
+ * The profile's configuration points grok.api.base-url at this server, so
+ * the whole system can be exercised and load-tested without network access.
+ */
+@Component
+@Profile("mock-grok")
+public class MockGrokServerRunner {
+    
+    private final MockGrokConfig mockConfig;
+    
+    private MockGrokServer server;
+    
+    @Autowired
+    public MockGrokServerRunner(MockGrokConfig mockConfig) {
+        this.mockConfig = mockConfig;
+    }
+    
+    @PostConstruct
+    public void start() {
+        server = MockGrokServer.start(mockConfig);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.close();
+        }
+    }
+    
+    /**
+     * The running server, e.g. to read its request statistics
+     */
+    public MockGrokServer getServer() {
+        return server;
+    }
+}
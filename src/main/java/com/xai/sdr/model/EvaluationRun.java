@@ -0,0 +1,54 @@
+package com.xai.sdr.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording one completed evaluation run.
+ * 
+ * The run's results are stored as a JSON document so any evaluation
+ * type can be kept without a schema change.
+ */
+@Entity
+@Table(name = "evaluation_runs")
+public class EvaluationRun {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evaluation_runs_seq")
+    @SequenceGenerator(name = "evaluation_runs_seq", sequenceName = "evaluation_runs_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "evaluation_type", nullable = false)
+    private String evaluationType;
+    
+    @Column(name = "results", nullable = false, columnDefinition = "TEXT")
+    private String results;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public EvaluationRun() {}
+    
+    public EvaluationRun(String evaluationType, String results) {
+        this.evaluationType = evaluationType;
+        this.results = results;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getEvaluationType() { return evaluationType; }
+    public void setEvaluationType(String evaluationType) { this.evaluationType = evaluationType; }
+    
+    public String getResults() { return results; }
+    public void setResults(String results) { this.results = results; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
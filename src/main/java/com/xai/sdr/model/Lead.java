@@ -17,8 +17,10 @@ import java.util.List;
 @Table(name = "leads")
 public class Lead {
     
+    // Sequence IDs allocated in blocks so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leads_seq")
+    @SequenceGenerator(name = "leads_seq", sequenceName = "leads_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "First name is required")
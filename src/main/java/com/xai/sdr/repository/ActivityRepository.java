@@ -1,15 +1,23 @@
 package com.xai.sdr.repository;
 
+import com.xai.sdr.dto.ActivitySummary;
+import com.xai.sdr.dto.ActivityTypeStats;
 import com.xai.sdr.model.Activity;
 import com.xai.sdr.model.ActivityType;
 import com.xai.sdr.model.Lead;
+import com.xai.sdr.model.PipelineStage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Activity entity operations.
@@ -43,14 +51,88 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
     /**
      * Find recent activities across all leads
      */
-    @Query("SELECT a FROM Activity a ORDER BY a.createdAt DESC")
-    List<Activity> findRecentActivities();
+    @Query("SELECT a FROM Activity a ORDER BY a.createdAt DESC, a.id DESC")
+    List<Activity> findRecentActivities(Pageable pageable);
     
     /**
-     * Find activities scheduled for a specific date
+     * Search activity summaries, optionally by lead and type, one keyset page at a time.
+     * Rows come newest first, starting after the (createdAt, id) cursor.
      */
-    @Query("SELECT a FROM Activity a WHERE DATE(a.scheduledDate) = DATE(:date)")
-    List<Activity> findActivitiesScheduledForDate(@Param("date") LocalDateTime date);
+    @Query("SELECT new com.xai.sdr.dto.ActivitySummary(a.id, a.lead.id, a.activityType, a.description, " +
+           "a.outcome, a.scheduledDate, a.completedDate, a.createdAt, a.createdBy) " +
+           "FROM Activity a WHERE " +
+           "a.createdAt <= :cursorCreatedAt AND (a.createdAt < :cursorCreatedAt OR a.id < :cursorId) AND " +
+           "(:leadId IS NULL OR a.lead.id = :leadId) AND " +
+           "(:activityType IS NULL OR a.activityType = :activityType) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivitySummary> searchActivitySummaries(@Param("leadId") Long leadId,
+                                                  @Param("activityType") ActivityType activityType,
+                                                  @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable pageable);
+    
+    /**
+     * Stream the activity timelines of leads matching the lead export criteria, grouped by lead ID
+     * and oldest first within each lead. Must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT new com.xai.sdr.dto.ActivitySummary(a.id, l.id, a.activityType, a.description, " +
+           "a.outcome, a.scheduledDate, a.completedDate, a.createdAt, a.createdBy) " +
+           "FROM Activity a JOIN a.lead l WHERE " +
+           "(:firstName IS NULL OR LOWER(l.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))) AND " +
+           "(:lastName IS NULL OR LOWER(l.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))) AND " +
+           "(:companyName IS NULL OR LOWER(l.companyName) LIKE LOWER(CONCAT('%', :companyName, '%'))) AND " +
+           "(:industry IS NULL OR l.industry = :industry) AND " +
+           "(:pipelineStage IS NULL OR l.pipelineStage = :pipelineStage) " +
+           "ORDER BY l.id, a.createdAt, a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ActivitySummary> streamActivityTimelines(@Param("firstName") String firstName,
+                                                    @Param("lastName") String lastName,
+                                                    @Param("companyName") String companyName,
+                                                    @Param("industry") String industry,
+                                                    @Param("pipelineStage") PipelineStage pipelineStage);
+    
+    /**
+     * Find summaries of overdue activities, one keyset page at a time
+     */
+    @Query("SELECT new com.xai.sdr.dto.ActivitySummary(a.id, a.lead.id, a.activityType, a.description, " +
+           "a.outcome, a.scheduledDate, a.completedDate, a.createdAt, a.createdBy) " +
+           "FROM Activity a WHERE a.scheduledDate < :currentDate AND a.completedDate IS NULL AND " +
+           "a.createdAt <= :cursorCreatedAt AND (a.createdAt < :cursorCreatedAt OR a.id < :cursorId) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivitySummary> findOverdueActivitySummaries(@Param("currentDate") LocalDateTime currentDate,
+                                                       @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Pageable pageable);
+    
+    /**
+     * Find activities scheduled in the half-open range [start, end)
+     */
+    @Query("SELECT a FROM Activity a WHERE a.scheduledDate >= :start AND a.scheduledDate < :end")
+    List<Activity> findActivitiesScheduledBetween(@Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+    
+    /**
+     * Find activities that are overdue or scheduled within [dayStart, dayEnd)
+     */
+    @Query("SELECT a FROM Activity a WHERE a.scheduledDate < :dayEnd AND " +
+           "(a.scheduledDate >= :dayStart OR (a.scheduledDate < :currentDate AND a.completedDate IS NULL))")
+    List<Activity> findActivitiesNeedingAttention(@Param("currentDate") LocalDateTime currentDate,
+                                                  @Param("dayStart") LocalDateTime dayStart,
+                                                  @Param("dayEnd") LocalDateTime dayEnd);
+    
+    /**
+     * Count, in one pass, activities created since dayStart, overdue activities and
+     * activities needing attention (overdue or scheduled within [dayStart, dayEnd))
+     */
+    @Query("SELECT " +
+           "SUM(CASE WHEN a.createdAt >= :dayStart THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.scheduledDate < :currentDate AND a.completedDate IS NULL THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.scheduledDate < :dayEnd AND (a.scheduledDate >= :dayStart OR " +
+           "(a.scheduledDate < :currentDate AND a.completedDate IS NULL)) THEN 1 ELSE 0 END) " +
+           "FROM Activity a WHERE a.createdAt >= :dayStart OR a.scheduledDate < :dayEnd")
+    List<Object[]> countDashboardActivities(@Param("currentDate") LocalDateTime currentDate,
+                                            @Param("dayStart") LocalDateTime dayStart,
+                                            @Param("dayEnd") LocalDateTime dayEnd);
     
     /**
      * Find overdue activities (scheduled in the past but not completed)
@@ -63,6 +145,17 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
      */
     long countByLeadAndActivityType(Lead lead, ActivityType activityType);
     
+    /**
+     * Aggregate a lead's activities by type in one pass: totals, completed counts,
+     * counts created since the given time and the latest creation time
+     */
+    @Query("SELECT new com.xai.sdr.dto.ActivityTypeStats(a.activityType, COUNT(a), " +
+           "SUM(CASE WHEN a.completedDate IS NOT NULL THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.createdAt >= :since THEN 1 ELSE 0 END), MAX(a.createdAt)) " +
+           "FROM Activity a WHERE a.lead.id = :leadId GROUP BY a.activityType")
+    List<ActivityTypeStats> aggregateActivityStatsByLead(@Param("leadId") Long leadId,
+                                                         @Param("since") LocalDateTime since);
+    
     /**
      * Find the last activity for a lead
      */
@@ -0,0 +1,52 @@
+package com.xai.sdr.repository;
+
+import com.xai.sdr.dto.EvaluationHistoryEntry;
+import com.xai.sdr.model.EvaluationRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for EvaluationRun entity operations.
+ * 
+ * Provides keyset-paginated history reads, per-type aggregates and
+ * pruning of the oldest runs.
+ */
+@Repository
+public interface EvaluationRunRepository extends JpaRepository<EvaluationRun, Long> {
+    
+    /**
+     * Find history entries one keyset page at a time.
+     * Rows come newest first, starting after the (createdAt, id) cursor.
+     */
+    @Query("SELECT new com.xai.sdr.dto.EvaluationHistoryEntry(e.id, e.evaluationType, e.createdAt, e.results) " +
+           "FROM EvaluationRun e WHERE " +
+           "e.createdAt <= :cursorCreatedAt AND (e.createdAt < :cursorCreatedAt OR e.id < :cursorId) " +
+           "ORDER BY e.createdAt DESC, e.id DESC")
+    List<EvaluationHistoryEntry> findHistoryEntries(@Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Pageable pageable);
+    
+    /**
+     * Count runs of each evaluation type with a single GROUP BY query.
+     * Each row is [String type, Long count, LocalDateTime latest].
+     */
+    @Query("SELECT e.evaluationType, COUNT(e), MAX(e.createdAt) FROM EvaluationRun e GROUP BY e.evaluationType")
+    List<Object[]> countRunsGroupedByType();
+    
+    /**
+     * Delete the run at the given (createdAt, id) position and every older run
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EvaluationRun e WHERE " +
+           "e.createdAt <= :createdAt AND (e.createdAt < :createdAt OR e.id <= :id)")
+    int deleteRunsUpTo(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id);
+}
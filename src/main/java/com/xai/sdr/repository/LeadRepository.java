@@ -1,15 +1,24 @@
 package com.xai.sdr.repository;
 
+import com.xai.sdr.dto.LeadExportRow;
+import com.xai.sdr.dto.LeadSearchDocument;
+import com.xai.sdr.dto.LeadSummary;
 import com.xai.sdr.model.Lead;
 import com.xai.sdr.model.PipelineStage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Lead entity operations.
@@ -25,6 +34,12 @@ public interface LeadRepository extends JpaRepository<Lead, Long> {
      */
     Optional<Lead> findByEmail(String email);
     
+    /**
+     * Find which of the given emails already belong to a lead
+     */
+    @Query("SELECT l.email FROM Lead l WHERE l.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
     /**
      * Find all leads in a specific pipeline stage
      */
@@ -72,11 +87,152 @@ public interface LeadRepository extends JpaRepository<Lead, Long> {
                           @Param("industry") String industry,
                           @Param("pipelineStage") PipelineStage pipelineStage);
     
+    /**
+     * Search lead IDs by the same criteria as {@link #searchLeads}
+     */
+    @Query("SELECT l.id FROM Lead l WHERE " +
+           "(:firstName IS NULL OR LOWER(l.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))) AND " +
+           "(:lastName IS NULL OR LOWER(l.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))) AND " +
+           "(:companyName IS NULL OR LOWER(l.companyName) LIKE LOWER(CONCAT('%', :companyName, '%'))) AND " +
+           "(:industry IS NULL OR l.industry = :industry) AND " +
+           "(:pipelineStage IS NULL OR l.pipelineStage = :pipelineStage) " +
+           "ORDER BY l.id")
+    List<Long> searchLeadIds(@Param("firstName") String firstName,
+                             @Param("lastName") String lastName,
+                             @Param("companyName") String companyName,
+                             @Param("industry") String industry,
+                             @Param("pipelineStage") PipelineStage pipelineStage);
+    
+    /**
+     * Search lead summaries by the same criteria as {@link #searchLeads}, one keyset page at a time.
+     * Rows come newest first, starting after the (createdAt, id) cursor.
+     */
+    @Query("SELECT new com.xai.sdr.dto.LeadSummary(l.id, l.firstName, l.lastName, l.email, l.title, " +
+           "l.companyName, l.industry, l.qualificationScore, l.pipelineStage, l.nextFollowUpDate, l.createdAt) " +
+           "FROM Lead l WHERE " +
+           "l.createdAt <= :cursorCreatedAt AND (l.createdAt < :cursorCreatedAt OR l.id < :cursorId) AND " +
+           "(:firstName IS NULL OR LOWER(l.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))) AND " +
+           "(:lastName IS NULL OR LOWER(l.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))) AND " +
+           "(:companyName IS NULL OR LOWER(l.companyName) LIKE LOWER(CONCAT('%', :companyName, '%'))) AND " +
+           "(:industry IS NULL OR l.industry = :industry) AND " +
+           "(:pipelineStage IS NULL OR l.pipelineStage = :pipelineStage) " +
+           "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeadSummary> searchLeadSummaries(@Param("firstName") String firstName,
+                                          @Param("lastName") String lastName,
+                                          @Param("companyName") String companyName,
+                                          @Param("industry") String industry,
+                                          @Param("pipelineStage") PipelineStage pipelineStage,
+                                          @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+    
+    /**
+     * Stream full export rows of leads matching the same criteria as {@link #searchLeads}, by ID.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT new com.xai.sdr.dto.LeadExportRow(l.id, l.firstName, l.lastName, l.email, l.phone, l.title, " +
+           "l.companyName, l.companySize, l.industry, l.location, l.linkedinUrl, l.website, l.qualificationScore, " +
+           "l.qualificationReasoning, l.pipelineStage, l.lastContactDate, l.nextFollowUpDate, l.notes, " +
+           "l.createdAt, l.updatedAt) FROM Lead l WHERE " +
+           "(:firstName IS NULL OR LOWER(l.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))) AND " +
+           "(:lastName IS NULL OR LOWER(l.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))) AND " +
+           "(:companyName IS NULL OR LOWER(l.companyName) LIKE LOWER(CONCAT('%', :companyName, '%'))) AND " +
+           "(:industry IS NULL OR l.industry = :industry) AND " +
+           "(:pipelineStage IS NULL OR l.pipelineStage = :pipelineStage) " +
+           "ORDER BY l.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<LeadExportRow> streamLeadExportRows(@Param("firstName") String firstName,
+                                               @Param("lastName") String lastName,
+                                               @Param("companyName") String companyName,
+                                               @Param("industry") String industry,
+                                               @Param("pipelineStage") PipelineStage pipelineStage);
+    
+    /**
+     * Find summaries of leads needing follow-up, one keyset page at a time
+     */
+    @Query("SELECT new com.xai.sdr.dto.LeadSummary(l.id, l.firstName, l.lastName, l.email, l.title, " +
+           "l.companyName, l.industry, l.qualificationScore, l.pipelineStage, l.nextFollowUpDate, l.createdAt) " +
+           "FROM Lead l WHERE l.nextFollowUpDate <= :currentDate AND l.pipelineStage IN :activeStages AND " +
+           "l.createdAt <= :cursorCreatedAt AND (l.createdAt < :cursorCreatedAt OR l.id < :cursorId) " +
+           "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeadSummary> findLeadSummariesNeedingFollowUp(@Param("currentDate") LocalDateTime currentDate,
+                                                       @Param("activeStages") List<PipelineStage> activeStages,
+                                                       @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Pageable pageable);
+    
+    /**
+     * Find summaries of leads scored within [minScore, maxScore], one keyset page at a time
+     */
+    @Query("SELECT new com.xai.sdr.dto.LeadSummary(l.id, l.firstName, l.lastName, l.email, l.title, " +
+           "l.companyName, l.industry, l.qualificationScore, l.pipelineStage, l.nextFollowUpDate, l.createdAt) " +
+           "FROM Lead l WHERE l.qualificationScore >= :minScore AND l.qualificationScore <= :maxScore AND " +
+           "l.createdAt <= :cursorCreatedAt AND (l.createdAt < :cursorCreatedAt OR l.id < :cursorId) " +
+           "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeadSummary> findLeadSummariesByScoreRange(@Param("minScore") Integer minScore,
+                                                    @Param("maxScore") Integer maxScore,
+                                                    @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Pageable pageable);
+    
+    /**
+     * Stream summaries of the highest-scored leads at or above minScore, best first.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("SELECT new com.xai.sdr.dto.LeadSummary(l.id, l.firstName, l.lastName, l.email, l.title, " +
+           "l.companyName, l.industry, l.qualificationScore, l.pipelineStage, l.nextFollowUpDate, l.createdAt) " +
+           "FROM Lead l WHERE l.qualificationScore >= :minScore " +
+           "ORDER BY l.qualificationScore DESC, l.id DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<LeadSummary> streamTopLeadSummariesByScore(@Param("minScore") Integer minScore, Pageable pageable);
+    
+    /**
+     * Find summaries of the given leads, in no particular order
+     */
+    @Query("SELECT new com.xai.sdr.dto.LeadSummary(l.id, l.firstName, l.lastName, l.email, l.title, " +
+           "l.companyName, l.industry, l.qualificationScore, l.pipelineStage, l.nextFollowUpDate, l.createdAt) " +
+           "FROM Lead l WHERE l.id IN :ids")
+    List<LeadSummary> findLeadSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Find summaries of leads whose name or company contains the term, newest first
+     */
+    @Query("SELECT new com.xai.sdr.dto.LeadSummary(l.id, l.firstName, l.lastName, l.email, l.title, " +
+           "l.companyName, l.industry, l.qualificationScore, l.pipelineStage, l.nextFollowUpDate, l.createdAt) " +
+           "FROM Lead l WHERE LOWER(l.firstName) LIKE LOWER(CONCAT('%', :term, '%')) OR " +
+           "LOWER(l.lastName) LIKE LOWER(CONCAT('%', :term, '%')) OR " +
+           "LOWER(l.companyName) LIKE LOWER(CONCAT('%', :term, '%')) " +
+           "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeadSummary> findLeadSummariesMatching(@Param("term") String term, Pageable pageable);
+    
+    /**
+     * Stream the searchable text of every lead. Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("SELECT new com.xai.sdr.dto.LeadSearchDocument(l.id, l.firstName, l.lastName, l.companyName, " +
+           "l.title, l.industry, l.notes) FROM Lead l")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<LeadSearchDocument> streamSearchDocuments();
+    
     /**
      * Count leads by pipeline stage
      */
     long countByPipelineStage(PipelineStage pipelineStage);
     
+    /**
+     * Count leads in every pipeline stage with a single GROUP BY query.
+     * Each row is [PipelineStage, Long]; stages without leads are absent.
+     */
+    @Query("SELECT l.pipelineStage, COUNT(l) FROM Lead l GROUP BY l.pipelineStage")
+    List<Object[]> countLeadsGroupedByPipelineStage();
+    
+    /**
+     * Find the stored pipeline stage of a lead without loading the entity.
+     * Pending changes are not flushed first, so this returns the committed stage.
+     */
+    @Query("SELECT l.pipelineStage FROM Lead l WHERE l.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    Optional<PipelineStage> findPipelineStageById(@Param("id") Long id);
+    
     /**
      * Find leads with no activities
      */
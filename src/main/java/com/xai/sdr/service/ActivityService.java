@@ -1,5 +1,10 @@
 package com.xai.sdr.service;
 
+import com.xai.sdr.config.PaginationConfig;
+import com.xai.sdr.dto.ActivitySummary;
+import com.xai.sdr.dto.ActivityTypeStats;
+import com.xai.sdr.dto.KeysetCursor;
+import com.xai.sdr.dto.PageResponse;
 import com.xai.sdr.model.Activity;
 import com.xai.sdr.model.ActivityType;
 import com.xai.sdr.model.Lead;
@@ -7,9 +12,11 @@ import com.xai.sdr.repository.ActivityRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -28,11 +35,15 @@ public class ActivityService {
     
     private static final Logger log = LoggerFactory.getLogger(ActivityService.class);
     
+    private static final int RECENT_ACTIVITY_LIMIT = 10;
+    
     private final ActivityRepository activityRepository;
+    private final PaginationConfig paginationConfig;
     
     @Autowired
-    public ActivityService(ActivityRepository activityRepository) {
+    public ActivityService(ActivityRepository activityRepository, PaginationConfig paginationConfig) {
         this.activityRepository = activityRepository;
+        this.paginationConfig = paginationConfig;
     }
     
     /**
@@ -43,6 +54,46 @@ public class ActivityService {
         return activityRepository.findAll();
     }
     
+    /**
+     * List activity summaries, optionally for one lead and type, newest first, one page at a time
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ActivitySummary> listActivities(Long leadId, ActivityType activityType,
+                                                        String cursor, Integer limit) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = paginationConfig.resolvePageSize(limit);
+        List<ActivitySummary> rows = activityRepository.searchActivitySummaries(leadId, activityType,
+                position.getCreatedAt(), position.getId(), PageRequest.of(0, pageSize + 1));
+        return PageResponse.fromRows(rows, pageSize, ActivityService::cursorOf);
+    }
+    
+    /**
+     * List activity summaries of a type given by name; an unknown type yields an empty page
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ActivitySummary> listActivitiesByType(String activityType, String cursor, Integer limit) {
+        ActivityType type;
+        try {
+            type = ActivityType.valueOf(activityType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid activity type: {}", activityType);
+            return new PageResponse<>(List.of(), null, paginationConfig.resolvePageSize(limit), false);
+        }
+        return listActivities(null, type, cursor, limit);
+    }
+    
+    /**
+     * List summaries of overdue activities, one page at a time
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ActivitySummary> listOverdueActivities(String cursor, Integer limit) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = paginationConfig.resolvePageSize(limit);
+        List<ActivitySummary> rows = activityRepository.findOverdueActivitySummaries(LocalDateTime.now(),
+                position.getCreatedAt(), position.getId(), PageRequest.of(0, pageSize + 1));
+        return PageResponse.fromRows(rows, pageSize, ActivityService::cursorOf);
+    }
+    
     /**
      * Find activity by ID
      */
@@ -104,11 +155,11 @@ public class ActivityService {
     }
     
     /**
-     * Find recent activities across all leads
+     * Find the most recent activities across all leads
      */
     @Transactional(readOnly = true)
-    public List<Activity> findRecentActivities() {
-        return activityRepository.findRecentActivities();
+    public List<Activity> findRecentActivities(int limit) {
+        return activityRepository.findRecentActivities(PageRequest.of(0, limit));
     }
     
     /**
@@ -132,7 +183,8 @@ public class ActivityService {
      */
     @Transactional(readOnly = true)
     public List<Activity> findActivitiesScheduledForDate(LocalDateTime date) {
-        return activityRepository.findActivitiesScheduledForDate(date);
+        LocalDateTime dayStart = date.toLocalDate().atStartOfDay();
+        return activityRepository.findActivitiesScheduledBetween(dayStart, dayStart.plusDays(1));
     }
     
     /**
@@ -153,44 +205,39 @@ public class ActivityService {
     }
     
     /**
-     * Get activity statistics for a lead
+     * Get activity statistics for a lead from a single aggregate query
      */
     @Transactional(readOnly = true)
-    public Map<String, Object> getActivityStats(Lead lead) {
-        Map<String, Object> stats = new HashMap<>();
-        
-        // Total activities
-        List<Activity> allActivities = findByLead(lead);
-        stats.put("totalActivities", allActivities.size());
+    public Map<String, Object> getActivityStats(Long leadId) {
+        LocalDateTime startOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+        List<ActivityTypeStats> rows = activityRepository.aggregateActivityStatsByLead(leadId, startOfMonth);
         
-        // Activities by type
+        long totalActivities = 0;
+        long completedActivities = 0;
+        long activitiesThisMonth = 0;
+        ActivityTypeStats latest = null;
         Map<String, Long> activitiesByType = new HashMap<>();
-        for (ActivityType type : ActivityType.values()) {
-            long count = countByLeadAndActivityType(lead, type);
-            if (count > 0) {
-                activitiesByType.put(type.name(), count);
+        for (ActivityTypeStats row : rows) {
+            totalActivities += row.getTotal();
+            completedActivities += row.getCompleted();
+            activitiesThisMonth += row.getCreatedSince();
+            activitiesByType.put(row.getActivityType().name(), row.getTotal());
+            if (latest == null || (row.getLastCreatedAt() != null
+                    && (latest.getLastCreatedAt() == null || row.getLastCreatedAt().isAfter(latest.getLastCreatedAt())))) {
+                latest = row;
             }
         }
-        stats.put("activitiesByType", activitiesByType);
         
-        // Last activity date
-        Optional<Activity> lastActivity = findLastActivityForLead(lead);
-        if (lastActivity.isPresent()) {
-            stats.put("lastActivityDate", lastActivity.get().getCreatedAt());
-            stats.put("lastActivityType", lastActivity.get().getActivityType().name());
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalActivities", totalActivities);
+        stats.put("activitiesByType", activitiesByType);
+        if (latest != null) {
+            stats.put("lastActivityDate", latest.getLastCreatedAt());
+            stats.put("lastActivityType", latest.getActivityType().name());
         }
-        
-        // Completed vs pending activities
-        long completedActivities = allActivities.stream()
-                .filter(activity -> activity.getCompletedDate() != null)
-                .count();
         stats.put("completedActivities", completedActivities);
-        stats.put("pendingActivities", allActivities.size() - completedActivities);
-        
-        // Activities this month
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        List<Activity> thisMonthActivities = findByCreatedAtBetween(startOfMonth, LocalDateTime.now());
-        stats.put("activitiesThisMonth", thisMonthActivities.size());
+        stats.put("pendingActivities", totalActivities - completedActivities);
+        stats.put("activitiesThisMonth", activitiesThisMonth);
         
         return stats;
     }
@@ -228,16 +275,8 @@ public class ActivityService {
     @Transactional(readOnly = true)
     public List<Activity> getActivitiesNeedingAttention() {
         LocalDateTime now = LocalDateTime.now();
-        
-        List<Activity> overdue = findOverdueActivities();
-        List<Activity> todayScheduled = findActivitiesScheduledForDate(now);
-        
-        // Combine and remove duplicates
-        Map<Long, Activity> uniqueActivities = new HashMap<>();
-        overdue.forEach(activity -> uniqueActivities.put(activity.getId(), activity));
-        todayScheduled.forEach(activity -> uniqueActivities.put(activity.getId(), activity));
-        
-        return List.copyOf(uniqueActivities.values());
+        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
+        return activityRepository.findActivitiesNeedingAttention(now, startOfDay, startOfDay.plusDays(1));
     }
     
     /**
@@ -245,26 +284,25 @@ public class ActivityService {
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getActivitySummary() {
-        Map<String, Object> summary = new HashMap<>();
-        
-        // Total activities today
-        LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfDay = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59);
-        List<Activity> todayActivities = findByCreatedAtBetween(startOfDay, endOfDay);
-        summary.put("activitiesToday", todayActivities.size());
-        
-        // Overdue activities
-        List<Activity> overdueActivities = findOverdueActivities();
-        summary.put("overdueActivities", overdueActivities.size());
-        
-        // Activities needing attention
-        List<Activity> attentionNeeded = getActivitiesNeedingAttention();
-        summary.put("activitiesNeedingAttention", attentionNeeded.size());
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
+        List<Object[]> rows = activityRepository.countDashboardActivities(now, startOfDay, startOfDay.plusDays(1));
+        Object[] counts = rows.isEmpty() ? new Object[3] : rows.get(0);
         
-        // Recent activities (last 10)
-        List<Activity> recentActivities = findRecentActivities();
-        summary.put("recentActivities", recentActivities.stream().limit(10).collect(java.util.stream.Collectors.toList()));
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("activitiesToday", toLong(counts[0]));
+        summary.put("overdueActivities", toLong(counts[1]));
+        summary.put("activitiesNeedingAttention", toLong(counts[2]));
+        summary.put("recentActivities", listActivities(null, null, null, RECENT_ACTIVITY_LIMIT).getItems());
         
         return summary;
     }
-}
\ No newline at end of file
+    
+    private static long toLong(Object count) {
+        return count != null ? ((Number) count).longValue() : 0;
+    }
+    
+    private static KeysetCursor cursorOf(ActivitySummary activity) {
+        return new KeysetCursor(activity.getCreatedAt(), activity.getId());
+    }
+}
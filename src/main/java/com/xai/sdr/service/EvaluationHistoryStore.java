@@ -0,0 +1,231 @@
+package com.xai.sdr.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xai.sdr.config.EvaluationHistoryConfig;
+import com.xai.sdr.config.PaginationConfig;
+import com.xai.sdr.dto.EvaluationHistoryEntry;
+import com.xai.sdr.dto.KeysetCursor;
+import com.xai.sdr.dto.PageResponse;
+import com.xai.sdr.model.EvaluationRun;
+import com.xai.sdr.repository.EvaluationRunRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded, persistent history of evaluation runs.
+ * 
+ * Every run is written to the evaluation_runs table and appended to an
+ * in-memory ring buffer of the most recent runs, which serves history
+ * pages without a query. Pages reaching past the ring are read from the
+ * table. Per-type counts are maintained as runs are recorded and are
+ * re-synced from the table on startup and after each prune.
+ */
+@Component
+public class EvaluationHistoryStore {
+    
+    private static final Logger log = LoggerFactory.getLogger(EvaluationHistoryStore.class);
+    
+    private final EvaluationRunRepository runRepository;
+    private final EvaluationHistoryConfig historyConfig;
+    private final PaginationConfig paginationConfig;
+    private final ObjectMapper objectMapper;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final EvaluationHistoryEntry[] ring;
+    private int ringHead;
+    private int ringSize;
+    
+    private final Map<String, Long> countsByType = new HashMap<>();
+    private long totalEvaluations;
+    private LocalDateTime lastEvaluation;
+    
+    @Autowired
+    public EvaluationHistoryStore(EvaluationRunRepository runRepository, EvaluationHistoryConfig historyConfig,
+                                  PaginationConfig paginationConfig, ObjectMapper objectMapper) {
+        this.runRepository = runRepository;
+        this.historyConfig = historyConfig;
+        this.paginationConfig = paginationConfig;
+        this.objectMapper = objectMapper;
+        this.ring = new EvaluationHistoryEntry[Math.max(1, historyConfig.getCapacity())];
+    }
+    
+    /**
+     * Load the most recent runs and the per-type counts once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<EvaluationHistoryEntry> recent = runRepository.findHistoryEntries(
+                KeysetCursor.first().getCreatedAt(), KeysetCursor.first().getId(), PageRequest.of(0, ring.length));
+        lock.writeLock().lock();
+        try {
+            ringHead = 0;
+            ringSize = 0;
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                append(recent.get(i));
+            }
+            resyncCounts();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} recent evaluation runs of {} stored", recent.size(), totalEvaluations);
+    }
+    
+    /**
+     * Persist an evaluation run and add it to the history. A run that cannot be
+     * stored is logged and left out rather than failing the evaluation.
+     */
+    public void record(String type, Map<String, Object> results) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(results);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {} evaluation results: {}", type, e.getMessage());
+            return;
+        }
+        
+        lock.writeLock().lock();
+        try {
+            EvaluationRun run = runRepository.save(new EvaluationRun(type, json));
+            append(new EvaluationHistoryEntry(run.getId(), type, run.getCreatedAt(), json));
+            countsByType.merge(type, 1L, Long::sum);
+            totalEvaluations++;
+            lastEvaluation = run.getCreatedAt();
+        } catch (RuntimeException e) {
+            log.warn("Could not store {} evaluation run: {}", type, e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Get one page of history, newest first. Pass the returned nextCursor as cursor
+     * to fetch the next page.
+     */
+    public PageResponse<EvaluationHistoryEntry> getHistory(String cursor, Integer limit) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = paginationConfig.resolvePageSize(limit);
+        List<EvaluationHistoryEntry> rows = readRing(position, pageSize + 1);
+        if (rows == null) {
+            rows = runRepository.findHistoryEntries(position.getCreatedAt(), position.getId(),
+                    PageRequest.of(0, pageSize + 1));
+        }
+        return PageResponse.fromRows(rows, pageSize,
+                entry -> new KeysetCursor(entry.getTimestamp(), entry.getId()));
+    }
+    
+    /**
+     * Get the total number of stored evaluation runs
+     */
+    public long getTotalEvaluations() {
+        lock.readLock().lock();
+        try {
+            return totalEvaluations;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Get run counts by type, the total and the time of the latest run
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("totalEvaluations", totalEvaluations);
+            stats.put("lastEvaluation", lastEvaluation);
+            stats.put("evaluationsByType", new HashMap<>(countsByType));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stats;
+    }
+    
+    /**
+     * Delete runs beyond the retention limit, never fewer than the ring holds, and re-sync the counts
+     */
+    @Scheduled(fixedDelayString = "${evaluation.history.prune-interval-ms:3600000}")
+    public void prune() {
+        int retention = Math.max(historyConfig.getRetention(), ring.length);
+        List<EvaluationHistoryEntry> boundary = runRepository.findHistoryEntries(
+                KeysetCursor.first().getCreatedAt(), KeysetCursor.first().getId(), PageRequest.of(retention, 1));
+        if (boundary.isEmpty()) {
+            return;
+        }
+        
+        EvaluationHistoryEntry newestPruned = boundary.get(0);
+        lock.writeLock().lock();
+        try {
+            int deleted = runRepository.deleteRunsUpTo(newestPruned.getTimestamp(), newestPruned.getId());
+            resyncCounts();
+            log.info("Pruned {} evaluation runs beyond the newest {}", deleted, retention);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Read up to n entries after the cursor from the ring, newest first, or return
+     * null when older entries may exist only in the table
+     */
+    private List<EvaluationHistoryEntry> readRing(KeysetCursor position, int n) {
+        lock.readLock().lock();
+        try {
+            List<EvaluationHistoryEntry> rows = new ArrayList<>(Math.min(n, ringSize));
+            for (int i = 1; i <= ringSize && rows.size() < n; i++) {
+                EvaluationHistoryEntry entry = ring[Math.floorMod(ringHead - i, ring.length)];
+                if (isAfter(entry, position)) {
+                    rows.add(entry);
+                }
+            }
+            boolean complete = rows.size() == n || ringSize < ring.length;
+            return complete ? rows : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Whether an entry comes after the cursor in newest-first order
+     */
+    private static boolean isAfter(EvaluationHistoryEntry entry, KeysetCursor position) {
+        int order = entry.getTimestamp().compareTo(position.getCreatedAt());
+        return order < 0 || (order == 0 && entry.getId() < position.getId());
+    }
+    
+    private void append(EvaluationHistoryEntry entry) {
+        ring[ringHead] = entry;
+        ringHead = (ringHead + 1) % ring.length;
+        ringSize = Math.min(ringSize + 1, ring.length);
+    }
+    
+    private void resyncCounts() {
+        countsByType.clear();
+        totalEvaluations = 0;
+        lastEvaluation = null;
+        for (Object[] row : runRepository.countRunsGroupedByType()) {
+            long count = ((Number) row[1]).longValue();
+            LocalDateTime latest = (LocalDateTime) row[2];
+            countsByType.put((String) row[0], count);
+            totalEvaluations += count;
+            if (lastEvaluation == null || latest.isAfter(lastEvaluation)) {
+                lastEvaluation = latest;
+            }
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.EvaluationRunnerConfig;
+import com.xai.sdr.model.Lead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs evaluation cases against Grok with bounded parallelism.
+ * 
+ * A dataset of leads is expanded into one case per lead, variant and
+ * repeat. Cases run with a bounded number of calls in flight at batch
+ * priority, bypassing the response cache so that repeats are independent
+ * samples. Each case is timed, and failures are recorded rather than
+ * aborting the run. The summary reports success rate, latency percentiles,
+ * the score distribution and how much scores vary across repeats, overall
+ * and per variant.
+ */
+@Component
+public class EvaluationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(EvaluationRunner.class);
+    
+    private static final int SCORE_BUCKET_WIDTH = 20;
+    
+    private final EvaluationRunnerConfig runnerConfig;
+    
+    @Autowired
+    public EvaluationRunner(EvaluationRunnerConfig runnerConfig) {
+        this.runnerConfig = runnerConfig;
+    }
+    
+    /**
+     * Expand leads x variants x repeats into evaluation cases. A null variant list
+     * gives one unlabelled case per lead and repeat.
+     */
+    public List<EvaluationCase> expand(List<Lead> leads, List<String> variants, Integer requestedRepeats) {
+        int repeats = runnerConfig.resolveRepeats(requestedRepeats);
+        List<String> groups = variants == null || variants.isEmpty() ? Collections.singletonList(null) : variants;
+        long total = (long) leads.size() * groups.size() * repeats;
+        if (total > runnerConfig.getMaxCases()) {
+            throw new IllegalArgumentException("Evaluation would run " + total + " cases; the maximum is "
+                    + runnerConfig.getMaxCases());
+        }
+        
+        List<EvaluationCase> cases = new ArrayList<>((int) total);
+        for (Lead lead : leads) {
+            for (int variant = 0; variant < groups.size(); variant++) {
+                for (int repeat = 1; repeat <= repeats; repeat++) {
+                    cases.add(new EvaluationCase(lead, variant + 1, groups.get(variant), repeat));
+                }
+            }
+        }
+        return cases;
+    }
+    
+    /**
+     * Run every case with at most the given number in flight and summarize the results.
+     * The length metric names the average length in the summary (e.g. averageMessageLength).
+     */
+    public Map<String, Object> run(String type, List<EvaluationCase> cases, Integer requestedConcurrency,
+                                   String lengthMetric, Function<EvaluationCase, Mono<Outcome>> executor) {
+        int concurrency = runnerConfig.resolveConcurrency(requestedConcurrency);
+        log.info("Running {} evaluation: {} cases, concurrency {}", type, cases.size(), concurrency);
+        
+        long start = System.nanoTime();
+        List<CaseResult> results = Flux.fromIterable(cases)
+                .flatMapSequential(evaluationCase -> runCase(evaluationCase, executor), concurrency)
+                .contextWrite(Context.of(
+                        GrokRateLimiter.PRIORITY_CONTEXT_KEY, GrokRateLimiter.Priority.BATCH,
+                        GrokApiService.FRESH_RESPONSE_CONTEXT_KEY, true))
+                .collectList()
+                .block();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        
+        Map<String, Object> summary = summarize(results, lengthMetric);
+        summary.put("concurrency", concurrency);
+        summary.put("elapsedMs", elapsedMs);
+        summary.put("casesPerSecond", elapsedMs == 0 ? 0.0 : results.size() * 1000.0 / elapsedMs);
+        
+        Map<String, List<CaseResult>> byVariant = results.stream()
+                .filter(result -> result.getEvaluationCase().getVariant() != null)
+                .collect(Collectors.groupingBy(result -> result.getEvaluationCase().getVariant(),
+                        LinkedHashMap::new, Collectors.toList()));
+        if (!byVariant.isEmpty()) {
+            Map<String, Object> variantSummaries = new LinkedHashMap<>();
+            byVariant.forEach((variant, variantResults) -> variantSummaries.put(variant,
+                    summarize(variantResults, lengthMetric)));
+            summary.put("byVariant", variantSummaries);
+        }
+        
+        summary.put("testResults", results.stream()
+                .limit(Math.max(0, runnerConfig.getMaxReportedResults()))
+                .map(CaseResult::toMap)
+                .collect(Collectors.toList()));
+        
+        log.info("{} evaluation completed: {} of {} cases succeeded in {} ms",
+                type, summary.get("successfulTests"), results.size(), elapsedMs);
+        return summary;
+    }
+    
+    /**
+     * Time one case, recording a failure instead of propagating the error
+     */
+    private Mono<CaseResult> runCase(EvaluationCase evaluationCase, Function<EvaluationCase, Mono<Outcome>> executor) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.defer(() -> executor.apply(evaluationCase))
+                    .map(outcome -> CaseResult.succeeded(evaluationCase, elapsedMs(start), outcome))
+                    .switchIfEmpty(Mono.fromSupplier(() ->
+                            CaseResult.failed(evaluationCase, elapsedMs(start), "Empty response")))
+                    .onErrorResume(e -> {
+                        log.debug("Evaluation case for lead {} failed: {}", evaluationCase.getLead().getId(), e.getMessage());
+                        return Mono.just(CaseResult.failed(evaluationCase, elapsedMs(start), e.getMessage()));
+                    });
+        });
+    }
+    
+    /**
+     * Aggregate a set of case results into counts, latency percentiles and score statistics
+     */
+    static Map<String, Object> summarize(List<CaseResult> results, String lengthMetric) {
+        Map<String, Object> summary = new HashMap<>();
+        List<CaseResult> succeeded = results.stream().filter(CaseResult::isSuccess).collect(Collectors.toList());
+        
+        summary.put("totalTests", results.size());
+        summary.put("successfulTests", succeeded.size());
+        summary.put("successRate", results.isEmpty() ? 0.0 : (double) succeeded.size() / results.size());
+        
+        LatencyWindow latencies = new LatencyWindow(succeeded.size());
+        succeeded.forEach(result -> latencies.record(result.getResponseTime()));
+        summary.put("averageResponseTime", succeeded.stream().mapToLong(CaseResult::getResponseTime).average().orElse(0.0));
+        Map<String, Long> latency = new LinkedHashMap<>();
+        latency.put("p50", latencies.percentile(0.5));
+        latency.put("p90", latencies.percentile(0.9));
+        latency.put("p95", latencies.percentile(0.95));
+        latency.put("p99", latencies.percentile(0.99));
+        latency.put("max", latencies.percentile(1.0));
+        summary.put("latency", latency);
+        
+        if (lengthMetric != null) {
+            summary.put(lengthMetric, succeeded.stream()
+                    .filter(result -> result.getLength() != null)
+                    .mapToInt(CaseResult::getLength)
+                    .average()
+                    .orElse(0.0));
+        }
+        
+        List<Integer> scores = succeeded.stream()
+                .map(CaseResult::getScore)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (!scores.isEmpty()) {
+            double mean = scores.stream().mapToInt(Integer::intValue).average().orElse(0.0);
+            summary.put("averageScore", mean);
+            summary.put("scoreStdDev", Math.sqrt(variance(scores, mean)));
+            summary.put("scoreDistribution", scoreDistribution(scores));
+            summary.put("repeatScoreVariance", repeatScoreVariance(succeeded));
+        }
+        return summary;
+    }
+    
+    /**
+     * Count scores in fixed-width buckets, e.g. "0-19", ..., "80-100"
+     */
+    private static Map<String, Long> scoreDistribution(List<Integer> scores) {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int low = 0; low < 100; low += SCORE_BUCKET_WIDTH) {
+            int high = low + SCORE_BUCKET_WIDTH >= 100 ? 100 : low + SCORE_BUCKET_WIDTH - 1;
+            distribution.put(low + "-" + high, 0L);
+        }
+        for (int score : scores) {
+            int low = Math.min(Math.max(score, 0), 99) / SCORE_BUCKET_WIDTH * SCORE_BUCKET_WIDTH;
+            int high = low + SCORE_BUCKET_WIDTH >= 100 ? 100 : low + SCORE_BUCKET_WIDTH - 1;
+            distribution.merge(low + "-" + high, 1L, Long::sum);
+        }
+        return distribution;
+    }
+    
+    /**
+     * Mean, over every (lead, variant) pair scored more than once, of the variance of its scores;
+     * null when nothing was repeated
+     */
+    private static Double repeatScoreVariance(List<CaseResult> succeeded) {
+        Map<String, List<Integer>> scoresByCase = succeeded.stream()
+                .filter(result -> result.getScore() != null)
+                .collect(Collectors.groupingBy(result -> result.getEvaluationCase().getRepeatKey(),
+                        Collectors.mapping(CaseResult::getScore, Collectors.toList())));
+        List<Double> variances = scoresByCase.values().stream()
+                .filter(caseScores -> caseScores.size() > 1)
+                .map(caseScores -> variance(caseScores,
+                        caseScores.stream().mapToInt(Integer::intValue).average().orElse(0.0)))
+                .collect(Collectors.toList());
+        return variances.isEmpty() ? null : variances.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+    }
+    
+    private static double variance(List<Integer> values, double mean) {
+        return values.stream().mapToDouble(value -> (value - mean) * (value - mean)).average().orElse(0.0);
+    }
+    
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+    
+    /**
+     * One lead evaluated against one variant (prompt or message type), for one repeat
+     */
+    public static class EvaluationCase {
+        private final Lead lead;
+        private final int variantNumber;
+        private final String variant;
+        private final int repeat;
+        
+        EvaluationCase(Lead lead, int variantNumber, String variant, int repeat) {
+            this.lead = lead;
+            this.variantNumber = variantNumber;
+            this.variant = variant;
+            this.repeat = repeat;
+        }
+        
+        public Lead getLead() { return lead; }
+        public int getVariantNumber() { return variantNumber; }
+        public String getVariant() { return variant; }
+        public int getRepeat() { return repeat; }
+        
+        /**
+         * Key shared by every repeat of the same lead and variant
+         */
+        String getRepeatKey() {
+            return lead.getId() + "|" + variantNumber;
+        }
+    }
+    
+    /**
+     * What a successful case produced: an optional score, an optional text length
+     * and any type-specific fields to report
+     */
+    public static class Outcome {
+        private final Integer score;
+        private final Integer length;
+        private final Map<String, Object> details;
+        
+        public Outcome(Integer score, Integer length, Map<String, Object> details) {
+            this.score = score;
+            this.length = length;
+            this.details = details;
+        }
+        
+        public Integer getScore() { return score; }
+        public Integer getLength() { return length; }
+        public Map<String, Object> getDetails() { return details; }
+    }
+    
+    /**
+     * Timed result of a single case
+     */
+    static class CaseResult {
+        private final EvaluationCase evaluationCase;
+        private final boolean success;
+        private final long responseTime;
+        private final Outcome outcome;
+        private final String error;
+        
+        private CaseResult(EvaluationCase evaluationCase, boolean success, long responseTime, Outcome outcome, String error) {
+            this.evaluationCase = evaluationCase;
+            this.success = success;
+            this.responseTime = responseTime;
+            this.outcome = outcome;
+            this.error = error;
+        }
+        
+        static CaseResult succeeded(EvaluationCase evaluationCase, long responseTime, Outcome outcome) {
+            return new CaseResult(evaluationCase, true, responseTime, outcome, null);
+        }
+        
+        static CaseResult failed(EvaluationCase evaluationCase, long responseTime, String error) {
+            return new CaseResult(evaluationCase, false, responseTime, null, error);
+        }
+        
+        EvaluationCase getEvaluationCase() { return evaluationCase; }
+        boolean isSuccess() { return success; }
+        long getResponseTime() { return responseTime; }
+        Integer getScore() { return outcome == null ? null : outcome.getScore(); }
+        Integer getLength() { return outcome == null ? null : outcome.getLength(); }
+        
+        /**
+         * Per-case entry used in the testResults list
+         */
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            Lead lead = evaluationCase.getLead();
+            map.put("leadId", lead.getId());
+            map.put("leadName", lead.getFullName());
+            map.put("company", lead.getCompanyName());
+            if (evaluationCase.getVariant() != null) {
+                map.put("variant", evaluationCase.getVariant());
+                map.put("variantNumber", evaluationCase.getVariantNumber());
+            }
+            map.put("repeat", evaluationCase.getRepeat());
+            map.put("responseTime", responseTime);
+            map.put("success", success);
+            if (outcome != null && outcome.getDetails() != null) {
+                map.putAll(outcome.getDetails());
+            }
+            if (error != null) {
+                map.put("error", error);
+            }
+            return map;
+        }
+    }
+}
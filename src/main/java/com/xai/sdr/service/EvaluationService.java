@@ -1,5 +1,9 @@
 package com.xai.sdr.service;
 
+import com.xai.sdr.config.EvaluationRunnerConfig;
+import com.xai.sdr.dto.EvaluationHistoryEntry;
+import com.xai.sdr.dto.EvaluationRequest;
+import com.xai.sdr.dto.PageResponse;
 import com.xai.sdr.model.Lead;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,190 +16,141 @@ import java.util.*;
 /**
  * Service for evaluating Grok's performance across different sales scenarios.
  * 
- * Optimized for demo purposes with reduced test sets for faster execution.
+ * Each evaluation runs a dataset of leads against its prompt variants or
+ * message types, optionally repeated, through {@link EvaluationRunner}
+ * with bounded parallelism. With no dataset the built-in demo lead is used.
+ * Qualification and messaging results record the prompt template version.
  */
 @Service
 public class EvaluationService {
     
     private static final Logger log = LoggerFactory.getLogger(EvaluationService.class);
     
+    private static final List<String> DEFAULT_MESSAGE_TYPES = List.of("initial outreach");
+    
+    private static final List<String> DEFAULT_PROMPT_VARIANTS = List.of(
+        "You are an expert sales development representative...",
+        "As a senior sales professional with 10+ years experience..."
+    );
+    
     private final GrokApiService grokApiService;
     private final LeadQualificationService qualificationService;
     private final PersonalizedMessagingService messagingService;
-    
-    private final List<Map<String, Object>> evaluationHistory = new ArrayList<>();
+    private final LeadService leadService;
+    private final EvaluationRunner evaluationRunner;
+    private final EvaluationRunnerConfig runnerConfig;
+    private final EvaluationHistoryStore historyStore;
     
     @Autowired
     public EvaluationService(GrokApiService grokApiService,
                            LeadQualificationService qualificationService,
-                           PersonalizedMessagingService messagingService) {
+                           PersonalizedMessagingService messagingService,
+                           LeadService leadService,
+                           EvaluationRunner evaluationRunner,
+                           EvaluationRunnerConfig runnerConfig,
+                           EvaluationHistoryStore historyStore) {
         this.grokApiService = grokApiService;
         this.qualificationService = qualificationService;
         this.messagingService = messagingService;
+        this.leadService = leadService;
+        this.evaluationRunner = evaluationRunner;
+        this.runnerConfig = runnerConfig;
+        this.historyStore = historyStore;
     }
     
     /**
-     * Evaluate lead qualification performance (demo optimized - single lead)
+     * Evaluate lead qualification performance over the dataset, repeated to measure score variance
      */
-    public Map<String, Object> evaluateQualification(Map<String, Object> request) {
-        Map<String, Object> results = new HashMap<>();
-        List<Map<String, Object>> testResults = new ArrayList<>();
+    public Map<String, Object> evaluateQualification(EvaluationRequest request) {
+        EvaluationRequest evaluation = request != null ? request : new EvaluationRequest();
+        List<EvaluationRunner.EvaluationCase> cases = evaluationRunner.expand(
+                resolveDataset(evaluation), null, evaluation.getRepeats());
+        String promptVersion = qualificationService.getQualificationPromptVersion();
         
-        // Single test lead for faster demo
-        Lead testLead = createDemoLead();
+        Map<String, Object> results = evaluationRunner.run("qualification", cases, evaluation.getConcurrency(), null,
+                // Packed qualification fails rather than scoring a placeholder, so errors count as failed cases
+                evaluationCase -> qualificationService.qualifyLeadsPackedAsync(List.of(evaluationCase.getLead()))
+                        .map(qualificationResults -> {
+                            LeadQualificationService.LeadQualificationResult result = qualificationResults.get(0);
+                            Map<String, Object> details = new HashMap<>();
+                            details.put("score", result.getScore());
+                            details.put("reasoning", result.getReasoning());
+                            return new EvaluationRunner.Outcome(result.getScore(), null, details);
+                        }));
         
-        try {
-            long startTime = System.currentTimeMillis();
-            LeadQualificationService.LeadQualificationResult qualificationResult = qualificationService.qualifyLead(testLead);
-            long endTime = System.currentTimeMillis();
-            
-            Map<String, Object> testResult = new HashMap<>();
-            testResult.put("leadId", testLead.getId());
-            testResult.put("leadName", testLead.getFullName());
-            testResult.put("company", testLead.getCompanyName());
-            testResult.put("score", qualificationResult.getScore());
-            testResult.put("reasoning", qualificationResult.getReasoning());
-            testResult.put("responseTime", endTime - startTime);
-            testResult.put("success", true);
-            
-            testResults.add(testResult);
-            
-        } catch (Exception e) {
-            Map<String, Object> testResult = new HashMap<>();
-            testResult.put("leadId", testLead.getId());
-            testResult.put("leadName", testLead.getFullName());
-            testResult.put("error", e.getMessage());
-            testResult.put("success", false);
-            testResults.add(testResult);
-        }
-        
-        results.put("testResults", testResults);
-        results.put("totalTests", 1);
-        results.put("successfulTests", testResults.stream().mapToInt(r -> (Boolean) r.get("success") ? 1 : 0).sum());
-        results.put("averageScore", calculateAverageScore(testResults));
-        results.put("averageResponseTime", calculateAverageResponseTime(testResults));
+        results.put("promptVersion", promptVersion);
         
         // Store in history
-        Map<String, Object> historyEntry = new HashMap<>();
-        historyEntry.put("type", "qualification");
-        historyEntry.put("timestamp", LocalDateTime.now());
-        historyEntry.put("results", results);
-        evaluationHistory.add(historyEntry);
+        historyStore.record("qualification", results);
         
         return results;
     }
     
     /**
-     * Evaluate messaging generation performance (demo optimized - single lead, single message type)
+     * Evaluate email generation for every lead in the dataset and every message type
      */
-    public Map<String, Object> evaluateMessaging(Map<String, Object> request) {
-        Map<String, Object> results = new HashMap<>();
-        List<Map<String, Object>> testResults = new ArrayList<>();
+    public Map<String, Object> evaluateMessaging(EvaluationRequest request) {
+        EvaluationRequest evaluation = request != null ? request : new EvaluationRequest();
+        List<String> messageTypes = orDefault(evaluation.getMessageTypes(), DEFAULT_MESSAGE_TYPES);
+        List<EvaluationRunner.EvaluationCase> cases = evaluationRunner.expand(
+                resolveDataset(evaluation), messageTypes, evaluation.getRepeats());
+        String promptVersion = messagingService.getEmailPromptVersion();
         
-        Lead testLead = createDemoLead();
-        String messageType = "initial outreach"; // Single message type for demo
-        
-        try {
-            long startTime = System.currentTimeMillis();
-            String emailMessage = messagingService.generateEmailMessage(testLead, messageType);
-            long endTime = System.currentTimeMillis();
-            
-            Map<String, Object> testResult = new HashMap<>();
-            testResult.put("leadId", testLead.getId());
-            testResult.put("messageType", messageType);
-            testResult.put("message", emailMessage);
-            testResult.put("messageLength", emailMessage.length());
-            testResult.put("responseTime", endTime - startTime);
-            testResult.put("success", true);
-            
-            testResults.add(testResult);
-            
-        } catch (Exception e) {
-            Map<String, Object> testResult = new HashMap<>();
-            testResult.put("leadId", testLead.getId());
-            testResult.put("messageType", messageType);
-            testResult.put("error", e.getMessage());
-            testResult.put("success", false);
-            testResults.add(testResult);
-        }
+        Map<String, Object> results = evaluationRunner.run("messaging", cases, evaluation.getConcurrency(),
+                "averageMessageLength",
+                evaluationCase -> messagingService.generateEmailMessageStrictAsync(evaluationCase.getLead(), evaluationCase.getVariant())
+                        .map(message -> {
+                            Map<String, Object> details = new HashMap<>();
+                            details.put("messageType", evaluationCase.getVariant());
+                            details.put("message", message);
+                            details.put("messageLength", message.length());
+                            return new EvaluationRunner.Outcome(null, message.length(), details);
+                        }));
         
-        results.put("testResults", testResults);
-        results.put("totalTests", 1);
-        results.put("successfulTests", testResults.stream().mapToInt(r -> (Boolean) r.get("success") ? 1 : 0).sum());
-        results.put("averageMessageLength", calculateAverageMessageLength(testResults));
-        results.put("averageResponseTime", calculateAverageResponseTime(testResults));
+        results.put("promptVersion", promptVersion);
         
         // Store in history
-        Map<String, Object> historyEntry = new HashMap<>();
-        historyEntry.put("type", "messaging");
-        historyEntry.put("timestamp", LocalDateTime.now());
-        historyEntry.put("results", results);
-        evaluationHistory.add(historyEntry);
+        historyStore.record("messaging", results);
         
         return results;
     }
     
     /**
-     * Evaluate different prompt variations (demo optimized - 2 variations only)
+     * Evaluate every prompt variant against every lead in the dataset
      */
-    public Map<String, Object> evaluatePromptVariations(Map<String, Object> request) {
-        Map<String, Object> results = new HashMap<>();
-        List<Map<String, Object>> testResults = new ArrayList<>();
-        
-        Lead testLead = createDemoLead();
-        // Reduced to 2 prompt variations for faster demo
-        String[] promptVariations = {
-            "You are an expert sales development representative...",
-            "As a senior sales professional with 10+ years experience..."
-        };
-        
-        for (int i = 0; i < promptVariations.length; i++) {
-            try {
-                long startTime = System.currentTimeMillis();
-                String customPrompt = promptVariations[i] + " Please evaluate this lead in one sentence: " + 
-                    testLead.getFullName() + " at " + testLead.getCompanyName();
-                String response = grokApiService.sendChatCompletion(customPrompt);
-                long endTime = System.currentTimeMillis();
-                
-                Map<String, Object> testResult = new HashMap<>();
-                testResult.put("promptVariation", i + 1);
-                testResult.put("prompt", promptVariations[i]);
-                testResult.put("response", response);
-                testResult.put("responseLength", response.length());
-                testResult.put("responseTime", endTime - startTime);
-                testResult.put("success", true);
-                
-                testResults.add(testResult);
-                
-            } catch (Exception e) {
-                Map<String, Object> testResult = new HashMap<>();
-                testResult.put("promptVariation", i + 1);
-                testResult.put("error", e.getMessage());
-                testResult.put("success", false);
-                testResults.add(testResult);
-            }
-        }
+    public Map<String, Object> evaluatePromptVariations(EvaluationRequest request) {
+        EvaluationRequest evaluation = request != null ? request : new EvaluationRequest();
+        List<String> promptVariants = orDefault(evaluation.getPromptVariants(), DEFAULT_PROMPT_VARIANTS);
+        List<EvaluationRunner.EvaluationCase> cases = evaluationRunner.expand(
+                resolveDataset(evaluation), promptVariants, evaluation.getRepeats());
         
-        results.put("testResults", testResults);
-        results.put("totalTests", promptVariations.length);
-        results.put("successfulTests", testResults.stream().mapToInt(r -> (Boolean) r.get("success") ? 1 : 0).sum());
-        results.put("averageResponseLength", calculateAverageResponseLength(testResults));
-        results.put("averageResponseTime", calculateAverageResponseTime(testResults));
+        Map<String, Object> results = evaluationRunner.run("prompt_variations", cases, evaluation.getConcurrency(),
+                "averageResponseLength",
+                evaluationCase -> {
+                    Lead lead = evaluationCase.getLead();
+                    String customPrompt = evaluationCase.getVariant() + " Please evaluate this lead in one sentence: " +
+                        lead.getFullName() + " at " + lead.getCompanyName();
+                    return grokApiService.sendChatCompletionStrictAsync(customPrompt)
+                            .map(response -> {
+                                Map<String, Object> details = new HashMap<>();
+                                details.put("promptVariation", evaluationCase.getVariantNumber());
+                                details.put("prompt", evaluationCase.getVariant());
+                                details.put("response", response);
+                                details.put("responseLength", response.length());
+                                return new EvaluationRunner.Outcome(null, response.length(), details);
+                            });
+                });
         
         // Store in history
-        Map<String, Object> historyEntry = new HashMap<>();
-        historyEntry.put("type", "prompt_variations");
-        historyEntry.put("timestamp", LocalDateTime.now());
-        historyEntry.put("results", results);
-        evaluationHistory.add(historyEntry);
+        historyStore.record("prompt_variations", results);
         
         return results;
     }
     
     /**
-     * Run comprehensive evaluation suite (demo optimized with proper result aggregation)
+     * Run comprehensive evaluation suite: health check, then qualification and messaging over the dataset
      */
-    public Map<String, Object> runComprehensiveEvaluation() {
+    public Map<String, Object> runComprehensiveEvaluation(EvaluationRequest request) {
         Map<String, Object> comprehensiveResults = new HashMap<>();
         
         try {
@@ -204,11 +159,11 @@ public class EvaluationService {
             comprehensiveResults.put("health", healthResults);
             
             // Run qualification test
-            Map<String, Object> qualificationResults = evaluateQualification(new HashMap<>());
+            Map<String, Object> qualificationResults = evaluateQualification(request);
             comprehensiveResults.put("qualification", qualificationResults);
             
             // Run messaging test
-            Map<String, Object> messagingResults = evaluateMessaging(new HashMap<>());
+            Map<String, Object> messagingResults = evaluateMessaging(request);
             comprehensiveResults.put("messaging", messagingResults);
             
             // Calculate combined metrics
@@ -246,7 +201,7 @@ public class EvaluationService {
             
             // Overall metrics
             Map<String, Object> overallMetrics = new HashMap<>();
-            overallMetrics.put("totalEvaluations", evaluationHistory.size());
+            overallMetrics.put("totalEvaluations", historyStore.getTotalEvaluations());
             overallMetrics.put("lastEvaluation", LocalDateTime.now());
             overallMetrics.put("systemHealth", healthResults.get("status"));
             overallMetrics.put("qualificationScore", qualificationResults.get("averageScore"));
@@ -255,14 +210,12 @@ public class EvaluationService {
             comprehensiveResults.put("overall", overallMetrics);
             
             // Store in history
-            Map<String, Object> historyEntry = new HashMap<>();
-            historyEntry.put("type", "comprehensive");
-            historyEntry.put("timestamp", LocalDateTime.now());
-            historyEntry.put("results", comprehensiveResults);
-            evaluationHistory.add(historyEntry);
+            historyStore.record("comprehensive", comprehensiveResults);
             
             log.info("Comprehensive evaluation completed: {} total tests, {} successful", totalTests, successfulTests);
             
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error running comprehensive evaluation", e);
             
@@ -306,35 +259,44 @@ public class EvaluationService {
     }
     
     /**
-     * Get evaluation history
+     * Get evaluation history, newest first, one page at a time
      */
-    public List<Map<String, Object>> getEvaluationHistory() {
-        return new ArrayList<>(evaluationHistory);
+    public PageResponse<EvaluationHistoryEntry> getEvaluationHistory(String cursor, Integer limit) {
+        return historyStore.getHistory(cursor, limit);
     }
     
     /**
      * Get evaluation metrics and statistics
      */
     public Map<String, Object> getEvaluationMetrics() {
-        Map<String, Object> metrics = new HashMap<>();
-        
-        metrics.put("totalEvaluations", evaluationHistory.size());
-        metrics.put("lastEvaluation", evaluationHistory.isEmpty() ? null : 
-            evaluationHistory.get(evaluationHistory.size() - 1).get("timestamp"));
-        
-        // Count by type
-        Map<String, Long> evaluationsByType = new HashMap<>();
-        for (Map<String, Object> entry : evaluationHistory) {
-            String type = (String) entry.get("type");
-            evaluationsByType.put(type, evaluationsByType.getOrDefault(type, 0L) + 1);
+        return historyStore.getStats();
+    }
+    
+    /**
+     * Resolve the evaluation dataset: explicit lead IDs, a sample of stored leads, or the demo lead
+     */
+    private List<Lead> resolveDataset(EvaluationRequest request) {
+        List<Lead> leads;
+        if (request.hasLeadIds()) {
+            leads = leadService.findAllById(new LinkedHashSet<>(request.getLeadIds()));
+        } else if (request.getSampleSize() != null && request.getSampleSize() > 0) {
+            leads = leadService.findFirstLeads(Math.min(request.getSampleSize(), runnerConfig.getMaxCases()));
+        } else {
+            return List.of(createDemoLead());
         }
-        metrics.put("evaluationsByType", evaluationsByType);
         
-        return metrics;
+        if (leads.isEmpty()) {
+            throw new IllegalArgumentException("No leads found for the evaluation dataset");
+        }
+        return leads;
+    }
+    
+    private static List<String> orDefault(List<String> values, List<String> defaults) {
+        return values == null || values.isEmpty() ? defaults : values;
     }
     
     /**
-     * Create single demo lead for faster testing
+     * Create single demo lead used when no dataset is given
      */
     private Lead createDemoLead() {
         Lead demoLead = new Lead();
@@ -351,48 +313,4 @@ public class EvaluationService {
         
         return demoLead;
     }
-    
-    /**
-     * Calculate average score from test results
-     */
-    private double calculateAverageScore(List<Map<String, Object>> testResults) {
-        return testResults.stream()
-                .filter(r -> r.containsKey("score"))
-                .mapToInt(r -> (Integer) r.get("score"))
-                .average()
-                .orElse(0.0);
-    }
-    
-    /**
-     * Calculate average response time from test results
-     */
-    private double calculateAverageResponseTime(List<Map<String, Object>> testResults) {
-        return testResults.stream()
-                .filter(r -> r.containsKey("responseTime"))
-                .mapToLong(r -> (Long) r.get("responseTime"))
-                .average()
-                .orElse(0.0);
-    }
-    
-    /**
-     * Calculate average message length from test results
-     */
-    private double calculateAverageMessageLength(List<Map<String, Object>> testResults) {
-        return testResults.stream()
-                .filter(r -> r.containsKey("messageLength"))
-                .mapToInt(r -> (Integer) r.get("messageLength"))
-                .average()
-                .orElse(0.0);
-    }
-    
-    /**
-     * Calculate average response length from test results
-     */
-    private double calculateAverageResponseLength(List<Map<String, Object>> testResults) {
-        return testResults.stream()
-                .filter(r -> r.containsKey("responseLength"))
-                .mapToInt(r -> (Integer) r.get("responseLength"))
-                .average()
-                .orElse(0.0);
-    }
 }
\ No newline at end of file
@@ -1,44 +1,137 @@
 package com.xai.sdr.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.xai.sdr.config.GrokApiConfig;
 import com.xai.sdr.dto.GrokRequest;
 import com.xai.sdr.dto.GrokResponse;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.net.SocketAddress;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for interacting with the Grok API.
  * 
  * Handles all communication with the Grok chat completions endpoint,
  * including request formatting, error handling, and response processing.
+ * 
+ * Every call is available as a non-blocking {@link Mono}; the blocking
+ * variants are kept for callers that are not yet reactive. Completions
+ * can also be streamed token by token. When the upstream is degraded
+ * calls fail with {@link GrokUnavailableException} so callers can fall
+ * back to non-AI content.
+ * 
+ * Callers that need an independent upstream sample for every call, such
+ * as evaluation repeats, set {@link #FRESH_RESPONSE_CONTEXT_KEY} to true
+ * in the Reactor context to skip the response cache and coalescing.
+ * Callers rendering a versioned prompt template set
+ * {@link #PROMPT_VERSION_CONTEXT_KEY} so cached responses are keyed on it.
  */
 @Service
 public class GrokApiService {
     
     private static final Logger log = LoggerFactory.getLogger(GrokApiService.class);
     
+    public static final String FRESH_RESPONSE_CONTEXT_KEY = "grok.fresh";
+    public static final String PROMPT_VERSION_CONTEXT_KEY = "grok.promptVersion";
+    
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SERVER_SENT_EVENTS =
+            new ParameterizedTypeReference<ServerSentEvent<String>>() {};
+    private static final String STREAM_DONE = "[DONE]";
+    
     private final GrokApiConfig grokConfig;
+    private final GrokResponseCache responseCache;
+    private final GrokRequestCoalescer requestCoalescer;
+    private final GrokRateLimiter rateLimiter;
+    private final GrokResiliencePolicy resiliencePolicy;
+    private final ConnectionProvider connectionProvider;
+    private final Map<String, ConnectionPoolMetrics> poolMetrics = new ConcurrentHashMap<>();
     private final WebClient webClient;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    private final LatencyWindow timeToFirstToken = new LatencyWindow(200);
+    private final AtomicLong streamsStarted = new AtomicLong();
+    private final AtomicLong streamsFailed = new AtomicLong();
     
     @Autowired
-    public GrokApiService(GrokApiConfig grokConfig) {
+    public GrokApiService(GrokApiConfig grokConfig,
+                          GrokResponseCache responseCache,
+                          GrokRequestCoalescer requestCoalescer,
+                          GrokRateLimiter rateLimiter,
+                          GrokResiliencePolicy resiliencePolicy) {
         this.grokConfig = grokConfig;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.rateLimiter = rateLimiter;
+        this.resiliencePolicy = resiliencePolicy;
+        this.connectionProvider = createConnectionProvider(grokConfig.getConnection());
         this.webClient = WebClient.builder()
                 .baseUrl(grokConfig.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(createHttpClient(grokConfig.getConnection())))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
     
+    /**
+     * Release pooled connections on shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+    }
+    
+    /**
+     * Get connection pool gauges (active, idle and pending connections) per remote address
+     */
+    public Map<String, Object> getConnectionPoolStats() {
+        Map<String, Object> stats = new HashMap<>();
+        GrokApiConfig.Connection connection = grokConfig.getConnection();
+        stats.put("maxConnections", connection.getMaxConnections());
+        stats.put("pendingAcquireMaxCount", connection.getPendingAcquireMaxCount());
+        
+        Map<String, Object> pools = new HashMap<>();
+        poolMetrics.forEach((remoteAddress, metrics) -> {
+            Map<String, Object> pool = new HashMap<>();
+            pool.put("active", metrics.acquiredSize());
+            pool.put("idle", metrics.idleSize());
+            pool.put("allocated", metrics.allocatedSize());
+            pool.put("pending", metrics.pendingAcquireSize());
+            pools.put(remoteAddress, pool);
+        });
+        stats.put("pools", pools);
+        
+        return stats;
+    }
+    
     /**
      * Send a chat completion request to Grok API
      */
@@ -50,90 +143,185 @@ public class GrokApiService {
      * Send a chat completion request with custom temperature
      */
     public String sendChatCompletion(String userMessage, double temperature) {
-        try {
-            GrokRequest request = GrokRequest.builder()
-                    .messages(Collections.singletonList(
-                            GrokRequest.GrokMessage.builder()
-                                    .role("user")
-                                    .content(userMessage)
-                                    .build()
-                    ))
-                    .model(grokConfig.getModel())
-                    .temperature(temperature)
-                    .maxTokens(grokConfig.getMaxTokens())
-                    .stream(false)
-                    .build();
-            
-            GrokResponse response = webClient.post()
-                    .uri("/chat/completions")
-                    .header("Authorization", "Bearer " + getApiKey())
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(GrokResponse.class)
-                    .timeout(Duration.ofMillis(grokConfig.getTimeout()))
-                    .doOnError(throwable -> log.warn("API call timeout or error: {}", throwable.getMessage()))
-                    .onErrorReturn(createErrorResponse())
-                    .block();
-            
-            if (response != null && response.getContent() != null) {
-                log.info("Grok API response received successfully");
-                return response.getContent();
-            } else {
-                log.error("Empty or invalid response from Grok API");
-                return "Unable to generate response due to API timeout. Please try again.";
-            }
-            
-        } catch (WebClientResponseException e) {
-            log.error("Grok API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            return "API Error: " + e.getMessage() + ". Please check your API key and try again.";
-        } catch (Exception e) {
-            log.error("Unexpected error calling Grok API", e);
-            if (e.getMessage().contains("TimeoutException")) {
-                return "Request timed out. The AI service is currently slow. Please try again.";
-            }
-            return "Service temporarily unavailable. Please try again in a moment.";
-        }
+        return sendChatCompletionAsync(userMessage, temperature).block();
+    }
+    
+    /**
+     * Send a chat completion request to Grok API without blocking the caller
+     */
+    public Mono<String> sendChatCompletionAsync(String userMessage) {
+        return sendChatCompletionAsync(userMessage, grokConfig.getTemperature());
+    }
+    
+    /**
+     * Send a chat completion request with custom temperature without blocking the caller
+     */
+    public Mono<String> sendChatCompletionAsync(String userMessage, double temperature) {
+        return sendChatCompletionAsync(userMessage, temperature, grokConfig.getMaxTokens());
+    }
+    
+    /**
+     * Send a chat completion request with custom temperature and completion token limit
+     */
+    public Mono<String> sendChatCompletionAsync(String userMessage, double temperature, int maxTokens) {
+        return complete(userRequest(userMessage, temperature, maxTokens));
+    }
+    
+    /**
+     * Send a chat completion request asking for the reply as a single JSON object.
+     * The content is returned as text; callers must still cope with replies that are not valid JSON.
+     */
+    public Mono<String> sendJsonCompletionAsync(String userMessage, double temperature, int maxTokens) {
+        return complete(jsonRequest(userMessage, temperature, maxTokens));
+    }
+    
+    /**
+     * Strict variant of {@link #sendChatCompletionAsync(String)}
+     */
+    public Mono<String> sendChatCompletionStrictAsync(String userMessage) {
+        return sendChatCompletionStrictAsync(userMessage, grokConfig.getTemperature());
+    }
+    
+    /**
+     * Strict variant of {@link #sendChatCompletionAsync(String, double)}
+     */
+    public Mono<String> sendChatCompletionStrictAsync(String userMessage, double temperature) {
+        return sendChatCompletionStrictAsync(userMessage, temperature, grokConfig.getMaxTokens());
+    }
+    
+    /**
+     * Send a chat completion request, failing with the underlying error (or
+     * {@link IllegalStateException} for an empty reply) instead of returning
+     * a description of it as the content. For callers that store or score the
+     * reply, such as bulk jobs and evaluations.
+     */
+    public Mono<String> sendChatCompletionStrictAsync(String userMessage, double temperature, int maxTokens) {
+        return completeStrict(userRequest(userMessage, temperature, maxTokens));
+    }
+    
+    /**
+     * Strict variant of {@link #sendJsonCompletionAsync(String, double, int)}
+     */
+    public Mono<String> sendJsonCompletionStrictAsync(String userMessage, double temperature, int maxTokens) {
+        return completeStrict(jsonRequest(userMessage, temperature, maxTokens));
+    }
+    
+    private GrokRequest userRequest(String userMessage, double temperature, int maxTokens) {
+        return buildRequest(Collections.singletonList(
+                GrokRequest.GrokMessage.builder()
+                        .role("user")
+                        .content(userMessage)
+                        .build()
+        ), temperature, maxTokens);
+    }
+    
+    private GrokRequest jsonRequest(String userMessage, double temperature, int maxTokens) {
+        GrokRequest request = userRequest(userMessage, temperature, maxTokens);
+        request.setResponseFormat(GrokRequest.ResponseFormat.jsonObject());
+        return request;
+    }
+    
+    /**
+     * Execute a non-streaming completion, describing failures other than unavailability in the returned text
+     */
+    private Mono<String> complete(GrokRequest request) {
+        return content(request)
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.error("Empty or invalid response from Grok API");
+                    return "Unable to generate response due to API timeout. Please try again.";
+                }))
+                .onErrorResume(e -> !(e instanceof GrokUnavailableException), e -> Mono.just(describeCompletionError(e)));
+    }
+    
+    /**
+     * Execute a non-streaming completion, propagating every failure
+     */
+    private Mono<String> completeStrict(GrokRequest request) {
+        return content(request)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty or invalid response from Grok API")));
+    }
+    
+    /**
+     * Content of a completion, empty when the response carries none
+     */
+    private Mono<String> content(GrokRequest request) {
+        return Mono.fromCallable(this::getApiKey)
+                .flatMap(apiKey -> executeCoalesced(request, apiKey)
+                        .doOnError(throwable -> log.warn("API call timeout or error: {}", throwable.getMessage())))
+                .<String>handle((response, sink) -> {
+                    if (response.getContent() != null) {
+                        log.info("Grok API response received successfully");
+                        sink.next(response.getContent());
+                    }
+                });
+    }
+    
+    /**
+     * Stream a chat completion, emitting content fragments as Grok produces them
+     */
+    public Flux<String> streamChatCompletion(String userMessage, double temperature) {
+        GrokRequest request = buildRequest(Collections.singletonList(
+                GrokRequest.GrokMessage.builder()
+                        .role("user")
+                        .content(userMessage)
+                        .build()
+        ), temperature, grokConfig.getMaxTokens(), true);
+        
+        return Mono.fromCallable(this::getApiKey)
+                .flatMapMany(apiKey -> resiliencePolicy.executeStream(() -> executeStreamRateLimited(request, apiKey)))
+                .doOnError(e -> {
+                    streamsFailed.incrementAndGet();
+                    log.warn("Grok streaming call failed: {}", e.getMessage());
+                });
+    }
+    
+    /**
+     * Get streaming statistics, including time to first token
+     */
+    public Map<String, Object> getStreamingStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("streamsStarted", streamsStarted.get());
+        stats.put("streamsFailed", streamsFailed.get());
+        stats.put("timeToFirstTokenP50Ms", timeToFirstToken.percentile(0.5));
+        stats.put("timeToFirstTokenP95Ms", timeToFirstToken.percentile(0.95));
+        stats.put("timeToFirstTokenSamples", timeToFirstToken.size());
+        
+        return stats;
     }
     
     /**
      * Send a conversation with multiple messages
      */
     public String sendConversation(List<GrokRequest.GrokMessage> messages) {
-        try {
-            GrokRequest request = GrokRequest.builder()
-                    .messages(messages)
-                    .model(grokConfig.getModel())
-                    .temperature(grokConfig.getTemperature())
-                    .maxTokens(grokConfig.getMaxTokens())
-                    .stream(false)
-                    .build();
-            
-            GrokResponse response = webClient.post()
-                    .uri("/chat/completions")
-                    .header("Authorization", "Bearer " + getApiKey())
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(GrokResponse.class)
-                    .timeout(Duration.ofMillis(grokConfig.getTimeout()))
-                    .doOnError(throwable -> log.warn("Conversation API call timeout: {}", throwable.getMessage()))
-                    .onErrorReturn(createErrorResponse())
-                    .block();
-            
-            if (response != null && response.getContent() != null) {
-                log.info("Grok API conversation response received successfully");
-                return response.getContent();
-            } else {
-                log.error("Empty or invalid conversation response from Grok API");
-                return "Unable to process conversation due to API timeout.";
-            }
-            
-        } catch (Exception e) {
-            log.error("Unexpected error calling Grok API for conversation", e);
-            if (e.getMessage().contains("TimeoutException")) {
-                return "Conversation request timed out. Please try again.";
-            }
-            return "Conversation service temporarily unavailable.";
-        }
+        return sendConversationAsync(messages).block();
+    }
+    
+    /**
+     * Send a conversation with multiple messages without blocking the caller
+     */
+    public Mono<String> sendConversationAsync(List<GrokRequest.GrokMessage> messages) {
+        GrokRequest request = buildRequest(messages, grokConfig.getTemperature(), grokConfig.getMaxTokens());
+        
+        return Mono.fromCallable(this::getApiKey)
+                .flatMap(apiKey -> executeCoalesced(request, apiKey)
+                        .doOnError(throwable -> log.warn("Conversation API call timeout: {}", throwable.getMessage())))
+                .<String>handle((response, sink) -> {
+                    if (response.getContent() != null) {
+                        log.info("Grok API conversation response received successfully");
+                        sink.next(response.getContent());
+                    }
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.error("Empty or invalid conversation response from Grok API");
+                    return "Unable to process conversation due to API timeout.";
+                }))
+                .onErrorResume(e -> !(e instanceof GrokUnavailableException), e -> {
+                    log.error("Unexpected error calling Grok API for conversation", e);
+                    if (isTimeout(e)) {
+                        return Mono.just("Conversation request timed out. Please try again.");
+                    }
+                    return Mono.just("Conversation service temporarily unavailable.");
+                });
     }
     
     /**
@@ -150,26 +338,239 @@ public class GrokApiService {
     }
     
     /**
-     * Create error response for timeout handling
+     * Create the shared connection pool for Grok API calls
+     */
+    private ConnectionProvider createConnectionProvider(GrokApiConfig.Connection connection) {
+        return ConnectionProvider.builder("grok-api")
+                .maxConnections(connection.getMaxConnections())
+                .pendingAcquireMaxCount(connection.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(connection.getPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(connection.getMaxIdleTimeMs()))
+                .maxLifeTime(Duration.ofMillis(connection.getMaxLifeTimeMs()))
+                .evictInBackground(Duration.ofMillis(connection.getEvictionIntervalMs()))
+                .metrics(true, () -> new ConnectionProvider.MeterRegistrar() {
+                    @Override
+                    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                                ConnectionPoolMetrics metrics) {
+                        poolMetrics.put(String.valueOf(remoteAddress), metrics);
+                    }
+                    
+                    @Override
+                    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+                        poolMetrics.remove(String.valueOf(remoteAddress));
+                    }
+                })
+                .build();
+    }
+    
+    /**
+     * Create the HTTP client with timeouts, keep-alive, compression and protocol preference
+     */
+    private HttpClient createHttpClient(GrokApiConfig.Connection connection) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connection.getConnectTimeoutMs())
+                .responseTimeout(Duration.ofMillis(grokConfig.getTimeout()))
+                .keepAlive(connection.isKeepAlive())
+                .compress(connection.isCompression());
+        if (connection.isPreferHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return httpClient;
+    }
+    
+    /**
+     * Build a non-streaming chat completion request
+     */
+    private GrokRequest buildRequest(List<GrokRequest.GrokMessage> messages, double temperature, int maxTokens) {
+        return buildRequest(messages, temperature, maxTokens, false);
+    }
+    
+    /**
+     * Build a chat completion request
+     */
+    private GrokRequest buildRequest(List<GrokRequest.GrokMessage> messages, double temperature, int maxTokens,
+                                     boolean stream) {
+        return GrokRequest.builder()
+                .messages(messages)
+                .model(grokConfig.getModel())
+                .temperature(temperature)
+                .maxTokens(maxTokens)
+                .stream(stream)
+                .build();
+    }
+    
+    /**
+     * Share one upstream call between concurrent identical requests, unless the caller asked for a fresh response
+     */
+    private Mono<GrokResponse> executeCoalesced(GrokRequest request, String apiKey) {
+        return Mono.deferContextual(context -> {
+            if (context.getOrDefault(FRESH_RESPONSE_CONTEXT_KEY, false)) {
+                return executeResilient(request, apiKey);
+            }
+            String promptVersion = context.getOrDefault(PROMPT_VERSION_CONTEXT_KEY, null);
+            if (!grokConfig.isCoalesceRequests()) {
+                return executeCached(request, apiKey, promptVersion);
+            }
+            String fingerprint = promptVersion == null ? request.fingerprint() : request.fingerprint() + "@" + promptVersion;
+            return requestCoalescer.execute(fingerprint, () -> executeCached(request, apiKey, promptVersion));
+        });
+    }
+    
+    /**
+     * Serve a request from the response cache when possible, caching successful completions
+     */
+    private Mono<GrokResponse> executeCached(GrokRequest request, String apiKey, String promptVersion) {
+        String cacheKey = responseCache.keyFor(request, promptVersion);
+        if (cacheKey == null) {
+            return executeResilient(request, apiKey);
+        }
+        
+        return Mono.defer(() -> responseCache.get(cacheKey)
+                .map(content -> {
+                    log.debug("Serving Grok response from cache");
+                    return Mono.just(createResponse(content));
+                })
+                .orElseGet(() -> executeResilient(request, apiKey)
+                        .doOnNext(response -> {
+                            if (response.getContent() != null) {
+                                responseCache.put(cacheKey, response.getContent());
+                            }
+                        })));
+    }
+    
+    /**
+     * Call upstream through the circuit breaker, retrying and hedging each rate-limited attempt
+     */
+    private Mono<GrokResponse> executeResilient(GrokRequest request, String apiKey) {
+        return resiliencePolicy.execute(() -> executeRateLimited(request, apiKey));
+    }
+    
+    /**
+     * Wait for rate limit capacity before calling upstream, then correct the token budget from reported usage
+     */
+    private Mono<GrokResponse> executeRateLimited(GrokRequest request, String apiKey) {
+        long estimatedTokens = rateLimiter.estimateTokens(request);
+        return rateLimiter.acquire(estimatedTokens)
+                .then(execute(request, apiKey))
+                .doOnNext(response -> rateLimiter.recordUsage(request, estimatedTokens, response.getUsage()));
+    }
+    
+    /**
+     * Post a request to the chat completions endpoint
+     */
+    private Mono<GrokResponse> execute(GrokRequest request, String apiKey) {
+        return webClient.post()
+                .uri("/chat/completions")
+                .header("Authorization", "Bearer " + apiKey)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(GrokResponse.class)
+                .timeout(Duration.ofMillis(grokConfig.getTimeout()));
+    }
+    
+    /**
+     * Wait for rate limit capacity, then stream the completion and record time to first token
+     */
+    private Flux<String> executeStreamRateLimited(GrokRequest request, String apiKey) {
+        long estimatedTokens = rateLimiter.estimateTokens(request);
+        return rateLimiter.acquire(estimatedTokens)
+                .thenMany(Flux.defer(() -> {
+                    streamsStarted.incrementAndGet();
+                    long start = System.nanoTime();
+                    AtomicBoolean firstToken = new AtomicBoolean(true);
+                    return executeStream(request, apiKey)
+                            .doOnNext(chunk -> {
+                                if (chunk.getUsage() != null) {
+                                    rateLimiter.recordUsage(request, estimatedTokens, chunk.getUsage());
+                                }
+                            })
+                            .<String>handle((chunk, sink) -> {
+                                String content = chunk.getDeltaContent();
+                                if (content != null && !content.isEmpty()) {
+                                    sink.next(content);
+                                }
+                            })
+                            .doOnNext(content -> {
+                                if (firstToken.compareAndSet(true, false)) {
+                                    timeToFirstToken.record((System.nanoTime() - start) / 1_000_000);
+                                }
+                            });
+                }));
+    }
+    
+    /**
+     * Post a streaming request and parse the server-sent event chunks as they arrive
+     */
+    private Flux<GrokResponse> executeStream(GrokRequest request, String apiKey) {
+        return webClient.post()
+                .uri("/chat/completions")
+                .header("Authorization", "Bearer " + apiKey)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToFlux(SERVER_SENT_EVENTS)
+                .timeout(Duration.ofMillis(grokConfig.getTimeout()))
+                .<String>handle((event, sink) -> {
+                    if (event.data() != null && !event.data().isBlank()) {
+                        sink.next(event.data().trim());
+                    }
+                })
+                .takeWhile(data -> !STREAM_DONE.equals(data))
+                .handle((data, sink) -> {
+                    try {
+                        sink.next(objectMapper.readValue(data, GrokResponse.class));
+                    } catch (JsonProcessingException e) {
+                        sink.error(new IllegalStateException("Malformed Grok stream chunk: " + e.getOriginalMessage(), e));
+                    }
+                });
+    }
+    
+    /**
+     * Map a failed chat completion to the user-facing message
+     */
+    private String describeCompletionError(Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            WebClientResponseException responseException = (WebClientResponseException) e;
+            log.error("Grok API error: {} - {}", responseException.getStatusCode(), responseException.getResponseBodyAsString());
+            return "API Error: " + e.getMessage() + ". Please check your API key and try again.";
+        }
+        log.error("Unexpected error calling Grok API", e);
+        if (isTimeout(e)) {
+            return "Request timed out. The AI service is currently slow. Please try again.";
+        }
+        return "Service temporarily unavailable. Please try again in a moment.";
+    }
+    
+    private boolean isTimeout(Throwable e) {
+        return e instanceof TimeoutException
+                || (e.getMessage() != null && e.getMessage().contains("TimeoutException"));
+    }
+    
+    /**
+     * Create a response carrying the given content in its first choice
      */
-    private GrokResponse createErrorResponse() {
-        GrokResponse errorResponse = new GrokResponse();
+    private GrokResponse createResponse(String content) {
+        GrokResponse response = new GrokResponse();
         GrokResponse.GrokChoice choice = new GrokResponse.GrokChoice();
         GrokResponse.GrokMessage message = new GrokResponse.GrokMessage();
-        message.setContent("Service temporarily unavailable due to timeout.");
+        message.setContent(content);
         choice.setMessage(message);
-        errorResponse.setChoices(Collections.singletonList(choice));
-        return errorResponse;
+        response.setChoices(Collections.singletonList(choice));
+        return response;
     }
     
     /**
      * Get API key from environment variable
      */
     private String getApiKey() {
-        String apiKey = System.getenv("XAI_API_KEY");
+        String apiKey = grokConfig.getApiKey();
+        if (apiKey != null && !apiKey.trim().isEmpty()) {
+            return apiKey;
+        }
+        apiKey = System.getenv("XAI_API_KEY");
         if (apiKey == null || apiKey.trim().isEmpty()) {
             throw new RuntimeException("XAI_API_KEY environment variable is not set");
         }
         return apiKey;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,210 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.GrokResilienceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker for upstream Grok calls.
+ * 
+ * Outcomes of the most recent calls are kept in a fixed-size window. Once
+ * enough calls have been seen and the failure rate reaches the threshold,
+ * the breaker opens and rejects calls without contacting the upstream.
+ * After the open period a limited number of trial calls are let through;
+ * if they all succeed the breaker closes, otherwise it opens again.
+ * 
+ * Each permit remembers the state and epoch it was issued in, and an
+ * outcome only counts while that epoch is still current. A slow call
+ * admitted before the breaker opened therefore cannot be mistaken for a
+ * trial call when it finally completes.
+ */
+@Component
+public class GrokCircuitBreaker {
+    
+    private static final Logger log = LoggerFactory.getLogger(GrokCircuitBreaker.class);
+    
+    private final GrokResilienceConfig.CircuitBreaker breakerConfig;
+    
+    private State state = State.CLOSED;
+    private long epoch;
+    private final boolean[] window;
+    private int windowPosition;
+    private int windowCalls;
+    private int windowFailures;
+    private long openUntilMillis;
+    private int trialsInFlight;
+    private int trialSuccesses;
+    
+    private final AtomicLong rejectedCalls = new AtomicLong();
+    private final AtomicLong timesOpened = new AtomicLong();
+    
+    @Autowired
+    public GrokCircuitBreaker(GrokResilienceConfig resilienceConfig) {
+        this.breakerConfig = resilienceConfig.getCircuitBreaker();
+        this.window = new boolean[Math.max(1, breakerConfig.getSlidingWindowSize())];
+    }
+    
+    /**
+     * Ask to send a call upstream. Every permit must be handed back to exactly
+     * one of {@link #onSuccess(Permit)}, {@link #onFailure(Permit)} or
+     * {@link #onIgnored(Permit)}; an empty result means the call is rejected.
+     */
+    public synchronized Optional<Permit> tryAcquirePermission() {
+        if (!breakerConfig.isEnabled()) {
+            return Optional.of(new Permit(State.CLOSED, epoch));
+        }
+        
+        if (state == State.OPEN && System.currentTimeMillis() >= openUntilMillis) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.CLOSED) {
+            return Optional.of(new Permit(state, epoch));
+        }
+        if (state == State.HALF_OPEN && trialsInFlight < breakerConfig.getHalfOpenCalls()) {
+            trialsInFlight++;
+            return Optional.of(new Permit(state, epoch));
+        }
+        rejectedCalls.incrementAndGet();
+        return Optional.empty();
+    }
+    
+    /**
+     * Record a successful call
+     */
+    public synchronized void onSuccess(Permit permit) {
+        if (!isCurrent(permit)) {
+            return;
+        }
+        
+        if (permit.state == State.HALF_OPEN) {
+            trialsInFlight--;
+            if (++trialSuccesses >= breakerConfig.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+        } else {
+            record(false);
+        }
+    }
+    
+    /**
+     * Record a call that failed because the upstream is unhealthy
+     */
+    public synchronized void onFailure(Permit permit) {
+        if (!isCurrent(permit)) {
+            return;
+        }
+        
+        if (permit.state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else {
+            record(true);
+            if (windowCalls >= breakerConfig.getMinimumCalls()
+                    && (double) windowFailures / windowCalls >= breakerConfig.getFailureRateThreshold()) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+    
+    /**
+     * Release a permitted call whose outcome says nothing about upstream health,
+     * such as a cancelled hedge or a client error
+     */
+    public synchronized void onIgnored(Permit permit) {
+        if (isCurrent(permit) && permit.state == State.HALF_OPEN) {
+            trialsInFlight--;
+        }
+    }
+    
+    /**
+     * Get the current breaker state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+    
+    /**
+     * Get circuit breaker statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", breakerConfig.isEnabled());
+        synchronized (this) {
+            stats.put("state", state.name());
+            stats.put("windowCalls", windowCalls);
+            stats.put("failureRate", windowCalls == 0 ? 0.0 : (double) windowFailures / windowCalls);
+        }
+        stats.put("rejectedCalls", rejectedCalls.get());
+        stats.put("timesOpened", timesOpened.get());
+        
+        return stats;
+    }
+    
+    /**
+     * Whether an outcome still applies: the breaker is enabled and has not
+     * changed state since the permit was issued
+     */
+    private boolean isCurrent(Permit permit) {
+        return breakerConfig.isEnabled() && permit.epoch == epoch;
+    }
+    
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            if (window[windowPosition]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowPosition] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+    }
+    
+    private void transitionTo(State next) {
+        log.info("Grok circuit breaker {} -> {}", state, next);
+        state = next;
+        epoch++;
+        windowPosition = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+        trialsInFlight = 0;
+        trialSuccesses = 0;
+        if (next == State.OPEN) {
+            openUntilMillis = System.currentTimeMillis() + breakerConfig.getOpenDurationMs();
+            timesOpened.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Permission to send one call, tied to the breaker state it was issued in
+     */
+    public static final class Permit {
+        private final State state;
+        private final long epoch;
+        
+        private Permit(State state, long epoch) {
+            this.state = state;
+            this.epoch = epoch;
+        }
+        
+        public State getState() { return state; }
+    }
+    
+    /**
+     * Circuit breaker state
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
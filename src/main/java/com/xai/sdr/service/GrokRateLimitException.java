@@ -0,0 +1,12 @@
+package com.xai.sdr.service;
+
+/**
+ * Thrown when a Grok call cannot be admitted by the client-side rate limiter,
+ * either because its lane rejects immediately or its queueing deadline passed.
+ */
+public class GrokRateLimitException extends GrokUnavailableException {
+    
+    public GrokRateLimitException(String message) {
+        super(message);
+    }
+}
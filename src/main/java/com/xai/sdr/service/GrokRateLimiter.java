@@ -0,0 +1,300 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.GrokRateLimitConfig;
+import com.xai.sdr.dto.GrokRequest;
+import com.xai.sdr.dto.GrokResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side rate limiter for Grok API calls.
+ * 
+ * Two token buckets track the requests-per-minute and tokens-per-minute
+ * quotas. Token cost is estimated from the prompt size before the call and
+ * corrected from the reported usage afterwards; the estimate itself is
+ * learned from past usage. Calls that cannot be admitted wait in a queue
+ * ordered by priority, so interactive UI calls overtake batch work.
+ * 
+ * Callers set their lane through the Reactor context under
+ * {@link #PRIORITY_CONTEXT_KEY}; calls without one are interactive.
+ */
+@Component
+public class GrokRateLimiter {
+    
+    private static final Logger log = LoggerFactory.getLogger(GrokRateLimiter.class);
+    
+    public static final String PRIORITY_CONTEXT_KEY = "grok.priority";
+    
+    private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final double LEARNING_RATE = 0.2;
+    
+    private final GrokRateLimitConfig rateLimitConfig;
+    
+    private final Object lock = new Object();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparing((Waiter waiter) -> waiter.priority).thenComparingLong(waiter -> waiter.sequence));
+    private double availableRequests;
+    private double availableTokens;
+    private long lastRefillNanos;
+    private long sequence;
+    private Disposable scheduledDrain;
+    
+    private volatile double charsPerToken = 4.0;
+    private volatile double averageCompletionTokens = -1;
+    
+    private final Map<Priority, AtomicLong> granted = new EnumMap<>(Priority.class);
+    private final Map<Priority, AtomicLong> queued = new EnumMap<>(Priority.class);
+    private final Map<Priority, AtomicLong> rejected = new EnumMap<>(Priority.class);
+    
+    @Autowired
+    public GrokRateLimiter(GrokRateLimitConfig rateLimitConfig) {
+        this.rateLimitConfig = rateLimitConfig;
+        this.availableRequests = rateLimitConfig.getRequestsPerMinute();
+        this.availableTokens = rateLimitConfig.getTokensPerMinute();
+        this.lastRefillNanos = System.nanoTime();
+        for (Priority priority : Priority.values()) {
+            granted.put(priority, new AtomicLong());
+            queued.put(priority, new AtomicLong());
+            rejected.put(priority, new AtomicLong());
+        }
+    }
+    
+    /**
+     * Wait for capacity to send the request, using the priority from the Reactor context
+     */
+    public Mono<Void> acquire(long estimatedTokens) {
+        return Mono.deferContextual(context -> acquire(
+                context.getOrDefault(PRIORITY_CONTEXT_KEY, Priority.INTERACTIVE), estimatedTokens));
+    }
+    
+    /**
+     * Wait for capacity to send a request costing the given number of tokens
+     */
+    public Mono<Void> acquire(Priority priority, long estimatedTokens) {
+        if (!rateLimitConfig.isEnabled()) {
+            return Mono.empty();
+        }
+        
+        long maxWaitMs = priority == Priority.INTERACTIVE
+                ? rateLimitConfig.getInteractiveMaxWaitMs()
+                : rateLimitConfig.getBatchMaxWaitMs();
+        long tokens = Math.min(estimatedTokens, rateLimitConfig.getTokensPerMinute());
+        
+        return Mono.defer(() -> {
+            Waiter waiter;
+            synchronized (lock) {
+                refill();
+                Waiter head = waiters.peek();
+                if ((head == null || head.priority.compareTo(priority) > 0) && tryConsume(tokens)) {
+                    granted.get(priority).incrementAndGet();
+                    return Mono.empty();
+                }
+                if (maxWaitMs <= 0 || waiters.size() >= rateLimitConfig.getMaxQueueSize()) {
+                    rejected.get(priority).incrementAndGet();
+                    return Mono.error(new GrokRateLimitException("Grok API rate limit reached"));
+                }
+                waiter = new Waiter(priority, sequence++, tokens);
+                waiters.add(waiter);
+                queued.get(priority).incrementAndGet();
+                scheduleDrain();
+            }
+            
+            // Only queued callers wait, so only they are raced by the timeout
+            return waiter.permit.asMono()
+                    .doOnCancel(() -> cancel(waiter))
+                    .timeout(Duration.ofMillis(maxWaitMs), Mono.defer(() -> {
+                        rejected.get(priority).incrementAndGet();
+                        log.warn("{} Grok call waited {} ms for rate limit capacity, giving up", priority, maxWaitMs);
+                        return Mono.error(new GrokRateLimitException("Timed out waiting for Grok API rate limit capacity"));
+                    }));
+        });
+    }
+    
+    /**
+     * Estimate the total tokens a request will consume, using learned prompt and completion sizes
+     */
+    public long estimateTokens(GrokRequest request) {
+        long promptChars = 0;
+        if (request.getMessages() != null) {
+            for (GrokRequest.GrokMessage message : request.getMessages()) {
+                promptChars += message.getContent() != null ? message.getContent().length() : 0;
+            }
+        }
+        
+        double completionTokens = averageCompletionTokens >= 0
+                ? averageCompletionTokens
+                : (request.getMaxTokens() != null ? request.getMaxTokens() / 2.0 : 0);
+        if (request.getMaxTokens() != null) {
+            completionTokens = Math.min(completionTokens, request.getMaxTokens());
+        }
+        return (long) Math.ceil(promptChars / charsPerToken + completionTokens);
+    }
+    
+    /**
+     * Correct the token bucket with the usage reported for a completed call and refine the estimates
+     */
+    public void recordUsage(GrokRequest request, long estimatedTokens, GrokResponse.GrokUsage usage) {
+        if (usage == null || usage.getTotalTokens() == null) {
+            return;
+        }
+        
+        synchronized (lock) {
+            availableTokens -= usage.getTotalTokens() - estimatedTokens;
+        }
+        
+        if (usage.getPromptTokens() != null && usage.getPromptTokens() > 0 && request.getMessages() != null) {
+            long promptChars = request.getMessages().stream()
+                    .mapToLong(message -> message.getContent() != null ? message.getContent().length() : 0)
+                    .sum();
+            double observed = (double) promptChars / usage.getPromptTokens();
+            charsPerToken = charsPerToken + LEARNING_RATE * (observed - charsPerToken);
+        }
+        if (usage.getCompletionTokens() != null) {
+            double current = averageCompletionTokens;
+            averageCompletionTokens = current < 0
+                    ? usage.getCompletionTokens()
+                    : current + LEARNING_RATE * (usage.getCompletionTokens() - current);
+        }
+    }
+    
+    /**
+     * Get rate limiter statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", rateLimitConfig.isEnabled());
+        stats.put("requestsPerMinute", rateLimitConfig.getRequestsPerMinute());
+        stats.put("tokensPerMinute", rateLimitConfig.getTokensPerMinute());
+        synchronized (lock) {
+            refill();
+            stats.put("availableRequests", (long) availableRequests);
+            stats.put("availableTokens", (long) availableTokens);
+            stats.put("waiting", waiters.size());
+        }
+        stats.put("charsPerToken", charsPerToken);
+        stats.put("averageCompletionTokens", averageCompletionTokens);
+        
+        Map<String, Object> lanes = new HashMap<>();
+        for (Priority priority : Priority.values()) {
+            Map<String, Object> lane = new HashMap<>();
+            lane.put("granted", granted.get(priority).get());
+            lane.put("queued", queued.get(priority).get());
+            lane.put("rejected", rejected.get(priority).get());
+            lanes.put(priority.name(), lane);
+        }
+        stats.put("lanes", lanes);
+        
+        return stats;
+    }
+    
+    private void refill() {
+        long now = System.nanoTime();
+        long elapsed = now - lastRefillNanos;
+        lastRefillNanos = now;
+        availableRequests = Math.min(rateLimitConfig.getRequestsPerMinute(),
+                availableRequests + elapsed * rateLimitConfig.getRequestsPerMinute() / NANOS_PER_MINUTE);
+        availableTokens = Math.min(rateLimitConfig.getTokensPerMinute(),
+                availableTokens + elapsed * rateLimitConfig.getTokensPerMinute() / NANOS_PER_MINUTE);
+    }
+    
+    private boolean tryConsume(long tokens) {
+        if (availableRequests >= 1 && availableTokens >= tokens) {
+            availableRequests -= 1;
+            availableTokens -= tokens;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Admit as many queued callers as capacity allows, then schedule the next check.
+     * Callers are resumed outside the lock.
+     */
+    private void drain() {
+        List<Waiter> ready = new ArrayList<>();
+        synchronized (lock) {
+            scheduledDrain = null;
+            refill();
+            while (!waiters.isEmpty() && tryConsume(waiters.peek().tokens)) {
+                Waiter waiter = waiters.poll();
+                waiter.admitted = true;
+                granted.get(waiter.priority).incrementAndGet();
+                ready.add(waiter);
+            }
+            if (!waiters.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+        ready.forEach(waiter -> waiter.permit.tryEmitEmpty());
+    }
+    
+    /**
+     * Schedule a drain for when the head of the queue can next be admitted. Must hold the lock.
+     */
+    private void scheduleDrain() {
+        if (scheduledDrain != null || waiters.isEmpty()) {
+            return;
+        }
+        Waiter head = waiters.peek();
+        double requestDeficit = Math.max(0, 1 - availableRequests);
+        double tokenDeficit = Math.max(0, head.tokens - availableTokens);
+        double requestWaitNanos = requestDeficit * NANOS_PER_MINUTE / Math.max(1, rateLimitConfig.getRequestsPerMinute());
+        double tokenWaitNanos = tokenDeficit * NANOS_PER_MINUTE / Math.max(1, rateLimitConfig.getTokensPerMinute());
+        long delayMs = Math.max(1, (long) Math.ceil(Math.max(requestWaitNanos, tokenWaitNanos) / 1_000_000));
+        scheduledDrain = Schedulers.parallel().schedule(this::drain, delayMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Take a cancelled or timed out caller out of the queue, or hand its
+     * permit back if it was admitted before the cancellation arrived
+     */
+    private void cancel(Waiter waiter) {
+        synchronized (lock) {
+            if (!waiters.remove(waiter) && waiter.admitted) {
+                availableRequests = Math.min(rateLimitConfig.getRequestsPerMinute(), availableRequests + 1);
+                availableTokens = Math.min(rateLimitConfig.getTokensPerMinute(), availableTokens + waiter.tokens);
+                granted.get(waiter.priority).decrementAndGet();
+                scheduleDrain();
+            }
+        }
+    }
+    
+    /**
+     * Priority lane of a Grok call. Lower ordinal is served first.
+     */
+    public enum Priority {
+        INTERACTIVE,
+        BATCH
+    }
+    
+    private static class Waiter {
+        private final Priority priority;
+        private final long sequence;
+        private final long tokens;
+        private final Sinks.One<Void> permit = Sinks.one();
+        private boolean admitted;
+        
+        Waiter(Priority priority, long sequence, long tokens) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.tokens = tokens;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.dto.GrokResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight layer for Grok calls.
+ * 
+ * Concurrent calls with the same request fingerprint share one upstream
+ * call instead of each sending their own request. The entry is removed
+ * as soon as the upstream call terminates, so later calls go out again.
+ * The upstream call runs with the Reactor context of the first caller and
+ * is cancelled once every caller sharing it has cancelled. Calls only
+ * coalesce within one rate-limit lane, so an interactive caller never waits
+ * in the batch queue behind a call it joined.
+ */
+@Component
+public class GrokRequestCoalescer {
+    
+    private static final Logger log = LoggerFactory.getLogger(GrokRequestCoalescer.class);
+    
+    private final Map<String, InFlightCall> inFlight = new ConcurrentHashMap<>();
+    
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+    
+    /**
+     * Execute a call, joining an identical call already in flight if there is one
+     */
+    public Mono<GrokResponse> execute(String fingerprint, Supplier<Mono<GrokResponse>> call) {
+        return Mono.deferContextual(context -> {
+            GrokRateLimiter.Priority priority =
+                    context.getOrDefault(GrokRateLimiter.PRIORITY_CONTEXT_KEY, GrokRateLimiter.Priority.INTERACTIVE);
+            String key = priority.name() + ":" + fingerprint;
+            InFlightCall candidate = new InFlightCall(key, Mono.defer(call).contextWrite(context));
+            InFlightCall existing = inFlight.putIfAbsent(key, candidate);
+            if (existing != null) {
+                coalescedCalls.incrementAndGet();
+                log.debug("Joining in-flight Grok request {}", key);
+                return existing.response;
+            }
+            
+            upstreamCalls.incrementAndGet();
+            return candidate.response;
+        });
+    }
+    
+    /**
+     * Get coalescing statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long upstream = upstreamCalls.get();
+        long coalesced = coalescedCalls.get();
+        
+        stats.put("inFlight", inFlight.size());
+        stats.put("upstreamCalls", upstream);
+        stats.put("coalescedCalls", coalesced);
+        stats.put("coalescedRate", upstream + coalesced == 0 ? 0.0 : (double) coalesced / (upstream + coalesced));
+        
+        return stats;
+    }
+    
+    /**
+     * An upstream call shared by every caller with the same fingerprint and lane.
+     * The call is reference counted: it is cancelled when the last caller
+     * cancels, and the entry leaves the map however the call ends.
+     */
+    private final class InFlightCall {
+        private final Mono<GrokResponse> response;
+        
+        private InFlightCall(String key, Mono<GrokResponse> upstream) {
+            this.response = upstream
+                    .doFinally(signal -> inFlight.remove(key, this))
+                    .flux()
+                    .replay(1)
+                    .refCount()
+                    .singleOrEmpty();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.GrokResilienceConfig;
+import com.xai.sdr.dto.GrokResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer for upstream Grok calls.
+ * 
+ * Each attempt passes through the circuit breaker. Throttled (429), failed
+ * (5xx), timed out and disconnected attempts are retried with jittered
+ * exponential backoff, honoring Retry-After, within an overall time budget.
+ * Slow interactive attempts can be hedged with a second request once they
+ * exceed a percentile of recent latencies.
+ * 
+ * Calls that still fail because the upstream is degraded end with a
+ * {@link GrokUnavailableException}; client errors such as 401 are passed
+ * through unchanged.
+ */
+@Component
+public class GrokResiliencePolicy {
+    
+    private static final Logger log = LoggerFactory.getLogger(GrokResiliencePolicy.class);
+    
+    private final GrokResilienceConfig resilienceConfig;
+    private final GrokCircuitBreaker circuitBreaker;
+    
+    private final LatencyWindow latencies;
+    
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong hedgesStarted = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+    private final AtomicLong exhaustedCalls = new AtomicLong();
+    
+    @Autowired
+    public GrokResiliencePolicy(GrokResilienceConfig resilienceConfig, GrokCircuitBreaker circuitBreaker) {
+        this.resilienceConfig = resilienceConfig;
+        this.circuitBreaker = circuitBreaker;
+        this.latencies = new LatencyWindow(resilienceConfig.getHedging().getLatencyWindow());
+    }
+    
+    /**
+     * Execute a call with circuit breaking, retries and hedging. The supplier
+     * is invoked once per attempt and must return a fresh upstream call.
+     */
+    public Mono<GrokResponse> execute(Supplier<Mono<GrokResponse>> attempt) {
+        return Mono.defer(() -> {
+            long deadline = System.currentTimeMillis() + resilienceConfig.getRetry().getBudgetMs();
+            return hedged(attempt)
+                    .retryWhen(retrySpec(deadline, new AtomicBoolean()))
+                    .onErrorMap(this::isUpstreamFailure, this::toUnavailable);
+        });
+    }
+    
+    /**
+     * Execute a streaming call through the circuit breaker. Failures are retried
+     * only until the first element has been relayed to the caller; streams are
+     * never hedged.
+     */
+    public <T> Flux<T> executeStream(Supplier<Flux<T>> attempt) {
+        return Flux.defer(() -> {
+            long deadline = System.currentTimeMillis() + resilienceConfig.getRetry().getBudgetMs();
+            AtomicBoolean committed = new AtomicBoolean();
+            return Flux.defer(() -> {
+                        Optional<GrokCircuitBreaker.Permit> permit = circuitBreaker.tryAcquirePermission();
+                        if (permit.isEmpty()) {
+                            return Flux.<T>error(new GrokUnavailableException("Grok API circuit breaker is open"));
+                        }
+                        AtomicBoolean recorded = new AtomicBoolean();
+                        return attempt.get()
+                                .doOnComplete(() -> {
+                                    if (recorded.compareAndSet(false, true)) {
+                                        circuitBreaker.onSuccess(permit.get());
+                                    }
+                                })
+                                .doOnError(e -> {
+                                    if (recorded.compareAndSet(false, true)) {
+                                        recordFailure(permit.get(), e);
+                                    }
+                                })
+                                .doFinally(signal -> {
+                                    if (recorded.compareAndSet(false, true)) {
+                                        circuitBreaker.onIgnored(permit.get());
+                                    }
+                                });
+                    })
+                    .doOnNext(element -> committed.set(true))
+                    .retryWhen(retrySpec(deadline, committed))
+                    .onErrorMap(e -> !committed.get() && isUpstreamFailure(e), this::toUnavailable);
+        });
+    }
+    
+    /**
+     * Get retry, hedging, latency and circuit breaker statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("retries", retries.get());
+        stats.put("exhaustedCalls", exhaustedCalls.get());
+        stats.put("hedgingEnabled", resilienceConfig.getHedging().isEnabled());
+        stats.put("hedgesStarted", hedgesStarted.get());
+        stats.put("hedgesWon", hedgesWon.get());
+        stats.put("latencyP50Ms", latencies.percentile(0.5));
+        stats.put("latencyP95Ms", latencies.percentile(0.95));
+        stats.put("circuitBreaker", circuitBreaker.getStats());
+        
+        return stats;
+    }
+    
+    /**
+     * Run the primary attempt and, for interactive calls that run past the
+     * hedge delay, a second attempt. The first to signal wins; a failed hedge
+     * never overrides the primary.
+     */
+    private Mono<GrokResponse> hedged(Supplier<Mono<GrokResponse>> attempt) {
+        return Mono.deferContextual(context -> {
+            GrokRateLimiter.Priority priority =
+                    context.getOrDefault(GrokRateLimiter.PRIORITY_CONTEXT_KEY, GrokRateLimiter.Priority.INTERACTIVE);
+            Long hedgeDelayMs = priority == GrokRateLimiter.Priority.INTERACTIVE ? hedgeDelayMs() : null;
+            if (hedgeDelayMs == null) {
+                return guarded(attempt);
+            }
+            
+            Mono<GrokResponse> hedge = Mono.delay(Duration.ofMillis(hedgeDelayMs))
+                    .then(Mono.defer(() -> {
+                        hedgesStarted.incrementAndGet();
+                        log.debug("Grok call exceeded {} ms, sending hedged request", hedgeDelayMs);
+                        return guarded(attempt);
+                    }))
+                    .doOnNext(response -> hedgesWon.incrementAndGet())
+                    .onErrorResume(e -> Mono.never());
+            return Mono.firstWithSignal(guarded(attempt), hedge);
+        });
+    }
+    
+    /**
+     * Run one attempt through the circuit breaker and record its outcome and latency
+     */
+    private Mono<GrokResponse> guarded(Supplier<Mono<GrokResponse>> attempt) {
+        return Mono.defer(() -> {
+            Optional<GrokCircuitBreaker.Permit> permit = circuitBreaker.tryAcquirePermission();
+            if (permit.isEmpty()) {
+                return Mono.error(new GrokUnavailableException("Grok API circuit breaker is open"));
+            }
+            
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return attempt.get()
+                    .doOnNext(response -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            latencies.record((System.nanoTime() - start) / 1_000_000);
+                            circuitBreaker.onSuccess(permit.get());
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            recordFailure(permit.get(), e);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            circuitBreaker.onIgnored(permit.get());
+                        }
+                    });
+        });
+    }
+    
+    /**
+     * Count a failed attempt against the breaker unless it says nothing about upstream health
+     */
+    private void recordFailure(GrokCircuitBreaker.Permit permit, Throwable e) {
+        if (isUpstreamFailure(e) && !(e instanceof GrokRateLimitException)) {
+            circuitBreaker.onFailure(permit);
+        } else {
+            circuitBreaker.onIgnored(permit);
+        }
+    }
+    
+    private Throwable toUnavailable(Throwable e) {
+        exhaustedCalls.incrementAndGet();
+        return e instanceof GrokUnavailableException
+                ? e
+                : new GrokUnavailableException("Grok API unavailable: " + e.getMessage(), e);
+    }
+    
+    /**
+     * Retry retryable failures with backoff until the attempt limit or time budget
+     * is reached, or the call has committed output to its caller
+     */
+    private Retry retrySpec(long deadline, AtomicBoolean committed) {
+        GrokResilienceConfig.Retry retry = resilienceConfig.getRetry();
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            long attempt = signal.totalRetries() + 1;
+            if (committed.get() || attempt >= retry.getMaxAttempts() || !isRetryable(failure)) {
+                return Mono.error(failure);
+            }
+            
+            Long retryAfterMs = retryAfterMs(failure);
+            long delayMs = retryAfterMs != null ? retryAfterMs : backoffMs(signal.totalRetries());
+            if ((retryAfterMs != null && retryAfterMs > retry.getMaxRetryAfterMs())
+                    || System.currentTimeMillis() + delayMs > deadline) {
+                log.warn("Not retrying Grok call after attempt {}: next attempt would be in {} ms", attempt, delayMs);
+                return Mono.error(failure);
+            }
+            
+            retries.incrementAndGet();
+            log.warn("Grok call attempt {} failed ({}), retrying in {} ms", attempt, failure.getMessage(), delayMs);
+            return Mono.delay(Duration.ofMillis(delayMs));
+        }));
+    }
+    
+    /**
+     * Exponential backoff with full jitter
+     */
+    private long backoffMs(long retriesSoFar) {
+        GrokResilienceConfig.Retry retry = resilienceConfig.getRetry();
+        long ceiling = Math.min(retry.getMaxBackoffMs(), retry.getInitialBackoffMs() << Math.min(retriesSoFar, 20));
+        return ThreadLocalRandom.current().nextLong(Math.max(1, ceiling) + 1);
+    }
+    
+    /**
+     * Parse a Retry-After header given either in seconds or as an HTTP date
+     */
+    private Long retryAfterMs(Throwable failure) {
+        if (!(failure instanceof WebClientResponseException)) {
+            return null;
+        }
+        String retryAfter = ((WebClientResponseException) failure).getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return null;
+        }
+        
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, at.toInstant().toEpochMilli() - System.currentTimeMillis());
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+    
+    /**
+     * Attempts worth repeating: throttling, server errors, timeouts and connection failures
+     */
+    private boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) e).getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return e instanceof TimeoutException || e instanceof WebClientRequestException;
+    }
+    
+    /**
+     * Failures that indicate a degraded upstream rather than a bad request
+     */
+    private boolean isUpstreamFailure(Throwable e) {
+        return e instanceof GrokUnavailableException || isRetryable(e);
+    }
+    
+    /**
+     * Delay before hedging, or null when hedging is off or there are too few samples
+     */
+    private Long hedgeDelayMs() {
+        GrokResilienceConfig.Hedging hedging = resilienceConfig.getHedging();
+        if (!hedging.isEnabled()) {
+            return null;
+        }
+        if (latencies.size() < hedging.getMinSamples()) {
+            return null;
+        }
+        return Math.max(hedging.getMinDelayMs(), latencies.percentile(hedging.getPercentile()));
+    }
+}
@@ -0,0 +1,230 @@
+package com.xai.sdr.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xai.sdr.config.GrokCacheConfig;
+import com.xai.sdr.dto.GrokRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache for Grok chat completions.
+ * 
+ * Entries are keyed by a SHA-256 hash of the model, temperature, max tokens
+ * and messages, plus the prompt template version when known, evicted
+ * least-recently-used once the cache is full, and expire after a fixed
+ * time to live. The cache can optionally be written to
+ * a local file on shutdown and reloaded on startup.
+ */
+@Component
+public class GrokResponseCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(GrokResponseCache.class);
+    
+    private final GrokCacheConfig cacheConfig;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    
+    @Autowired
+    public GrokResponseCache(GrokCacheConfig cacheConfig) {
+        this.cacheConfig = cacheConfig;
+    }
+    
+    /**
+     * Compute the cache key for a request, or null if the request should not be cached
+     */
+    public String keyFor(GrokRequest request) {
+        return keyFor(request, null);
+    }
+    
+    /**
+     * Compute the cache key for a request rendered from the given prompt template version, if any
+     */
+    public String keyFor(GrokRequest request, String promptVersion) {
+        if (!cacheConfig.isEnabled()) {
+            return null;
+        }
+        if (request.getTemperature() != null && request.getTemperature() > cacheConfig.getMaxTemperature()) {
+            return null;
+        }
+        
+        return promptVersion == null ? request.fingerprint() : request.fingerprint() + "@" + promptVersion;
+    }
+    
+    /**
+     * Look up a cached completion
+     */
+    public synchronized Optional<String> get(String key) {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            expirations.incrementAndGet();
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(entry.content);
+    }
+    
+    /**
+     * Store a completion, evicting the least recently used entries if the cache is full
+     */
+    public synchronized void put(String key, String content) {
+        entries.put(key, new CacheEntry(content, System.currentTimeMillis() + cacheConfig.getTtlSeconds() * 1000));
+        
+        Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > cacheConfig.getMaxEntries() && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Remove all cached completions
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+    
+    /**
+     * Get cache statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        
+        stats.put("enabled", cacheConfig.isEnabled());
+        synchronized (this) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", cacheConfig.getMaxEntries());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        
+        return stats;
+    }
+    
+    /**
+     * Reload persisted entries that have not yet expired
+     */
+    @PostConstruct
+    public void load() {
+        File file = persistFile();
+        if (file == null || !file.exists()) {
+            return;
+        }
+        
+        try {
+            List<PersistedEntry> persisted = objectMapper.readValue(file, new TypeReference<List<PersistedEntry>>() {});
+            long now = System.currentTimeMillis();
+            int loaded = 0;
+            for (PersistedEntry entry : persisted) {
+                if (entry.expiresAt > now) {
+                    synchronized (this) {
+                        entries.put(entry.key, new CacheEntry(entry.content, entry.expiresAt));
+                    }
+                    loaded++;
+                }
+            }
+            log.info("Loaded {} cached Grok responses from {}", loaded, file);
+        } catch (IOException e) {
+            log.warn("Could not load Grok response cache from {}: {}", file, e.getMessage());
+        }
+    }
+    
+    /**
+     * Write live entries to the persist file, if one is configured
+     */
+    @PreDestroy
+    public void persist() {
+        File file = persistFile();
+        if (file == null) {
+            return;
+        }
+        
+        List<PersistedEntry> persisted = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            entries.forEach((key, entry) -> {
+                if (!entry.isExpired(now)) {
+                    persisted.add(new PersistedEntry(key, entry.content, entry.expiresAt));
+                }
+            });
+        }
+        
+        try {
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            objectMapper.writeValue(file, persisted);
+            log.info("Persisted {} cached Grok responses to {}", persisted.size(), file);
+        } catch (IOException e) {
+            log.warn("Could not persist Grok response cache to {}: {}", file, e.getMessage());
+        }
+    }
+    
+    private File persistFile() {
+        String path = cacheConfig.getPersistFile();
+        return cacheConfig.isEnabled() && path != null && !path.isBlank() ? new File(path) : null;
+    }
+    
+    private static class CacheEntry {
+        private final String content;
+        private final long expiresAt;
+        
+        CacheEntry(String content, long expiresAt) {
+            this.content = content;
+            this.expiresAt = expiresAt;
+        }
+        
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+    
+    /**
+     * On-disk representation of a cache entry
+     */
+    public static class PersistedEntry {
+        public String key;
+        public String content;
+        public long expiresAt;
+        
+        public PersistedEntry() {}
+        
+        public PersistedEntry(String key, String content, long expiresAt) {
+            this.key = key;
+            this.content = content;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
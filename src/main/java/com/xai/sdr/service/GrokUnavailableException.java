@@ -0,0 +1,18 @@
+package com.xai.sdr.service;
+
+/**
+ * Thrown when a Grok call cannot be completed because the upstream is
+ * degraded: the circuit breaker is open, or every retry failed.
+ * 
+ * Callers are expected to fall back to a non-AI result.
+ */
+public class GrokUnavailableException extends RuntimeException {
+    
+    public GrokUnavailableException(String message) {
+        super(message);
+    }
+    
+    public GrokUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
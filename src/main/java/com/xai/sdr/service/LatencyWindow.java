@@ -0,0 +1,50 @@
+package com.xai.sdr.service;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size window of the most recent latency samples, in milliseconds,
+ * used to report percentiles without keeping an unbounded history.
+ */
+public class LatencyWindow {
+    
+    private final long[] samples;
+    private int position;
+    private int count;
+    
+    public LatencyWindow(int size) {
+        this.samples = new long[Math.max(1, size)];
+    }
+    
+    /**
+     * Record a sample, replacing the oldest once the window is full
+     */
+    public synchronized void record(long latencyMs) {
+        samples[position] = latencyMs;
+        position = (position + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+    
+    /**
+     * Number of samples currently in the window
+     */
+    public synchronized int size() {
+        return count;
+    }
+    
+    /**
+     * Get the given percentile (0 to 1) of the samples in the window, or 0 when empty
+     */
+    public long percentile(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, count);
+        }
+        if (sorted.length == 0) {
+            return 0;
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,312 @@
+package com.xai.sdr.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.xai.sdr.dto.ActivitySummary;
+import com.xai.sdr.dto.LeadExportRow;
+import com.xai.sdr.model.PipelineStage;
+import com.xai.sdr.repository.ActivityRepository;
+import com.xai.sdr.repository.LeadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service for streaming bulk exports of leads as CSV or NDJSON.
+ * 
+ * Leads are read with a streaming projection query and written to the
+ * output as they arrive, so memory use does not grow with the export.
+ * Activity timelines come from a second stream ordered by lead ID and
+ * are merged in, holding only the current lead's activities at a time.
+ */
+@Service
+public class LeadExportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(LeadExportService.class);
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static final String[] LEAD_COLUMNS = {
+        "id", "firstName", "lastName", "email", "phone", "title", "companyName", "companySize", "industry",
+        "location", "linkedinUrl", "website", "qualificationScore", "qualificationReasoning", "pipelineStage",
+        "lastContactDate", "nextFollowUpDate", "notes", "createdAt", "updatedAt"
+    };
+    
+    private static final String[] ACTIVITY_COLUMNS = {
+        "activityId", "activityType", "activityDescription", "activityOutcome", "activityScheduledDate",
+        "activityCompletedDate", "activityCreatedAt", "activityCreatedBy"
+    };
+    
+    private final LeadRepository leadRepository;
+    private final ActivityRepository activityRepository;
+    // Rows are buffered here and flushed once at the end rather than per row
+    private final ObjectWriter ndjsonWriter;
+    private final CsvMapper csvMapper = new CsvMapper();
+    
+    @Autowired
+    public LeadExportService(LeadRepository leadRepository, ActivityRepository activityRepository,
+                             ObjectMapper objectMapper) {
+        this.leadRepository = leadRepository;
+        this.activityRepository = activityRepository;
+        this.ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
+    
+    /**
+     * Write every lead matching the search criteria to the output, optionally with each
+     * lead's activity timeline and gzip compression. Returns the number of leads written.
+     * The output is finished but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(String firstName, String lastName, String companyName, String industry,
+                       PipelineStage pipelineStage, Format format, boolean includeActivities,
+                       boolean gzip, OutputStream output) throws IOException {
+        long start = System.currentTimeMillis();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(output, BUFFER_SIZE) : null;
+        OutputStream target = new BufferedOutputStream(compressed != null ? compressed : output, BUFFER_SIZE);
+        
+        long count = 0;
+        try (Stream<LeadExportRow> leads = leadRepository.streamLeadExportRows(
+                     firstName, lastName, companyName, industry, pipelineStage);
+             Stream<ActivitySummary> activities = includeActivities
+                     ? activityRepository.streamActivityTimelines(firstName, lastName, companyName, industry,
+                             pipelineStage)
+                     : Stream.empty()) {
+            RowWriter writer = format == Format.CSV
+                    ? new CsvRowWriter(target, includeActivities)
+                    : new NdjsonRowWriter(target);
+            TimelineCursor timeline = new TimelineCursor(activities.iterator());
+            
+            Iterator<LeadExportRow> rows = leads.iterator();
+            while (rows.hasNext()) {
+                LeadExportRow lead = rows.next();
+                writer.write(lead, includeActivities ? timeline.activitiesOf(lead.getId()) : null);
+                count++;
+            }
+            writer.finish();
+        }
+        
+        target.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exported {} leads as {}{} in {} ms", count, format, gzip ? " (gzip)" : "",
+                System.currentTimeMillis() - start);
+        return count;
+    }
+    
+    /**
+     * Writes one lead, with its timeline when requested, in the export format
+     */
+    private interface RowWriter {
+        void write(LeadExportRow lead, List<ActivitySummary> activities) throws IOException;
+        
+        void finish() throws IOException;
+    }
+    
+    /**
+     * One JSON object per line, with the timeline nested as an activities array
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+        private final OutputStream output;
+        
+        private NdjsonRowWriter(OutputStream output) {
+            this.output = output;
+        }
+        
+        @Override
+        public void write(LeadExportRow lead, List<ActivitySummary> activities) throws IOException {
+            lead.setActivities(activities);
+            ndjsonWriter.writeValue(output, lead);
+            output.write('\n');
+        }
+        
+        @Override
+        public void finish() {
+        }
+    }
+    
+    /**
+     * One row per lead, or with timelines one row per activity with the lead columns repeated
+     * and a single row with empty activity columns for leads without activities
+     */
+    private final class CsvRowWriter implements RowWriter {
+        private final Writer output;
+        private final SequenceWriter rows;
+        private final boolean includeActivities;
+        
+        private CsvRowWriter(OutputStream output, boolean includeActivities) throws IOException {
+            this.output = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            this.includeActivities = includeActivities;
+            CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+            for (String column : LEAD_COLUMNS) {
+                schema.addColumn(column);
+            }
+            if (includeActivities) {
+                for (String column : ACTIVITY_COLUMNS) {
+                    schema.addColumn(column);
+                }
+            }
+            this.rows = csvMapper.writer(schema.build())
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                    .writeValues(this.output);
+        }
+        
+        @Override
+        public void write(LeadExportRow lead, List<ActivitySummary> activities) throws IOException {
+            if (!includeActivities) {
+                rows.write(leadValues(lead, 0));
+                return;
+            }
+            if (activities.isEmpty()) {
+                rows.write(leadValues(lead, ACTIVITY_COLUMNS.length));
+                return;
+            }
+            for (ActivitySummary activity : activities) {
+                String[] values = leadValues(lead, ACTIVITY_COLUMNS.length);
+                int i = LEAD_COLUMNS.length;
+                values[i++] = text(activity.getId());
+                values[i++] = text(activity.getActivityType());
+                values[i++] = text(activity.getDescription());
+                values[i++] = text(activity.getOutcome());
+                values[i++] = text(activity.getScheduledDate());
+                values[i++] = text(activity.getCompletedDate());
+                values[i++] = text(activity.getCreatedAt());
+                values[i] = text(activity.getCreatedBy());
+                rows.write(values);
+            }
+        }
+        
+        @Override
+        public void finish() throws IOException {
+            rows.flush();
+            output.flush();
+        }
+        
+        private String[] leadValues(LeadExportRow lead, int extraColumns) {
+            String[] values = new String[LEAD_COLUMNS.length + extraColumns];
+            Arrays.fill(values, LEAD_COLUMNS.length, values.length, "");
+            int i = 0;
+            values[i++] = text(lead.getId());
+            values[i++] = text(lead.getFirstName());
+            values[i++] = text(lead.getLastName());
+            values[i++] = text(lead.getEmail());
+            values[i++] = text(lead.getPhone());
+            values[i++] = text(lead.getTitle());
+            values[i++] = text(lead.getCompanyName());
+            values[i++] = text(lead.getCompanySize());
+            values[i++] = text(lead.getIndustry());
+            values[i++] = text(lead.getLocation());
+            values[i++] = text(lead.getLinkedinUrl());
+            values[i++] = text(lead.getWebsite());
+            values[i++] = text(lead.getQualificationScore());
+            values[i++] = text(lead.getQualificationReasoning());
+            values[i++] = text(lead.getPipelineStage());
+            values[i++] = text(lead.getLastContactDate());
+            values[i++] = text(lead.getNextFollowUpDate());
+            values[i++] = text(lead.getNotes());
+            values[i++] = text(lead.getCreatedAt());
+            values[i] = text(lead.getUpdatedAt());
+            return values;
+        }
+    }
+    
+    /**
+     * CSV cell text; nulls become empty cells, as the CSV writer skips null array elements
+     */
+    private static String text(Object value) {
+        return value != null ? value.toString() : "";
+    }
+    
+    /**
+     * Walks a timeline stream ordered by lead ID alongside the lead stream
+     */
+    private static final class TimelineCursor {
+        private final Iterator<ActivitySummary> activities;
+        private ActivitySummary next;
+        
+        private TimelineCursor(Iterator<ActivitySummary> activities) {
+            this.activities = activities;
+            this.next = activities.hasNext() ? activities.next() : null;
+        }
+        
+        /**
+         * Take the activities of the given lead, skipping any left over from leads not exported
+         */
+        private List<ActivitySummary> activitiesOf(Long leadId) {
+            while (next != null && next.getLeadId() < leadId) {
+                advance();
+            }
+            List<ActivitySummary> timeline = new ArrayList<>();
+            while (next != null && next.getLeadId().equals(leadId)) {
+                timeline.add(next);
+                advance();
+            }
+            return timeline;
+        }
+        
+        private void advance() {
+            next = activities.hasNext() ? activities.next() : null;
+        }
+    }
+    
+    /**
+     * Supported export formats
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+        
+        private final String contentType;
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+        
+        /**
+         * Resolve the format from its name, case-insensitively
+         */
+        public static Format resolve(String format) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + format);
+            }
+        }
+    }
+}
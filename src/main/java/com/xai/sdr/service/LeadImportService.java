@@ -0,0 +1,234 @@
+package com.xai.sdr.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.xai.sdr.config.LeadImportConfig;
+import com.xai.sdr.dto.LeadImportResult;
+import com.xai.sdr.model.Lead;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service for streaming bulk lead imports from CSV or NDJSON.
+ * 
+ * Rows are parsed one at a time and never held beyond the current batch.
+ * Each batch is validated, checked for existing emails with one query and
+ * inserted in its own transaction, so a failed batch does not undo earlier
+ * ones and emails repeated across batches are caught by the next lookup.
+ * Invalid and duplicate rows are skipped and reported; malformed input
+ * stops the import after the rows read so far.
+ */
+@Service
+public class LeadImportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(LeadImportService.class);
+    
+    private final LeadService leadService;
+    private final LeadImportConfig importConfig;
+    private final Validator validator;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    
+    @Autowired
+    public LeadImportService(LeadService leadService, LeadImportConfig importConfig,
+                             Validator validator, ObjectMapper objectMapper) {
+        this.leadService = leadService;
+        this.importConfig = importConfig;
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(Lead.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.csvReader = new CsvMapper()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .readerFor(Lead.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+    
+    /**
+     * Import leads from a CSV (header row with lead property names) or NDJSON stream
+     */
+    public LeadImportResult importLeads(InputStream input, Format format) throws IOException {
+        long start = System.currentTimeMillis();
+        LeadImportResult result = new LeadImportResult(format.name());
+        ObjectReader reader = format == Format.CSV ? csvReader : ndjsonReader;
+        
+        boolean completed = true;
+        try (MappingIterator<Lead> rows = reader.readValues(input)) {
+            Map<String, PendingRow> batch = new LinkedHashMap<>();
+            while (true) {
+                long line = rows.getCurrentLocation().getLineNr();
+                Lead lead;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    line = rows.getCurrentLocation().getLineNr();
+                    lead = rows.nextValue();
+                } catch (JsonParseException e) {
+                    result.setTotalRows(result.getTotalRows() + 1);
+                    reject(result, line, null, "Malformed input, import stopped: " + e.getOriginalMessage());
+                    completed = false;
+                    break;
+                } catch (JsonMappingException e) {
+                    result.setTotalRows(result.getTotalRows() + 1);
+                    reject(result, line, null, "Invalid value: " + e.getOriginalMessage());
+                    continue;
+                }
+                
+                result.setTotalRows(result.getTotalRows() + 1);
+                String error = prepare(lead);
+                if (error != null) {
+                    reject(result, line, lead.getEmail(), error);
+                    continue;
+                }
+                if (batch.putIfAbsent(lead.getEmail(), new PendingRow(line, lead)) != null) {
+                    duplicate(result, line, lead.getEmail());
+                    continue;
+                }
+                if (batch.size() >= importConfig.getBatchSize()) {
+                    insertBatch(batch, result);
+                }
+            }
+            insertBatch(batch, result);
+        }
+        
+        long elapsedMs = System.currentTimeMillis() - start;
+        result.setCompleted(completed);
+        result.setElapsedMs(elapsedMs);
+        result.setRowsPerSecond(elapsedMs == 0 ? result.getTotalRows() : result.getTotalRows() * 1000.0 / elapsedMs);
+        log.info("Imported {} of {} {} rows in {} ms ({} duplicates, {} failed)", result.getImported(),
+                result.getTotalRows(), format, elapsedMs, result.getDuplicates(), result.getFailed());
+        return result;
+    }
+    
+    /**
+     * Normalize an imported row into a new lead, returning a validation error if it is invalid
+     */
+    private String prepare(Lead lead) {
+        lead.setId(null);
+        lead.setActivities(new ArrayList<>());
+        if (lead.getEmail() != null) {
+            lead.setEmail(lead.getEmail().trim());
+        }
+        Set<ConstraintViolation<Lead>> violations = validator.validate(lead);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    /**
+     * Skip rows whose email already exists and insert the rest in one transaction
+     */
+    private void insertBatch(Map<String, PendingRow> batch, LeadImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        Set<String> existing = leadService.findExistingEmails(batch.values().stream()
+                .map(row -> row.lead.getEmail())
+                .collect(Collectors.toList()));
+        List<PendingRow> pending = new ArrayList<>(batch.size());
+        for (PendingRow row : batch.values()) {
+            if (existing.contains(row.lead.getEmail())) {
+                duplicate(result, row.line, row.lead.getEmail());
+            } else {
+                pending.add(row);
+            }
+        }
+        batch.clear();
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        try {
+            leadService.importLeads(pending.stream().map(row -> row.lead).collect(Collectors.toList()));
+            result.setImported(result.getImported() + pending.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to insert import batch of {} leads: {}", pending.size(), e.getMessage());
+            for (PendingRow row : pending) {
+                reject(result, row.line, row.lead.getEmail(), "Batch insert failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    private void duplicate(LeadImportResult result, long line, String email) {
+        result.setDuplicates(result.getDuplicates() + 1);
+        report(result, line, email, "Duplicate email");
+    }
+    
+    private void reject(LeadImportResult result, long line, String email, String message) {
+        result.setFailed(result.getFailed() + 1);
+        report(result, line, email, message);
+    }
+    
+    private void report(LeadImportResult result, long line, String email, String message) {
+        if (result.getErrors().size() < importConfig.getMaxReportedErrors()) {
+            result.getErrors().add(new LeadImportResult.RowError(line, email, message));
+        }
+    }
+    
+    /**
+     * Supported import formats
+     */
+    public enum Format {
+        CSV,
+        NDJSON;
+        
+        /**
+         * Resolve the format from an explicit name or, failing that, the request content type
+         */
+        public static Format resolve(String format, String contentType) {
+            if (format != null && !format.isBlank()) {
+                try {
+                    return valueOf(format.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unsupported import format: " + format);
+                }
+            }
+            String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/json")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+        }
+    }
+    
+    private static final class PendingRow {
+        private final long line;
+        private final Lead lead;
+        
+        private PendingRow(long line, Lead lead) {
+            this.line = line;
+            this.lead = lead;
+        }
+    }
+}
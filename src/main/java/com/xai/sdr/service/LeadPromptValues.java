@@ -0,0 +1,43 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.model.Lead;
+
+/**
+ * Exposes lead fields to prompt templates.
+ * 
+ * Missing fields are null so templates choose their own fallback text;
+ * blank notes count as missing.
+ */
+final class LeadPromptValues {
+    
+    private LeadPromptValues() {}
+    
+    static PromptTemplate.Values of(Lead lead) {
+        return name -> {
+            switch (name) {
+                case "name":
+                    return lead.getFullName();
+                case "firstName":
+                    return lead.getFirstName();
+                case "title":
+                    return lead.getTitle();
+                case "company":
+                    return lead.getCompanyName();
+                case "companySize":
+                    return lead.getCompanySize();
+                case "industry":
+                    return lead.getIndustry();
+                case "location":
+                    return lead.getLocation();
+                case "website":
+                    return lead.getWebsite();
+                case "linkedin":
+                    return lead.getLinkedinUrl();
+                case "notes":
+                    return lead.getNotes() != null && !lead.getNotes().trim().isEmpty() ? lead.getNotes() : null;
+                default:
+                    return null;
+            }
+        };
+    }
+}
@@ -1,179 +1,398 @@
 package com.xai.sdr.service;
 
+import com.xai.sdr.config.GrokApiConfig;
 import com.xai.sdr.model.Lead;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Service for lead qualification using Grok AI.
  * 
  * Analyzes lead data and provides qualification scores and reasoning
- * based on various criteria to help prioritize sales efforts.
+ * based on various criteria to help prioritize sales efforts. Prompts are
+ * rendered from the templates in {@link PromptTemplateRegistry}.
+ * 
+ * With structured output enabled, qualification asks Grok for a JSON object
+ * and reads it with {@link QualificationJsonParser}; replies that are not
+ * usable JSON fall back to the SCORE:/REASONING: line format. Parse outcomes
+ * are counted per prompt version.
  */
 @Service
 public class LeadQualificationService {
     
     private static final Logger log = LoggerFactory.getLogger(LeadQualificationService.class);
     
+    private static final Pattern PACKED_SECTION_HEADER = Pattern.compile("^=+\\s*LEAD\\s+(\\d+)\\s*=+$");
+    
+    static final String QUALIFICATION_TEMPLATE = "qualification";
+    static final String PACKED_QUALIFICATION_TEMPLATE = "qualification-packed";
+    static final String CUSTOM_QUALIFICATION_TEMPLATE = "qualification-custom";
+    static final String JSON_QUALIFICATION_TEMPLATE = "qualification-json";
+    static final String PACKED_JSON_QUALIFICATION_TEMPLATE = "qualification-packed-json";
+    
     private final GrokApiService grokApiService;
+    private final GrokApiConfig grokConfig;
+    private final PromptTemplateRegistry promptTemplates;
+    private final ConcurrentMap<String, ParseCounters> parseCounters = new ConcurrentHashMap<>();
     
     @Autowired
-    public LeadQualificationService(GrokApiService grokApiService) {
+    public LeadQualificationService(GrokApiService grokApiService, GrokApiConfig grokConfig,
+                                    PromptTemplateRegistry promptTemplates) {
         this.grokApiService = grokApiService;
+        this.grokConfig = grokConfig;
+        this.promptTemplates = promptTemplates;
     }
     
     /**
      * Qualify a lead and assign a score based on available data
      */
     public LeadQualificationResult qualifyLead(Lead lead) {
-        try {
-            String prompt = buildQualificationPrompt(lead);
-            String response = grokApiService.sendChatCompletion(prompt, 0.3); // Lower temperature for consistency
-            
-            return parseQualificationResponse(response, lead);
-            
-        } catch (Exception e) {
-            log.error("Error qualifying lead {}: {}", lead.getId(), e.getMessage());
-            return new LeadQualificationResult(
-                50, // Default neutral score
-                "Unable to qualify lead due to technical error",
-                "Manual review required"
-            );
+        return qualifyLeadAsync(lead).block();
+    }
+    
+    /**
+     * Qualify a lead without blocking the caller
+     */
+    public Mono<LeadQualificationResult> qualifyLeadAsync(Lead lead) {
+        return qualifyLeadAsync(lead, false);
+    }
+    
+    /**
+     * Qualify a lead. Unless strict, any failure gives a neutral placeholder
+     * score; strict calls fail instead, including when the reply has no score.
+     */
+    private Mono<LeadQualificationResult> qualifyLeadAsync(Lead lead, boolean strict) {
+        boolean structured = grokConfig.isStructuredOutput();
+        Mono<LeadQualificationResult> qualification = Mono
+                .fromCallable(() -> promptTemplates.get(structured ? JSON_QUALIFICATION_TEMPLATE : QUALIFICATION_TEMPLATE))
+                .flatMap(template -> {
+                    String prompt = buildQualificationPrompt(template, lead);
+                    Mono<String> response;
+                    if (strict) {
+                        response = structured
+                                ? grokApiService.sendJsonCompletionStrictAsync(prompt, 0.3, grokConfig.getMaxTokens())
+                                : grokApiService.sendChatCompletionStrictAsync(prompt, 0.3, grokConfig.getMaxTokens());
+                    } else {
+                        response = structured
+                                ? grokApiService.sendJsonCompletionAsync(prompt, 0.3, grokConfig.getMaxTokens())
+                                : grokApiService.sendChatCompletionAsync(prompt, 0.3); // Lower temperature for consistency
+                    }
+                    return response
+                            .contextWrite(promptVersion(template))
+                            .map(text -> parseQualificationResponse(text, lead, structured, strict, countersFor(template)));
+                });
+        if (strict) {
+            return qualification;
+        }
+        return qualification
+                .onErrorResume(e -> {
+                    log.error("Error qualifying lead {}: {}", lead.getId(), e.getMessage());
+                    return Mono.just(new LeadQualificationResult(
+                        50, // Default neutral score
+                        "Unable to qualify lead due to technical error",
+                        "Manual review required"
+                    ));
+                });
+    }
+    
+    /**
+     * Qualify several leads with a single chat completion.
+     * 
+     * The instruction preamble is sent once and Grok answers with one section
+     * per lead. Any lead missing from the response is qualified on its own.
+     * Results are returned in the same order as the input leads. Never returns
+     * placeholder scores: fails with the upstream error (for example
+     * {@link GrokUnavailableException}, a 4xx response or a missing API key),
+     * or when a lead's reply has no score, so bulk jobs and evaluations count
+     * the leads as failed instead of storing a neutral score.
+     */
+    public Mono<List<LeadQualificationResult>> qualifyLeadsPackedAsync(List<Lead> leads) {
+        if (leads.size() <= 1) {
+            return Flux.fromIterable(leads)
+                    .concatMap(lead -> qualifyLeadAsync(lead, true))
+                    .collectList();
         }
+        
+        int maxTokens = grokConfig.getMaxTokens() * leads.size();
+        boolean structured = grokConfig.isStructuredOutput();
+        return Mono.fromCallable(() -> promptTemplates.get(structured ? PACKED_JSON_QUALIFICATION_TEMPLATE : PACKED_QUALIFICATION_TEMPLATE))
+                .flatMap(template -> {
+                    String prompt = buildPackedQualificationPrompt(template, leads);
+                    Mono<String> response = structured
+                            ? grokApiService.sendJsonCompletionStrictAsync(prompt, 0.3, maxTokens)
+                            : grokApiService.sendChatCompletionStrictAsync(prompt, 0.3, maxTokens);
+                    return response
+                            .contextWrite(promptVersion(template))
+                            .map(text -> parsePackedQualificationResponse(text, leads.size(), structured, countersFor(template)));
+                })
+                .flatMap(parsed -> {
+                    int missing = leads.size() - parsed.size();
+                    if (missing > 0) {
+                        log.info("Packed qualification response missing {} of {} leads, qualifying them individually",
+                                missing, leads.size());
+                    }
+                    return Flux.range(0, leads.size())
+                            .flatMapSequential(i -> parsed.containsKey(i + 1)
+                                    ? Mono.just(parsed.get(i + 1))
+                                    : qualifyLeadAsync(leads.get(i), true))
+                            .collectList();
+                });
     }
     
     /**
      * Re-qualify a lead with custom criteria
      */
     public LeadQualificationResult requalifyLead(Lead lead, Map<String, Object> customCriteria) {
-        try {
-            String prompt = buildCustomQualificationPrompt(lead, customCriteria);
-            String response = grokApiService.sendChatCompletion(prompt, 0.3);
-            
-            return parseQualificationResponse(response, lead);
-            
-        } catch (Exception e) {
-            log.error("Error re-qualifying lead {}: {}", lead.getId(), e.getMessage());
-            return new LeadQualificationResult(
-                50,
-                "Unable to re-qualify lead due to technical error",
-                "Manual review required"
-            );
-        }
+        return requalifyLeadAsync(lead, customCriteria).block();
+    }
+    
+    /**
+     * Re-qualify a lead with custom criteria without blocking the caller
+     */
+    public Mono<LeadQualificationResult> requalifyLeadAsync(Lead lead, Map<String, Object> customCriteria) {
+        return Mono.fromCallable(() -> promptTemplates.get(CUSTOM_QUALIFICATION_TEMPLATE))
+                .flatMap(template -> grokApiService
+                        .sendChatCompletionAsync(buildCustomQualificationPrompt(template, lead, customCriteria), 0.3)
+                        .contextWrite(promptVersion(template))
+                        .map(response -> parseQualificationResponse(response, lead, false, false, countersFor(template))))
+                .onErrorResume(e -> {
+                    log.error("Error re-qualifying lead {}: {}", lead.getId(), e.getMessage());
+                    return Mono.just(new LeadQualificationResult(
+                        50,
+                        "Unable to re-qualify lead due to technical error",
+                        "Manual review required"
+                    ));
+                });
+    }
+    
+    /**
+     * Version of the qualification prompt template in use
+     */
+    public String getQualificationPromptVersion() {
+        return promptTemplates.get(grokConfig.isStructuredOutput() ? JSON_QUALIFICATION_TEMPLATE : QUALIFICATION_TEMPLATE)
+                .getVersion();
+    }
+    
+    /**
+     * Qualification parse outcomes per prompt version: replies parsed, structured
+     * replies that fell back to the line format, and replies (or packed replies
+     * with leads) missing a score
+     */
+    public Map<String, Object> getParseStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        parseCounters.forEach((version, counters) -> stats.put(version, counters.toStats()));
+        return stats;
     }
     
     /**
      * Build the qualification prompt for Grok
      */
-    private String buildQualificationPrompt(Lead lead) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("You are an expert sales development representative analyzing a potential lead. ");
-        prompt.append("Please evaluate the following lead and provide a qualification score from 0-100, ");
-        prompt.append("where 100 is a perfect fit and 0 is not qualified at all.\n\n");
-        
-        prompt.append("Lead Information:\n");
-        prompt.append("Name: ").append(lead.getFullName()).append("\n");
-        prompt.append("Title: ").append(lead.getTitle() != null ? lead.getTitle() : "Not specified").append("\n");
-        prompt.append("Company: ").append(lead.getCompanyName() != null ? lead.getCompanyName() : "Not specified").append("\n");
-        prompt.append("Company Size: ").append(lead.getCompanySize() != null ? lead.getCompanySize() : "Not specified").append("\n");
-        prompt.append("Industry: ").append(lead.getIndustry() != null ? lead.getIndustry() : "Not specified").append("\n");
-        prompt.append("Location: ").append(lead.getLocation() != null ? lead.getLocation() : "Not specified").append("\n");
-        prompt.append("Website: ").append(lead.getWebsite() != null ? lead.getWebsite() : "Not specified").append("\n");
-        prompt.append("LinkedIn: ").append(lead.getLinkedinUrl() != null ? lead.getLinkedinUrl() : "Not specified").append("\n");
-        
-        if (lead.getNotes() != null && !lead.getNotes().trim().isEmpty()) {
-            prompt.append("Additional Notes: ").append(lead.getNotes()).append("\n");
+    String buildQualificationPrompt(PromptTemplate template, Lead lead) {
+        return template.render(LeadPromptValues.of(lead));
+    }
+    
+    /**
+     * Build a qualification prompt covering several leads, numbered from 1
+     */
+    String buildPackedQualificationPrompt(PromptTemplate template, List<Lead> leads) {
+        List<PromptTemplate.Values> sections = new ArrayList<>(leads.size());
+        for (int i = 0; i < leads.size(); i++) {
+            sections.add(LeadPromptValues.of(leads.get(i)).with("number", i + 1));
         }
-        
-        prompt.append("\nEvaluation Criteria:\n");
-        prompt.append("1. Company size and growth potential (20 points)\n");
-        prompt.append("2. Industry alignment with our target markets (20 points)\n");
-        prompt.append("3. Decision-making authority based on title (20 points)\n");
-        prompt.append("4. Contact information completeness (10 points)\n");
-        prompt.append("5. Geographic location relevance (10 points)\n");
-        prompt.append("6. Online presence and credibility (10 points)\n");
-        prompt.append("7. Overall fit and potential (10 points)\n\n");
-        
-        prompt.append("Please respond in the following format:\n");
-        prompt.append("SCORE: [number from 0-100]\n");
-        prompt.append("REASONING: [detailed explanation of your scoring decision]\n");
-        prompt.append("RECOMMENDATIONS: [specific next steps for this lead]\n");
-        
-        return prompt.toString();
+        return template.render(PromptTemplate.Values.of("count", leads.size()).with("leads", sections));
     }
     
     /**
      * Build custom qualification prompt with user-defined criteria
      */
-    private String buildCustomQualificationPrompt(Lead lead, Map<String, Object> customCriteria) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("You are an expert sales development representative analyzing a potential lead. ");
-        prompt.append("Please evaluate the following lead using the custom criteria provided and give a score from 0-100.\n\n");
-        
-        prompt.append("Lead Information:\n");
-        prompt.append("Name: ").append(lead.getFullName()).append("\n");
-        prompt.append("Title: ").append(lead.getTitle() != null ? lead.getTitle() : "Not specified").append("\n");
-        prompt.append("Company: ").append(lead.getCompanyName() != null ? lead.getCompanyName() : "Not specified").append("\n");
-        prompt.append("Company Size: ").append(lead.getCompanySize() != null ? lead.getCompanySize() : "Not specified").append("\n");
-        prompt.append("Industry: ").append(lead.getIndustry() != null ? lead.getIndustry() : "Not specified").append("\n");
-        prompt.append("Location: ").append(lead.getLocation() != null ? lead.getLocation() : "Not specified").append("\n");
-        
-        prompt.append("\nCustom Evaluation Criteria:\n");
+    private String buildCustomQualificationPrompt(PromptTemplate template, Lead lead, Map<String, Object> customCriteria) {
+        List<PromptTemplate.Values> criteria = new ArrayList<>(customCriteria.size());
         for (Map.Entry<String, Object> entry : customCriteria.entrySet()) {
-            prompt.append("- ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+            criteria.add(PromptTemplate.Values.of("key", entry.getKey()).with("value", entry.getValue()));
         }
-        
-        prompt.append("\nPlease respond in the following format:\n");
-        prompt.append("SCORE: [number from 0-100]\n");
-        prompt.append("REASONING: [detailed explanation based on custom criteria]\n");
-        prompt.append("RECOMMENDATIONS: [specific next steps for this lead]\n");
-        
-        return prompt.toString();
+        return template.render(LeadPromptValues.of(lead).with("criteria", criteria));
+    }
+    
+    private static Context promptVersion(PromptTemplate template) {
+        return Context.of(GrokApiService.PROMPT_VERSION_CONTEXT_KEY, template.getVersion());
+    }
+    
+    private ParseCounters countersFor(PromptTemplate template) {
+        return parseCounters.computeIfAbsent(template.getVersion(), version -> new ParseCounters());
+    }
+    
+    /**
+     * Parse a qualification response, reading it as JSON first when structured
+     * output was requested, and count the outcome. A reply without a score
+     * gives the neutral default, or fails with {@link IllegalStateException}
+     * when a score is required.
+     */
+    LeadQualificationResult parseQualificationResponse(String response, Lead lead, boolean structured,
+                                                       boolean requireScore, ParseCounters counters) {
+        counters.responses.incrementAndGet();
+        if (structured) {
+            LeadQualificationResult result = QualificationJsonParser.parse(response);
+            if (result != null) {
+                return result;
+            }
+            counters.jsonFallbacks.incrementAndGet();
+            log.debug("Structured qualification response for lead {} was not usable JSON, parsing as text", lead.getId());
+        }
+        return parseQualificationLines(response, lead, requireScore, counters);
     }
     
     /**
      * Parse the qualification response from Grok
      */
-    private LeadQualificationResult parseQualificationResponse(String response, Lead lead) {
-        try {
-            int score = 50; // Default score
-            String reasoning = "Unable to parse response";
-            String recommendations = "Contact lead for more information";
+    LeadQualificationResult parseQualificationResponse(String response, Lead lead) {
+        return parseQualificationLines(response, lead, false, null);
+    }
+    
+    /**
+     * Parse the SCORE:/REASONING:/RECOMMENDATIONS: line format, counting a
+     * failure when no score is found
+     */
+    private LeadQualificationResult parseQualificationLines(String response, Lead lead, boolean requireScore,
+                                                            ParseCounters counters) {
+        Integer score = null;
+        String reasoning = "Unable to parse response";
+        String recommendations = "Contact lead for more information";
+        
+        if (response != null) {
+            String[] lines = response.split("\n");
             
-            if (response != null) {
-                String[] lines = response.split("\n");
-                
-                for (String line : lines) {
-                    if (line.startsWith("SCORE:")) {
-                        try {
-                            String scoreStr = line.substring(6).trim();
-                            score = Integer.parseInt(scoreStr);
-                            score = Math.max(0, Math.min(100, score)); // Clamp between 0-100
-                        } catch (NumberFormatException e) {
-                            log.warn("Could not parse score from response: {}", line);
-                        }
-                    } else if (line.startsWith("REASONING:")) {
-                        reasoning = line.substring(10).trim();
-                    } else if (line.startsWith("RECOMMENDATIONS:")) {
-                        recommendations = line.substring(16).trim();
+            for (String line : lines) {
+                if (line.startsWith("SCORE:")) {
+                    try {
+                        String scoreStr = line.substring(6).trim();
+                        score = Math.max(0, Math.min(100, Integer.parseInt(scoreStr))); // Clamp between 0-100
+                    } catch (NumberFormatException e) {
+                        log.warn("Could not parse score from response: {}", line);
                     }
+                } else if (line.startsWith("REASONING:")) {
+                    reasoning = line.substring(10).trim();
+                } else if (line.startsWith("RECOMMENDATIONS:")) {
+                    recommendations = line.substring(16).trim();
                 }
             }
-            
-            return new LeadQualificationResult(score, reasoning, recommendations);
-                    
-        } catch (Exception e) {
-            log.error("Error parsing qualification response for lead {}: {}", lead.getId(), e.getMessage());
-            return new LeadQualificationResult(
-                50,
-                "Error parsing AI response",
-                "Manual review required"
-            );
+        }
+        
+        if (score == null) {
+            if (counters != null) {
+                counters.failures.incrementAndGet();
+            }
+            if (requireScore) {
+                throw new IllegalStateException("No qualification score in Grok response for lead " + lead.getId());
+            }
+            score = 50; // Default score
+        }
+        return new LeadQualificationResult(score, reasoning, recommendations);
+    }
+    
+    /**
+     * Parse a packed qualification response, reading it as JSON first when
+     * structured output was requested, and count the outcome
+     */
+    Map<Integer, LeadQualificationResult> parsePackedQualificationResponse(String response, int leadCount,
+                                                                           boolean structured, ParseCounters counters) {
+        counters.responses.incrementAndGet();
+        Map<Integer, LeadQualificationResult> results = null;
+        if (structured) {
+            results = QualificationJsonParser.parsePacked(response);
+            if (results == null) {
+                counters.jsonFallbacks.incrementAndGet();
+                log.debug("Structured packed qualification response was not usable JSON, parsing as text");
+            }
+        }
+        if (results == null) {
+            results = parsePackedQualificationResponse(response);
+        }
+        if (results.size() < leadCount) {
+            counters.failures.incrementAndGet();
+        }
+        return results;
+    }
+    
+    /**
+     * Parse a packed qualification response into results keyed by lead number.
+     * Sections without a parseable score are left out so the caller can retry them.
+     */
+    Map<Integer, LeadQualificationResult> parsePackedQualificationResponse(String response) {
+        Map<Integer, LeadQualificationResult> results = new HashMap<>();
+        if (response == null) {
+            return results;
+        }
+        
+        Integer currentLead = null;
+        Integer score = null;
+        String reasoning = "Unable to parse response";
+        String recommendations = "Contact lead for more information";
+        
+        for (String rawLine : response.split("\n")) {
+            String line = rawLine.trim();
+            Matcher header = PACKED_SECTION_HEADER.matcher(line);
+            if (header.matches()) {
+                if (currentLead != null && score != null) {
+                    results.put(currentLead, new LeadQualificationResult(score, reasoning, recommendations));
+                }
+                currentLead = Integer.parseInt(header.group(1));
+                score = null;
+                reasoning = "Unable to parse response";
+                recommendations = "Contact lead for more information";
+            } else if (currentLead == null) {
+                continue;
+            } else if (line.startsWith("SCORE:")) {
+                try {
+                    score = Math.max(0, Math.min(100, Integer.parseInt(line.substring(6).trim())));
+                } catch (NumberFormatException e) {
+                    log.warn("Could not parse score for packed lead {}: {}", currentLead, line);
+                }
+            } else if (line.startsWith("REASONING:")) {
+                reasoning = line.substring(10).trim();
+            } else if (line.startsWith("RECOMMENDATIONS:")) {
+                recommendations = line.substring(16).trim();
+            }
+        }
+        if (currentLead != null && score != null) {
+            results.put(currentLead, new LeadQualificationResult(score, reasoning, recommendations));
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Parse outcome counters for one prompt version
+     */
+    static final class ParseCounters {
+        private final AtomicLong responses = new AtomicLong();
+        private final AtomicLong jsonFallbacks = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        
+        Map<String, Object> toStats() {
+            Map<String, Object> stats = new HashMap<>();
+            long total = responses.get();
+            long failed = failures.get();
+            stats.put("responses", total);
+            stats.put("jsonFallbacks", jsonFallbacks.get());
+            stats.put("parseFailures", failed);
+            stats.put("parseFailureRate", total > 0 ? (double) failed / total : 0.0);
+            return stats;
         }
     }
     
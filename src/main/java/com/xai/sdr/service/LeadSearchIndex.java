@@ -0,0 +1,470 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.dto.LeadSearchDocument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over lead name, company, title, industry and notes.
+ * 
+ * Each token maps to a posting list of document ordinals tagged with the
+ * fields the token appeared in. A sorted vocabulary serves prefix matches
+ * and a trigram index over the vocabulary finds candidates for typo-tolerant
+ * matches, which are confirmed by edit distance. Every query term must match;
+ * hits are ranked by field weight, match quality and term rarity.
+ * 
+ * Updates never rewrite posting lists: a changed lead gets a fresh ordinal
+ * and the old one is marked dead. Dead entries are skipped while searching
+ * and dropped by a compaction once they make up a large share of the index;
+ * the compaction also renumbers live leads so ordinals do not grow without bound.
+ */
+public class LeadSearchIndex {
+    
+    private static final int NAME = 1;
+    private static final int COMPANY = 1 << 1;
+    private static final int TITLE = 1 << 2;
+    private static final int INDUSTRY = 1 << 3;
+    private static final int NOTES = 1 << 4;
+    
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.7;
+    private static final double FUZZY_MATCH = 0.5;
+    
+    private static final int MIN_COMPACTION_DEAD = 1000;
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private final int maxPrefixExpansions;
+    private final int fuzzyMinTermLength;
+    private final int maxNotesTokens;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> vocabulary = new TreeMap<>();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private BitSet alive = new BitSet();
+    private long[] leadIds = new long[INITIAL_CAPACITY];
+    private int nextOrdinal;
+    private int deadCount;
+    
+    public LeadSearchIndex(int maxPrefixExpansions, int fuzzyMinTermLength, int maxNotesTokens) {
+        this.maxPrefixExpansions = maxPrefixExpansions;
+        this.fuzzyMinTermLength = fuzzyMinTermLength;
+        this.maxNotesTokens = maxNotesTokens;
+    }
+    
+    /**
+     * Add a lead to the index, replacing any earlier version of it
+     */
+    public void index(LeadSearchDocument document) {
+        Map<String, Integer> fields = new HashMap<>();
+        addTokens(fields, document.getFirstName(), NAME, Integer.MAX_VALUE);
+        addTokens(fields, document.getLastName(), NAME, Integer.MAX_VALUE);
+        addTokens(fields, document.getCompanyName(), COMPANY, Integer.MAX_VALUE);
+        addTokens(fields, document.getTitle(), TITLE, Integer.MAX_VALUE);
+        addTokens(fields, document.getIndustry(), INDUSTRY, Integer.MAX_VALUE);
+        addTokens(fields, document.getNotes(), NOTES, maxNotesTokens);
+        
+        lock.writeLock().lock();
+        try {
+            markDead(document.getId());
+            int ordinal = nextOrdinal++;
+            if (ordinal == leadIds.length) {
+                leadIds = Arrays.copyOf(leadIds, leadIds.length * 2);
+            }
+            leadIds[ordinal] = document.getId();
+            ordinals.put(document.getId(), ordinal);
+            alive.set(ordinal);
+            
+            fields.forEach((token, mask) -> vocabulary.computeIfAbsent(token, this::newToken).add(ordinal, mask));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Remove a lead from the index
+     */
+    public void remove(Long leadId) {
+        lock.writeLock().lock();
+        try {
+            markDead(leadId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Drop every lead from the index
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            vocabulary.clear();
+            trigrams.clear();
+            ordinals.clear();
+            alive = new BitSet();
+            leadIds = new long[INITIAL_CAPACITY];
+            nextOrdinal = 0;
+            deadCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Find the IDs of the best-matching leads, best first. Every query term must
+     * match a token exactly, within a small edit distance or, for the last term,
+     * as a prefix.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query, Integer.MAX_VALUE);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Double>> termScores = new ArrayList<>();
+            for (int i = 0; i < terms.size(); i++) {
+                Map<Integer, Double> scores = scoreTerm(terms.get(i), i == terms.size() - 1);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+                termScores.add(scores);
+            }
+            
+            termScores.sort(Comparator.comparingInt(Map::size));
+            Map<Integer, Double> combined = new HashMap<>(termScores.get(0));
+            for (int i = 1; i < termScores.size() && !combined.isEmpty(); i++) {
+                Map<Integer, Double> next = termScores.get(i);
+                Iterator<Map.Entry<Integer, Double>> entries = combined.entrySet().iterator();
+                while (entries.hasNext()) {
+                    Map.Entry<Integer, Double> entry = entries.next();
+                    Double score = next.get(entry.getKey());
+                    if (score == null) {
+                        entries.remove();
+                    } else {
+                        entry.setValue(entry.getValue() + score);
+                    }
+                }
+            }
+            
+            PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Integer, Double> entry : combined.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            Long[] ranked = new Long[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = leadIds[top.poll().getKey()];
+            }
+            return Arrays.asList(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Number of leads in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Get index size statistics
+     */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("leads", ordinals.size());
+            stats.put("tokens", vocabulary.size());
+            stats.put("trigrams", trigrams.size());
+            stats.put("deadEntries", deadCount);
+            stats.put("ordinals", nextOrdinal);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Best score per live document for one query term across its exact, fuzzy and prefix matches
+     */
+    private Map<Integer, Double> scoreTerm(String term, boolean allowPrefix) {
+        Map<String, Double> candidates = new LinkedHashMap<>();
+        if (vocabulary.containsKey(term)) {
+            candidates.put(term, EXACT_MATCH);
+        }
+        if (allowPrefix) {
+            int expansions = 0;
+            for (String token : vocabulary.subMap(term, false, term + Character.MAX_VALUE, false).keySet()) {
+                if (expansions++ >= maxPrefixExpansions) {
+                    break;
+                }
+                candidates.putIfAbsent(token, PREFIX_MATCH);
+            }
+        }
+        if (term.length() >= fuzzyMinTermLength) {
+            int maxEdits = term.length() >= 8 ? 2 : 1;
+            for (Map.Entry<String, Integer> match : fuzzyMatches(term, maxEdits).entrySet()) {
+                candidates.putIfAbsent(match.getKey(), FUZZY_MATCH / match.getValue());
+            }
+        }
+        
+        int liveDocs = ordinals.size();
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Double> candidate : candidates.entrySet()) {
+            Postings postings = vocabulary.get(candidate.getKey());
+            double idf = Math.log(1 + (double) liveDocs / (1 + postings.size));
+            double base = candidate.getValue() * idf;
+            for (int i = 0; i < postings.size; i++) {
+                int ordinal = postings.ordinals[i];
+                if (alive.get(ordinal)) {
+                    scores.merge(ordinal, base * fieldWeight(postings.masks[i]), Math::max);
+                }
+            }
+        }
+        return scores;
+    }
+    
+    /**
+     * Vocabulary tokens within maxEdits of the term, with their edit distance. Candidates
+     * must share enough trigrams with the term to possibly be that close; a single edit,
+     * counting a transposition as one, changes at most four trigrams.
+     */
+    private Map<String, Integer> fuzzyMatches(String term, int maxEdits) {
+        List<String> grams = trigramsOf(term);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            Set<String> tokens = trigrams.get(gram);
+            if (tokens != null) {
+                for (String token : tokens) {
+                    shared.merge(token, 1, Integer::sum);
+                }
+            }
+        }
+        
+        int minShared = Math.max(1, grams.size() - 4 * maxEdits);
+        Map<String, Integer> matches = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            String token = entry.getKey();
+            if (entry.getValue() < minShared || Math.abs(token.length() - term.length()) > maxEdits
+                    || token.equals(term)) {
+                continue;
+            }
+            int distance = editDistance(term, token, maxEdits);
+            if (distance <= maxEdits) {
+                matches.put(token, distance);
+            }
+        }
+        return matches;
+    }
+    
+    private Postings newToken(String token) {
+        for (String gram : trigramsOf(token)) {
+            trigrams.computeIfAbsent(gram, key -> new HashSet<>()).add(token);
+        }
+        return new Postings();
+    }
+    
+    private void markDead(Long leadId) {
+        Integer previous = ordinals.remove(leadId);
+        if (previous != null) {
+            alive.clear(previous);
+            deadCount++;
+        }
+    }
+    
+    /**
+     * Drop dead postings and unused tokens once dead entries outnumber live ones, and
+     * renumber the live leads from zero. Must hold the write lock.
+     */
+    private void compactIfNeeded() {
+        if (deadCount < MIN_COMPACTION_DEAD || deadCount < ordinals.size()) {
+            return;
+        }
+        
+        // Renumbering keeps relative order, so posting lists stay sorted by ordinal
+        int[] renumbered = new int[nextOrdinal];
+        long[] liveIds = new long[Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, ordinals.size())) << 1)];
+        int live = 0;
+        for (int ordinal = alive.nextSetBit(0); ordinal >= 0; ordinal = alive.nextSetBit(ordinal + 1)) {
+            renumbered[ordinal] = live;
+            liveIds[live] = leadIds[ordinal];
+            ordinals.put(leadIds[ordinal], live);
+            live++;
+        }
+        
+        Iterator<Map.Entry<String, Postings>> entries = vocabulary.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Postings> entry = entries.next();
+            if (entry.getValue().retainLive(alive, renumbered) == 0) {
+                // Read the key first: removing through a TreeMap iterator may reuse the entry for its successor
+                String token = entry.getKey();
+                entries.remove();
+                for (String gram : trigramsOf(token)) {
+                    Set<String> tokens = trigrams.get(gram);
+                    if (tokens != null && tokens.remove(token) && tokens.isEmpty()) {
+                        trigrams.remove(gram);
+                    }
+                }
+            }
+        }
+        
+        leadIds = liveIds;
+        alive = new BitSet(live);
+        alive.set(0, live);
+        nextOrdinal = live;
+        deadCount = 0;
+    }
+    
+    private static double fieldWeight(int mask) {
+        if ((mask & NAME) != 0) {
+            return 3.0;
+        }
+        if ((mask & COMPANY) != 0) {
+            return 2.0;
+        }
+        if ((mask & TITLE) != 0) {
+            return 1.5;
+        }
+        if ((mask & INDUSTRY) != 0) {
+            return 1.0;
+        }
+        return 0.5;
+    }
+    
+    private static void addTokens(Map<String, Integer> fields, String text, int field, int maxTokens) {
+        for (String token : tokenize(text, maxTokens)) {
+            fields.merge(token, field, (a, b) -> a | b);
+        }
+    }
+    
+    /**
+     * Lower-case letter and digit runs of at least two characters
+     */
+    static List<String> tokenize(String text, int maxTokens) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length() && tokens.size() < maxTokens; i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= 2) {
+                    tokens.add(lower.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * Trigrams of the token padded with boundary markers, so short tokens still have grams
+     */
+    private static List<String> trigramsOf(String token) {
+        String padded = "^" + token + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+    
+    /**
+     * Optimal string alignment distance, giving up early once it must exceed maxEdits
+     */
+    static int editDistance(String a, String b, int maxEdits) {
+        int[] previousRow = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        int[] nextRow = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            row[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            nextRow[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(nextRow[j - 1] + 1, row[j] + 1), row[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousRow[j - 2] + 1);
+                }
+                nextRow[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previousRow;
+            previousRow = row;
+            row = nextRow;
+            nextRow = recycled;
+        }
+        return row[b.length()];
+    }
+    
+    /**
+     * Growable list of (ordinal, field mask) entries for one token
+     */
+    private static class Postings {
+        private int[] ordinals = new int[2];
+        private byte[] masks = new byte[2];
+        private int size;
+        
+        void add(int ordinal, int mask) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                masks = Arrays.copyOf(masks, size * 2);
+            }
+            ordinals[size] = ordinal;
+            masks[size] = (byte) mask;
+            size++;
+        }
+        
+        int retainLive(BitSet alive, int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (alive.get(ordinals[i])) {
+                    ordinals[kept] = renumbered[ordinals[i]];
+                    masks[kept] = masks[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.LeadSearchConfig;
+import com.xai.sdr.dto.LeadSearchDocument;
+import com.xai.sdr.dto.LeadSummary;
+import com.xai.sdr.model.Lead;
+import com.xai.sdr.repository.LeadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service for ranked, prefix and typo-tolerant lead search.
+ * 
+ * Queries are answered from a {@link LeadSearchIndex} held in memory. The
+ * index is rebuilt from the database once the application is ready and is
+ * updated after each committed lead save or delete. Until the first rebuild
+ * completes, or when the index is disabled, queries fall back to a database
+ * substring match on name and company.
+ */
+@Service
+public class LeadSearchService {
+    
+    private static final Logger log = LoggerFactory.getLogger(LeadSearchService.class);
+    
+    private final LeadRepository leadRepository;
+    private final LeadSearchConfig searchConfig;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LeadSearchIndex index;
+    
+    private final Set<Long> savedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<Long> deletedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+    private volatile long lastRebuildMs;
+    
+    // Index query latencies in microseconds
+    private final LatencyWindow latencies = new LatencyWindow(1000);
+    private final AtomicLong indexSearches = new AtomicLong();
+    private final AtomicLong fallbackSearches = new AtomicLong();
+    
+    @Autowired
+    public LeadSearchService(LeadRepository leadRepository, LeadSearchConfig searchConfig,
+                             PlatformTransactionManager transactionManager) {
+        this.leadRepository = leadRepository;
+        this.searchConfig = searchConfig;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.index = new LeadSearchIndex(searchConfig.getMaxPrefixExpansions(),
+                searchConfig.getFuzzyMinTermLength(), searchConfig.getMaxNotesTokens());
+    }
+    
+    /**
+     * Build the index once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (searchConfig.isEnabled()) {
+            rebuild();
+        }
+    }
+    
+    /**
+     * Rebuild the index from the database. Searches use the database fallback while it runs.
+     * Leads saved or deleted while the rebuild streams are skipped, since the rows it reads
+     * may predate those commits.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        rebuilding = true;
+        savedDuringRebuild.clear();
+        deletedDuringRebuild.clear();
+        index.clear();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<LeadSearchDocument> documents = leadRepository.streamSearchDocuments()) {
+                    documents.filter(document -> !savedDuringRebuild.contains(document.getId())
+                                    && !deletedDuringRebuild.contains(document.getId()))
+                            .forEach(index::index);
+                }
+            });
+            deletedDuringRebuild.forEach(index::remove);
+            ready = true;
+        } finally {
+            rebuilding = false;
+        }
+        lastRebuildMs = System.currentTimeMillis() - start;
+        log.info("Built lead search index with {} leads in {} ms", index.size(), lastRebuildMs);
+    }
+    
+    /**
+     * Index a saved lead once the current transaction commits
+     */
+    public void onSaved(Lead lead) {
+        if (!searchConfig.isEnabled()) {
+            return;
+        }
+        LeadSearchDocument document = new LeadSearchDocument(lead.getId(), lead.getFirstName(), lead.getLastName(),
+                lead.getCompanyName(), lead.getTitle(), lead.getIndustry(), lead.getNotes());
+        TransactionCallbacks.afterCommit(() -> {
+            if (rebuilding) {
+                savedDuringRebuild.add(document.getId());
+            }
+            index.index(document);
+        });
+    }
+    
+    /**
+     * Remove a deleted lead from the index once the current transaction commits
+     */
+    public void onDeleted(Long leadId) {
+        if (!searchConfig.isEnabled()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            if (rebuilding) {
+                deletedDuringRebuild.add(leadId);
+            }
+            index.remove(leadId);
+        });
+    }
+    
+    /**
+     * Search leads by name, company, title, industry and notes, best match first
+     */
+    public List<LeadSummary> search(String query, Integer limit) {
+        int resultLimit = searchConfig.resolveLimit(limit);
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (!searchConfig.isEnabled() || !ready) {
+            fallbackSearches.incrementAndGet();
+            return leadRepository.findLeadSummariesMatching(query.trim(), PageRequest.of(0, resultLimit));
+        }
+        
+        long start = System.nanoTime();
+        List<Long> ids = index.search(query, resultLimit);
+        latencies.record((System.nanoTime() - start) / 1_000);
+        indexSearches.incrementAndGet();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, LeadSummary> summaries = new HashMap<>();
+        leadRepository.findLeadSummariesByIdIn(ids).forEach(summary -> summaries.put(summary.getId(), summary));
+        List<LeadSummary> ranked = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            LeadSummary summary = summaries.get(id);
+            if (summary != null) {
+                ranked.add(summary);
+            }
+        }
+        return ranked;
+    }
+    
+    /**
+     * Get search index statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>(index.getStats());
+        stats.put("enabled", searchConfig.isEnabled());
+        stats.put("ready", ready);
+        stats.put("lastRebuildMs", lastRebuildMs);
+        stats.put("indexSearches", indexSearches.get());
+        stats.put("fallbackSearches", fallbackSearches.get());
+        stats.put("latencyP50Micros", latencies.percentile(0.5));
+        stats.put("latencyP99Micros", latencies.percentile(0.99));
+        return stats;
+    }
+}
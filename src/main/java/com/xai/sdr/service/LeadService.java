@@ -1,19 +1,29 @@
 package com.xai.sdr.service;
 
+import com.xai.sdr.config.PaginationConfig;
+import com.xai.sdr.dto.KeysetCursor;
+import com.xai.sdr.dto.LeadSummary;
+import com.xai.sdr.dto.PageResponse;
 import com.xai.sdr.model.Lead;
 import com.xai.sdr.model.PipelineStage;
 import com.xai.sdr.repository.LeadRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for lead management operations.
@@ -27,11 +37,25 @@ public class LeadService {
     
     private static final Logger log = LoggerFactory.getLogger(LeadService.class);
     
+    private static final List<PipelineStage> ACTIVE_STAGES = List.of(
+        PipelineStage.NEW, 
+        PipelineStage.CONTACTED, 
+        PipelineStage.QUALIFIED, 
+        PipelineStage.ENGAGED
+    );
+    
     private final LeadRepository leadRepository;
+    private final PaginationConfig paginationConfig;
+    private final PipelineStatsCounter pipelineStatsCounter;
+    private final LeadSearchService leadSearchService;
     
     @Autowired
-    public LeadService(LeadRepository leadRepository) {
+    public LeadService(LeadRepository leadRepository, PaginationConfig paginationConfig,
+                       PipelineStatsCounter pipelineStatsCounter, LeadSearchService leadSearchService) {
         this.leadRepository = leadRepository;
+        this.paginationConfig = paginationConfig;
+        this.pipelineStatsCounter = pipelineStatsCounter;
+        this.leadSearchService = leadSearchService;
     }
     
     /**
@@ -54,14 +78,43 @@ public class LeadService {
      * Save a lead (create or update)
      */
     public Lead save(Lead lead) {
-        return leadRepository.save(lead);
+        PipelineStage previousStage = lead.getId() != null
+                ? leadRepository.findPipelineStageById(lead.getId()).orElse(null)
+                : null;
+        Lead saved = leadRepository.save(lead);
+        pipelineStatsCounter.recordTransition(previousStage, saved.getPipelineStage());
+        leadSearchService.onSaved(saved);
+        return saved;
+    }
+    
+    /**
+     * Insert a batch of new leads in one transaction, using JDBC batching
+     */
+    public List<Lead> importLeads(List<Lead> leads) {
+        List<Lead> saved = leadRepository.saveAll(leads);
+        for (Lead lead : saved) {
+            pipelineStatsCounter.recordTransition(null, lead.getPipelineStage());
+            leadSearchService.onSaved(lead);
+        }
+        return saved;
+    }
+    
+    /**
+     * Find which of the given emails already belong to a lead
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return emails.isEmpty() ? Set.of() : new HashSet<>(leadRepository.findExistingEmails(emails));
     }
     
     /**
      * Delete a lead by ID
      */
     public void deleteById(Long id) {
+        Optional<PipelineStage> stage = leadRepository.findPipelineStageById(id);
         leadRepository.deleteById(id);
+        stage.ifPresent(previousStage -> pipelineStatsCounter.recordTransition(previousStage, null));
+        leadSearchService.onDeleted(id);
     }
     
     /**
@@ -109,13 +162,19 @@ public class LeadService {
      */
     @Transactional(readOnly = true)
     public List<Lead> findLeadsNeedingFollowUp() {
-        List<PipelineStage> activeStages = List.of(
-            PipelineStage.NEW, 
-            PipelineStage.CONTACTED, 
-            PipelineStage.QUALIFIED, 
-            PipelineStage.ENGAGED
-        );
-        return leadRepository.findLeadsNeedingFollowUp(LocalDateTime.now(), activeStages);
+        return leadRepository.findLeadsNeedingFollowUp(LocalDateTime.now(), ACTIVE_STAGES);
+    }
+    
+    /**
+     * List summaries of leads needing follow-up, one page at a time
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<LeadSummary> listLeadsNeedingFollowUp(String cursor, Integer limit) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = paginationConfig.resolvePageSize(limit);
+        List<LeadSummary> rows = leadRepository.findLeadSummariesNeedingFollowUp(LocalDateTime.now(), ACTIVE_STAGES,
+                position.getCreatedAt(), position.getId(), PageRequest.of(0, pageSize + 1));
+        return PageResponse.fromRows(rows, pageSize, LeadService::cursorOf);
     }
     
     /**
@@ -143,19 +202,65 @@ public class LeadService {
         return leadRepository.searchLeads(firstName, lastName, companyName, industry, pipelineStage);
     }
     
+    /**
+     * Search lead summaries with multiple criteria, one page at a time
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<LeadSummary> searchLeadSummaries(String firstName, String lastName, String companyName,
+                                                         String industry, PipelineStage pipelineStage,
+                                                         String cursor, Integer limit) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = paginationConfig.resolvePageSize(limit);
+        List<LeadSummary> rows = leadRepository.searchLeadSummaries(firstName, lastName, companyName, industry,
+                pipelineStage, position.getCreatedAt(), position.getId(), PageRequest.of(0, pageSize + 1));
+        return PageResponse.fromRows(rows, pageSize, LeadService::cursorOf);
+    }
+    
+    /**
+     * Search lead IDs with multiple criteria
+     */
+    @Transactional(readOnly = true)
+    public List<Long> searchLeadIds(String firstName, String lastName, String companyName, 
+                                    String industry, PipelineStage pipelineStage) {
+        return leadRepository.searchLeadIds(firstName, lastName, companyName, industry, pipelineStage);
+    }
+    
+    /**
+     * Find leads by a collection of IDs
+     */
+    @Transactional(readOnly = true)
+    public List<Lead> findAllById(Collection<Long> ids) {
+        return leadRepository.findAllById(ids);
+    }
+    
+    /**
+     * Find the first leads by ID, up to the given count
+     */
+    @Transactional(readOnly = true)
+    public List<Lead> findFirstLeads(int count) {
+        return leadRepository.findAll(PageRequest.of(0, count, Sort.by("id"))).getContent();
+    }
+    
+    /**
+     * Write a batch of qualification results back in a single transaction
+     */
+    public int applyQualificationResults(Map<Long, LeadQualificationService.LeadQualificationResult> results) {
+        List<Lead> leads = leadRepository.findAllById(results.keySet());
+        for (Lead lead : leads) {
+            LeadQualificationService.LeadQualificationResult result = results.get(lead.getId());
+            lead.setQualificationScore(result.getScore());
+            lead.setQualificationReasoning(result.getReasoning());
+        }
+        leadRepository.saveAll(leads);
+        return leads.size();
+    }
+    
     /**
      * Get pipeline statistics
      */
     @Transactional(readOnly = true)
     public Map<String, Long> getPipelineStats() {
-        Map<String, Long> stats = new HashMap<>();
-        
-        for (PipelineStage stage : PipelineStage.values()) {
-            long count = leadRepository.countByPipelineStage(stage);
-            stats.put(stage.name(), count);
-        }
-        
-        return stats;
+        return pipelineStatsCounter.getStats();
     }
     
     /**
@@ -211,22 +316,37 @@ public class LeadService {
     }
     
     /**
-     * Get high-priority leads (score > 80)
+     * List summaries of leads scored within [minScore, maxScore], newest first, one page at a time
      */
     @Transactional(readOnly = true)
-    public List<Lead> getHighPriorityLeads() {
-        return findByQualificationScoreGreaterThan(80);
+    public PageResponse<LeadSummary> listLeadsByScoreRange(Integer minScore, Integer maxScore,
+                                                          String cursor, Integer limit) {
+        int min = minScore != null ? minScore : 0;
+        int max = maxScore != null ? maxScore : 100;
+        if (min > max) {
+            throw new IllegalArgumentException("minScore must not exceed maxScore");
+        }
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = paginationConfig.resolvePageSize(limit);
+        List<LeadSummary> rows = leadRepository.findLeadSummariesByScoreRange(min, max,
+                position.getCreatedAt(), position.getId(), PageRequest.of(0, pageSize + 1));
+        return PageResponse.fromRows(rows, pageSize, LeadService::cursorOf);
     }
     
     /**
-     * Get leads by score range
+     * Pass the top-scored leads at or above minScore, best first, to the consumer as they
+     * are read from the database. At most the resolved page size is read.
      */
     @Transactional(readOnly = true)
-    public List<Lead> getLeadsByScoreRange(Integer minScore, Integer maxScore) {
-        List<Lead> allLeads = findAll();
-        return allLeads.stream()
-                .filter(lead -> lead.getQualificationScore() != null)
-                .filter(lead -> lead.getQualificationScore() >= minScore && lead.getQualificationScore() <= maxScore)
-                .collect(java.util.stream.Collectors.toList());
+    public void forEachTopLeadByScore(Integer minScore, Integer limit, Consumer<LeadSummary> consumer) {
+        int pageSize = paginationConfig.resolvePageSize(limit);
+        try (Stream<LeadSummary> leads = leadRepository.streamTopLeadSummariesByScore(
+                minScore != null ? minScore : 0, PageRequest.of(0, pageSize))) {
+            leads.forEach(consumer);
+        }
+    }
+    
+    private static KeysetCursor cursorOf(LeadSummary lead) {
+        return new KeysetCursor(lead.getCreatedAt(), lead.getId());
     }
-}
\ No newline at end of file
+}
@@ -5,209 +5,247 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * Service for generating personalized messages using Grok AI.
  * 
  * Creates customized outreach messages based on lead data and
- * communication preferences to improve engagement rates.
+ * communication preferences to improve engagement rates. Prompts are
+ * rendered from the templates in {@link PromptTemplateRegistry}.
  */
 @Service
 public class PersonalizedMessagingService {
     
     private static final Logger log = LoggerFactory.getLogger(PersonalizedMessagingService.class);
     
+    static final String EMAIL_TEMPLATE = "email";
+    static final String LINKEDIN_TEMPLATE = "linkedin";
+    static final String FOLLOW_UP_TEMPLATE = "follow-up";
+    static final String MEETING_REQUEST_TEMPLATE = "meeting-request";
+    
     private final GrokApiService grokApiService;
+    private final PromptTemplateRegistry promptTemplates;
     
     @Autowired
-    public PersonalizedMessagingService(GrokApiService grokApiService) {
+    public PersonalizedMessagingService(GrokApiService grokApiService, PromptTemplateRegistry promptTemplates) {
         this.grokApiService = grokApiService;
+        this.promptTemplates = promptTemplates;
     }
     
     /**
      * Generate a personalized email message for a lead
      */
     public String generateEmailMessage(Lead lead, String messageType) {
-        try {
-            String prompt = buildEmailPrompt(lead, messageType);
-            String response = grokApiService.sendChatCompletion(prompt, 0.7); // Higher temperature for creativity
-            
-            return cleanAndFormatMessage(response);
-            
-        } catch (Exception e) {
-            log.error("Error generating email message for lead {}: {}", lead.getId(), e.getMessage());
-            return generateFallbackMessage(lead, messageType);
-        }
+        return generateEmailMessageAsync(lead, messageType).block();
+    }
+    
+    /**
+     * Generate a personalized email message without blocking the caller
+     */
+    public Mono<String> generateEmailMessageAsync(Lead lead, String messageType) {
+        return emailMessage(lead, messageType, false)
+                .onErrorResume(e -> {
+                    log.error("Error generating email message for lead {}: {}", lead.getId(), e.getMessage());
+                    return Mono.just(generateFallbackMessage(lead, messageType));
+                });
+    }
+    
+    /**
+     * Generate a personalized email message, failing instead of falling back to
+     * the template when Grok gives no usable reply. For callers that score the
+     * message, such as evaluations.
+     */
+    public Mono<String> generateEmailMessageStrictAsync(Lead lead, String messageType) {
+        return emailMessage(lead, messageType, true);
+    }
+    
+    private Mono<String> emailMessage(Lead lead, String messageType, boolean strict) {
+        return Mono.fromCallable(() -> promptTemplates.get(EMAIL_TEMPLATE))
+                .flatMap(template -> {
+                    String prompt = buildEmailPrompt(template, lead, messageType);
+                    // Higher temperature for creativity
+                    Mono<String> reply = strict
+                            ? grokApiService.sendChatCompletionStrictAsync(prompt, 0.7)
+                            : grokApiService.sendChatCompletionAsync(prompt, 0.7);
+                    return reply.contextWrite(promptVersion(template));
+                })
+                .map(this::cleanAndFormatMessage);
+    }
+    
+    /**
+     * Stream a personalized email message as it is generated, cleaned the same
+     * way as {@link #generateEmailMessageAsync}. If Grok fails before producing
+     * any text, the fallback template is emitted instead.
+     */
+    public Flux<String> streamEmailMessage(Lead lead, String messageType) {
+        return streamWithFallback(
+                Mono.fromCallable(() -> buildEmailPrompt(promptTemplates.get(EMAIL_TEMPLATE), lead, messageType))
+                        .flatMapMany(prompt -> cleanStream(grokApiService.streamChatCompletion(prompt, 0.7))),
+                () -> generateFallbackMessage(lead, messageType),
+                "email", lead);
     }
     
     /**
      * Generate a personalized LinkedIn message for a lead
      */
     public String generateLinkedInMessage(Lead lead, String messageType) {
-        try {
-            String prompt = buildLinkedInPrompt(lead, messageType);
-            String response = grokApiService.sendChatCompletion(prompt, 0.7);
-            
-            return cleanAndFormatMessage(response);
-            
-        } catch (Exception e) {
-            log.error("Error generating LinkedIn message for lead {}: {}", lead.getId(), e.getMessage());
-            return generateFallbackLinkedInMessage(lead, messageType);
-        }
+        return generateLinkedInMessageAsync(lead, messageType).block();
+    }
+    
+    /**
+     * Generate a personalized LinkedIn message without blocking the caller
+     */
+    public Mono<String> generateLinkedInMessageAsync(Lead lead, String messageType) {
+        return Mono.fromCallable(() -> promptTemplates.get(LINKEDIN_TEMPLATE))
+                .flatMap(template -> grokApiService
+                        .sendChatCompletionAsync(buildLinkedInPrompt(template, lead, messageType), 0.7)
+                        .contextWrite(promptVersion(template)))
+                .map(this::cleanAndFormatMessage)
+                .onErrorResume(e -> {
+                    log.error("Error generating LinkedIn message for lead {}: {}", lead.getId(), e.getMessage());
+                    return Mono.just(generateFallbackLinkedInMessage(lead, messageType));
+                });
+    }
+    
+    /**
+     * Stream a personalized LinkedIn message as it is generated, cleaned like the non-streamed message
+     */
+    public Flux<String> streamLinkedInMessage(Lead lead, String messageType) {
+        return streamWithFallback(
+                Mono.fromCallable(() -> buildLinkedInPrompt(promptTemplates.get(LINKEDIN_TEMPLATE), lead, messageType))
+                        .flatMapMany(prompt -> cleanStream(grokApiService.streamChatCompletion(prompt, 0.7))),
+                () -> generateFallbackLinkedInMessage(lead, messageType),
+                "LinkedIn message", lead);
     }
     
     /**
      * Generate a follow-up message based on previous interaction
      */
     public String generateFollowUpMessage(Lead lead, String previousActivity, String messageType) {
-        try {
-            String prompt = buildFollowUpPrompt(lead, previousActivity, messageType);
-            String response = grokApiService.sendChatCompletion(prompt, 0.6);
-            
-            return cleanAndFormatMessage(response);
-            
-        } catch (Exception e) {
-            log.error("Error generating follow-up message for lead {}: {}", lead.getId(), e.getMessage());
-            return generateFallbackFollowUpMessage(lead, messageType);
-        }
+        return generateFollowUpMessageAsync(lead, previousActivity, messageType).block();
+    }
+    
+    /**
+     * Generate a follow-up message without blocking the caller
+     */
+    public Mono<String> generateFollowUpMessageAsync(Lead lead, String previousActivity, String messageType) {
+        return Mono.fromCallable(() -> promptTemplates.get(FOLLOW_UP_TEMPLATE))
+                .flatMap(template -> grokApiService
+                        .sendChatCompletionAsync(buildFollowUpPrompt(template, lead, previousActivity, messageType), 0.6)
+                        .contextWrite(promptVersion(template)))
+                .map(this::cleanAndFormatMessage)
+                .onErrorResume(e -> {
+                    log.error("Error generating follow-up message for lead {}: {}", lead.getId(), e.getMessage());
+                    return Mono.just(generateFallbackFollowUpMessage(lead, messageType));
+                });
     }
     
     /**
      * Generate a meeting request message
      */
     public String generateMeetingRequest(Lead lead, String meetingType, String proposedTime) {
-        try {
-            String prompt = buildMeetingRequestPrompt(lead, meetingType, proposedTime);
-            String response = grokApiService.sendChatCompletion(prompt, 0.5);
-            
-            return cleanAndFormatMessage(response);
-            
-        } catch (Exception e) {
-            log.error("Error generating meeting request for lead {}: {}", lead.getId(), e.getMessage());
-            return generateFallbackMeetingRequest(lead, meetingType, proposedTime);
-        }
+        return generateMeetingRequestAsync(lead, meetingType, proposedTime).block();
+    }
+    
+    /**
+     * Generate a meeting request message without blocking the caller
+     */
+    public Mono<String> generateMeetingRequestAsync(Lead lead, String meetingType, String proposedTime) {
+        return Mono.fromCallable(() -> promptTemplates.get(MEETING_REQUEST_TEMPLATE))
+                .flatMap(template -> grokApiService
+                        .sendChatCompletionAsync(buildMeetingRequestPrompt(template, lead, meetingType, proposedTime), 0.5)
+                        .contextWrite(promptVersion(template)))
+                .map(this::cleanAndFormatMessage)
+                .onErrorResume(e -> {
+                    log.error("Error generating meeting request for lead {}: {}", lead.getId(), e.getMessage());
+                    return Mono.just(generateFallbackMeetingRequest(lead, meetingType, proposedTime));
+                });
+    }
+    
+    /**
+     * Relay streamed fragments, substituting the fallback if nothing was produced.
+     * A stream that fails part way through is ended where it stopped.
+     */
+    private Flux<String> streamWithFallback(Flux<String> fragments, Supplier<String> fallback, String kind, Lead lead) {
+        return Flux.defer(() -> {
+            AtomicBoolean produced = new AtomicBoolean();
+            return fragments
+                    .doOnNext(fragment -> produced.set(true))
+                    .onErrorResume(e -> {
+                        log.error("Error streaming {} for lead {}: {}", kind, lead.getId(), e.getMessage());
+                        return produced.get() ? Flux.empty() : Flux.just(fallback.get());
+                    })
+                    .switchIfEmpty(Flux.defer(() -> Flux.just(fallback.get())));
+        });
+    }
+    
+    /**
+     * Apply {@link #cleanAndFormatMessage} to a stream of fragments. The start of the
+     * message is held back until any "Here's ...:" preamble has been seen, and
+     * trailing whitespace is only released once more text follows it.
+     */
+    Flux<String> cleanStream(Flux<String> fragments) {
+        return Flux.defer(() -> {
+            StreamCleaner cleaner = new StreamCleaner();
+            return fragments
+                    .concatMap(fragment -> Mono.justOrEmpty(cleaner.accept(fragment)))
+                    .concatWith(Mono.fromSupplier(cleaner::finish));
+        });
+    }
+    
+    /**
+     * Version of the email prompt template in use
+     */
+    public String getEmailPromptVersion() {
+        return promptTemplates.get(EMAIL_TEMPLATE).getVersion();
     }
     
     /**
      * Build email prompt for Grok
      */
-    private String buildEmailPrompt(Lead lead, String messageType) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("You are an expert sales development representative writing a personalized email. ");
-        prompt.append("Create a professional, engaging email that feels personal and relevant to the recipient.\n\n");
-        
-        prompt.append("Lead Information:\n");
-        prompt.append("Name: ").append(lead.getFullName()).append("\n");
-        prompt.append("Title: ").append(lead.getTitle() != null ? lead.getTitle() : "Not specified").append("\n");
-        prompt.append("Company: ").append(lead.getCompanyName() != null ? lead.getCompanyName() : "Not specified").append("\n");
-        prompt.append("Industry: ").append(lead.getIndustry() != null ? lead.getIndustry() : "Not specified").append("\n");
-        prompt.append("Location: ").append(lead.getLocation() != null ? lead.getLocation() : "Not specified").append("\n");
-        
-        if (lead.getCompanySize() != null) {
-            prompt.append("Company Size: ").append(lead.getCompanySize()).append("\n");
-        }
-        
-        prompt.append("\nMessage Type: ").append(messageType).append("\n\n");
-        
-        prompt.append("Guidelines:\n");
-        prompt.append("- Keep it concise (under 150 words)\n");
-        prompt.append("- Use a professional but friendly tone\n");
-        prompt.append("- Include a clear value proposition\n");
-        prompt.append("- End with a specific call-to-action\n");
-        prompt.append("- Personalize based on their role and company\n");
-        prompt.append("- Avoid generic sales language\n\n");
-        
-        prompt.append("Write only the email body content, no subject line or signatures needed.");
-        
-        return prompt.toString();
+    String buildEmailPrompt(PromptTemplate template, Lead lead, String messageType) {
+        return template.render(LeadPromptValues.of(lead).with("messageType", messageType));
     }
     
     /**
      * Build LinkedIn prompt for Grok
      */
-    private String buildLinkedInPrompt(Lead lead, String messageType) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("You are writing a personalized LinkedIn message for sales outreach. ");
-        prompt.append("LinkedIn messages should be shorter and more casual than emails.\n\n");
-        
-        prompt.append("Lead Information:\n");
-        prompt.append("Name: ").append(lead.getFullName()).append("\n");
-        prompt.append("Title: ").append(lead.getTitle() != null ? lead.getTitle() : "Not specified").append("\n");
-        prompt.append("Company: ").append(lead.getCompanyName() != null ? lead.getCompanyName() : "Not specified").append("\n");
-        prompt.append("Industry: ").append(lead.getIndustry() != null ? lead.getIndustry() : "Not specified").append("\n");
-        
-        prompt.append("\nMessage Type: ").append(messageType).append("\n\n");
-        
-        prompt.append("Guidelines:\n");
-        prompt.append("- Keep it under 100 words\n");
-        prompt.append("- Use a conversational tone\n");
-        prompt.append("- Reference something specific about their profile or company\n");
-        prompt.append("- Include a soft call-to-action\n");
-        prompt.append("- Avoid being too salesy\n\n");
-        
-        prompt.append("Write only the message content.");
-        
-        return prompt.toString();
+    String buildLinkedInPrompt(PromptTemplate template, Lead lead, String messageType) {
+        return template.render(LeadPromptValues.of(lead).with("messageType", messageType));
     }
     
     /**
      * Build follow-up prompt for Grok
      */
-    private String buildFollowUpPrompt(Lead lead, String previousActivity, String messageType) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("You are writing a follow-up message based on a previous interaction. ");
-        prompt.append("Make it relevant to what was discussed before.\n\n");
-        
-        prompt.append("Lead Information:\n");
-        prompt.append("Name: ").append(lead.getFullName()).append("\n");
-        prompt.append("Title: ").append(lead.getTitle() != null ? lead.getTitle() : "Not specified").append("\n");
-        prompt.append("Company: ").append(lead.getCompanyName() != null ? lead.getCompanyName() : "Not specified").append("\n");
-        
-        prompt.append("\nPrevious Activity: ").append(previousActivity).append("\n");
-        prompt.append("Follow-up Type: ").append(messageType).append("\n\n");
-        
-        prompt.append("Guidelines:\n");
-        prompt.append("- Reference the previous interaction\n");
-        prompt.append("- Provide additional value or information\n");
-        prompt.append("- Keep it relevant and timely\n");
-        prompt.append("- Include a clear next step\n\n");
-        
-        prompt.append("Write the follow-up message content.");
-        
-        return prompt.toString();
+    String buildFollowUpPrompt(PromptTemplate template, Lead lead, String previousActivity, String messageType) {
+        return template.render(LeadPromptValues.of(lead)
+                .with("previousActivity", previousActivity)
+                .with("messageType", messageType));
     }
     
     /**
      * Build meeting request prompt for Grok
      */
-    private String buildMeetingRequestPrompt(Lead lead, String meetingType, String proposedTime) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("You are requesting a meeting with a potential client. ");
-        prompt.append("Make it professional and provide clear value for the meeting.\n\n");
-        
-        prompt.append("Lead Information:\n");
-        prompt.append("Name: ").append(lead.getFullName()).append("\n");
-        prompt.append("Title: ").append(lead.getTitle() != null ? lead.getTitle() : "Not specified").append("\n");
-        prompt.append("Company: ").append(lead.getCompanyName() != null ? lead.getCompanyName() : "Not specified").append("\n");
-        
-        prompt.append("\nMeeting Type: ").append(meetingType).append("\n");
-        prompt.append("Proposed Time: ").append(proposedTime).append("\n\n");
-        
-        prompt.append("Guidelines:\n");
-        prompt.append("- Explain the value of the meeting\n");
-        prompt.append("- Be specific about what will be discussed\n");
-        prompt.append("- Offer flexibility in scheduling\n");
-        prompt.append("- Keep it professional and respectful\n\n");
-        
-        prompt.append("Write the meeting request message.");
-        
-        return prompt.toString();
+    String buildMeetingRequestPrompt(PromptTemplate template, Lead lead, String meetingType, String proposedTime) {
+        return template.render(LeadPromptValues.of(lead)
+                .with("meetingType", meetingType)
+                .with("proposedTime", proposedTime));
+    }
+    
+    private static Context promptVersion(PromptTemplate template) {
+        return Context.of(GrokApiService.PROMPT_VERSION_CONTEXT_KEY, template.getVersion());
     }
     
     /**
      * Clean and format the AI-generated message
      */
-    private String cleanAndFormatMessage(String message) {
+    String cleanAndFormatMessage(String message) {
         if (message == null) {
             return "Unable to generate message at this time.";
         }
@@ -226,6 +264,71 @@ public class PersonalizedMessagingService {
         return cleaned;
     }
     
+    /**
+     * Per-stream state for {@link #cleanStream}
+     */
+    private class StreamCleaner {
+        private final StringBuilder head = new StringBuilder();
+        private boolean started;
+        private String pendingWhitespace = "";
+        
+        /**
+         * Take the next fragment and return the text that can be emitted now, or null
+         */
+        String accept(String fragment) {
+            if (started) {
+                return release(fragment);
+            }
+            
+            head.append(fragment);
+            String text = trimLeading(head.toString());
+            if (text.isEmpty() || "Here's".startsWith(text) || "Here is".startsWith(text)) {
+                return null;
+            }
+            if (text.startsWith("Here's") || text.startsWith("Here is")) {
+                int colonIndex = text.indexOf(":");
+                if (colonIndex == -1) {
+                    return null;
+                }
+                text = trimLeading(text.substring(colonIndex + 1));
+                if (text.isEmpty()) {
+                    return null;
+                }
+            }
+            started = true;
+            return release(text);
+        }
+        
+        /**
+         * Text still held back when the stream completes, or null
+         */
+        String finish() {
+            if (started) {
+                return null;
+            }
+            String cleaned = cleanAndFormatMessage(head.toString());
+            return cleaned.isEmpty() ? null : cleaned;
+        }
+        
+        private String release(String fragment) {
+            String text = pendingWhitespace + fragment;
+            int end = text.length();
+            while (end > 0 && text.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            pendingWhitespace = text.substring(end);
+            return end > 0 ? text.substring(0, end) : null;
+        }
+        
+        private String trimLeading(String text) {
+            int start = 0;
+            while (start < text.length() && text.charAt(start) <= ' ') {
+                start++;
+            }
+            return text.substring(start);
+        }
+    }
+    
     /**
      * Generate fallback email message
      */
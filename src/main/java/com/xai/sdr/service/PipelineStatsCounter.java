@@ -0,0 +1,113 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.PipelineStatsConfig;
+import com.xai.sdr.model.PipelineStage;
+import com.xai.sdr.repository.LeadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-stage lead counts for the pipeline dashboard.
+ * 
+ * Counts are read from the database with one GROUP BY query. When the
+ * counter cache is enabled they are instead served from in-memory
+ * counters that are adjusted after each committed save or delete and
+ * re-synced from the database on a fixed interval.
+ */
+@Component
+public class PipelineStatsCounter {
+    
+    private static final Logger log = LoggerFactory.getLogger(PipelineStatsCounter.class);
+    
+    private final LeadRepository leadRepository;
+    private final PipelineStatsConfig statsConfig;
+    
+    private final Map<PipelineStage, AtomicLong> counters = new EnumMap<>(PipelineStage.class);
+    private volatile boolean synced;
+    
+    @Autowired
+    public PipelineStatsCounter(LeadRepository leadRepository, PipelineStatsConfig statsConfig) {
+        this.leadRepository = leadRepository;
+        this.statsConfig = statsConfig;
+        for (PipelineStage stage : PipelineStage.values()) {
+            counters.put(stage, new AtomicLong());
+        }
+    }
+    
+    /**
+     * Get the number of leads in each pipeline stage
+     */
+    public Map<String, Long> getStats() {
+        if (!statsConfig.isCacheEnabled() || !synced) {
+            return toStats(countFromDatabase());
+        }
+        
+        Map<PipelineStage, Long> counts = new EnumMap<>(PipelineStage.class);
+        counters.forEach((stage, counter) -> counts.put(stage, counter.get()));
+        return toStats(counts);
+    }
+    
+    /**
+     * Record a lead moving between stages once the current transaction commits.
+     * A null from-stage means the lead was created; a null to-stage means it was deleted.
+     */
+    public void recordTransition(PipelineStage from, PipelineStage to) {
+        if (!statsConfig.isCacheEnabled() || from == to) {
+            return;
+        }
+        
+        TransactionCallbacks.afterCommit(() -> applyTransition(from, to));
+    }
+    
+    /**
+     * Reload the counters from the database
+     */
+    @Scheduled(fixedDelayString = "${pipeline.stats.resync-interval-ms:60000}")
+    public void resync() {
+        if (!statsConfig.isCacheEnabled()) {
+            return;
+        }
+        
+        Map<PipelineStage, Long> counts = countFromDatabase();
+        counters.forEach((stage, counter) -> counter.set(counts.getOrDefault(stage, 0L)));
+        synced = true;
+        log.debug("Re-synced pipeline stage counters: {}", counts);
+    }
+    
+    private void applyTransition(PipelineStage from, PipelineStage to) {
+        if (from != null) {
+            counters.get(from).decrementAndGet();
+        }
+        if (to != null) {
+            counters.get(to).incrementAndGet();
+        }
+    }
+    
+    private Map<PipelineStage, Long> countFromDatabase() {
+        List<Object[]> rows = leadRepository.countLeadsGroupedByPipelineStage();
+        Map<PipelineStage, Long> counts = new EnumMap<>(PipelineStage.class);
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                counts.put((PipelineStage) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        return counts;
+    }
+    
+    private static Map<String, Long> toStats(Map<PipelineStage, Long> counts) {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        for (PipelineStage stage : PipelineStage.values()) {
+            stats.put(stage.name(), counts.getOrDefault(stage, 0L));
+        }
+        return stats;
+    }
+}
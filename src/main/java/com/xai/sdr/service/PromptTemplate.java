@@ -0,0 +1,312 @@
+package com.xai.sdr.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A prompt template compiled once into static text and placeholder segments.
+ * 
+ * Syntax:
+ * - {{name}} inserts a value, {{name|text}} falls back to text when the value is null
+ * - {{#name}}...{{/name}} renders the body when the value is present, not false
+ *   and not blank, or once per element when the value is a collection of {@link Values}
+ * - {{! comment}} is dropped; {{!version tag}} sets the template version
+ * 
+ * Section and comment tags on a line of their own do not leave a blank line
+ * behind, and a single trailing newline at the end of the source is ignored.
+ * Rendering appends the static segments into a per-thread buffer presized
+ * from the longest prompt rendered so far, so a render allocates little
+ * more than the resulting string.
+ */
+public final class PromptTemplate {
+    
+    private static final Pattern TAG = Pattern.compile("\\{\\{(.*?)}}", Pattern.DOTALL);
+    private static final Pattern VERSION = Pattern.compile("^version\\s+(\\S+)$");
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z][A-Za-z0-9_.-]*");
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+    
+    private final String name;
+    private final String version;
+    private final String source;
+    private final Segment[] segments;
+    private volatile int expectedLength;
+    
+    private PromptTemplate(String name, String version, String source, Segment[] segments) {
+        this.name = name;
+        this.version = version;
+        this.source = source;
+        this.segments = segments;
+        this.expectedLength = staticLength(segments);
+    }
+    
+    /**
+     * Compile template source. Fails with {@link IllegalArgumentException} on
+     * unclosed tags and unbalanced sections, naming the line at fault.
+     */
+    public static PromptTemplate compile(String name, String source) {
+        String text = source.endsWith("\n") ? source.substring(0, source.length() - 1) : source;
+        Deque<Frame> open = new ArrayDeque<>();
+        Frame root = new Frame(null, 1);
+        open.push(root);
+        String version = null;
+        
+        Matcher matcher = TAG.matcher(text);
+        int position = 0;
+        while (matcher.find()) {
+            String body = matcher.group(1).trim();
+            char kind = body.isEmpty() ? ' ' : body.charAt(0);
+            int tagStart = matcher.start();
+            int tagEnd = matcher.end();
+            int line = lineOf(text, tagStart);
+            if (body.isEmpty()) {
+                throw new IllegalArgumentException("Empty tag in prompt template " + name + " at line " + line);
+            }
+            
+            boolean standalone = kind == '#' || kind == '/' || kind == '!';
+            int lineStart = text.lastIndexOf('\n', tagStart - 1) + 1;
+            int lineEnd = text.indexOf('\n', tagEnd);
+            if (standalone) {
+                standalone = lineStart >= position
+                        && text.substring(lineStart, tagStart).isBlank()
+                        && text.substring(tagEnd, lineEnd < 0 ? text.length() : lineEnd).isBlank();
+            }
+            int textEnd = standalone ? lineStart : tagStart;
+            if (textEnd > position) {
+                open.peek().segments.add(new Text(text.substring(position, textEnd)));
+            }
+            position = standalone ? (lineEnd < 0 ? text.length() : lineEnd + 1) : tagEnd;
+            
+            switch (kind) {
+                case '!':
+                    Matcher versionTag = VERSION.matcher(body.substring(1).trim());
+                    if (versionTag.matches()) {
+                        version = versionTag.group(1);
+                    }
+                    break;
+                case '#':
+                    open.push(new Frame(identifier(name, body.substring(1), line), line));
+                    break;
+                case '/':
+                    String closing = identifier(name, body.substring(1), line);
+                    Frame section = open.pop();
+                    if (section == root || !section.name.equals(closing)) {
+                        throw new IllegalArgumentException("Unexpected {{/" + closing + "}} in prompt template "
+                                + name + " at line " + line);
+                    }
+                    open.peek().segments.add(new Section(section.name, section.segments.toArray(new Segment[0])));
+                    break;
+                default:
+                    int bar = body.indexOf('|');
+                    String variable = identifier(name, bar < 0 ? body : body.substring(0, bar), line);
+                    open.peek().segments.add(new Variable(variable, bar < 0 ? null : body.substring(bar + 1)));
+            }
+        }
+        
+        int unclosed = text.indexOf("{{", position);
+        if (unclosed >= 0) {
+            throw new IllegalArgumentException("Unclosed tag in prompt template " + name + " at line " + lineOf(text, unclosed));
+        }
+        if (open.peek() != root) {
+            throw new IllegalArgumentException("Unclosed section {{#" + open.peek().name + "}} in prompt template "
+                    + name + " at line " + open.peek().line);
+        }
+        if (position < text.length()) {
+            root.segments.add(new Text(text.substring(position)));
+        }
+        
+        return new PromptTemplate(name, version != null ? version : name + "-" + contentHash(source),
+                source, root.segments.toArray(new Segment[0]));
+    }
+    
+    /**
+     * Render the template with the given values
+     */
+    public String render(Values values) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(expectedLength);
+        for (Segment segment : segments) {
+            segment.append(buffer, values);
+        }
+        
+        int length = buffer.length();
+        if (length > expectedLength) {
+            expectedLength = Math.min(length, MAX_RETAINED_BUFFER);
+        }
+        String prompt = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return prompt;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Version tag from {{!version ...}}, or the template name and a hash of its source
+     */
+    public String getVersion() {
+        return version;
+    }
+    
+    public String getSource() {
+        return source;
+    }
+    
+    private static String identifier(String template, String value, int line) {
+        String identifier = value.trim();
+        if (!IDENTIFIER.matcher(identifier).matches()) {
+            throw new IllegalArgumentException("Invalid name '" + identifier + "' in prompt template "
+                    + template + " at line " + line);
+        }
+        return identifier;
+    }
+    
+    private static int lineOf(String text, int index) {
+        int line = 1;
+        for (int i = 0; i < index; i++) {
+            if (text.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+    
+    private static int staticLength(Segment[] segments) {
+        int length = 0;
+        for (Segment segment : segments) {
+            if (segment instanceof Text) {
+                length += ((Text) segment).text.length();
+            }
+        }
+        return length;
+    }
+    
+    private static String contentHash(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Looks up template values by name; null means no value
+     */
+    @FunctionalInterface
+    public interface Values {
+        
+        Object get(String name);
+        
+        /**
+         * A single named value
+         */
+        static Values of(String name, Object value) {
+            return key -> name.equals(key) ? value : null;
+        }
+        
+        /**
+         * These values with one more named value in front
+         */
+        default Values with(String name, Object value) {
+            return key -> name.equals(key) ? value : get(key);
+        }
+    }
+    
+    private interface Segment {
+        void append(StringBuilder buffer, Values values);
+    }
+    
+    private static final class Text implements Segment {
+        private final String text;
+        
+        private Text(String text) {
+            this.text = text;
+        }
+        
+        @Override
+        public void append(StringBuilder buffer, Values values) {
+            buffer.append(text);
+        }
+    }
+    
+    private static final class Variable implements Segment {
+        private final String name;
+        private final String fallback;
+        
+        private Variable(String name, String fallback) {
+            this.name = name;
+            this.fallback = fallback;
+        }
+        
+        @Override
+        public void append(StringBuilder buffer, Values values) {
+            Object value = values.get(name);
+            if (value != null) {
+                buffer.append(value);
+            } else if (fallback != null) {
+                buffer.append(fallback);
+            }
+        }
+    }
+    
+    private static final class Section implements Segment {
+        private final String name;
+        private final Segment[] body;
+        
+        private Section(String name, Segment[] body) {
+            this.name = name;
+            this.body = body;
+        }
+        
+        @Override
+        public void append(StringBuilder buffer, Values values) {
+            Object value = values.get(name);
+            if (value instanceof Collection) {
+                for (Object element : (Collection<?>) value) {
+                    if (!(element instanceof Values)) {
+                        throw new IllegalArgumentException("Section " + name + " elements must be template values");
+                    }
+                    Values scope = (Values) element;
+                    appendBody(buffer, key -> {
+                        Object scoped = scope.get(key);
+                        return scoped != null ? scoped : values.get(key);
+                    });
+                }
+            } else if (value != null && !Boolean.FALSE.equals(value)
+                    && !(value instanceof CharSequence && value.toString().isBlank())) {
+                appendBody(buffer, values);
+            }
+        }
+        
+        private void appendBody(StringBuilder buffer, Values values) {
+            for (Segment segment : body) {
+                segment.append(buffer, values);
+            }
+        }
+    }
+    
+    private static final class Frame {
+        private final String name;
+        private final int line;
+        private final List<Segment> segments = new ArrayList<>();
+        
+        private Frame(String name, int line) {
+            this.name = name;
+            this.line = line;
+        }
+    }
+}
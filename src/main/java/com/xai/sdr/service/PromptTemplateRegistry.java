@@ -0,0 +1,126 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.PromptTemplateConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compiled prompt templates, loaded from the *.prompt files at the configured location.
+ * 
+ * Templates are compiled once at startup, and startup fails if one does not
+ * compile. With reload enabled the files are re-read on a fixed delay and
+ * any whose source changed is recompiled and swapped in; a template that
+ * no longer compiles or has been deleted is logged and the previous version kept.
+ */
+@Component
+public class PromptTemplateRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(PromptTemplateRegistry.class);
+    
+    private static final String EXTENSION = ".prompt";
+    
+    private final PromptTemplateConfig templateConfig;
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    private volatile Map<String, PromptTemplate> templates;
+    
+    @Autowired
+    public PromptTemplateRegistry(PromptTemplateConfig templateConfig) {
+        this.templateConfig = templateConfig;
+        this.templates = loadAll(Map.of(), true);
+        log.info("Loaded {} prompt templates from {}", templates.size(), templateConfig.getLocation());
+    }
+    
+    /**
+     * Get a compiled template by file name without the .prompt extension
+     */
+    public PromptTemplate get(String name) {
+        PromptTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalStateException("No prompt template named " + name + " in " + templateConfig.getLocation());
+        }
+        return template;
+    }
+    
+    /**
+     * Template name to version, for reporting which prompts produced a result
+     */
+    public Map<String, String> getVersions() {
+        Map<String, String> versions = new TreeMap<>();
+        templates.forEach((name, template) -> versions.put(name, template.getVersion()));
+        return versions;
+    }
+    
+    /**
+     * Re-read the template files and swap in any that changed
+     */
+    @Scheduled(fixedDelayString = "${grok.prompts.reload-interval-ms:30000}")
+    public void reload() {
+        if (!templateConfig.isReloadEnabled()) {
+            return;
+        }
+        try {
+            templates = loadAll(templates, false);
+        } catch (RuntimeException e) {
+            log.warn("Prompt template reload from {} failed: {}", templateConfig.getLocation(), e.getMessage());
+        }
+    }
+    
+    private Map<String, PromptTemplate> loadAll(Map<String, PromptTemplate> current, boolean strict) {
+        Resource[] resources;
+        try {
+            resources = resourceResolver.getResources(pattern());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to list prompt templates in " + templateConfig.getLocation(), e);
+        }
+        
+        Map<String, PromptTemplate> loaded = new HashMap<>();
+        for (Resource resource : resources) {
+            String filename = resource.getFilename();
+            if (filename == null || !filename.endsWith(EXTENSION)) {
+                continue;
+            }
+            String name = filename.substring(0, filename.length() - EXTENSION.length());
+            PromptTemplate previous = current.get(name);
+            try {
+                String source = resource.getContentAsString(StandardCharsets.UTF_8);
+                if (previous != null && previous.getSource().equals(source)) {
+                    loaded.put(name, previous);
+                    continue;
+                }
+                PromptTemplate template = PromptTemplate.compile(name, source);
+                loaded.put(name, template);
+                if (previous != null) {
+                    log.info("Reloaded prompt template {} as version {}", name, template.getVersion());
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                if (strict || previous == null) {
+                    throw new IllegalStateException("Unable to load prompt template " + filename + ": " + e.getMessage(), e);
+                }
+                log.warn("Keeping prompt template {} version {}: {}", name, previous.getVersion(), e.getMessage());
+                loaded.put(name, previous);
+            }
+        }
+        if (!strict) {
+            // A deleted file does not take its template away from running services
+            current.forEach(loaded::putIfAbsent);
+        }
+        return loaded;
+    }
+    
+    private String pattern() {
+        String location = templateConfig.getLocation();
+        return (location.endsWith("/") ? location : location + "/") + "*" + EXTENSION;
+    }
+}
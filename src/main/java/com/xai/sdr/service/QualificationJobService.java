@@ -0,0 +1,300 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.QualificationBatchConfig;
+import com.xai.sdr.dto.BatchQualificationRequest;
+import com.xai.sdr.model.Lead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for running bulk lead qualification jobs.
+ * 
+ * Fans qualification calls out to Grok with a bounded number of requests
+ * in flight, optionally packing several leads into each call. Scores are
+ * written back in batched transactions, and progress, throughput and
+ * failures are tracked while each job runs.
+ */
+@Service
+public class QualificationJobService {
+    
+    private static final Logger log = LoggerFactory.getLogger(QualificationJobService.class);
+    
+    private final LeadService leadService;
+    private final LeadQualificationService qualificationService;
+    private final QualificationBatchConfig batchConfig;
+    
+    private final Map<String, QualificationJob> jobs = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public QualificationJobService(LeadService leadService,
+                                   LeadQualificationService qualificationService,
+                                   QualificationBatchConfig batchConfig) {
+        this.leadService = leadService;
+        this.qualificationService = qualificationService;
+        this.batchConfig = batchConfig;
+    }
+    
+    /**
+     * Submit a bulk qualification job and start it in the background.
+     * A request must name lead IDs or at least one search filter, so an
+     * empty body never re-qualifies every lead.
+     */
+    public QualificationJob submit(BatchQualificationRequest request) {
+        if (request == null || (!request.hasLeadIds() && !request.hasFilters())) {
+            throw new IllegalArgumentException("Bulk qualification requires leadIds or at least one search filter");
+        }
+        List<Long> leadIds = request.hasLeadIds()
+                ? new ArrayList<>(new LinkedHashSet<>(request.getLeadIds()))
+                : leadService.searchLeadIds(request.getFirstName(), request.getLastName(),
+                        request.getCompanyName(), request.getIndustry(), request.getPipelineStage());
+        
+        QualificationJob job = new QualificationJob(UUID.randomUUID().toString(), leadIds.size());
+        evictFinishedJobs();
+        jobs.put(job.getJobId(), job);
+        
+        log.info("Starting qualification job {} for {} leads (concurrency {})",
+                job.getJobId(), leadIds.size(), batchConfig.getConcurrency());
+        job.start(run(job, leadIds)
+                .subscribe(
+                        null,
+                        error -> {
+                            log.error("Qualification job {} failed", job.getJobId(), error);
+                            job.finish(JobStatus.FAILED);
+                        },
+                        () -> {
+                            log.info("Qualification job {} completed: {} succeeded, {} failed",
+                                    job.getJobId(), job.getSucceeded(), job.getFailed());
+                            job.finish(JobStatus.COMPLETED);
+                        }));
+        return job;
+    }
+    
+    /**
+     * Find a job by ID
+     */
+    public Optional<QualificationJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+    
+    /**
+     * List all retained jobs, newest first
+     */
+    public List<QualificationJob> findAllJobs() {
+        List<QualificationJob> all = new ArrayList<>(jobs.values());
+        all.sort(Comparator.comparing(QualificationJob::getStartedAt).reversed());
+        return all;
+    }
+    
+    /**
+     * Cancel a running job. Results already written are kept.
+     */
+    public Optional<QualificationJob> cancel(String jobId) {
+        QualificationJob job = jobs.get(jobId);
+        if (job != null && job.cancel()) {
+            log.info("Cancelled qualification job {}", jobId);
+        }
+        return Optional.ofNullable(job);
+    }
+    
+    /**
+     * Build the job pipeline: load leads in chunks, qualify with bounded
+     * concurrency, and persist results in batches.
+     */
+    private Flux<Integer> run(QualificationJob job, List<Long> leadIds) {
+        int batchSize = Math.max(1, batchConfig.getWriteBatchSize());
+        int concurrency = Math.max(1, batchConfig.getConcurrency());
+        int packSize = Math.max(1, batchConfig.getPackSize());
+        
+        return Flux.fromIterable(leadIds)
+                .buffer(batchSize)
+                .concatMap(chunk -> Mono.fromCallable(() -> loadChunk(job, chunk))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMapIterable(leads -> leads)
+                .buffer(packSize)
+                .flatMap(group -> qualify(job, group), concurrency)
+                .bufferTimeout(batchSize, Duration.ofMillis(batchConfig.getWriteIntervalMs()))
+                .concatMap(entries -> Mono.fromCallable(() -> writeBatch(job, entries))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+    
+    /**
+     * Qualify a group of leads, packing them into one Grok call when the group has more than one lead
+     */
+    private Flux<Map.Entry<Long, LeadQualificationService.LeadQualificationResult>> qualify(QualificationJob job, List<Lead> group) {
+        return qualificationService.qualifyLeadsPackedAsync(group)
+                .contextWrite(Context.of(GrokRateLimiter.PRIORITY_CONTEXT_KEY, GrokRateLimiter.Priority.BATCH))
+                .flatMapMany(results -> Flux.range(0, group.size())
+                        .map(i -> Map.entry(group.get(i).getId(), results.get(i))))
+                .onErrorResume(e -> {
+                    log.warn("Qualification job {} failed for {} leads: {}", job.getJobId(), group.size(), e.getMessage());
+                    job.recordFailures(group.size());
+                    return Flux.empty();
+                });
+    }
+    
+    private List<Lead> loadChunk(QualificationJob job, List<Long> chunk) {
+        List<Lead> leads = leadService.findAllById(chunk);
+        if (leads.size() < chunk.size()) {
+            job.recordFailures(chunk.size() - leads.size());
+        }
+        return leads;
+    }
+    
+    private int writeBatch(QualificationJob job,
+                           List<Map.Entry<Long, LeadQualificationService.LeadQualificationResult>> entries) {
+        Map<Long, LeadQualificationService.LeadQualificationResult> results = new HashMap<>();
+        entries.forEach(entry -> results.put(entry.getKey(), entry.getValue()));
+        try {
+            int written = leadService.applyQualificationResults(results);
+            job.recordSuccesses(written);
+            job.recordFailures(entries.size() - written);
+            return written;
+        } catch (Exception e) {
+            log.error("Qualification job {} could not write batch of {} results", job.getJobId(), entries.size(), e);
+            job.recordFailures(entries.size());
+            return 0;
+        }
+    }
+    
+    /**
+     * Drop the oldest finished jobs once more than the configured number are retained
+     */
+    private void evictFinishedJobs() {
+        int excess = jobs.size() - Math.max(0, batchConfig.getRetainedJobs() - 1);
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.getStatus() != JobStatus.RUNNING)
+                .sorted(Comparator.comparing(QualificationJob::getStartedAt))
+                .limit(excess)
+                .forEach(job -> jobs.remove(job.getJobId()));
+    }
+    
+    /**
+     * Lifecycle state of a qualification job
+     */
+    public enum JobStatus {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+    
+    /**
+     * Progress of a single bulk qualification job
+     */
+    public static class QualificationJob {
+        private final String jobId;
+        private final int totalLeads;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile JobStatus status = JobStatus.RUNNING;
+        private volatile LocalDateTime completedAt;
+        private volatile long endNanos;
+        private volatile Disposable subscription;
+        
+        QualificationJob(String jobId, int totalLeads) {
+            this.jobId = jobId;
+            this.totalLeads = totalLeads;
+        }
+        
+        void start(Disposable subscription) {
+            this.subscription = subscription;
+        }
+        
+        synchronized void finish(JobStatus finalStatus) {
+            if (status == JobStatus.RUNNING) {
+                status = finalStatus;
+                completedAt = LocalDateTime.now();
+                endNanos = System.nanoTime();
+            }
+        }
+        
+        boolean cancel() {
+            if (status != JobStatus.RUNNING) {
+                return false;
+            }
+            finish(JobStatus.CANCELLED);
+            Disposable current = subscription;
+            if (current != null) {
+                current.dispose();
+            }
+            return true;
+        }
+        
+        void recordSuccesses(int count) {
+            succeeded.addAndGet(count);
+        }
+        
+        void recordFailures(int count) {
+            failed.addAndGet(count);
+        }
+        
+        // Getters
+        public String getJobId() { return jobId; }
+        public JobStatus getStatus() { return status; }
+        public int getTotalLeads() { return totalLeads; }
+        public int getSucceeded() { return succeeded.get(); }
+        public int getFailed() { return failed.get(); }
+        public int getProcessed() { return succeeded.get() + failed.get(); }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getCompletedAt() { return completedAt; }
+        
+        public double getProgressPercent() {
+            return totalLeads == 0 ? 100.0 : getProcessed() * 100.0 / totalLeads;
+        }
+        
+        public long getElapsedMs() {
+            long end = status == JobStatus.RUNNING ? System.nanoTime() : endNanos;
+            return (end - startNanos) / 1_000_000;
+        }
+        
+        public double getLeadsPerSecond() {
+            long elapsedMs = getElapsedMs();
+            return elapsedMs == 0 ? 0.0 : getProcessed() * 1000.0 / elapsedMs;
+        }
+        
+        /**
+         * Summary map used in API responses
+         */
+        public Map<String, Object> toSummary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("jobId", jobId);
+            summary.put("status", status.name());
+            summary.put("totalLeads", totalLeads);
+            summary.put("processed", getProcessed());
+            summary.put("succeeded", getSucceeded());
+            summary.put("failed", getFailed());
+            summary.put("progressPercent", getProgressPercent());
+            summary.put("leadsPerSecond", getLeadsPerSecond());
+            summary.put("elapsedMs", getElapsedMs());
+            summary.put("startedAt", startedAt);
+            summary.put("completedAt", completedAt);
+            return summary;
+        }
+    }
+}
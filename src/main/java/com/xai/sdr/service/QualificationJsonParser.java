@@ -0,0 +1,206 @@
+package com.xai.sdr.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.xai.sdr.service.LeadQualificationService.LeadQualificationResult;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads qualification results from structured (JSON object) Grok replies.
+ * 
+ * The reply is walked token by token with a streaming parser, reading only
+ * the score, reasoning and recommendations fields and skipping anything
+ * else, so no tree is built. Reasoning and recommendations given as arrays
+ * of strings are joined one per line. Text before the first
+ * brace and anything after the object, such as a markdown code fence, is
+ * ignored. Returns null when the reply is not usable JSON so the caller can
+ * fall back to the line format.
+ */
+final class QualificationJsonParser {
+    
+    private static final JsonFactory JSON = new JsonFactory();
+    
+    private static final String DEFAULT_REASONING = "Unable to parse response";
+    private static final String DEFAULT_RECOMMENDATIONS = "Contact lead for more information";
+    
+    private QualificationJsonParser() {}
+    
+    /**
+     * Parse {"score": n, "reasoning": "...", "recommendations": "..."}, or null without a usable score
+     */
+    static LeadQualificationResult parse(String response) {
+        try (JsonParser parser = open(response)) {
+            if (parser == null) {
+                return null;
+            }
+            return readResult(parser, null).result;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Parse {"leads": [{"lead": n, "score": ...}, ...]} into results keyed by lead number.
+     * Entries without a lead number are numbered by position and entries without
+     * a usable score are left out; returns null when there is no leads array.
+     */
+    static Map<Integer, LeadQualificationResult> parsePacked(String response) {
+        try (JsonParser parser = open(response)) {
+            if (parser == null) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonToken value = parser.nextToken();
+                if ("leads".equals(parser.currentName()) && value == JsonToken.START_ARRAY) {
+                    return readLeads(parser);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+    private static Map<Integer, LeadQualificationResult> readLeads(JsonParser parser) throws IOException {
+        Map<Integer, LeadQualificationResult> results = new HashMap<>();
+        int position = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            position++;
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            Entry entry = readResult(parser, position);
+            if (entry.result != null) {
+                results.putIfAbsent(entry.lead, entry.result);
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Read the fields of the object the parser is positioned on, up to its end
+     */
+    private static Entry readResult(JsonParser parser, Integer defaultLead) throws IOException {
+        Integer lead = defaultLead;
+        Integer score = null;
+        String reasoning = DEFAULT_REASONING;
+        String recommendations = DEFAULT_RECOMMENDATIONS;
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "score":
+                    score = readScore(parser, value);
+                    break;
+                case "reasoning":
+                    reasoning = readText(parser, value, reasoning);
+                    break;
+                case "recommendations":
+                    recommendations = readText(parser, value, recommendations);
+                    break;
+                case "lead":
+                    if (value == JsonToken.VALUE_NUMBER_INT) {
+                        lead = parser.getIntValue();
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        
+        LeadQualificationResult result = score != null
+                ? new LeadQualificationResult(score, reasoning, recommendations)
+                : null;
+        return new Entry(lead, result);
+    }
+    
+    /**
+     * A string, or an array of strings joined one per line. Anything else is
+     * skipped and the fallback returned, leaving the parser after the value.
+     */
+    private static String readText(JsonParser parser, JsonToken value, String fallback) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText().trim();
+        }
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return fallback;
+        }
+        StringBuilder text = new StringBuilder();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.VALUE_STRING) {
+                String line = parser.getText().trim();
+                if (!line.isEmpty()) {
+                    text.append(text.length() > 0 ? "\n" : "").append(line);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return text.length() > 0 ? text.toString() : fallback;
+    }
+    
+    /**
+     * Integer, decimal (rounded) or numeric string scores; null for anything else
+     */
+    private static Integer readScore(JsonParser parser, JsonToken value) throws IOException {
+        switch (value) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return toScore(parser.getDoubleValue());
+            case VALUE_STRING:
+                try {
+                    return toScore(Double.parseDouble(parser.getText().trim()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            default:
+                parser.skipChildren();
+                return null;
+        }
+    }
+    
+    private static Integer toScore(double score) {
+        return Double.isNaN(score) ? null : (int) Math.round(Math.max(0, Math.min(100, score)));
+    }
+    
+    /**
+     * Open a parser positioned on the reply's top-level object, or null when there is none
+     */
+    private static JsonParser open(String response) throws IOException {
+        if (response == null) {
+            return null;
+        }
+        int start = response.indexOf('{');
+        if (start < 0) {
+            return null;
+        }
+        JsonParser parser = JSON.createParser(start == 0 ? response : response.substring(start));
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            parser.close();
+            return null;
+        }
+        return parser;
+    }
+    
+    private static final class Entry {
+        private final Integer lead;
+        private final LeadQualificationResult result;
+        
+        private Entry(Integer lead, LeadQualificationResult result) {
+            this.lead = lead;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.xai.sdr.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for keeping in-memory state in step with committed database changes.
+ */
+final class TransactionCallbacks {
+    
+    private TransactionCallbacks() {}
+    
+    /**
+     * Run the action once the current transaction commits, or immediately when
+     * there is no transaction. Nothing runs if the transaction rolls back.
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+-- Baseline schema for leads and their activities
+
+CREATE TABLE leads (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone VARCHAR(255),
+    title VARCHAR(255),
+    company_name VARCHAR(255),
+    company_size VARCHAR(255),
+    industry VARCHAR(255),
+    location VARCHAR(255),
+    linkedin_url VARCHAR(255),
+    website VARCHAR(255),
+    qualification_score INTEGER,
+    qualification_reasoning TEXT,
+    pipeline_stage VARCHAR(255) CHECK (pipeline_stage IN
+        ('NEW', 'CONTACTED', 'QUALIFIED', 'ENGAGED', 'MEETING_SCHEDULED', 'CONVERTED', 'CLOSED_LOST')),
+    last_contact_date TIMESTAMP(6),
+    next_follow_up_date TIMESTAMP(6),
+    notes TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_leads_email UNIQUE (email)
+);
+
+CREATE TABLE activities (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    lead_id BIGINT NOT NULL,
+    activity_type VARCHAR(255) NOT NULL CHECK (activity_type IN
+        ('EMAIL', 'CALL', 'LINKEDIN', 'MEETING', 'DEMO', 'FOLLOW_UP', 'PROPOSAL', 'NEGOTIATION', 'NOTE')),
+    description TEXT NOT NULL,
+    outcome VARCHAR(255),
+    next_steps TEXT,
+    scheduled_date TIMESTAMP(6),
+    completed_date TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    created_by VARCHAR(255),
+    CONSTRAINT fk_activities_lead FOREIGN KEY (lead_id) REFERENCES leads (id)
+);
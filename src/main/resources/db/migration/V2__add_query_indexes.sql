@@ -0,0 +1,25 @@
+-- Indexes backing the repository finders
+
+-- findByPipelineStage, findLeadsNeedingFollowUp, pipeline stage counts
+CREATE INDEX idx_leads_stage_follow_up ON leads (pipeline_stage, next_follow_up_date);
+
+-- findByCreatedAtBetween and keyset pagination on (created_at, id)
+CREATE INDEX idx_leads_created_at_id ON leads (created_at, id);
+
+-- findByQualificationScoreGreaterThan
+CREATE INDEX idx_leads_qualification_score ON leads (qualification_score);
+
+-- findByIndustry
+CREATE INDEX idx_leads_industry ON leads (industry);
+
+-- findByLeadOrderByCreatedAtDesc and per-lead stats
+CREATE INDEX idx_activities_lead_created_at ON activities (lead_id, created_at);
+
+-- findByCreatedAtBetween and keyset pagination on (created_at, id)
+CREATE INDEX idx_activities_created_at_id ON activities (created_at, id);
+
+-- findOverdueActivities, findActivitiesScheduledForDate
+CREATE INDEX idx_activities_scheduled_completed ON activities (scheduled_date, completed_date);
+
+-- findByActivityType
+CREATE INDEX idx_activities_type_created_at ON activities (activity_type, created_at);
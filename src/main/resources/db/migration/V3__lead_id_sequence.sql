@@ -0,0 +1,6 @@
+-- Sequence-generated lead IDs, allocated 50 at a time, so Hibernate can batch inserts.
+-- The sequence starts one block above existing rows.
+
+CREATE SEQUENCE leads_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE leads_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM leads);
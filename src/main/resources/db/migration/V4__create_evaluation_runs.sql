@@ -0,0 +1,12 @@
+-- Persistent evaluation history, newest first by (created_at, id)
+
+CREATE SEQUENCE evaluation_runs_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE evaluation_runs (
+    id BIGINT NOT NULL PRIMARY KEY,
+    evaluation_type VARCHAR(255) NOT NULL,
+    results TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_evaluation_runs_created_at_id ON evaluation_runs (created_at, id);
@@ -0,0 +1,319 @@
+package com.xai.sdr.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Drives a weighted mix of HTTP operations against a running server.
+ * 
+ * The closed model runs a fixed number of users that each wait for their
+ * response and a think time before the next request, so throughput is an
+ * output. The open model issues requests at a fixed arrival rate whether
+ * or not earlier ones have finished, and measures latency from the intended
+ * send time so queueing behind a slow server is not hidden (coordinated omission).
+ * Samples taken during the warmup period are discarded.
+ */
+public class LoadGenerator implements AutoCloseable {
+    
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    
+    private final List<Operation> operations = new ArrayList<>();
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private int totalWeight;
+    
+    public LoadGenerator(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+        this.clientExecutor = Executors.newCachedThreadPool(daemonThreads("load-client"));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+    }
+    
+    /**
+     * Add an operation to the mix. The request supplier is called once per send,
+     * so it can pick a different lead or build a unique body each time.
+     */
+    public LoadGenerator operation(String name, int weight, Supplier<HttpRequest.Builder> request) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Operation weight must be positive: " + name);
+        }
+        operations.add(new Operation(name, weight, request));
+        totalWeight += weight;
+        return this;
+    }
+    
+    /**
+     * Run the closed workload: {@code users} concurrent loops with a think time between requests
+     */
+    public LoadResult runClosed(String scenario, int users, Duration thinkTime, Duration warmup, Duration duration)
+            throws InterruptedException {
+        Recorder recorder = new Recorder(System.nanoTime() + warmup.toNanos());
+        long deadline = recorder.measureFrom + duration.toNanos();
+        ExecutorService userThreads = Executors.newFixedThreadPool(users, daemonThreads("load-user"));
+        try {
+            for (int i = 0; i < users; i++) {
+                userThreads.execute(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        Operation operation = pick();
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(build(operation), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        recorder.record(operation, start, System.nanoTime(), status);
+                        if (!thinkTime.isZero()) {
+                            LockSupport.parkNanos(thinkTime.toNanos());
+                        }
+                    }
+                });
+            }
+            userThreads.shutdown();
+            userThreads.awaitTermination(warmup.plus(duration).plus(requestTimeout).toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            userThreads.shutdownNow();
+        }
+        return recorder.result(scenario, "closed", "users=" + users + ", thinkTimeMs=" + thinkTime.toMillis(), duration);
+    }
+    
+    /**
+     * Run the open workload: requests arrive every 1/rate seconds on a fixed schedule.
+     * Once {@code maxInFlight} requests are outstanding, further arrivals are counted
+     * as dropped rather than queued, so a saturated server shows up as errors.
+     */
+    public LoadResult runOpen(String scenario, double ratePerSecond, int maxInFlight, Duration warmup, Duration duration)
+            throws InterruptedException {
+        Recorder recorder = new Recorder(System.nanoTime() + warmup.toNanos());
+        long deadline = recorder.measureFrom + duration.toNanos();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= deadline) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick();
+            if (!inFlight.tryAcquire()) {
+                recorder.drop(operation, intended);
+                continue;
+            }
+            client.sendAsync(build(operation), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        recorder.record(operation, intended, System.nanoTime(), error == null ? response.statusCode() : -1);
+                        inFlight.release();
+                    });
+        }
+        
+        if (!inFlight.tryAcquire(maxInFlight, requestTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Requests still in flight after " + requestTimeout);
+        }
+        return recorder.result(scenario, "open", "ratePerSecond=" + ratePerSecond + ", maxInFlight=" + maxInFlight, duration);
+    }
+    
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+    
+    private Operation pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight;
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("No operations configured");
+    }
+    
+    private HttpRequest build(Operation operation) {
+        return operation.request.get().timeout(requestTimeout).build();
+    }
+    
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static final class Operation {
+        private final String name;
+        private final int weight;
+        private final Supplier<HttpRequest.Builder> request;
+        
+        private Operation(String name, int weight, Supplier<HttpRequest.Builder> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+    }
+    
+    /**
+     * Collects per-operation latency histograms (in microseconds) and error counts
+     */
+    private final class Recorder {
+        private final long measureFrom;
+        private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+        
+        private Recorder(long measureFrom) {
+            this.measureFrom = measureFrom;
+            for (Operation operation : operations) {
+                stats.put(operation.name, new OperationStats(operation.name));
+            }
+        }
+        
+        private void record(Operation operation, long startNanos, long endNanos, int status) {
+            if (startNanos < measureFrom) {
+                return;
+            }
+            OperationStats operationStats = stats.get(operation.name);
+            if (status >= 200 && status < 300) {
+                long micros = TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos);
+                operationStats.histogram.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+            } else {
+                operationStats.errors.incrementAndGet();
+            }
+        }
+        
+        private void drop(Operation operation, long intendedNanos) {
+            if (intendedNanos >= measureFrom) {
+                stats.get(operation.name).dropped.incrementAndGet();
+            }
+        }
+        
+        private LoadResult result(String scenario, String model, String parameters, Duration duration) {
+            return new LoadResult(scenario, model, parameters, duration.toNanos() / 1e9, new ArrayList<>(stats.values()));
+        }
+    }
+    
+    /**
+     * Latency and error counts for one operation in the mix
+     */
+    public static final class OperationStats {
+        private final String name;
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        
+        private OperationStats(String name) {
+            this.name = name;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public Histogram getHistogram() {
+            return histogram;
+        }
+        
+        public long getErrors() {
+            return errors.get();
+        }
+        
+        public long getDropped() {
+            return dropped.get();
+        }
+    }
+    
+    /**
+     * Outcome of one workload run
+     */
+    public static final class LoadResult {
+        private final String scenario;
+        private final String model;
+        private final String parameters;
+        private final double measuredSeconds;
+        private final List<OperationStats> operations;
+        
+        private LoadResult(String scenario, String model, String parameters, double measuredSeconds,
+                           List<OperationStats> operations) {
+            this.scenario = scenario;
+            this.model = model;
+            this.parameters = parameters;
+            this.measuredSeconds = measuredSeconds;
+            this.operations = operations;
+        }
+        
+        public String getScenario() {
+            return scenario;
+        }
+        
+        public String getModel() {
+            return model;
+        }
+        
+        public String getParameters() {
+            return parameters;
+        }
+        
+        public double getMeasuredSeconds() {
+            return measuredSeconds;
+        }
+        
+        public List<OperationStats> getOperations() {
+            return operations;
+        }
+        
+        /**
+         * All operations merged into one histogram
+         */
+        public Histogram getTotalHistogram() {
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+            operations.forEach(operation -> total.add(operation.getHistogram()));
+            return total;
+        }
+        
+        public long getSuccesses() {
+            return operations.stream().mapToLong(operation -> operation.getHistogram().getTotalCount()).sum();
+        }
+        
+        public long getFailures() {
+            return operations.stream().mapToLong(operation -> operation.getErrors() + operation.getDropped()).sum();
+        }
+        
+        public double getThroughput() {
+            return getSuccesses() / measuredSeconds;
+        }
+        
+        public double getErrorRate() {
+            long total = getSuccesses() + getFailures();
+            return total == 0 ? 0.0 : (double) getFailures() / total;
+        }
+    }
+}
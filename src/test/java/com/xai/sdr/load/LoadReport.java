@@ -0,0 +1,156 @@
+package com.xai.sdr.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes load test results and compares them against a committed baseline.
+ * 
+ * Each scenario produces a percentile distribution (.hgrm, in milliseconds,
+ * readable by the HdrHistogram plotter) per operation and overall, plus a JSON
+ * summary. The baseline maps scenario name to throughput and p99 latency;
+ * a scenario whose throughput falls more than the tolerance below its baseline
+ * is reported as a regression. A scenario with no baseline entry yet is
+ * only logged as a warning. A candidate baseline with the latest numbers
+ * is always written next to the reports.
+ */
+public class LoadReport {
+    
+    private static final Logger log = LoggerFactory.getLogger(LoadReport.class);
+    
+    private static final double MICROS_PER_MILLI = 1000.0;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Path outputDir;
+    private final Path baselineFile;
+    private final double tolerance;
+    private final Map<String, Map<String, Object>> candidate = new TreeMap<>();
+    
+    public LoadReport(Path outputDir, Path baselineFile, double tolerance) {
+        this.outputDir = outputDir;
+        this.baselineFile = baselineFile;
+        this.tolerance = tolerance;
+    }
+    
+    /**
+     * Write the reports for one run and return a description of each regression against the baseline
+     */
+    public List<String> record(LoadGenerator.LoadResult result) throws IOException {
+        Files.createDirectories(outputDir);
+        writeDistribution(result.getScenario(), result.getTotalHistogram());
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (LoadGenerator.OperationStats operation : result.getOperations()) {
+            writeDistribution(result.getScenario() + "-" + operation.getName(), operation.getHistogram());
+            Map<String, Object> summary = latencySummary(operation.getHistogram());
+            summary.put("errors", operation.getErrors());
+            summary.put("dropped", operation.getDropped());
+            operations.put(operation.getName(), summary);
+        }
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenario", result.getScenario());
+        summary.put("model", result.getModel());
+        summary.put("parameters", result.getParameters());
+        summary.put("measuredSeconds", result.getMeasuredSeconds());
+        summary.put("throughput", round(result.getThroughput()));
+        summary.put("errorRate", round(result.getErrorRate()));
+        summary.put("latency", latencySummary(result.getTotalHistogram()));
+        summary.put("operations", operations);
+        objectMapper.writeValue(outputDir.resolve(result.getScenario() + ".json").toFile(), summary);
+        
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("throughput", round(result.getThroughput()));
+        entry.put("p99Ms", round(result.getTotalHistogram().getValueAtPercentile(99.0) / MICROS_PER_MILLI));
+        candidate.put(result.getScenario(), entry);
+        objectMapper.writeValue(outputDir.resolve("baseline.json").toFile(), candidate);
+        
+        return compare(result);
+    }
+    
+    /**
+     * Replace the committed baseline with the numbers recorded so far, keeping other scenarios
+     */
+    public void updateBaseline() throws IOException {
+        Map<String, Map<String, Object>> merged = new TreeMap<>(readBaseline());
+        merged.putAll(candidate);
+        Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+        objectMapper.writeValue(baselineFile.toFile(), merged);
+    }
+    
+    /**
+     * One-line human readable summary of a run
+     */
+    public static String describe(LoadGenerator.LoadResult result) {
+        Histogram total = result.getTotalHistogram();
+        return String.format(Locale.ROOT,
+                "%s [%s, %s]: %.1f req/s, errors %.2f%%, p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+                result.getScenario(), result.getModel(), result.getParameters(), result.getThroughput(),
+                result.getErrorRate() * 100,
+                total.getValueAtPercentile(50.0) / MICROS_PER_MILLI,
+                total.getValueAtPercentile(99.0) / MICROS_PER_MILLI,
+                total.getMaxValue() / MICROS_PER_MILLI);
+    }
+    
+    private List<String> compare(LoadGenerator.LoadResult result) throws IOException {
+        List<String> regressions = new ArrayList<>();
+        Map<String, Object> baseline = readBaseline().get(result.getScenario());
+        if (baseline == null || !(baseline.get("throughput") instanceof Number)) {
+            log.warn("{} has no throughput baseline in {}; record one with -Dload.updateBaseline=true",
+                    result.getScenario(), baselineFile);
+            return regressions;
+        }
+        double expected = ((Number) baseline.get("throughput")).doubleValue();
+        double floor = expected * (1.0 - tolerance);
+        if (result.getThroughput() < floor) {
+            regressions.add(String.format(Locale.ROOT,
+                    "%s throughput %.1f req/s is below baseline %.1f req/s by more than %.0f%%",
+                    result.getScenario(), result.getThroughput(), expected, tolerance * 100));
+        }
+        return regressions;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, Object>> readBaseline() throws IOException {
+        if (baselineFile == null || !Files.exists(baselineFile)) {
+            return Map.of();
+        }
+        return objectMapper.readValue(baselineFile.toFile(), Map.class);
+    }
+    
+    private void writeDistribution(String name, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(outputDir.resolve(name + ".hgrm")),
+                false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+    
+    private static Map<String, Object> latencySummary(Histogram histogram) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("count", histogram.getTotalCount());
+        latency.put("p50Ms", round(histogram.getValueAtPercentile(50.0) / MICROS_PER_MILLI));
+        latency.put("p90Ms", round(histogram.getValueAtPercentile(90.0) / MICROS_PER_MILLI));
+        latency.put("p99Ms", round(histogram.getValueAtPercentile(99.0) / MICROS_PER_MILLI));
+        latency.put("p999Ms", round(histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI));
+        latency.put("maxMs", round(histogram.getMaxValue() / MICROS_PER_MILLI));
+        return latency;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
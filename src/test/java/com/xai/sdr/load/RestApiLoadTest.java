@@ -0,0 +1,202 @@
+package com.xai.sdr.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xai.sdr.config.MockGrokConfig;
+import com.xai.sdr.mock.MockGrokServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test for the REST API.
+ * 
+ * Boots the application on a random port against the in-memory database
+ * with Grok calls going to a local MockGrokServer, seeds leads, then drives
+ * a mix of lead CRUD, search, activity reads, qualification and evaluation
+ * metrics under a closed and an open workload. Reports go to target/load-test;
+ * the run fails on a high error rate, or on a throughput drop against
+ * src/test/resources/load/baseline.json or a scenario missing from it.
+ * 
+ * Excluded from the default build; run with {@code mvn -P load-test verify}.
+ * Tunable through system properties: load.durationSeconds, load.warmupSeconds,
+ * load.users, load.thinkTimeMs, load.rate, load.maxInFlight, load.tolerance,
+ * load.grokLatencyMs and load.updateBaseline.
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "grok.rate-limit.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.xai=WARN",
+        "logging.level.com.xai.sdr.load=INFO",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class RestApiLoadTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(RestApiLoadTest.class);
+    
+    private static final int SEED_LEADS = 200;
+    private static final double MAX_ERROR_RATE = 0.01;
+    private static final String[] COMPANIES = {"Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark", "Wayne", "Tyrell"};
+    private static final String[] INDUSTRIES = {"Software", "Fintech", "Healthcare", "Retail"};
+    
+    private static MockGrokServer grok;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong uniqueEmails = new AtomicLong();
+    private final List<Long> leadIds = new ArrayList<>();
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("load.warmupSeconds", 5));
+    private final Duration duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 20));
+    private final boolean updateBaseline = Boolean.getBoolean("load.updateBaseline");
+    private final LoadReport report = new LoadReport(Path.of("target", "load-test"),
+            Path.of(System.getProperty("load.baseline", "src/test/resources/load/baseline.json")),
+            Double.parseDouble(System.getProperty("load.tolerance", "0.2")));
+    
+    @LocalServerPort
+    private int port;
+    
+    @DynamicPropertySource
+    static void grokProperties(DynamicPropertyRegistry registry) {
+        MockGrokConfig config = new MockGrokConfig();
+        config.setPort(0);
+        config.setLatencyDistribution(MockGrokConfig.LatencyDistribution.LOG_NORMAL);
+        config.setLatencyMs(Long.getLong("load.grokLatencyMs", 20));
+        config.setLatencySigma(0.3);
+        config.setStreamChunkDelayMs(0);
+        grok = MockGrokServer.start(config);
+        registry.add("grok.api.base-url", grok::getBaseUrl);
+        registry.add("grok.api.api-key", () -> "load-test");
+    }
+    
+    @AfterAll
+    void tearDown() throws IOException {
+        if (updateBaseline) {
+            report.updateBaseline();
+        }
+        if (grok != null) {
+            grok.close();
+        }
+    }
+    
+    @BeforeAll
+    void seedLeads() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        for (int i = 0; i < SEED_LEADS; i++) {
+            HttpResponse<String> response = client.send(createLead().build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, response.statusCode(), response.body());
+            leadIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+    }
+    
+    @Test
+    void testClosedWorkloadMixedTraffic() throws Exception {
+        try (LoadGenerator generator = mixedTraffic()) {
+            LoadGenerator.LoadResult result = generator.runClosed("closed-mixed",
+                    Integer.getInteger("load.users", 16),
+                    Duration.ofMillis(Long.getLong("load.thinkTimeMs", 0)),
+                    warmup, duration);
+            assertWithinBaseline(result);
+        }
+    }
+    
+    @Test
+    void testOpenWorkloadMixedTraffic() throws Exception {
+        try (LoadGenerator generator = mixedTraffic()) {
+            LoadGenerator.LoadResult result = generator.runOpen("open-mixed",
+                    Double.parseDouble(System.getProperty("load.rate", "200")),
+                    Integer.getInteger("load.maxInFlight", 256),
+                    warmup, duration);
+            assertWithinBaseline(result);
+        }
+    }
+    
+    private void assertWithinBaseline(LoadGenerator.LoadResult result) throws IOException {
+        List<String> regressions = report.record(result);
+        log.info(LoadReport.describe(result));
+        
+        assertTrue(result.getSuccesses() > 0, "No successful requests in " + result.getScenario());
+        assertTrue(result.getErrorRate() <= MAX_ERROR_RATE,
+                result.getScenario() + " error rate " + result.getErrorRate() + " exceeds " + MAX_ERROR_RATE);
+        // A run that records the baseline is not held to the old one
+        if (!updateBaseline) {
+            assertTrue(regressions.isEmpty(), String.join("\n", regressions));
+        }
+    }
+    
+    /**
+     * Read-heavy mix: most traffic lists, fetches and searches leads,
+     * with a smaller share of writes and Grok-backed qualification
+     */
+    private LoadGenerator mixedTraffic() {
+        return new LoadGenerator(Duration.ofSeconds(30))
+                .operation("list-leads", 20, () -> get("/leads?limit=20"))
+                .operation("get-lead", 20, () -> get("/leads/" + randomLeadId()))
+                .operation("search-leads", 15, () -> get("/leads/search?q=" + randomCompany().toLowerCase() + "&limit=10"))
+                .operation("filter-leads", 10, () -> get("/leads?industry=" + randomIndustry() + "&limit=20"))
+                .operation("create-lead", 10, this::createLead)
+                .operation("update-stage", 5, () -> request("/leads/" + randomLeadId() + "/pipeline-stage")
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"pipelineStage\":\"CONTACTED\"}")))
+                .operation("lead-activities", 8, () -> get("/activities/lead/" + randomLeadId()))
+                .operation("recent-activities", 4, () -> get("/activities/recent"))
+                .operation("qualify-lead", 6, () -> request("/leads/" + randomLeadId() + "/qualify")
+                        .POST(HttpRequest.BodyPublishers.noBody()))
+                .operation("evaluation-metrics", 2, () -> get("/evaluation/metrics"));
+    }
+    
+    private HttpRequest.Builder createLead() {
+        long n = uniqueEmails.incrementAndGet();
+        String company = COMPANIES[(int) (n % COMPANIES.length)];
+        String body = "{\"firstName\":\"Load" + n + "\",\"lastName\":\"Tester\""
+                + ",\"email\":\"load" + n + "@" + company.toLowerCase() + ".example\""
+                + ",\"title\":\"VP Engineering\",\"companyName\":\"" + company + "\""
+                + ",\"industry\":\"" + INDUSTRIES[(int) (n % INDUSTRIES.length)] + "\""
+                + ",\"companySize\":\"51-200\"}";
+        return request("/leads")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+    
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+    
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api" + path));
+    }
+    
+    private long randomLeadId() {
+        return leadIds.get(ThreadLocalRandom.current().nextInt(leadIds.size()));
+    }
+    
+    private static String randomCompany() {
+        return COMPANIES[ThreadLocalRandom.current().nextInt(COMPANIES.length)];
+    }
+    
+    private static String randomIndustry() {
+        return INDUSTRIES[ThreadLocalRandom.current().nextInt(INDUSTRIES.length)];
+    }
+}
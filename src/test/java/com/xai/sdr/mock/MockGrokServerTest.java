@@ -0,0 +1,195 @@
+package com.xai.sdr.mock;
+
+import com.xai.sdr.config.GrokApiConfig;
+import com.xai.sdr.config.GrokCacheConfig;
+import com.xai.sdr.config.GrokRateLimitConfig;
+import com.xai.sdr.config.GrokResilienceConfig;
+import com.xai.sdr.config.MockGrokConfig;
+import com.xai.sdr.config.PromptTemplateConfig;
+import com.xai.sdr.model.Lead;
+import com.xai.sdr.service.GrokApiService;
+import com.xai.sdr.service.GrokCircuitBreaker;
+import com.xai.sdr.service.GrokRateLimiter;
+import com.xai.sdr.service.GrokRequestCoalescer;
+import com.xai.sdr.service.GrokResiliencePolicy;
+import com.xai.sdr.service.GrokResponseCache;
+import com.xai.sdr.service.LeadQualificationService;
+import com.xai.sdr.service.PromptTemplateRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MockGrokServer.
+ * 
+ * Runs the server on a free port and drives it through GrokApiService
+ * to check response formats, streaming and failure injection.
+ */
+class MockGrokServerTest {
+    
+    private MockGrokServer server;
+    private GrokRateLimiter rateLimiter;
+    
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+    
+    @Test
+    void testQualificationScoresAreDeterministicAndParseable() {
+        GrokApiService grokApiService = startWith(mockConfig());
+        LeadQualificationService qualificationService = new LeadQualificationService(grokApiService, apiConfig(),
+                new PromptTemplateRegistry(new PromptTemplateConfig()));
+        
+        LeadQualificationService.LeadQualificationResult first = qualificationService.qualifyLead(lead(1L, "Acme"));
+        LeadQualificationService.LeadQualificationResult second = qualificationService.qualifyLead(lead(1L, "Acme"));
+        
+        assertEquals(first.getScore(), second.getScore());
+        assertTrue(first.getScore() >= 20 && first.getScore() <= 95);
+        assertTrue(first.getReasoning().contains("Acme"));
+    }
+    
+    @Test
+    void testPackedQualificationAnswersEveryLead() {
+        GrokApiService grokApiService = startWith(mockConfig());
+        LeadQualificationService qualificationService = new LeadQualificationService(grokApiService, apiConfig(),
+                new PromptTemplateRegistry(new PromptTemplateConfig()));
+        
+        List<LeadQualificationService.LeadQualificationResult> results = qualificationService
+                .qualifyLeadsPackedAsync(List.of(lead(1L, "Acme"), lead(2L, "Globex"), lead(3L, "Initech")))
+                .block();
+        
+        assertEquals(3, results.size());
+        assertEquals(1L, server.getStats().get("requests"));
+        assertTrue(results.get(1).getReasoning().contains("Globex"));
+    }
+    
+    @Test
+    void testStructuredQualificationMatchesTextScores() {
+        GrokApiService grokApiService = startWith(mockConfig());
+        LeadQualificationService textService = new LeadQualificationService(grokApiService, apiConfig(),
+                new PromptTemplateRegistry(new PromptTemplateConfig()));
+        GrokApiConfig structuredConfig = apiConfig();
+        structuredConfig.setStructuredOutput(true);
+        LeadQualificationService jsonService = new LeadQualificationService(grokApiService, structuredConfig,
+                new PromptTemplateRegistry(new PromptTemplateConfig()));
+        List<Lead> leads = List.of(lead(1L, "Acme"), lead(2L, "Globex"));
+        
+        List<LeadQualificationService.LeadQualificationResult> text = textService.qualifyLeadsPackedAsync(leads).block();
+        List<LeadQualificationService.LeadQualificationResult> json = jsonService.qualifyLeadsPackedAsync(leads).block();
+        LeadQualificationService.LeadQualificationResult single = jsonService.qualifyLead(lead(1L, "Acme"));
+        
+        assertEquals(text.get(0).getScore(), json.get(0).getScore());
+        assertEquals(text.get(1).getScore(), json.get(1).getScore());
+        assertEquals(text.get(1).getReasoning(), json.get(1).getReasoning());
+        assertEquals(text.get(0).getScore(), single.getScore());
+        assertEquals("qualification-json-1", jsonService.getQualificationPromptVersion());
+        
+        Map<?, ?> packedStats = (Map<?, ?>) jsonService.getParseStats().get("qualification-packed-json-1");
+        assertEquals(1L, packedStats.get("responses"));
+        assertEquals(0L, packedStats.get("jsonFallbacks"));
+        assertEquals(0L, packedStats.get("parseFailures"));
+    }
+    
+    @Test
+    void testStreamedCompletionMatchesNonStreamedContent() {
+        MockGrokConfig config = mockConfig();
+        config.setStreamChunkChars(5);
+        GrokApiService grokApiService = startWith(config);
+        String prompt = "Name: Jane Doe\nCompany: Acme\nMessage Type: initial outreach\n";
+        
+        String streamed = String.join("", grokApiService.streamChatCompletion(prompt, 0.7).collectList().block());
+        
+        assertEquals(MockGrokServer.completionFor(prompt + "\n", 0, new Random()), streamed);
+        assertTrue(streamed.startsWith("Hi Jane,"));
+    }
+    
+    @Test
+    void testStreamChunksAreParsedUntilDone() {
+        MockGrokConfig config = mockConfig();
+        config.setStreamChunkChars(1);
+        GrokApiService grokApiService = startWith(config);
+        String prompt = "Name: Jane Doe\nCompany: Acme\nMessage Type: initial outreach\n";
+        String expected = MockGrokServer.completionFor(prompt + "\n", 0, new Random());
+        
+        List<String> fragments = grokApiService.streamChatCompletion(prompt, 0.7).collectList().block();
+        
+        // One fragment per content chunk; the usage chunk and [DONE] emit no text
+        assertEquals(expected.length(), fragments.size());
+        assertEquals(expected, String.join("", fragments));
+        assertTrue((double) rateLimiter.getStats().get("averageCompletionTokens") > 0);
+        Map<String, Object> stats = grokApiService.getStreamingStats();
+        assertEquals(1L, stats.get("streamsStarted"));
+        assertEquals(0L, stats.get("streamsFailed"));
+        assertEquals(1, stats.get("timeToFirstTokenSamples"));
+    }
+    
+    @Test
+    void testInjectsRateLimitResponses() {
+        MockGrokConfig config = mockConfig();
+        config.setRateLimitRate(1.0);
+        config.setRetryAfterSeconds(7);
+        server = MockGrokServer.start(config);
+        
+        WebClientResponseException error = assertThrows(WebClientResponseException.class, () -> WebClient.create(server.getBaseUrl())
+                .post()
+                .uri("/chat/completions")
+                .header("Authorization", "Bearer test")
+                .bodyValue("{\"messages\":[{\"role\":\"user\",\"content\":\"hi\"}]}")
+                .retrieve()
+                .bodyToMono(String.class)
+                .block());
+        
+        assertEquals(429, error.getStatusCode().value());
+        assertEquals("7", error.getHeaders().getFirst("Retry-After"));
+        assertEquals(1L, server.getStats().get("rateLimited"));
+    }
+    
+    private GrokApiService startWith(MockGrokConfig config) {
+        server = MockGrokServer.start(config);
+        GrokApiConfig apiConfig = apiConfig();
+        apiConfig.setBaseUrl(server.getBaseUrl());
+        GrokCacheConfig cacheConfig = new GrokCacheConfig();
+        cacheConfig.setEnabled(false);
+        GrokResilienceConfig resilienceConfig = new GrokResilienceConfig();
+        rateLimiter = new GrokRateLimiter(new GrokRateLimitConfig());
+        return new GrokApiService(apiConfig, new GrokResponseCache(cacheConfig), new GrokRequestCoalescer(), rateLimiter,
+                new GrokResiliencePolicy(resilienceConfig, new GrokCircuitBreaker(resilienceConfig)));
+    }
+    
+    private static MockGrokConfig mockConfig() {
+        MockGrokConfig config = new MockGrokConfig();
+        config.setPort(0);
+        config.setLatencyDistribution(MockGrokConfig.LatencyDistribution.FIXED);
+        config.setLatencyMs(0);
+        config.setStreamChunkDelayMs(0);
+        config.setSeed(42L);
+        return config;
+    }
+    
+    private static GrokApiConfig apiConfig() {
+        GrokApiConfig apiConfig = new GrokApiConfig();
+        apiConfig.setApiKey("mock-key");
+        return apiConfig;
+    }
+    
+    private static Lead lead(Long id, String company) {
+        Lead lead = new Lead();
+        lead.setId(id);
+        lead.setFirstName("Lead");
+        lead.setLastName(String.valueOf(id));
+        lead.setTitle("VP of Sales");
+        lead.setCompanyName(company);
+        lead.setIndustry("Technology");
+        return lead;
+    }
+}
@@ -0,0 +1,147 @@
+package com.xai.sdr.repository;
+
+import com.xai.sdr.model.ActivityType;
+import com.xai.sdr.model.Lead;
+import com.xai.sdr.model.PipelineStage;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan tests for the repository finders.
+ * 
+ * Runs each finder against the migrated schema, captures the SQL that
+ * Hibernate sends and asserts that H2's EXPLAIN plan reads it through
+ * an index rather than a table scan.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.xai.sdr.repository.RepositoryIndexTest$SqlCapture")
+class RepositoryIndexTest {
+    
+    @Autowired
+    private LeadRepository leadRepository;
+    
+    @Autowired
+    private ActivityRepository activityRepository;
+    
+    @Autowired
+    private EvaluationRunRepository evaluationRunRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private static final Pattern INDEX_CONDITION = Pattern.compile("/\\* PUBLIC\\.\\w+: ([^*]+)\\*/");
+    
+    private final LocalDateTime now = LocalDateTime.now();
+    
+    @BeforeEach
+    void setUp() {
+        SqlCapture.STATEMENTS.clear();
+    }
+    
+    @Test
+    void testLeadFindersUseIndexes() {
+        assertUsesIndex("PIPELINE_STAGE", () -> leadRepository.findByPipelineStage(PipelineStage.NEW));
+        assertUsesIndex("PIPELINE_STAGE", () -> leadRepository.findLeadsNeedingFollowUp(now,
+                List.of(PipelineStage.NEW, PipelineStage.CONTACTED)));
+        assertUsesIndex("CREATED_AT", () -> leadRepository.findByCreatedAtBetween(now.minusDays(1), now));
+        assertUsesIndex("QUALIFICATION_SCORE", () -> leadRepository.findByQualificationScoreGreaterThan(70));
+        assertUsesIndex("INDUSTRY", () -> leadRepository.findByIndustry("Software"));
+        assertUsesIndex("QUALIFICATION_SCORE", () -> leadRepository.findLeadSummariesByScoreRange(70, 90,
+                now, Long.MAX_VALUE, PageRequest.of(0, 10)));
+    }
+    
+    @Test
+    void testPlainListPagesUseCreatedAtIndex() {
+        assertUsesIndex("CREATED_AT", () -> leadRepository.searchLeadSummaries(null, null, null, null, null,
+                now, Long.MAX_VALUE, PageRequest.of(0, 10)));
+        assertUsesIndex("CREATED_AT", () -> activityRepository.searchActivitySummaries(null, null,
+                now, Long.MAX_VALUE, PageRequest.of(0, 10)));
+    }
+    
+    @Test
+    void testActivityFindersUseIndexes() {
+        Lead lead = new Lead();
+        lead.setId(1L);
+        
+        assertUsesIndex("LEAD_ID", () -> activityRepository.findByLeadOrderByCreatedAtDesc(lead));
+        assertUsesIndex("LEAD_ID", () -> activityRepository.aggregateActivityStatsByLead(1L, now));
+        assertUsesIndex("CREATED_AT", () -> activityRepository.findByCreatedAtBetween(now.minusDays(1), now));
+        assertUsesIndex("SCHEDULED_DATE", () -> activityRepository.findOverdueActivities(now));
+        assertUsesIndex("SCHEDULED_DATE", () -> activityRepository.findActivitiesScheduledBetween(now, now.plusDays(1)));
+        assertUsesIndex("ACTIVITY_TYPE", () -> activityRepository.findByActivityType(ActivityType.CALL));
+    }
+    
+    @Test
+    void testEvaluationRunFindersUseIndexes() {
+        assertUsesIndex("CREATED_AT", () -> evaluationRunRepository.findHistoryEntries(now, Long.MAX_VALUE,
+                PageRequest.of(0, 10)));
+        assertUsesIndex("CREATED_AT", () -> evaluationRunRepository.deleteRunsUpTo(now.minusDays(30), 1L));
+    }
+    
+    /**
+     * Assert that the plan for the finder's SQL looks rows up through an index
+     * condition on the given column. Which of several usable indexes H2 picks
+     * is left to its planner.
+     */
+    private void assertUsesIndex(String column, Runnable finder) {
+        SqlCapture.STATEMENTS.clear();
+        finder.run();
+        assertFalse(SqlCapture.STATEMENTS.isEmpty(), "finder issued no SQL");
+        String sql = SqlCapture.STATEMENTS.get(SqlCapture.STATEMENTS.size() - 1);
+        
+        String plan = explain(sql);
+        Matcher indexCondition = INDEX_CONDITION.matcher(plan);
+        boolean found = false;
+        while (indexCondition.find()) {
+            found |= indexCondition.group(1).contains(column);
+        }
+        assertTrue(found, "expected an index lookup on " + column + " in plan:\n" + plan);
+    }
+    
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet result = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (result.next()) {
+                        plan.append(result.getString(1));
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Records the SQL Hibernate prepares so it can be explained
+     */
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+        
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.xai.sdr.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xai.sdr.config.EvaluationHistoryConfig;
+import com.xai.sdr.config.PaginationConfig;
+import com.xai.sdr.dto.EvaluationHistoryEntry;
+import com.xai.sdr.dto.PageResponse;
+import com.xai.sdr.model.EvaluationRun;
+import com.xai.sdr.repository.EvaluationRunRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for EvaluationHistoryStore.
+ * 
+ * Covers ring buffer paging, falling back to the table past the ring,
+ * and incrementally maintained counts.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EvaluationHistoryStoreTest {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    
+    @Mock
+    private EvaluationRunRepository runRepository;
+    
+    private EvaluationHistoryStore historyStore;
+    
+    @BeforeEach
+    void setUp() {
+        AtomicLong ids = new AtomicLong();
+        when(runRepository.save(any(EvaluationRun.class))).thenAnswer(invocation -> {
+            EvaluationRun run = invocation.getArgument(0);
+            run.setId(ids.incrementAndGet());
+            run.setCreatedAt(START.plusMinutes(run.getId()));
+            return run;
+        });
+        when(runRepository.findHistoryEntries(any(), any(), any())).thenReturn(List.of(
+                new EvaluationHistoryEntry(2L, "messaging", START.plusMinutes(2), "{}"),
+                new EvaluationHistoryEntry(1L, "qualification", START.plusMinutes(1), "{}")));
+        
+        EvaluationHistoryConfig historyConfig = new EvaluationHistoryConfig();
+        historyConfig.setCapacity(3);
+        historyStore = new EvaluationHistoryStore(runRepository, historyConfig, new PaginationConfig(),
+                new ObjectMapper());
+        for (String type : List.of("qualification", "messaging", "qualification", "messaging", "comprehensive")) {
+            historyStore.record(type, Map.of("totalTests", 1));
+        }
+    }
+    
+    @Test
+    void testRecentPagesComeFromRingAndOlderPagesFromTable() {
+        PageResponse<EvaluationHistoryEntry> first = historyStore.getHistory(null, 2);
+        
+        assertEquals(List.of(5L, 4L), first.getItems().stream().map(EvaluationHistoryEntry::getId).toList());
+        assertEquals("{\"totalTests\":1}", first.getItems().get(0).getResults());
+        assertTrue(first.isHasMore());
+        verify(runRepository, never()).findHistoryEntries(any(), any(), any());
+        
+        PageResponse<EvaluationHistoryEntry> second = historyStore.getHistory(first.getNextCursor(), 2);
+        
+        assertEquals(List.of(2L, 1L), second.getItems().stream().map(EvaluationHistoryEntry::getId).toList());
+        verify(runRepository, times(1)).findHistoryEntries(START.plusMinutes(4), 4L,
+                PageRequest.of(0, 3));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStatsAreMaintainedAsRunsAreRecorded() {
+        Map<String, Object> stats = historyStore.getStats();
+        
+        assertEquals(5L, stats.get("totalEvaluations"));
+        assertEquals(START.plusMinutes(5), stats.get("lastEvaluation"));
+        Map<String, Long> byType = (Map<String, Long>) stats.get("evaluationsByType");
+        assertEquals(2L, byType.get("qualification"));
+        assertEquals(2L, byType.get("messaging"));
+        assertEquals(1L, byType.get("comprehensive"));
+        verify(runRepository, never()).countRunsGroupedByType();
+    }
+}
@@ -0,0 +1,101 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.EvaluationRunnerConfig;
+import com.xai.sdr.model.Lead;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EvaluationRunner.
+ * 
+ * Covers dataset expansion, bounded concurrency, failure accounting and
+ * score statistics across repeats.
+ */
+class EvaluationRunnerTest {
+    
+    private final EvaluationRunnerConfig runnerConfig = new EvaluationRunnerConfig();
+    private final EvaluationRunner evaluationRunner = new EvaluationRunner(runnerConfig);
+    
+    @Test
+    void testExpandsLeadsByVariantsAndRepeats() {
+        List<EvaluationRunner.EvaluationCase> cases = evaluationRunner.expand(
+                List.of(lead(1L), lead(2L)), List.of("a", "b", "c"), 2);
+        
+        assertEquals(12, cases.size());
+        assertEquals("a", cases.get(0).getVariant());
+        assertEquals(2, cases.get(1).getRepeat());
+    }
+    
+    @Test
+    void testRejectsDatasetsLargerThanMaxCases() {
+        runnerConfig.setMaxCases(5);
+        
+        assertThrows(IllegalArgumentException.class,
+                () -> evaluationRunner.expand(List.of(lead(1L), lead(2L)), List.of("a", "b", "c"), 1));
+    }
+    
+    @Test
+    void testRunsWithBoundedConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<EvaluationRunner.EvaluationCase> cases = evaluationRunner.expand(
+                List.of(lead(1L), lead(2L), lead(3L), lead(4L)), List.of("a", "b"), 2);
+        
+        Map<String, Object> summary = evaluationRunner.run("test", cases, 3, null, evaluationCase ->
+                Mono.delay(Duration.ofMillis(5))
+                        .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .doOnTerminate(inFlight::decrementAndGet)
+                        .thenReturn(new EvaluationRunner.Outcome(70, null, Map.of())));
+        
+        assertEquals(16, summary.get("totalTests"));
+        assertEquals(3, summary.get("concurrency"));
+        assertTrue(maxInFlight.get() <= 3);
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSummarizesFailuresScoresAndRepeatVariance() {
+        List<EvaluationRunner.EvaluationCase> cases = evaluationRunner.expand(List.of(lead(1L), lead(2L)), null, 2);
+        AtomicInteger calls = new AtomicInteger();
+        
+        Map<String, Object> summary = evaluationRunner.run("test", cases, 1, null, evaluationCase -> {
+            int call = calls.incrementAndGet();
+            if (call == 4) {
+                return Mono.error(new GrokUnavailableException("circuit open"));
+            }
+            // Lead 1 scores 60 then 80, lead 2 scores 90
+            int score = evaluationCase.getLead().getId() == 1L ? (call == 1 ? 60 : 80) : 90;
+            return Mono.just(new EvaluationRunner.Outcome(score, null, Map.of("score", score)));
+        });
+        
+        assertEquals(4, summary.get("totalTests"));
+        assertEquals(3, summary.get("successfulTests"));
+        assertEquals(0.75, (Double) summary.get("successRate"), 1e-9);
+        assertEquals(230.0 / 3, (Double) summary.get("averageScore"), 1e-9);
+        assertEquals(100.0, (Double) summary.get("repeatScoreVariance"), 1e-9);
+        
+        Map<String, Long> distribution = (Map<String, Long>) summary.get("scoreDistribution");
+        assertEquals(1L, distribution.get("60-79"));
+        assertEquals(2L, distribution.get("80-100"));
+        
+        List<Map<String, Object>> testResults = (List<Map<String, Object>>) summary.get("testResults");
+        assertEquals(false, testResults.get(3).get("success"));
+        assertEquals("circuit open", testResults.get(3).get("error"));
+    }
+    
+    private static Lead lead(Long id) {
+        Lead lead = new Lead();
+        lead.setId(id);
+        lead.setFirstName("Lead");
+        lead.setLastName(String.valueOf(id));
+        lead.setCompanyName("Company " + id);
+        return lead;
+    }
+}
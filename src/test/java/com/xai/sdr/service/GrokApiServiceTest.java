@@ -1,13 +1,19 @@
 package com.xai.sdr.service;
 
 import com.xai.sdr.config.GrokApiConfig;
+import com.xai.sdr.config.GrokCacheConfig;
+import com.xai.sdr.config.GrokRateLimitConfig;
+import com.xai.sdr.config.GrokResilienceConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.Mockito.when;
 
 /**
@@ -16,12 +22,14 @@ import static org.mockito.Mockito.when;
  * Tests the service layer logic without making actual API calls.
  */
 @ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
 class GrokApiServiceTest {
     
     @Mock
     private GrokApiConfig grokConfig;
     
     private GrokApiService grokApiService;
+    private GrokResiliencePolicy resiliencePolicy;
     
     @BeforeEach
     void setUp() {
@@ -30,8 +38,12 @@ class GrokApiServiceTest {
         when(grokConfig.getTemperature()).thenReturn(0.7);
         when(grokConfig.getMaxTokens()).thenReturn(1000);
         when(grokConfig.getTimeout()).thenReturn(30000);
+        when(grokConfig.getConnection()).thenReturn(new GrokApiConfig.Connection());
         
-        grokApiService = new GrokApiService(grokConfig);
+        GrokResilienceConfig resilienceConfig = new GrokResilienceConfig();
+        resiliencePolicy = new GrokResiliencePolicy(resilienceConfig, new GrokCircuitBreaker(resilienceConfig));
+        
+        grokApiService = new GrokApiService(grokConfig, new GrokResponseCache(new GrokCacheConfig()), new GrokRequestCoalescer(), new GrokRateLimiter(new GrokRateLimitConfig()), resiliencePolicy);
     }
     
     @Test
@@ -43,7 +55,24 @@ class GrokApiServiceTest {
     void testConfigurationInjection() {
         // Test that config values are properly injected
         assertDoesNotThrow(() -> {
-            new GrokApiService(grokConfig);
+            new GrokApiService(grokConfig, new GrokResponseCache(new GrokCacheConfig()), new GrokRequestCoalescer(), new GrokRateLimiter(new GrokRateLimitConfig()), resiliencePolicy);
         });
     }
+    
+    @Test
+    void testAsyncCompletionReportsMissingApiKeyAsMessage() {
+        assumeTrue(System.getenv("XAI_API_KEY") == null);
+        
+        String response = grokApiService.sendChatCompletionAsync("Respond with: OK").block();
+        assertEquals("Service temporarily unavailable. Please try again in a moment.", response);
+    }
+    
+    @Test
+    void testStrictCompletionPropagatesMissingApiKey() {
+        assumeTrue(System.getenv("XAI_API_KEY") == null);
+        
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> grokApiService.sendChatCompletionStrictAsync("Respond with: OK", 0.3, 100).block());
+        assertTrue(error.getMessage().contains("XAI_API_KEY"));
+    }
 }
@@ -0,0 +1,124 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.GrokResilienceConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GrokCircuitBreaker.
+ * 
+ * Tests opening on failure rate, fast rejection, recovery through trial calls
+ * and that calls admitted before a state change do not count as trials.
+ */
+class GrokCircuitBreakerTest {
+    
+    private GrokResilienceConfig resilienceConfig;
+    
+    @BeforeEach
+    void setUp() {
+        resilienceConfig = new GrokResilienceConfig();
+        resilienceConfig.getCircuitBreaker().setSlidingWindowSize(10);
+        resilienceConfig.getCircuitBreaker().setMinimumCalls(4);
+        resilienceConfig.getCircuitBreaker().setFailureRateThreshold(0.5);
+        resilienceConfig.getCircuitBreaker().setHalfOpenCalls(2);
+    }
+    
+    @Test
+    void testOpensWhenFailureRateReachesThreshold() {
+        GrokCircuitBreaker circuitBreaker = new GrokCircuitBreaker(resilienceConfig);
+        
+        recordCall(circuitBreaker, true);
+        recordCall(circuitBreaker, true);
+        recordCall(circuitBreaker, false);
+        assertEquals(GrokCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        
+        recordCall(circuitBreaker, false);
+        assertEquals(GrokCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission().isEmpty());
+    }
+    
+    @Test
+    void testClosesAfterSuccessfulTrialCalls() {
+        resilienceConfig.getCircuitBreaker().setOpenDurationMs(0);
+        GrokCircuitBreaker circuitBreaker = new GrokCircuitBreaker(resilienceConfig);
+        for (int i = 0; i < 4; i++) {
+            recordCall(circuitBreaker, false);
+        }
+        
+        // Open period has elapsed: only the configured number of trial calls get through
+        GrokCircuitBreaker.Permit first = acquire(circuitBreaker);
+        GrokCircuitBreaker.Permit second = acquire(circuitBreaker);
+        assertEquals(GrokCircuitBreaker.State.HALF_OPEN, first.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission().isEmpty());
+        assertEquals(GrokCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        
+        circuitBreaker.onSuccess(first);
+        circuitBreaker.onSuccess(second);
+        assertEquals(GrokCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+    
+    @Test
+    void testStragglersFromBeforeOpeningDoNotCountAsTrials() {
+        resilienceConfig.getCircuitBreaker().setOpenDurationMs(0);
+        GrokCircuitBreaker circuitBreaker = new GrokCircuitBreaker(resilienceConfig);
+        GrokCircuitBreaker.Permit slowSuccess = acquire(circuitBreaker);
+        GrokCircuitBreaker.Permit slowFailure = acquire(circuitBreaker);
+        GrokCircuitBreaker.Permit slowIgnored = acquire(circuitBreaker);
+        for (int i = 0; i < 4; i++) {
+            recordCall(circuitBreaker, false);
+        }
+        GrokCircuitBreaker.Permit trial = acquire(circuitBreaker);
+        assertEquals(GrokCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        
+        // Calls admitted while closed finish during the trial period
+        circuitBreaker.onSuccess(slowSuccess);
+        circuitBreaker.onFailure(slowFailure);
+        circuitBreaker.onIgnored(slowIgnored);
+        assertEquals(GrokCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        
+        // They neither freed nor filled trial slots: one more trial fits, then none
+        GrokCircuitBreaker.Permit secondTrial = acquire(circuitBreaker);
+        assertTrue(circuitBreaker.tryAcquirePermission().isEmpty());
+        
+        circuitBreaker.onSuccess(trial);
+        assertEquals(GrokCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onSuccess(secondTrial);
+        assertEquals(GrokCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+    
+    @Test
+    void testTrialsFinishingAfterReopeningAreIgnored() {
+        resilienceConfig.getCircuitBreaker().setOpenDurationMs(0);
+        GrokCircuitBreaker circuitBreaker = new GrokCircuitBreaker(resilienceConfig);
+        for (int i = 0; i < 4; i++) {
+            recordCall(circuitBreaker, false);
+        }
+        GrokCircuitBreaker.Permit failedTrial = acquire(circuitBreaker);
+        GrokCircuitBreaker.Permit lateTrial = acquire(circuitBreaker);
+        
+        circuitBreaker.onFailure(failedTrial);
+        assertEquals(GrokCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        
+        // The open period has elapsed again; the old trial must not count in the new one
+        GrokCircuitBreaker.Permit newTrial = acquire(circuitBreaker);
+        circuitBreaker.onSuccess(lateTrial);
+        circuitBreaker.onSuccess(newTrial);
+        assertEquals(GrokCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+    
+    private static GrokCircuitBreaker.Permit acquire(GrokCircuitBreaker circuitBreaker) {
+        return circuitBreaker.tryAcquirePermission()
+                .orElseThrow(() -> new AssertionError("call was rejected"));
+    }
+    
+    private static void recordCall(GrokCircuitBreaker circuitBreaker, boolean success) {
+        GrokCircuitBreaker.Permit permit = acquire(circuitBreaker);
+        if (success) {
+            circuitBreaker.onSuccess(permit);
+        } else {
+            circuitBreaker.onFailure(permit);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.GrokRateLimitConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GrokRateLimiter.
+ * 
+ * Tests admission, fast rejection, queue timeouts and priority ordering of queued calls.
+ */
+class GrokRateLimiterTest {
+    
+    private GrokRateLimitConfig rateLimitConfig;
+    
+    @BeforeEach
+    void setUp() {
+        rateLimitConfig = new GrokRateLimitConfig();
+        rateLimitConfig.setTokensPerMinute(1000);
+    }
+    
+    @Test
+    void testCallIsRejectedWhenLaneDoesNotQueue() {
+        rateLimitConfig.setRequestsPerMinute(1);
+        rateLimitConfig.setInteractiveMaxWaitMs(0);
+        GrokRateLimiter rateLimiter = new GrokRateLimiter(rateLimitConfig);
+        
+        assertDoesNotThrow(() -> rateLimiter.acquire(GrokRateLimiter.Priority.INTERACTIVE, 10).block());
+        assertThrows(GrokRateLimitException.class,
+                () -> rateLimiter.acquire(GrokRateLimiter.Priority.INTERACTIVE, 10).block());
+    }
+    
+    @Test
+    void testQueuedCallTimesOutAndLeavesTheQueue() {
+        rateLimitConfig.setRequestsPerMinute(1);
+        rateLimitConfig.setBatchMaxWaitMs(50);
+        GrokRateLimiter rateLimiter = new GrokRateLimiter(rateLimitConfig);
+        
+        rateLimiter.acquire(GrokRateLimiter.Priority.BATCH, 10).block();
+        GrokRateLimitException error = assertThrows(GrokRateLimitException.class,
+                () -> rateLimiter.acquire(GrokRateLimiter.Priority.BATCH, 10).block());
+        
+        assertTrue(error.getMessage().startsWith("Timed out"));
+        assertEquals(0, rateLimiter.getStats().get("waiting"));
+    }
+    
+    @Test
+    void testInteractiveCallsOvertakeQueuedBatchCalls() {
+        // 60 requests per minute refills one request per second
+        rateLimitConfig.setRequestsPerMinute(60);
+        GrokRateLimiter rateLimiter = new GrokRateLimiter(rateLimitConfig);
+        for (int i = 0; i < 60; i++) {
+            rateLimiter.acquire(GrokRateLimiter.Priority.BATCH, 0).block();
+        }
+        
+        List<String> order = new ArrayList<>();
+        Disposable batch = rateLimiter.acquire(GrokRateLimiter.Priority.BATCH, 0)
+                .doOnSuccess(v -> add(order, "batch"))
+                .subscribe();
+        rateLimiter.acquire(GrokRateLimiter.Priority.INTERACTIVE, 0)
+                .doOnSuccess(v -> add(order, "interactive"))
+                .block();
+        batch.dispose();
+        
+        synchronized (order) {
+            assertEquals(List.of("interactive"), order);
+        }
+    }
+    
+    private static void add(List<String> order, String lane) {
+        synchronized (order) {
+            order.add(lane);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.dto.GrokResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GrokRequestCoalescer.
+ * 
+ * Tests that concurrent identical calls share a single upstream call within
+ * a rate-limit lane, and that cancelled or failed calls do not leave entries
+ * behind.
+ */
+class GrokRequestCoalescerTest {
+    
+    private final GrokRequestCoalescer coalescer = new GrokRequestCoalescer();
+    
+    @Test
+    void testConcurrentIdenticalCallsShareUpstream() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        Sinks.One<GrokResponse> upstream = Sinks.one();
+        
+        Mono<GrokResponse> first = coalescer.execute("same", () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream.asMono();
+        });
+        Mono<GrokResponse> second = coalescer.execute("same", () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream.asMono();
+        });
+        
+        GrokResponse[] results = new GrokResponse[2];
+        first.subscribe(response -> results[0] = response);
+        second.subscribe(response -> results[1] = response);
+        
+        GrokResponse response = new GrokResponse();
+        upstream.tryEmitValue(response);
+        
+        assertEquals(1, upstreamCalls.get());
+        assertSame(response, results[0]);
+        assertSame(response, results[1]);
+        assertEquals(1L, coalescer.getStats().get("coalescedCalls"));
+        assertEquals(0, coalescer.getStats().get("inFlight"));
+    }
+    
+    @Test
+    void testInteractiveCallDoesNotJoinBatchCall() {
+        List<GrokRateLimiter.Priority> upstreamLanes = new CopyOnWriteArrayList<>();
+        Sinks.One<GrokResponse> batchUpstream = Sinks.one();
+        
+        Disposable batch = coalescer.execute("same", () -> Mono.deferContextual(context -> {
+                    upstreamLanes.add(context.get(GrokRateLimiter.PRIORITY_CONTEXT_KEY));
+                    return batchUpstream.asMono();
+                }))
+                .contextWrite(Context.of(GrokRateLimiter.PRIORITY_CONTEXT_KEY, GrokRateLimiter.Priority.BATCH))
+                .subscribe();
+        
+        // No lane in the context means interactive, as in the rate limiter
+        GrokResponse response = new GrokResponse();
+        GrokResponse result = coalescer.execute("same", () -> Mono.deferContextual(context -> {
+            upstreamLanes.add(context.getOrDefault(GrokRateLimiter.PRIORITY_CONTEXT_KEY, GrokRateLimiter.Priority.INTERACTIVE));
+            return Mono.just(response);
+        })).block();
+        
+        assertSame(response, result);
+        assertEquals(List.of(GrokRateLimiter.Priority.BATCH, GrokRateLimiter.Priority.INTERACTIVE), upstreamLanes);
+        assertEquals(0L, coalescer.getStats().get("coalescedCalls"));
+        assertEquals(1, coalescer.getStats().get("inFlight"));
+        batch.dispose();
+    }
+    
+    @Test
+    void testCallsAfterCompletionGoUpstreamAgain() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        
+        for (int i = 0; i < 2; i++) {
+            coalescer.execute("same", () -> {
+                upstreamCalls.incrementAndGet();
+                return Mono.just(new GrokResponse());
+            }).block();
+        }
+        
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0L, coalescer.getStats().get("coalescedCalls"));
+    }
+    
+    @Test
+    void testCancellingEveryCallerCancelsUpstream() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Sinks.One<GrokResponse> upstream = Sinks.one();
+        
+        Disposable first = coalescer.execute("same", () -> upstream.asMono().doOnCancel(() -> cancelled.set(true)))
+                .subscribe();
+        Disposable second = coalescer.execute("same", () -> upstream.asMono()).subscribe();
+        
+        first.dispose();
+        assertFalse(cancelled.get());
+        second.dispose();
+        assertTrue(cancelled.get());
+        assertEquals(0, coalescer.getStats().get("inFlight"));
+    }
+    
+    @Test
+    void testFailingSupplierDoesNotBlockLaterCalls() {
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("same", () -> {
+            throw new IllegalStateException("no request");
+        }).block());
+        
+        assertEquals(0, coalescer.getStats().get("inFlight"));
+        assertNotNull(coalescer.execute("same", () -> Mono.just(new GrokResponse())).block());
+    }
+}
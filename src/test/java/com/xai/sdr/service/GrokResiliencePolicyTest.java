@@ -0,0 +1,186 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.GrokResilienceConfig;
+import com.xai.sdr.dto.GrokResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GrokResiliencePolicy.
+ * 
+ * Tests retries with backoff, Retry-After handling, the retry time budget
+ * and hedging of slow interactive calls. Backoff is configured in
+ * milliseconds so the tests run in real time.
+ */
+class GrokResiliencePolicyTest {
+    
+    private GrokResilienceConfig resilienceConfig;
+    
+    @BeforeEach
+    void setUp() {
+        resilienceConfig = new GrokResilienceConfig();
+        resilienceConfig.getRetry().setMaxAttempts(3);
+        resilienceConfig.getRetry().setInitialBackoffMs(1);
+        resilienceConfig.getRetry().setMaxBackoffMs(5);
+    }
+    
+    @Test
+    void testRetriesServerErrorsWithBackoffUntilSuccess() {
+        GrokResiliencePolicy policy = policy();
+        AtomicInteger attempts = new AtomicInteger();
+        GrokResponse response = new GrokResponse();
+        
+        GrokResponse result = policy.execute(() -> attempts.incrementAndGet() < 3
+                ? Mono.error(httpError(503, null))
+                : Mono.just(response)).block();
+        
+        assertSame(response, result);
+        assertEquals(3, attempts.get());
+        assertEquals(2L, policy.getStats().get("retries"));
+        assertEquals(0L, policy.getStats().get("exhaustedCalls"));
+    }
+    
+    @Test
+    void testExhaustedRetriesEndAsUnavailable() {
+        GrokResiliencePolicy policy = policy();
+        AtomicInteger attempts = new AtomicInteger();
+        
+        GrokUnavailableException error = assertThrows(GrokUnavailableException.class,
+                () -> policy.execute(failing(attempts, httpError(500, null))).block());
+        
+        assertEquals(3, attempts.get());
+        assertTrue(error.getCause() instanceof WebClientResponseException);
+        assertEquals(1L, policy.getStats().get("exhaustedCalls"));
+    }
+    
+    @Test
+    void testClientErrorsAreNotRetried() {
+        GrokResiliencePolicy policy = policy();
+        AtomicInteger attempts = new AtomicInteger();
+        
+        WebClientResponseException error = assertThrows(WebClientResponseException.class,
+                () -> policy.execute(failing(attempts, httpError(401, null))).block());
+        
+        assertEquals(401, error.getStatusCode().value());
+        assertEquals(1, attempts.get());
+        assertEquals(0L, policy.getStats().get("retries"));
+    }
+    
+    @Test
+    void testRetryAfterIsHonored() {
+        GrokResiliencePolicy policy = policy();
+        AtomicInteger attempts = new AtomicInteger();
+        
+        long start = System.nanoTime();
+        policy.execute(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(httpError(429, "1"))
+                : Mono.just(new GrokResponse())).block();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        
+        assertEquals(2, attempts.get());
+        assertTrue(elapsedMs >= 900, "retried after " + elapsedMs + " ms");
+    }
+    
+    @Test
+    void testRetryAfterAboveLimitEndsRetries() {
+        resilienceConfig.getRetry().setMaxRetryAfterMs(20000);
+        GrokResiliencePolicy policy = policy();
+        AtomicInteger attempts = new AtomicInteger();
+        
+        assertThrows(GrokUnavailableException.class,
+                () -> policy.execute(failing(attempts, httpError(429, "30"))).block());
+        
+        assertEquals(1, attempts.get());
+    }
+    
+    @Test
+    void testRetryBudgetEndsRetries() {
+        resilienceConfig.getRetry().setBudgetMs(100);
+        GrokResiliencePolicy policy = policy();
+        AtomicInteger attempts = new AtomicInteger();
+        
+        long start = System.nanoTime();
+        assertThrows(GrokUnavailableException.class,
+                () -> policy.execute(failing(attempts, httpError(429, "1"))).block());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        
+        // A one second Retry-After does not fit in the 100 ms budget
+        assertEquals(1, attempts.get());
+        assertTrue(elapsedMs < 900, "gave up after " + elapsedMs + " ms");
+    }
+    
+    @Test
+    void testSlowInteractiveCallIsHedged() {
+        enableHedging();
+        GrokResiliencePolicy policy = policy();
+        policy.execute(() -> Mono.just(new GrokResponse())).block();
+        
+        AtomicInteger attempts = new AtomicInteger();
+        GrokResponse slow = new GrokResponse();
+        GrokResponse fast = new GrokResponse();
+        GrokResponse result = policy.execute(() -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(2)).thenReturn(slow)
+                : Mono.just(fast)).block();
+        
+        assertSame(fast, result);
+        assertEquals(2, attempts.get());
+        assertEquals(1L, policy.getStats().get("hedgesStarted"));
+        assertEquals(1L, policy.getStats().get("hedgesWon"));
+    }
+    
+    @Test
+    void testFastAndBatchCallsAreNotHedged() {
+        enableHedging();
+        GrokResiliencePolicy policy = policy();
+        policy.execute(() -> Mono.just(new GrokResponse())).block();
+        
+        AtomicInteger attempts = new AtomicInteger();
+        policy.execute(() -> {
+            attempts.incrementAndGet();
+            return Mono.just(new GrokResponse());
+        }).block();
+        policy.execute(() -> {
+            attempts.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(200)).thenReturn(new GrokResponse());
+        }).contextWrite(Context.of(GrokRateLimiter.PRIORITY_CONTEXT_KEY, GrokRateLimiter.Priority.BATCH)).block();
+        
+        assertEquals(2, attempts.get());
+        assertEquals(0L, policy.getStats().get("hedgesStarted"));
+    }
+    
+    private GrokResiliencePolicy policy() {
+        return new GrokResiliencePolicy(resilienceConfig, new GrokCircuitBreaker(resilienceConfig));
+    }
+    
+    private void enableHedging() {
+        resilienceConfig.getHedging().setEnabled(true);
+        resilienceConfig.getHedging().setMinSamples(1);
+        resilienceConfig.getHedging().setMinDelayMs(50);
+    }
+    
+    private static Supplier<Mono<GrokResponse>> failing(AtomicInteger attempts, Throwable error) {
+        return () -> {
+            attempts.incrementAndGet();
+            return Mono.error(error);
+        };
+    }
+    
+    private static WebClientResponseException httpError(int status, String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return WebClientResponseException.create(status, "status " + status, headers, new byte[0], StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.GrokCacheConfig;
+import com.xai.sdr.dto.GrokRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GrokResponseCache.
+ * 
+ * Tests key derivation, eviction and persistence of cached completions.
+ */
+class GrokResponseCacheTest {
+    
+    private GrokCacheConfig cacheConfig;
+    private GrokResponseCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new GrokCacheConfig();
+        cacheConfig.setMaxEntries(2);
+        cacheConfig.setMaxTemperature(0.3);
+        cache = new GrokResponseCache(cacheConfig);
+    }
+    
+    @Test
+    void testIdenticalRequestsShareKey() {
+        assertEquals(cache.keyFor(request("Qualify this lead", 0.3)), cache.keyFor(request("Qualify this lead", 0.3)));
+        assertNotEquals(cache.keyFor(request("Qualify this lead", 0.3)), cache.keyFor(request("Qualify that lead", 0.3)));
+    }
+    
+    @Test
+    void testHighTemperatureRequestsAreNotCached() {
+        assertNull(cache.keyFor(request("Write an email", 0.7)));
+    }
+    
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        cache.put("a", "first");
+        cache.put("b", "second");
+        cache.get("a");
+        cache.put("c", "third");
+        
+        assertEquals(Optional.of("first"), cache.get("a"));
+        assertEquals(Optional.empty(), cache.get("b"));
+        assertEquals(1L, cache.getStats().get("evictions"));
+    }
+    
+    @Test
+    void testExpiredEntryIsMiss() {
+        cacheConfig.setTtlSeconds(0);
+        cache.put("a", "first");
+        
+        assertEquals(Optional.empty(), cache.get("a"));
+        assertEquals(1L, cache.getStats().get("expirations"));
+    }
+    
+    @Test
+    void testEntriesSurviveRestartWhenPersisted(@TempDir Path tempDir) {
+        cacheConfig.setPersistFile(tempDir.resolve("grok-cache.json").toString());
+        cache.put("a", "first");
+        cache.persist();
+        
+        GrokResponseCache restarted = new GrokResponseCache(cacheConfig);
+        restarted.load();
+        
+        assertEquals(Optional.of("first"), restarted.get("a"));
+    }
+    
+    private GrokRequest request(String content, double temperature) {
+        return GrokRequest.builder()
+                .messages(Collections.singletonList(new GrokRequest.GrokMessage("user", content)))
+                .model("grok-4")
+                .temperature(temperature)
+                .maxTokens(1000)
+                .stream(false)
+                .build();
+    }
+}
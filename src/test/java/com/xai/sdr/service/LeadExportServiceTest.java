@@ -0,0 +1,107 @@
+package com.xai.sdr.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.xai.sdr.dto.ActivitySummary;
+import com.xai.sdr.dto.LeadExportRow;
+import com.xai.sdr.model.ActivityType;
+import com.xai.sdr.model.PipelineStage;
+import com.xai.sdr.repository.ActivityRepository;
+import com.xai.sdr.repository.LeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LeadExportService.
+ * 
+ * Covers CSV and NDJSON rows and merging activity timelines into leads.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LeadExportServiceTest {
+    
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+    
+    @Mock
+    private LeadRepository leadRepository;
+    
+    @Mock
+    private ActivityRepository activityRepository;
+    
+    private LeadExportService exportService;
+    
+    @BeforeEach
+    void setUp() {
+        exportService = new LeadExportService(leadRepository, activityRepository,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        when(leadRepository.streamLeadExportRows(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(lead(1L, "Ada"), lead(2L, "Alan"), lead(4L, "Grace")));
+        // Activity 9 belongs to lead 3, which is not part of the export
+        when(activityRepository.streamActivityTimelines(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> Stream.of(activity(7L, 1L, "Intro, call"), activity(8L, 1L, "Demo"),
+                        activity(9L, 3L, "Orphan"), activity(10L, 4L, "Follow up")));
+    }
+    
+    @Test
+    void testCsvRepeatsLeadColumnsForEachActivity() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long count = exportService.export(null, null, null, null, null,
+                LeadExportService.Format.CSV, true, false, output);
+        
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, count);
+        assertEquals(5, lines.length);
+        assertTrue(lines[0].startsWith("id,firstName,lastName,email,phone,"));
+        assertTrue(lines[1].startsWith("1,Ada,Lovelace,ada@acme.com,,"));
+        assertTrue(lines[1].contains(",7,CALL,\"Intro, call\","));
+        assertTrue(lines[2].contains(",8,CALL,Demo,"));
+        assertTrue(lines[3].startsWith("2,Alan,") && lines[3].endsWith(",,,,,,,"));
+        assertTrue(lines[4].startsWith("4,Grace,") && lines[4].contains(",10,CALL,\"Follow up\","));
+        for (String line : lines) {
+            assertEquals(lines[0].split(",").length, line.replace("Intro, call", "x").split(",", -1).length);
+        }
+    }
+    
+    @Test
+    void testGzipNdjsonNestsTimelines() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.export(null, null, null, null, PipelineStage.NEW,
+                LeadExportService.Format.NDJSON, true, true, output);
+        
+        byte[] json = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray())).readAllBytes();
+        String[] lines = new String(json, StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals("Ada", first.get("firstName").asText());
+        assertEquals(2, first.get("activities").size());
+        assertEquals(0, new ObjectMapper().readTree(lines[1]).get("activities").size());
+        assertEquals(10, new ObjectMapper().readTree(lines[2]).get("activities").get(0).get("id").asLong());
+    }
+    
+    private static LeadExportRow lead(Long id, String firstName) {
+        String lastName = firstName.equals("Ada") ? "Lovelace" : "Smith";
+        return new LeadExportRow(id, firstName, lastName, firstName.toLowerCase() + "@acme.com", null, null, "Acme",
+                null, "Tech", null, null, null, 50, null, PipelineStage.NEW, null, null, null, CREATED, CREATED);
+    }
+    
+    private static ActivitySummary activity(Long id, Long leadId, String description) {
+        return new ActivitySummary(id, leadId, ActivityType.CALL, description, null, null, null, CREATED, null);
+    }
+}
@@ -0,0 +1,104 @@
+package com.xai.sdr.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xai.sdr.config.LeadImportConfig;
+import com.xai.sdr.dto.LeadImportResult;
+import com.xai.sdr.model.Lead;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LeadImportService.
+ * 
+ * Covers batching, duplicate detection and per-row error reporting.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LeadImportServiceTest {
+    
+    @Mock
+    private LeadService leadService;
+    
+    private LeadImportService importService;
+    
+    @BeforeEach
+    void setUp() {
+        LeadImportConfig importConfig = new LeadImportConfig();
+        importConfig.setBatchSize(2);
+        importService = new LeadImportService(leadService, importConfig,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper());
+        when(leadService.findExistingEmails(anyCollection())).thenReturn(Set.of());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCsvImportInsertsInBatchesAndReportsBadRows() throws Exception {
+        when(leadService.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@acme.com"), Set.of("ada@acme.com"));
+        String csv = "firstName,lastName,email,companyName,qualificationScore,unknownColumn\n"
+                + "Ada,Lovelace,ada@acme.com,Acme,90,x\n"
+                + "Alan,Turing,taken@acme.com,Acme,,x\n"
+                + "Grace,Hopper,grace@acme.com,,75,x\n"
+                + "Bad,Email,not-an-email,Acme,,x\n"
+                + "Ada,Again,ada@acme.com,Acme,,x\n"
+                + "Linus,Torvalds,linus@acme.com,Acme,high,x\n";
+        
+        LeadImportResult result = importService.importLeads(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), LeadImportService.Format.CSV);
+        
+        assertTrue(result.isCompleted());
+        assertEquals(6, result.getTotalRows());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(3L, 5L, 6L, 7L), result.getErrors().stream()
+                .map(LeadImportResult.RowError::getLine).sorted().toList());
+        
+        ArgumentCaptor<List<Lead>> batches = ArgumentCaptor.forClass(List.class);
+        verify(leadService, times(2)).importLeads(batches.capture());
+        assertEquals(List.of("ada@acme.com"), batches.getAllValues().get(0).stream().map(Lead::getEmail).toList());
+        assertEquals(90, batches.getAllValues().get(0).get(0).getQualificationScore());
+        assertEquals(List.of("grace@acme.com"), batches.getAllValues().get(1).stream().map(Lead::getEmail).toList());
+    }
+    
+    @Test
+    void testMalformedNdjsonStopsImportAfterPrecedingRows() throws Exception {
+        String ndjson = "{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\",\"email\":\"ada@acme.com\"}\n"
+                + "{\"firstName\":\"Alan\",,}\n"
+                + "{\"firstName\":\"Grace\",\"lastName\":\"Hopper\",\"email\":\"grace@acme.com\"}\n";
+        
+        LeadImportResult result = importService.importLeads(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), LeadImportService.Format.NDJSON);
+        
+        assertFalse(result.isCompleted());
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        verify(leadService, times(1)).importLeads(anyList());
+    }
+    
+    @Test
+    void testFormatResolvesFromParameterOrContentType() {
+        assertEquals(LeadImportService.Format.CSV, LeadImportService.Format.resolve(null, "text/csv; charset=UTF-8"));
+        assertEquals(LeadImportService.Format.NDJSON, LeadImportService.Format.resolve(null, "application/x-ndjson"));
+        assertEquals(LeadImportService.Format.NDJSON, LeadImportService.Format.resolve("ndjson", "text/csv"));
+        assertThrows(IllegalArgumentException.class, () -> LeadImportService.Format.resolve(null, "text/plain"));
+    }
+}
@@ -0,0 +1,182 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.GrokApiConfig;
+import com.xai.sdr.config.PromptTemplateConfig;
+import com.xai.sdr.model.Lead;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LeadQualificationService.
+ * 
+ * Covers packed multi-lead qualification without making actual API calls.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LeadQualificationServiceTest {
+    
+    @Mock
+    private GrokApiService grokApiService;
+    
+    @Mock
+    private GrokApiConfig grokConfig;
+    
+    private LeadQualificationService qualificationService;
+    
+    @BeforeEach
+    void setUp() {
+        when(grokConfig.getMaxTokens()).thenReturn(1000);
+        
+        qualificationService = new LeadQualificationService(grokApiService, grokConfig,
+                new PromptTemplateRegistry(new PromptTemplateConfig()));
+    }
+    
+    @Test
+    void testPackedResponseIsSplitPerLead() {
+        when(grokApiService.sendChatCompletionStrictAsync(anyString(), anyDouble(), anyInt())).thenReturn(Mono.just(
+                "=== LEAD 1 ===\n" +
+                "SCORE: 82\n" +
+                "REASONING: Senior buyer at a large company\n" +
+                "RECOMMENDATIONS: Book a discovery call\n" +
+                "\n" +
+                "=== LEAD 2 ===\n" +
+                "SCORE: 35\n" +
+                "REASONING: Small company outside target markets\n" +
+                "RECOMMENDATIONS: Add to nurture sequence\n"));
+        
+        List<LeadQualificationService.LeadQualificationResult> results =
+                qualificationService.qualifyLeadsPackedAsync(List.of(createLead(1L, "Ada"), createLead(2L, "Grace"))).block();
+        
+        assertNotNull(results);
+        assertEquals(2, results.size());
+        assertEquals(82, results.get(0).getScore());
+        assertEquals("Book a discovery call", results.get(0).getRecommendations());
+        assertEquals(35, results.get(1).getScore());
+        verify(grokApiService, times(1)).sendChatCompletionStrictAsync(anyString(), anyDouble(), anyInt());
+    }
+    
+    @Test
+    void testLeadMissingFromPackedResponseFallsBackToSingleCall() {
+        when(grokApiService.sendChatCompletionStrictAsync(anyString(), anyDouble(), anyInt())).thenReturn(Mono.just(
+                "SCORE: 55\n" +
+                "REASONING: Average fit\n" +
+                "RECOMMENDATIONS: Research further\n"));
+        when(grokApiService.sendChatCompletionStrictAsync(contains("=== LEAD 2 ==="), anyDouble(), anyInt())).thenReturn(Mono.just(
+                "=== LEAD 1 ===\n" +
+                "SCORE: 70\n" +
+                "REASONING: Good fit\n" +
+                "RECOMMENDATIONS: Follow up\n" +
+                "=== LEAD 2 ===\n" +
+                "REASONING: Response was cut off before the score\n"));
+        
+        List<LeadQualificationService.LeadQualificationResult> results =
+                qualificationService.qualifyLeadsPackedAsync(List.of(createLead(1L, "Ada"), createLead(2L, "Grace"))).block();
+        
+        assertNotNull(results);
+        assertEquals(70, results.get(0).getScore());
+        assertEquals(55, results.get(1).getScore());
+        assertEquals("Average fit", results.get(1).getReasoning());
+    }
+    
+    @Test
+    void testPackedQualificationFailsInsteadOfReturningPlaceholders() {
+        when(grokApiService.sendChatCompletionStrictAsync(contains("Ada"), anyDouble(), anyInt()))
+                .thenReturn(Mono.error(new IllegalStateException("401 Unauthorized")));
+        when(grokApiService.sendChatCompletionStrictAsync(contains("Grace"), anyDouble(), anyInt()))
+                .thenReturn(Mono.just("API Error: 400 Bad Request. Please check your API key and try again."));
+        
+        IllegalStateException upstream = assertThrows(IllegalStateException.class,
+                () -> qualificationService.qualifyLeadsPackedAsync(List.of(createLead(1L, "Ada"))).block());
+        assertEquals("401 Unauthorized", upstream.getMessage());
+        IllegalStateException unscored = assertThrows(IllegalStateException.class,
+                () -> qualificationService.qualifyLeadsPackedAsync(List.of(createLead(2L, "Grace"))).block());
+        assertTrue(unscored.getMessage().contains("No qualification score"));
+        
+        // Interactive qualification still answers with a neutral score
+        when(grokApiService.sendChatCompletionAsync(anyString(), anyDouble()))
+                .thenReturn(Mono.error(new IllegalStateException("401 Unauthorized")));
+        assertEquals(50, qualificationService.qualifyLead(createLead(1L, "Ada")).getScore());
+    }
+    
+    @Test
+    void testStructuredResponseIsReadAsJson() {
+        when(grokConfig.isStructuredOutput()).thenReturn(true);
+        when(grokApiService.sendJsonCompletionAsync(anyString(), anyDouble(), anyInt())).thenReturn(Mono.just(
+                "```json\n" +
+                "{\"score\": 87.6, \"reasoning\": \"Senior buyer\\nActive in the market\", " +
+                "\"signals\": {\"hiring\": [\"sales\", \"ops\"]}, \"recommendations\": \"Book a call\"}\n" +
+                "```"));
+        
+        LeadQualificationService.LeadQualificationResult result = qualificationService.qualifyLead(createLead(1L, "Ada"));
+        
+        assertEquals(88, result.getScore());
+        assertEquals("Senior buyer\nActive in the market", result.getReasoning());
+        assertEquals("Book a call", result.getRecommendations());
+        verify(grokApiService).sendJsonCompletionAsync(contains("single JSON object"), anyDouble(), anyInt());
+        verify(grokApiService, times(0)).sendChatCompletionAsync(anyString(), anyDouble());
+    }
+    
+    @Test
+    void testUnusableJsonFallsBackToLineFormatAndIsCounted() {
+        when(grokConfig.isStructuredOutput()).thenReturn(true);
+        when(grokApiService.sendJsonCompletionAsync(anyString(), anyDouble(), anyInt()))
+                .thenReturn(Mono.just("SCORE: 40\nREASONING: Small team\nRECOMMENDATIONS: Nurture\n"))
+                .thenReturn(Mono.just("{\"score\": \"unknown\"}"));
+        
+        assertEquals(40, qualificationService.qualifyLead(createLead(1L, "Ada")).getScore());
+        assertEquals(50, qualificationService.qualifyLead(createLead(2L, "Grace")).getScore());
+        
+        Map<?, ?> stats = (Map<?, ?>) qualificationService.getParseStats().get("qualification-json-1");
+        assertEquals(2L, stats.get("responses"));
+        assertEquals(2L, stats.get("jsonFallbacks"));
+        assertEquals(1L, stats.get("parseFailures"));
+    }
+    
+    @Test
+    void testLeadMissingFromStructuredPackedResponseFallsBackToSingleCall() {
+        when(grokConfig.isStructuredOutput()).thenReturn(true);
+        when(grokApiService.sendJsonCompletionStrictAsync(anyString(), anyDouble(), anyInt())).thenReturn(Mono.just(
+                "{\"score\": 55, \"reasoning\": \"Average fit\", \"recommendations\": \"Research further\"}"));
+        when(grokApiService.sendJsonCompletionStrictAsync(contains("=== LEAD 2 ==="), anyDouble(), anyInt())).thenReturn(Mono.just(
+                "{\"leads\": [{\"lead\": 1, \"score\": 70, \"reasoning\": \"Good fit\", \"recommendations\": \"Follow up\"}, " +
+                "{\"lead\": 2, \"reasoning\": \"Cut off before the score\"}]}"));
+        
+        List<LeadQualificationService.LeadQualificationResult> results =
+                qualificationService.qualifyLeadsPackedAsync(List.of(createLead(1L, "Ada"), createLead(2L, "Grace"))).block();
+        
+        assertNotNull(results);
+        assertEquals(70, results.get(0).getScore());
+        assertEquals(55, results.get(1).getScore());
+        Map<?, ?> packedStats = (Map<?, ?>) qualificationService.getParseStats().get("qualification-packed-json-1");
+        assertEquals(0L, packedStats.get("jsonFallbacks"));
+        assertEquals(1L, packedStats.get("parseFailures"));
+    }
+    
+    private Lead createLead(Long id, String firstName) {
+        Lead lead = new Lead();
+        lead.setId(id);
+        lead.setFirstName(firstName);
+        lead.setLastName("Tester");
+        lead.setEmail(firstName.toLowerCase() + "@example.com");
+        lead.setCompanyName("Example Corp");
+        return lead;
+    }
+}
@@ -0,0 +1,65 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.dto.LeadSearchDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LeadSearchIndex.
+ * 
+ * Covers prefix, typo-tolerant and ranked matching, incremental updates
+ * and compaction.
+ */
+class LeadSearchIndexTest {
+    
+    private LeadSearchIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new LeadSearchIndex(50, 4, 200);
+        index.index(new LeadSearchDocument(1L, "Jane", "Smith", "Acme Robotics", "VP Engineering", "Manufacturing", null));
+        index.index(new LeadSearchDocument(2L, "John", "Doe", "Globex", "CTO", "Software", "Met Jane at the robotics expo"));
+        index.index(new LeadSearchDocument(3L, "Robert", "Jones", "Initech", "Engineer", "Software", null));
+    }
+    
+    @Test
+    void testPrefixTypoAndRankedMatches() {
+        assertEquals(List.of(1L, 2L), index.search("robotics", 10), "company match outranks notes match");
+        assertEquals(List.of(3L, 1L, 2L), index.search("rob", 10), "name prefix outranks company prefix");
+        assertEquals(List.of(1L), index.search("jane smtih", 10), "transposition is tolerated");
+        assertEquals(List.of(3L), index.search("Initeck", 10), "substitution is tolerated");
+        assertEquals(List.of(2L, 3L), index.search("software", 10).stream().sorted().toList());
+        assertTrue(index.search("software acme", 10).isEmpty(), "every term must match");
+    }
+    
+    @Test
+    void testUpdatesAndRemovalsAreVisible() {
+        index.index(new LeadSearchDocument(3L, "Robert", "Jones", "Hooli", "Engineer", "Software", null));
+        index.remove(2L);
+        
+        assertTrue(index.search("initech", 10).isEmpty());
+        assertEquals(List.of(3L), index.search("hooli", 10));
+        assertEquals(List.of(1L), index.search("jane", 10));
+        assertEquals(2, index.size());
+    }
+    
+    @Test
+    void testCompactionReclaimsOrdinalsOfUpdatedLeads() {
+        for (int i = 0; i < 5000; i++) {
+            index.index(new LeadSearchDocument(3L, "Robert", "Jones", "Company" + i, "Engineer", "Software", null));
+        }
+        
+        Map<String, Object> stats = index.getStats();
+        assertTrue((Integer) stats.get("ordinals") < 1100, "ordinals after compaction: " + stats.get("ordinals"));
+        assertEquals(3, index.size());
+        assertEquals(List.of(3L), index.search("company4999", 10));
+        assertTrue(index.search("company10", 10).isEmpty());
+        assertEquals(List.of(1L, 2L), index.search("robotics", 10));
+        assertEquals(List.of(3L, 1L, 2L), index.search("rob", 10));
+    }
+}
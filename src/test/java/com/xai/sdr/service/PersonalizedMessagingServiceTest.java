@@ -0,0 +1,94 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.PromptTemplateConfig;
+import com.xai.sdr.model.Lead;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PersonalizedMessagingService.
+ * 
+ * Checks that streamed messages get the same cleanup as non-streamed ones.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PersonalizedMessagingServiceTest {
+    
+    @Mock
+    private GrokApiService grokApiService;
+    
+    private PersonalizedMessagingService messagingService;
+    
+    @BeforeEach
+    void setUp() {
+        messagingService = new PersonalizedMessagingService(grokApiService,
+                new PromptTemplateRegistry(new PromptTemplateConfig()));
+    }
+    
+    @Test
+    void testStreamedEmailIsCleanedLikeGeneratedEmail() {
+        List<String> fragments = List.of("  Here", "'s a draft", " email:", "\n\nHi ", "Jane,", "\n\nThanks for ", "your time.", "\n  ");
+        when(grokApiService.streamChatCompletion(anyString(), anyDouble())).thenReturn(Flux.fromIterable(fragments));
+        
+        List<String> streamed = messagingService.streamEmailMessage(lead(), "initial outreach").collectList().block();
+        
+        assertEquals(messagingService.cleanAndFormatMessage(String.join("", fragments)), String.join("", streamed));
+        assertEquals("Hi Jane,\n\nThanks for your time.", String.join("", streamed));
+        assertTrue(streamed.size() > 1, "cleaned text is still streamed in fragments");
+    }
+    
+    @Test
+    void testStreamedLinkedInMessageKeepsTextWithoutPreamble() {
+        List<String> fragments = List.of("Here", " we go again, Jane. ", "Worth a chat?", " ");
+        when(grokApiService.streamChatCompletion(anyString(), anyDouble())).thenReturn(Flux.fromIterable(fragments));
+        
+        String streamed = String.join("", messagingService.streamLinkedInMessage(lead(), "introduction").collectList().block());
+        
+        assertEquals("Here we go again, Jane. Worth a chat?", streamed);
+    }
+    
+    @Test
+    void testPreambleWithoutColonIsKeptWhole() {
+        List<String> fragments = List.of("Here's ", "the thing, Jane.", "\n");
+        
+        String streamed = String.join("", messagingService.cleanStream(Flux.fromIterable(fragments)).collectList().block());
+        
+        assertEquals(messagingService.cleanAndFormatMessage(String.join("", fragments)), streamed);
+    }
+    
+    @Test
+    void testStrictEmailFailsInsteadOfUsingTheFallback() {
+        when(grokApiService.sendChatCompletionAsync(anyString(), anyDouble()))
+                .thenReturn(Mono.error(new IllegalStateException("401 Unauthorized")));
+        when(grokApiService.sendChatCompletionStrictAsync(anyString(), anyDouble()))
+                .thenReturn(Mono.error(new IllegalStateException("401 Unauthorized")));
+        
+        assertTrue(messagingService.generateEmailMessageAsync(lead(), "initial outreach").block().startsWith("Hi Jane,"));
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> messagingService.generateEmailMessageStrictAsync(lead(), "initial outreach").block());
+        assertEquals("401 Unauthorized", error.getMessage());
+    }
+    
+    private Lead lead() {
+        Lead lead = new Lead();
+        lead.setId(1L);
+        lead.setFirstName("Jane");
+        lead.setLastName("Doe");
+        lead.setCompanyName("Acme");
+        return lead;
+    }
+}
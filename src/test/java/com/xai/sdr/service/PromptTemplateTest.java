@@ -0,0 +1,104 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.PromptTemplateConfig;
+import com.xai.sdr.model.Lead;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PromptTemplate and PromptTemplateRegistry.
+ * 
+ * Covers template syntax, versioning, the bundled prompts and reloading from a directory.
+ */
+class PromptTemplateTest {
+    
+    @TempDir
+    Path templateDir;
+    
+    @Test
+    void testRendersValuesFallbacksAndSections() {
+        PromptTemplate template = PromptTemplate.compile("test",
+                "Name: {{name}}\nTitle: {{title|Not specified}}\n{{#notes}}\nNotes: {{notes}}\n{{/notes}}\nEnd\n");
+        
+        assertEquals("Name: Ada\nTitle: Not specified\nEnd",
+                template.render(PromptTemplate.Values.of("name", "Ada")));
+        assertEquals("Name: Ada\nTitle: CTO\nNotes: Met at a conference\nEnd",
+                template.render(PromptTemplate.Values.of("name", "Ada").with("title", "CTO")
+                        .with("notes", "Met at a conference")));
+    }
+    
+    @Test
+    void testRepeatsSectionForEachElement() {
+        PromptTemplate template = PromptTemplate.compile("test", "{{#items}}\n- {{key}}: {{value}} ({{suffix}})\n{{/items}}\n");
+        
+        String rendered = template.render(PromptTemplate.Values.of("suffix", "shared").with("items", List.of(
+                PromptTemplate.Values.of("key", "a").with("value", 1),
+                PromptTemplate.Values.of("key", "b").with("value", 2))));
+        
+        assertEquals("- a: 1 (shared)\n- b: 2 (shared)\n", rendered);
+    }
+    
+    @Test
+    void testVersionTagOrContentHash() {
+        assertEquals("email-7", PromptTemplate.compile("email", "{{!version email-7}}\nHello").getVersion());
+        assertEquals("Hello", PromptTemplate.compile("email", "{{!version email-7}}\nHello").render(name -> null));
+        
+        String unversioned = PromptTemplate.compile("email", "Hello").getVersion();
+        assertTrue(unversioned.startsWith("email-"));
+        assertNotEquals(unversioned, PromptTemplate.compile("email", "Hello there").getVersion());
+    }
+    
+    @Test
+    void testRejectsMalformedTemplates() {
+        IllegalArgumentException unclosed = assertThrows(IllegalArgumentException.class,
+                () -> PromptTemplate.compile("broken", "line one\n{{#notes}}\nNotes"));
+        assertTrue(unclosed.getMessage().contains("line 2"));
+        assertThrows(IllegalArgumentException.class, () -> PromptTemplate.compile("broken", "{{/notes}}"));
+        assertThrows(IllegalArgumentException.class, () -> PromptTemplate.compile("broken", "Name: {{name"));
+        assertThrows(IllegalArgumentException.class, () -> PromptTemplate.compile("broken", "{{#a}}{{/b}}"));
+    }
+    
+    @Test
+    void testBundledQualificationPrompt() {
+        PromptTemplateRegistry registry = new PromptTemplateRegistry(new PromptTemplateConfig());
+        Lead lead = new Lead();
+        lead.setFirstName("Ada");
+        lead.setLastName("Lovelace");
+        lead.setCompanyName("Acme");
+        lead.setNotes("  ");
+        
+        String prompt = registry.get(LeadQualificationService.QUALIFICATION_TEMPLATE)
+                .render(LeadPromptValues.of(lead));
+        
+        assertTrue(prompt.contains("Name: Ada Lovelace\nTitle: Not specified\nCompany: Acme\n"));
+        assertFalse(prompt.contains("Additional Notes"));
+        assertTrue(prompt.endsWith("RECOMMENDATIONS: [specific next steps for this lead]\n"));
+        assertTrue(registry.getVersions().keySet().containsAll(List.of("qualification", "qualification-packed",
+                "qualification-custom", "email", "linkedin", "follow-up", "meeting-request")));
+    }
+    
+    @Test
+    void testReloadSwapsChangedTemplatesAndKeepsBrokenOnes() throws Exception {
+        Files.writeString(templateDir.resolve("greeting.prompt"), "{{!version greeting-1}}\nHi {{name}}\n");
+        PromptTemplateConfig config = new PromptTemplateConfig();
+        config.setLocation(templateDir.toUri().toString());
+        config.setReloadEnabled(true);
+        PromptTemplateRegistry registry = new PromptTemplateRegistry(config);
+        assertEquals("greeting-1", registry.get("greeting").getVersion());
+        
+        Files.writeString(templateDir.resolve("greeting.prompt"), "{{!version greeting-2}}\nHello {{name}}\n");
+        registry.reload();
+        assertEquals("greeting-2", registry.get("greeting").getVersion());
+        assertEquals("Hello Ada", registry.get("greeting").render(PromptTemplate.Values.of("name", "Ada")));
+        
+        Files.writeString(templateDir.resolve("greeting.prompt"), "{{!version greeting-3}}\nHello {{name\n");
+        registry.reload();
+        assertEquals("greeting-2", registry.get("greeting").getVersion());
+    }
+}
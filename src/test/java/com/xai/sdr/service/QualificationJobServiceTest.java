@@ -0,0 +1,199 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.config.QualificationBatchConfig;
+import com.xai.sdr.dto.BatchQualificationRequest;
+import com.xai.sdr.model.Lead;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for QualificationJobService.
+ * 
+ * Covers request validation, progress and failure accounting, batched
+ * score writes and cancellation, with Grok qualification stubbed out.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class QualificationJobServiceTest {
+    
+    @Mock
+    private LeadService leadService;
+    
+    @Mock
+    private LeadQualificationService qualificationService;
+    
+    private QualificationBatchConfig batchConfig;
+    private QualificationJobService jobService;
+    private final List<Map<Long, LeadQualificationService.LeadQualificationResult>> writes = new CopyOnWriteArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        batchConfig = new QualificationBatchConfig();
+        batchConfig.setConcurrency(2);
+        batchConfig.setPackSize(1);
+        batchConfig.setWriteBatchSize(2);
+        batchConfig.setWriteIntervalMs(50);
+        
+        // Leads 1-5 exist; any other ID is missing
+        when(leadService.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id <= 5).map(this::createLead).collect(Collectors.toList());
+        });
+        when(leadService.applyQualificationResults(anyMap())).thenAnswer(invocation -> {
+            Map<Long, LeadQualificationService.LeadQualificationResult> results = invocation.getArgument(0);
+            writes.add(new HashMap<>(results));
+            return results.size();
+        });
+        
+        jobService = new QualificationJobService(leadService, qualificationService, batchConfig);
+    }
+    
+    @Test
+    void testRequestWithoutLeadIdsOrFiltersIsRejected() {
+        BatchQualificationRequest request = new BatchQualificationRequest();
+        request.setLeadIds(List.of());
+        request.setIndustry(" ");
+        
+        assertThrows(IllegalArgumentException.class, () -> jobService.submit(request));
+        assertThrows(IllegalArgumentException.class, () -> jobService.submit(new BatchQualificationRequest()));
+        
+        verifyNoInteractions(leadService, qualificationService);
+        assertTrue(jobService.findAllJobs().isEmpty());
+    }
+    
+    @Test
+    void testFiltersSelectLeadsToQualify() {
+        when(leadService.searchLeadIds(isNull(), isNull(), isNull(), eq("Software"), isNull()))
+                .thenReturn(List.of(1L, 2L));
+        when(qualificationService.qualifyLeadsPackedAsync(anyList())).thenAnswer(invocation -> scored(invocation.getArgument(0)));
+        
+        BatchQualificationRequest request = new BatchQualificationRequest();
+        request.setIndustry("Software");
+        QualificationJobService.QualificationJob job = awaitFinished(jobService.submit(request));
+        
+        assertEquals(2, job.getTotalLeads());
+        assertEquals(2, job.getSucceeded());
+    }
+    
+    @Test
+    void testJobTracksProgressFailuresAndWritesScoresInBatches() {
+        when(qualificationService.qualifyLeadsPackedAsync(anyList())).thenAnswer(invocation -> {
+            List<Lead> group = invocation.getArgument(0);
+            return group.get(0).getId() == 3L
+                    ? Mono.error(new GrokUnavailableException("Grok unavailable"))
+                    : scored(group);
+        });
+        
+        // Duplicate IDs are qualified once; lead 6 does not exist
+        QualificationJobService.QualificationJob job = awaitFinished(jobService.submit(byIds(1L, 2L, 3L, 4L, 5L, 6L, 1L)));
+        
+        assertEquals(QualificationJobService.JobStatus.COMPLETED, job.getStatus());
+        assertEquals(6, job.getTotalLeads());
+        assertEquals(4, job.getSucceeded());
+        assertEquals(2, job.getFailed());
+        assertEquals(6, job.getProcessed());
+        assertEquals(100.0, job.getProgressPercent());
+        assertTrue(job.getElapsedMs() > 0);
+        assertEquals(job.getProcessed() * 1000.0 / job.getElapsedMs(), job.getLeadsPerSecond(), 0.001);
+        assertNotNull(job.getCompletedAt());
+        
+        assertTrue(writes.size() >= 2, "scores written in " + writes.size() + " batches");
+        assertTrue(writes.stream().allMatch(batch -> batch.size() <= 2));
+        Map<Long, Integer> scores = new HashMap<>();
+        writes.forEach(batch -> batch.forEach((id, result) -> scores.put(id, result.getScore())));
+        assertEquals(Map.of(1L, 10, 2L, 20, 4L, 40, 5L, 50), scores);
+    }
+    
+    @Test
+    void testCancelStopsRunningJob() {
+        AtomicBoolean upstreamSubscribed = new AtomicBoolean();
+        AtomicBoolean upstreamCancelled = new AtomicBoolean();
+        when(qualificationService.qualifyLeadsPackedAsync(anyList())).thenReturn(
+                Mono.<List<LeadQualificationService.LeadQualificationResult>>never()
+                        .doOnSubscribe(subscription -> upstreamSubscribed.set(true))
+                        .doOnCancel(() -> upstreamCancelled.set(true)));
+        
+        QualificationJobService.QualificationJob job = jobService.submit(byIds(1L, 2L));
+        waitFor(upstreamSubscribed::get);
+        assertEquals(QualificationJobService.JobStatus.RUNNING, job.getStatus());
+        
+        assertTrue(jobService.cancel(job.getJobId()).isPresent());
+        
+        assertEquals(QualificationJobService.JobStatus.CANCELLED, job.getStatus());
+        assertNotNull(job.getCompletedAt());
+        assertEquals(0, job.getProcessed());
+        waitFor(upstreamCancelled::get);
+        assertTrue(upstreamCancelled.get());
+        verify(leadService, never()).applyQualificationResults(anyMap());
+        
+        // A finished job cannot be cancelled again
+        assertFalse(job.cancel());
+        assertTrue(jobService.cancel("missing").isEmpty());
+    }
+    
+    private Mono<List<LeadQualificationService.LeadQualificationResult>> scored(List<Lead> group) {
+        List<LeadQualificationService.LeadQualificationResult> results = group.stream()
+                .map(lead -> new LeadQualificationService.LeadQualificationResult(
+                        (int) (lead.getId() * 10), "Reasoning", "Recommendations"))
+                .collect(Collectors.toList());
+        return Mono.delay(Duration.ofMillis(5)).thenReturn(results);
+    }
+    
+    private QualificationJobService.QualificationJob awaitFinished(QualificationJobService.QualificationJob job) {
+        waitFor(() -> job.getStatus() != QualificationJobService.JobStatus.RUNNING);
+        assertNotEquals(QualificationJobService.JobStatus.RUNNING, job.getStatus(), "job did not finish");
+        return job;
+    }
+    
+    private static void waitFor(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    private static BatchQualificationRequest byIds(Long... ids) {
+        BatchQualificationRequest request = new BatchQualificationRequest();
+        request.setLeadIds(List.of(ids));
+        return request;
+    }
+    
+    private Lead createLead(Long id) {
+        Lead lead = new Lead();
+        lead.setId(id);
+        lead.setFirstName("Lead" + id);
+        return lead;
+    }
+}
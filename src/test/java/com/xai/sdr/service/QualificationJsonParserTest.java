@@ -0,0 +1,59 @@
+package com.xai.sdr.service;
+
+import com.xai.sdr.service.LeadQualificationService.LeadQualificationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QualificationJsonParser.
+ * 
+ * Covers nested reasoning and recommendations values in single and packed replies.
+ */
+class QualificationJsonParserTest {
+    
+    @Test
+    void testArrayFieldsAreJoinedAndLaterFieldsKept() {
+        LeadQualificationResult result = QualificationJsonParser.parse(
+                "{\"reasoning\": [\"Senior buyer\", \"Hiring\"], " +
+                "\"recommendations\": [\"Book a call\", {\"channel\": \"email\"}, \"Send a case study\"], " +
+                "\"score\": 74}");
+        
+        assertNotNull(result);
+        assertEquals(74, result.getScore());
+        assertEquals("Senior buyer\nHiring", result.getReasoning());
+        assertEquals("Book a call\nSend a case study", result.getRecommendations());
+    }
+    
+    @Test
+    void testObjectFieldsAreSkipped() {
+        LeadQualificationResult result = QualificationJsonParser.parse(
+                "{\"reasoning\": {\"fit\": \"good\", \"notes\": [\"a\"]}, \"lead\": {\"id\": 3}, " +
+                "\"recommendations\": \"Follow up\", \"score\": 61}");
+        
+        assertNotNull(result);
+        assertEquals(61, result.getScore());
+        assertEquals("Unable to parse response", result.getReasoning());
+        assertEquals("Follow up", result.getRecommendations());
+    }
+    
+    @Test
+    void testNestedValuesDoNotEndThePackedLeadsArray() {
+        Map<Integer, LeadQualificationResult> results = QualificationJsonParser.parsePacked(
+                "{\"leads\": [" +
+                "{\"lead\": 1, \"reasoning\": [\"Good fit\"], \"recommendations\": [\"Call\", \"Email\"], \"score\": 80}, " +
+                "{\"lead\": 2, \"reasoning\": {\"summary\": \"Weak\"}, \"score\": 30}, " +
+                "{\"lead\": 3, \"score\": 55, \"recommendations\": \"Nurture\"}" +
+                "]}");
+        
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        assertEquals(80, results.get(1).getScore());
+        assertEquals("Call\nEmail", results.get(1).getRecommendations());
+        assertEquals(30, results.get(2).getScore());
+        assertEquals(55, results.get(3).getScore());
+        assertEquals("Nurture", results.get(3).getRecommendations());
+    }
+}